@@ -2,6 +2,13 @@ package org.openmrs.module.fhir.helper;
 
 import ca.uhn.fhir.rest.server.exceptions.MethodNotAllowedException;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import org.hibernate.Criteria;
+import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Disjunction;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
 import org.hl7.fhir.dstu3.model.AllergyIntolerance;
 import org.openmrs.Patient;
 import org.openmrs.activelist.Allergy;
@@ -17,12 +24,15 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 @Component(value = "fhir.AllergyHelper")
 @OpenmrsProfile(openmrsVersion = "1.11.*")
 public class AllergyHelperImpl1_11 implements AllergyHelper {
 
+	private static final int MAX_IN_PARAMETERS = 500;
+
 	@Override
 	public AllergyIntolerance getAllergyIntolerance(String uuid) {
 		Allergy allergy = (Allergy) Context.getActiveListService().getActiveListItemByUuid(uuid);
@@ -41,6 +51,34 @@ public class AllergyHelperImpl1_11 implements AllergyHelper {
 		return allergies;
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<AllergyIntolerance> getAllergyIntolerancesByPatients(Collection<Integer> patientIds,
+			String clinicalStatus, int firstResult, int maxResults) {
+		List<AllergyIntolerance> allergies = new ArrayList<>();
+		Criteria criteria = createAllergyCriteria(patientIds, clinicalStatus);
+		if (criteria == null) {
+			return allergies;
+		}
+		criteria.addOrder(Order.asc("activeListId"));
+		criteria.setFirstResult(firstResult);
+		criteria.setMaxResults(maxResults);
+		for (Allergy allergy : (List<Allergy>) criteria.list()) {
+			allergies.add(FHIRAllergyIntoleranceUtil1_11.generateAllergyIntolerance(allergy));
+		}
+		return allergies;
+	}
+
+	@Override
+	public int getAllergyIntoleranceCountByPatients(Collection<Integer> patientIds, String clinicalStatus) {
+		Criteria criteria = createAllergyCriteria(patientIds, clinicalStatus);
+		if (criteria == null) {
+			return 0;
+		}
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
 	@Override
 	public AllergyIntolerance createAllergy(AllergyIntolerance allergyIntolerance) {
 		List<String> errors = new ArrayList<String>();
@@ -96,4 +134,42 @@ public class AllergyHelperImpl1_11 implements AllergyHelper {
 		//retrieve is necessary as saveAllergy(...) returns no value
 		return (Allergy) Context.getActiveListService().getActiveListItemByUuid(allergy.getUuid());
 	}
+
+	/**
+	 * @return the criteria of the allergies, or null if no allergy can match
+	 */
+	private Criteria createAllergyCriteria(Collection<Integer> patientIds, String clinicalStatus) {
+		if (patientIds.isEmpty()) {
+			return null;
+		}
+		Criteria criteria = Context.getRegisteredComponent("sessionFactory", SessionFactory.class).getCurrentSession()
+				.createCriteria(Allergy.class);
+		criteria.add(Restrictions.eq("voided", false));
+		criteria.add(buildInRestriction("person.personId", patientIds));
+		if (clinicalStatus != null) {
+			//An allergy is resolved once its end date is reached
+			Date now = new Date();
+			if (AllergyIntolerance.AllergyIntoleranceClinicalStatus.ACTIVE.toCode().equals(clinicalStatus)) {
+				criteria.add(Restrictions.or(Restrictions.isNull("endDate"), Restrictions.gt("endDate", now)));
+			} else if (AllergyIntolerance.AllergyIntoleranceClinicalStatus.RESOLVED.toCode().equals(clinicalStatus)) {
+				criteria.add(Restrictions.le("endDate", now));
+			} else {
+				return null;
+			}
+		}
+		return criteria;
+	}
+
+	/**
+	 * Splits the ids over several IN lists, so that a long list stays within the database limits
+	 */
+	private static Criterion buildInRestriction(String property, Collection<Integer> ids) {
+		List<Integer> idList = new ArrayList<>(ids);
+		Disjunction restriction = Restrictions.disjunction();
+		for (int from = 0; from < idList.size(); from += MAX_IN_PARAMETERS) {
+			restriction.add(Restrictions.in(property, idList.subList(from, Math.min(from + MAX_IN_PARAMETERS,
+					idList.size()))));
+		}
+		return restriction;
+	}
 }
@@ -1,5 +1,10 @@
 package org.openmrs.module.fhir.helper;
 
+import org.hibernate.Criteria;
+import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
 import org.hl7.fhir.dstu3.model.CodeableConcept;
 import org.hl7.fhir.dstu3.model.Duration;
 import org.hl7.fhir.dstu3.model.MedicationRequest;
@@ -14,9 +19,13 @@ import org.openmrs.SimpleDosingInstructions;
 import org.openmrs.annotation.OpenmrsProfile;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.helper.DrugOrderHelper;
+import org.openmrs.module.fhir.api.medicationrequest.MedicationRequestSearch;
 import org.openmrs.module.fhir.api.util.FHIRUtils;
 import org.springframework.stereotype.Component;
 
+import java.util.Date;
+import java.util.List;
+
 @Component(value = "fhir.DrugOrderHelper")
 @OpenmrsProfile(openmrsVersion = "1.11.*")
 public class DrugOrderHelperImpl1_11 extends OrderHelperImpl1_11 implements DrugOrderHelper {
@@ -234,9 +243,82 @@ public class DrugOrderHelperImpl1_11 extends OrderHelperImpl1_11 implements Drug
 		}
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<DrugOrder> getDrugOrders(MedicationRequestSearch search, int firstResult, int maxResults) {
+		Criteria criteria = createDrugOrderCriteria(search);
+		criteria.addOrder(org.hibernate.criterion.Order.desc("dateActivated"));
+		criteria.addOrder(org.hibernate.criterion.Order.desc("orderId"));
+		criteria.setFirstResult(firstResult);
+		criteria.setMaxResults(maxResults);
+		return criteria.list();
+	}
+
+	@Override
+	public int getDrugOrderCount(MedicationRequestSearch search) {
+		Criteria criteria = createDrugOrderCriteria(search);
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
 	private static Order.Action buildDrugOrderAction(MedicationRequest.MedicationRequestStatus status) {
 		//Cant set other status to order it check data for all orders
 		return (status != null && MedicationRequest.MedicationRequestStatus.STOPPED.toCode().
 				equalsIgnoreCase(status.toCode())) ? Order.Action.DISCONTINUE : Order.Action.NEW;
 	}
+
+	private Criteria createDrugOrderCriteria(MedicationRequestSearch search) {
+		Criteria criteria = Context.getRegisteredComponent("sessionFactory", SessionFactory.class).getCurrentSession()
+				.createCriteria(DrugOrder.class);
+		if (!search.isIncludeVoided()) {
+			criteria.add(Restrictions.eq("voided", false));
+		}
+		if (search.getPatientUuid() != null) {
+			criteria.createAlias("patient", "p");
+			criteria.add(Restrictions.eq("p.uuid", search.getPatientUuid()));
+		}
+		if (search.getMedicationUuid() != null) {
+			criteria.createAlias("drug", "d");
+			criteria.add(Restrictions.eq("d.uuid", search.getMedicationUuid()));
+		}
+		if (search.getCodeUuid() != null) {
+			criteria.createAlias("concept", "c");
+			criteria.add(Restrictions.eq("c.uuid", search.getCodeUuid()));
+		}
+		if (search.getFrom() != null) {
+			criteria.add(Restrictions.ge("dateActivated", search.getFrom()));
+		}
+		if (search.getTo() != null) {
+			criteria.add(Restrictions.le("dateActivated", search.getTo()));
+		}
+		if (search.getStatus() != null) {
+			criteria.add(buildStatusRestriction(search.getStatus(), new Date()));
+		}
+		return criteria;
+	}
+
+	/**
+	 * Mirrors Order#isActive and Order#isDiscontinuedRightNow, which decide the status of a medication
+	 * request, so that the status is matched by the query
+	 */
+	private static Criterion buildStatusRestriction(String status, Date now) {
+		Criterion active = Restrictions.conjunction()
+				.add(Restrictions.eq("voided", false))
+				.add(Restrictions.ne("action", Order.Action.DISCONTINUE))
+				.add(Restrictions.le("dateActivated", now))
+				.add(Restrictions.or(Restrictions.isNull("dateStopped"), Restrictions.gt("dateStopped", now)))
+				.add(Restrictions.or(Restrictions.isNull("autoExpireDate"), Restrictions.ge("autoExpireDate", now)));
+		Criterion stopped = Restrictions.conjunction()
+				.add(Restrictions.eq("voided", false))
+				.add(Restrictions.le("dateActivated", now))
+				.add(Restrictions.isNotNull("dateStopped"))
+				.add(Restrictions.le("dateStopped", now));
+		if (MedicationRequest.MedicationRequestStatus.ACTIVE.toCode().equals(status)) {
+			return active;
+		} else if (MedicationRequest.MedicationRequestStatus.STOPPED.toCode().equals(status)) {
+			return stopped;
+		} else {
+			return Restrictions.not(Restrictions.or(active, stopped));
+		}
+	}
 }
@@ -31,4 +31,10 @@ public class ObsHelperImpl1_11 implements ObsHelper {
 	public void setInterpretation(Obs obs, CodeableConcept interpretation) {
 		//The obs interpretation field was introduced in the OpenMRS 2.1.0
 	}
+
+	@Override
+	public void setStatusAndInterpretation(Observation observation, Obs obs) {
+		observation.setStatus(getObsStatus(obs));
+		observation.setInterpretation(getInterpretation(obs));
+	}
 }
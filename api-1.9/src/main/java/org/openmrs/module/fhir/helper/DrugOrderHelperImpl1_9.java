@@ -1,6 +1,11 @@
 package org.openmrs.module.fhir.helper;
 
 import org.apache.commons.lang.StringUtils;
+import org.hibernate.Criteria;
+import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
 import org.hl7.fhir.dstu3.model.CodeableConcept;
 import org.hl7.fhir.dstu3.model.Duration;
 import org.hl7.fhir.dstu3.model.MedicationRequest;
@@ -9,9 +14,14 @@ import org.hl7.fhir.dstu3.model.Timing;
 import org.openmrs.Concept;
 import org.openmrs.DrugOrder;
 import org.openmrs.annotation.OpenmrsProfile;
+import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.helper.DrugOrderHelper;
+import org.openmrs.module.fhir.api.medicationrequest.MedicationRequestSearch;
 import org.springframework.stereotype.Component;
 
+import java.util.Date;
+import java.util.List;
+
 @Component(value = "fhir.DrugOrderHelper")
 @OpenmrsProfile(openmrsPlatformVersion = "1.9.*")
 public class DrugOrderHelperImpl1_9 extends OrderHelperImpl1_9 implements DrugOrderHelper {
@@ -180,4 +190,79 @@ public class DrugOrderHelperImpl1_9 extends OrderHelperImpl1_9 implements DrugOr
 	public void setDuration(DrugOrder drugOrder, Duration duration) {
 		//The duration was introduced in the OpenMRS 1.10
 	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<DrugOrder> getDrugOrders(MedicationRequestSearch search, int firstResult, int maxResults) {
+		Criteria criteria = createDrugOrderCriteria(search);
+		criteria.addOrder(org.hibernate.criterion.Order.desc("startDate"));
+		criteria.addOrder(org.hibernate.criterion.Order.desc("orderId"));
+		criteria.setFirstResult(firstResult);
+		criteria.setMaxResults(maxResults);
+		return criteria.list();
+	}
+
+	@Override
+	public int getDrugOrderCount(MedicationRequestSearch search) {
+		Criteria criteria = createDrugOrderCriteria(search);
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
+	private Criteria createDrugOrderCriteria(MedicationRequestSearch search) {
+		Criteria criteria = Context.getRegisteredComponent("sessionFactory", SessionFactory.class).getCurrentSession()
+				.createCriteria(DrugOrder.class);
+		if (!search.isIncludeVoided()) {
+			criteria.add(Restrictions.eq("voided", false));
+		}
+		if (search.getPatientUuid() != null) {
+			criteria.createAlias("patient", "p");
+			criteria.add(Restrictions.eq("p.uuid", search.getPatientUuid()));
+		}
+		if (search.getMedicationUuid() != null) {
+			criteria.createAlias("drug", "d");
+			criteria.add(Restrictions.eq("d.uuid", search.getMedicationUuid()));
+		}
+		if (search.getCodeUuid() != null) {
+			criteria.createAlias("concept", "c");
+			criteria.add(Restrictions.eq("c.uuid", search.getCodeUuid()));
+		}
+		if (search.getFrom() != null) {
+			criteria.add(Restrictions.ge("startDate", search.getFrom()));
+		}
+		if (search.getTo() != null) {
+			criteria.add(Restrictions.le("startDate", search.getTo()));
+		}
+		if (search.getStatus() != null) {
+			criteria.add(buildStatusRestriction(search.getStatus(), new Date()));
+		}
+		return criteria;
+	}
+
+	/**
+	 * Mirrors Order#isCurrent and Order#isDiscontinuedRightNow, which decide the status of a medication
+	 * request, so that the status is matched by the query
+	 */
+	private static Criterion buildStatusRestriction(String status, Date now) {
+		Criterion started = Restrictions.conjunction()
+				.add(Restrictions.isNotNull("startDate"))
+				.add(Restrictions.le("startDate", now));
+		Criterion stopped = Restrictions.conjunction()
+				.add(Restrictions.eq("voided", false))
+				.add(Restrictions.eq("discontinued", true))
+				.add(started)
+				.add(Restrictions.or(Restrictions.isNull("discontinuedDate"), Restrictions.le("discontinuedDate", now)));
+		Criterion active = Restrictions.conjunction()
+				.add(Restrictions.eq("voided", false))
+				.add(Restrictions.or(Restrictions.isNull("startDate"), Restrictions.le("startDate", now)))
+				.add(Restrictions.not(stopped))
+				.add(Restrictions.or(Restrictions.isNull("autoExpireDate"), Restrictions.ge("autoExpireDate", now)));
+		if (MedicationRequest.MedicationRequestStatus.ACTIVE.toCode().equals(status)) {
+			return active;
+		} else if (MedicationRequest.MedicationRequestStatus.STOPPED.toCode().equals(status)) {
+			return stopped;
+		} else {
+			return Restrictions.not(Restrictions.or(active, stopped));
+		}
+	}
 }
@@ -11,6 +11,7 @@ import org.openmrs.module.fhir.api.helper.OrderHelper;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.springframework.stereotype.Component;
 
+import java.util.Date;
 import java.util.List;
 
 @Component(value = "fhir.OrderHelper")
@@ -54,6 +55,11 @@ public class OrderHelperImpl1_9 implements OrderHelper {
 		return Context.getOrderService().getOrdersByPatient(patient);
 	}
 
+	@Override
+	public Date getDateActivated(Order order) {
+		return order.getStartDate();
+	}
+
 	@Override
 	public void setOrderer(Order order, String uuid) {
 		User provider = Context.getUserService().getUserByUuid(uuid);
@@ -17,6 +17,7 @@ import org.openmrs.module.fhir.api.util.FHIRUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 public class FHIRAllergyIntoleranceUtil1_9 {
@@ -31,6 +32,7 @@ public class FHIRAllergyIntoleranceUtil1_9 {
 		allergyIntolerance.setId(allergy.getUuid());
 		allergyIntolerance.setPatient(FHIRUtils.buildPatientOrPersonResourceReference(allergy.getPerson()));
 		allergyIntolerance.setCriticality(buildCriticality(allergy));
+		allergyIntolerance.setClinicalStatus(buildClinicalStatus(allergy));
 
 		for (Enumeration<AllergyIntolerance.AllergyIntoleranceCategory> category : buildCategory(allergy)) {
 			allergyIntolerance.addCategory(category.getValue());
@@ -60,6 +62,17 @@ public class FHIRAllergyIntoleranceUtil1_9 {
 		return allergy;
 	}
 
+	private static AllergyIntolerance.AllergyIntoleranceClinicalStatus buildClinicalStatus(Allergy allergy) {
+		if (allergy.isVoided()) {
+			return null;
+		}
+		//An allergy is resolved once its end date is reached
+		Date endDate = allergy.getEndDate();
+		return endDate == null || endDate.after(new Date()) ?
+				AllergyIntolerance.AllergyIntoleranceClinicalStatus.ACTIVE
+				: AllergyIntolerance.AllergyIntoleranceClinicalStatus.RESOLVED;
+	}
+
 	private static Person buildPerson(AllergyIntolerance allergyIntolerance) {
 		String personUuid = FHIRUtils.getObjectUuidByReference(allergyIntolerance.getPatient());
 		return Context.getPersonService().getPersonByUuid(personUuid);
@@ -2,6 +2,13 @@ package org.openmrs.module.fhir.helper;
 
 import ca.uhn.fhir.rest.server.exceptions.MethodNotAllowedException;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import org.hibernate.Criteria;
+import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Disjunction;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
 import org.hl7.fhir.dstu3.model.AllergyIntolerance;
 import org.openmrs.Allergy;
 import org.openmrs.Patient;
@@ -23,6 +30,8 @@ import java.util.List;
 @OpenmrsProfile(openmrsPlatformVersion = "2.0.* - 2.1.*")
 public class AllergyHelperImpl2_0 implements AllergyHelper {
 
+	private static final int MAX_IN_PARAMETERS = 500;
+
 	@Override
 	public AllergyIntolerance getAllergyIntolerance(String uuid) {
 		Allergy openMRSAllergy = Context.getPatientService().getAllergyByUuid(uuid);
@@ -42,6 +51,34 @@ public class AllergyHelperImpl2_0 implements AllergyHelper {
 		return allergies;
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<AllergyIntolerance> getAllergyIntolerancesByPatients(Collection<Integer> patientIds,
+			String clinicalStatus, int firstResult, int maxResults) {
+		List<AllergyIntolerance> allergies = new ArrayList<>();
+		Criteria criteria = createAllergyCriteria(patientIds, clinicalStatus);
+		if (criteria == null) {
+			return allergies;
+		}
+		criteria.addOrder(Order.asc("allergyId"));
+		criteria.setFirstResult(firstResult);
+		criteria.setMaxResults(maxResults);
+		for (Allergy allergy : (List<Allergy>) criteria.list()) {
+			allergies.add(FHIRAllergyIntoleranceUtil2_0.generateAllergyIntolerance(allergy));
+		}
+		return allergies;
+	}
+
+	@Override
+	public int getAllergyIntoleranceCountByPatients(Collection<Integer> patientIds, String clinicalStatus) {
+		Criteria criteria = createAllergyCriteria(patientIds, clinicalStatus);
+		if (criteria == null) {
+			return 0;
+		}
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
 	@Override
 	public AllergyIntolerance createAllergy(AllergyIntolerance allergyIntolerance) {
 		List<String> errors = new ArrayList<String>();
@@ -98,4 +135,33 @@ public class AllergyHelperImpl2_0 implements AllergyHelper {
 		//retrieve is necessary as saveAllergy(...) returns no value
 		return Context.getPatientService().getAllergyByUuid(allergy.getUuid());
 	}
+
+	/**
+	 * @return the criteria of the allergies, or null if no allergy can match
+	 */
+	private Criteria createAllergyCriteria(Collection<Integer> patientIds, String clinicalStatus) {
+		//An allergy stays active until it is voided
+		if (patientIds.isEmpty() || (clinicalStatus != null
+				&& !AllergyIntolerance.AllergyIntoleranceClinicalStatus.ACTIVE.toCode().equals(clinicalStatus))) {
+			return null;
+		}
+		Criteria criteria = Context.getRegisteredComponent("sessionFactory", SessionFactory.class).getCurrentSession()
+				.createCriteria(Allergy.class);
+		criteria.add(Restrictions.eq("voided", false));
+		criteria.add(buildInRestriction("patient.personId", patientIds));
+		return criteria;
+	}
+
+	/**
+	 * Splits the ids over several IN lists, so that a long list stays within the database limits
+	 */
+	private static Criterion buildInRestriction(String property, Collection<Integer> ids) {
+		List<Integer> idList = new ArrayList<>(ids);
+		Disjunction restriction = Restrictions.disjunction();
+		for (int from = 0; from < idList.size(); from += MAX_IN_PARAMETERS) {
+			restriction.add(Restrictions.in(property, idList.subList(from, Math.min(from + MAX_IN_PARAMETERS,
+					idList.size()))));
+		}
+		return restriction;
+	}
 }
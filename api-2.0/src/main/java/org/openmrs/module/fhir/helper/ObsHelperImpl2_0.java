@@ -12,9 +12,18 @@ import org.springframework.stereotype.Component;
 @OpenmrsProfile(openmrsPlatformVersion = "2.0.* - 2.1.*")
 public class ObsHelperImpl2_0 implements ObsHelper {
 
+	/**
+	 * Set once the running platform turns out to be below 2.1, so that the missing methods are not
+	 * called again for every obs
+	 */
+	private static volatile boolean belowPlatform2_1;
+
 	@Override
 	public Observation.ObservationStatus getObsStatus(Obs obs) {
 		Observation.ObservationStatus status = Observation.ObservationStatus.FINAL;
+		if (belowPlatform2_1) {
+			return status;
+		}
 		try {
 			Obs.Status stat = obs.getStatus();
 			if (stat != null) {
@@ -23,12 +32,16 @@ public class ObsHelperImpl2_0 implements ObsHelper {
 		}
 		catch (NoSuchMethodError ex) {
 			//must be running below platform 2.1
+			belowPlatform2_1 = true;
 		}
 		return status;
 	}
 
 	@Override
 	public void setStatus(Obs obs, Observation.ObservationStatus status) {
+		if (belowPlatform2_1) {
+			return;
+		}
 		try {
 			if (status != null) {
 				obs.setStatus(Obs.Status.valueOf(status.name()));
@@ -36,12 +49,16 @@ public class ObsHelperImpl2_0 implements ObsHelper {
 		}
 		catch (NoSuchMethodError | NoClassDefFoundError ex) {
 			//must be running below platform 2.1
+			belowPlatform2_1 = true;
 		}
 	}
 
 	@Override
 	public CodeableConcept getInterpretation(Obs obs) {
 		CodeableConcept interpretation = null;
+		if (belowPlatform2_1) {
+			return interpretation;
+		}
 		try {
 			Obs.Interpretation interpret = obs.getInterpretation();
 			if (interpret != null) {
@@ -51,12 +68,16 @@ public class ObsHelperImpl2_0 implements ObsHelper {
 		}
 		catch (NoSuchMethodError ex) {
 			//must be running below platform 2.1
+			belowPlatform2_1 = true;
 		}
 		return interpretation;
 	}
 
 	@Override
 	public void setInterpretation(Obs obs, CodeableConcept interpretation) {
+		if (belowPlatform2_1) {
+			return;
+		}
 		try {
 			if (interpretation != null && StringUtils.isNotBlank(interpretation.getText())) {
 				obs.setInterpretation(Obs.Interpretation.valueOf(interpretation.getText()));
@@ -64,6 +85,13 @@ public class ObsHelperImpl2_0 implements ObsHelper {
 		}
 		catch (NoSuchMethodError ex) {
 			//must be running below platform 2.1
+			belowPlatform2_1 = true;
 		}
 	}
+
+	@Override
+	public void setStatusAndInterpretation(Observation observation, Obs obs) {
+		observation.setStatus(getObsStatus(obs));
+		observation.setInterpretation(getInterpretation(obs));
+	}
 }
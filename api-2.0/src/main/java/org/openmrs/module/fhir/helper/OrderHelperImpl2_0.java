@@ -12,6 +12,7 @@ import org.openmrs.module.fhir.api.helper.OrderHelper;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.springframework.stereotype.Component;
 
+import java.util.Date;
 import java.util.List;
 
 @Component(value = "fhir.OrderHelper")
@@ -59,6 +60,11 @@ public class OrderHelperImpl2_0 implements OrderHelper {
 		return Context.getOrderService().getAllOrdersByPatient(patient);
 	}
 
+	@Override
+	public Date getDateActivated(Order order) {
+		return order.getDateActivated();
+	}
+
 	@Override
 	public void setOrderer(Order order, String uuid) {
 		Provider provider = Context.getProviderService().getProviderByUuid(uuid);
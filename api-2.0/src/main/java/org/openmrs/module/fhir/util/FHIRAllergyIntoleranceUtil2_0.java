@@ -47,6 +47,7 @@ public class FHIRAllergyIntoleranceUtil2_0 {
 		allergyIntolerance.setId(allergy.getUuid());
 		allergyIntolerance.setPatient(FHIRUtils.buildPatientOrPersonResourceReference(allergy.getPatient()));
 		allergyIntolerance.setCriticality(buildCriticality(allergy));
+		allergyIntolerance.setClinicalStatus(buildClinicalStatus(allergy));
 
 		for (Enumeration<AllergyIntoleranceCategory> category : buildCategory(allergy)) {
 			allergyIntolerance.addCategory(category.getValue());
@@ -80,6 +81,11 @@ public class FHIRAllergyIntoleranceUtil2_0 {
 		return allergy;
 	}
 
+	private static AllergyIntolerance.AllergyIntoleranceClinicalStatus buildClinicalStatus(Allergy allergy) {
+		//An allergy stays active until it is voided
+		return allergy.isVoided() ? null : AllergyIntolerance.AllergyIntoleranceClinicalStatus.ACTIVE;
+	}
+
 	private static Patient buildPatient(AllergyIntolerance allergyIntolerance) {
 		String patientId = FHIRUtils.getObjectUuidByReference(allergyIntolerance.getPatient());
 		return Context.getPatientService().getPatientByUuid(patientId);
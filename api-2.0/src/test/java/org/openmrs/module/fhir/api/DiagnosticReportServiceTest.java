@@ -12,13 +12,19 @@
 package org.openmrs.module.fhir.api;
 
 import org.junit.Test;
+import org.openmrs.EncounterType;
+import org.openmrs.GlobalProperty;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.diagnosticreport.DiagnosticReportHandler;
+import org.openmrs.module.fhir.api.diagnosticreport.DiagnosticReportSearch;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 import org.openmrs.test.Verifies;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class DiagnosticReportServiceTest extends BaseModuleContextSensitiveTest {
 
@@ -61,4 +67,32 @@ public class DiagnosticReportServiceTest extends BaseModuleContextSensitiveTest
 		assertEquals("ICU", microbiologyHandler.getServiceCategory());
 	}
 
+	@Test
+	public void searchDiagnosticReports_shouldOnlySearchConfiguredEncounterTypes() {
+		DiagnosticReportSearch search = new DiagnosticReportSearch();
+		search.setCategory("LAB");
+		assertEquals(0, getService().getDiagnosticReportCount(search));
+		assertTrue(getService().searchDiagnosticReports(search, 0, 10).isEmpty());
+
+		EncounterType encounterType = Context.getEncounterService().getEncounterType(1);
+		Context.getAdministrationService().saveGlobalProperty(
+				new GlobalProperty("fhir.encounter.encounterType.LAB", encounterType.getUuid()));
+		int expected = Context.getEncounterService().getEncounters(null, null, null, null, null,
+				Collections.singletonList(encounterType), null, null, null, false).size();
+
+		assertEquals(expected, getService().getDiagnosticReportCount(search));
+		assertEquals(Math.min(expected, 2), getService().searchDiagnosticReports(search, 0, 2).size());
+	}
+
+	@Test
+	public void searchDiagnosticReports_shouldNotMatchUnsupportedStatus() {
+		EncounterType encounterType = Context.getEncounterService().getEncounterType(1);
+		Context.getAdministrationService().saveGlobalProperty(
+				new GlobalProperty("fhir.encounter.encounterType.LAB", encounterType.getUuid()));
+		DiagnosticReportSearch search = new DiagnosticReportSearch();
+		search.setCategory("LAB");
+		search.setStatus("preliminary");
+
+		assertEquals(0, getService().getDiagnosticReportCount(search));
+	}
 }
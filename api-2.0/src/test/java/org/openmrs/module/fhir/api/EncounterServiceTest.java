@@ -24,13 +24,16 @@ import org.junit.Before;
 import org.junit.Test;
 import org.openmrs.Visit;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.encounter.EncounterSearch;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.openmrs.module.fhir.api.util.FHIREncounterUtil;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -219,4 +222,47 @@ public class EncounterServiceTest extends BaseModuleContextSensitiveTest {
 		assertNotNull(fhirEncounters);
 		assertEquals(1, fhirEncounters.size());
 	}
+
+	@Test
+	public void searchEncounters_shouldReturnTheEncountersOfThePatientPageByPage() {
+		EncounterSearch search = new EncounterSearch();
+		search.setPatientIdentifier("12345");
+		assertEquals(3, getService().getEncounterCount(search));
+
+		List<Encounter> firstPage = getService().searchEncounters(search, 2);
+		List<Encounter> secondPage = getService().searchEncounters(search, 2);
+		assertEquals(2, firstPage.size());
+		assertEquals(1, secondPage.size());
+		Set<String> ids = new HashSet<>();
+		for (Encounter encounter : firstPage) {
+			ids.add(encounter.getId());
+		}
+		ids.add(secondPage.get(0).getId());
+		assertEquals(3, ids.size());
+		assertTrue(getService().searchEncounters(search, 2).isEmpty());
+	}
+
+	@Test
+	public void searchCompositions_shouldReturnTheCompositionsOfThePatientPageByPage() {
+		EncounterSearch search = new EncounterSearch();
+		search.setPatientUuid("4b3f42da-2029-4e47-9396-a1b6a969e802");
+		assertEquals(2, getService().getCompositionCount(search));
+
+		List<Composition> firstPage = getService().searchCompositions(search, 1);
+		List<Composition> secondPage = getService().searchCompositions(search, 1);
+		assertEquals(1, firstPage.size());
+		assertEquals(1, secondPage.size());
+		assertFalse(firstPage.get(0).getId().equals(secondPage.get(0).getId()));
+		assertTrue(getService().searchCompositions(search, 1).isEmpty());
+	}
+
+	@Test
+	public void getCompositionDocument_shouldReturnTheCompositionFollowedByItsReferences() {
+		String encounterUuid = "33d70956-b359-452a-b3da-b69c8ab459ce";
+		Bundle document = getService().getCompositionDocument(encounterUuid);
+		assertNotNull(document);
+		assertEquals(Bundle.BundleType.DOCUMENT, document.getType());
+		assertTrue(document.getEntry().get(0).getResource() instanceof Composition);
+		assertTrue(document.getEntry().size() > 3);
+	}
 }
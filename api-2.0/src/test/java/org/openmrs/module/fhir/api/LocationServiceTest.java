@@ -16,16 +16,21 @@ import org.hl7.fhir.dstu3.model.Location;
 import org.junit.Before;
 import org.junit.Test;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.location.LocationTree;
 import org.openmrs.module.fhir.api.util.FHIRLocationUtil;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class LocationServiceTest extends BaseModuleContextSensitiveTest {
 
@@ -38,6 +43,7 @@ public class LocationServiceTest extends BaseModuleContextSensitiveTest {
 	@Before
 	public void runBeforeEachTest() throws Exception {
 		executeDataSet(LOC_INITIAL_DATA_XML);
+		LocationTree.invalidate();
 	}
 
 	@Test
@@ -165,4 +171,71 @@ public class LocationServiceTest extends BaseModuleContextSensitiveTest {
 		fhirLocation = Context.getService(LocationService.class).createLocation(fhirLocation);
 		assertNotNull(fhirLocation);
 	}
+
+	@Test
+	public void searchLocationsByPartOf_shouldReturnTheChildrenOrTheWholeHierarchyBelow() {
+		org.openmrs.Location parent = Context.getLocationService().getLocationByUuid(
+				"f08ba64b-ea57-4a41-b33c-9dfc59b0c60a");
+		org.openmrs.Location child = saveLocation("FHIR child location", parent, null, null);
+		org.openmrs.Location grandchild = saveLocation("FHIR grandchild location", child, null, null);
+		LocationTree.invalidate();
+
+		Set<String> children = getIds(getService().searchLocationsByPartOf(parent.getUuid(), false));
+		assertTrue(children.contains(child.getUuid()));
+		assertFalse(children.contains(grandchild.getUuid()));
+
+		Set<String> below = getIds(getService().searchLocationsByPartOf(parent.getUuid(), true));
+		assertTrue(below.contains(child.getUuid()));
+		assertTrue(below.contains(grandchild.getUuid()));
+	}
+
+	@Test
+	public void searchLocationsNear_shouldReturnTheLocationsWithinTheDistanceNearestFirst() {
+		org.openmrs.Location far = saveLocation("FHIR far location", null, "11.0", "20.0");
+		org.openmrs.Location near = saveLocation("FHIR near location", null, "10.05", "20.0");
+		org.openmrs.Location nearest = saveLocation("FHIR nearest location", null, "10.0", "20.0");
+		LocationTree.invalidate();
+
+		List<Location> locations = getService().searchLocationsNear(10.0, 20.0, 10);
+		assertEquals(2, locations.size());
+		assertEquals(nearest.getUuid(), locations.get(0).getId());
+		assertEquals(near.getUuid(), locations.get(1).getId());
+		assertFalse(getIds(locations).contains(far.getUuid()));
+	}
+
+	@Test
+	public void getLocationsByUuids_shouldReturnRetiredLocationsAsInactive() {
+		org.openmrs.Location retired = saveLocation("FHIR retired location", null, null, null);
+		Context.getLocationService().retireLocation(retired, "test");
+		LocationTree.invalidate();
+
+		List<Location> locations = getService().getLocationsByUuids(Collections.singletonList(retired.getUuid()));
+		assertEquals(1, locations.size());
+		assertEquals(Location.LocationStatus.INACTIVE, locations.get(0).getStatus());
+
+		//A location retired after the tree was loaded is looked up in the database
+		org.openmrs.Location missing = saveLocation("FHIR missing retired location", null, null, null);
+		Context.getLocationService().retireLocation(missing, "test");
+		locations = getService().getLocationsByUuids(Collections.singletonList(missing.getUuid()));
+		assertEquals(1, locations.size());
+		assertEquals(Location.LocationStatus.INACTIVE, locations.get(0).getStatus());
+	}
+
+	private static org.openmrs.Location saveLocation(String name, org.openmrs.Location parent, String latitude,
+			String longitude) {
+		org.openmrs.Location location = new org.openmrs.Location();
+		location.setName(name);
+		location.setParentLocation(parent);
+		location.setLatitude(latitude);
+		location.setLongitude(longitude);
+		return Context.getLocationService().saveLocation(location);
+	}
+
+	private static Set<String> getIds(List<Location> locations) {
+		Set<String> ids = new HashSet<>();
+		for (Location location : locations) {
+			ids.add(location.getId());
+		}
+		return ids;
+	}
 }
@@ -18,6 +18,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.openmrs.Patient;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.medicationrequest.MedicationRequestSearch;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 
@@ -73,6 +74,24 @@ public class MedicationRequestTest extends BaseModuleContextSensitiveTest {
 		assertEquals(medicationRequests.size(), 10);
 	}
 
+	@Test
+	public void searchMedicationRequests_shouldReturnTheMatchingDrugOrdersPageByPage() {
+		MedicationRequestSearch search = new MedicationRequestSearch();
+		search.setPatientUuid(Context.getPatientService().getPatient(2).getUuid());
+		search.setMedicationUuid("865fceb1-ad0c-4102-aead-26ca25c77b09");
+		assertEquals(2, getService().getMedicationRequestCount(search));
+
+		List<MedicationRequest> medicationRequests = getService().searchMedicationRequests(search, 1, 1);
+		assertEquals(1, medicationRequests.size());
+		assertEquals(MedicationRequest.MedicationRequestStatus.STOPPED, medicationRequests.get(0).getStatus());
+		assertNotNull(medicationRequests.get(0).getAuthoredOn());
+
+		search.setStatus(MedicationRequest.MedicationRequestStatus.STOPPED.toCode());
+		assertEquals(2, getService().getMedicationRequestCount(search));
+		search.setStatus(MedicationRequest.MedicationRequestStatus.ACTIVE.toCode());
+		assertEquals(0, getService().searchMedicationRequests(search, 0, 10).size());
+	}
+
 	@Test
 	public void deleteMedicationRequest_shouldDeleteTheSpecifiedMedicationRequest() {
 		org.openmrs.api.OrderService orderService = Context.getOrderService();
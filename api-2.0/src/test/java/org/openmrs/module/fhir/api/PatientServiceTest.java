@@ -19,8 +19,10 @@ import org.hl7.fhir.dstu3.model.Patient;
 import org.junit.Before;
 import org.junit.Test;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
 import org.openmrs.test.BaseModuleContextSensitiveTest;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -69,6 +71,15 @@ public class PatientServiceTest extends BaseModuleContextSensitiveTest {
 		assertEquals(fhirPatient.getId(), patientUuid);
 	}
 
+	@Test
+	public void getPatientsByUuids_shouldReturnTheExistingPatients() {
+		String patientUuid = "61b38324-e2fd-4feb-95b7-9e9a2a4400df";
+		List<Patient> patients = getService().getPatientsByUuids(Arrays.asList(patientUuid, patientUuid,
+				"no-such-patient"));
+		assertEquals(1, patients.size());
+		assertEquals(patientUuid, patients.get(0).getId());
+	}
+
 	@Test
 	public void searchPatientsByIdentifier_shouldReturnBundle() {
 		String returned_patientUuid = "61b38324-e2fd-4feb-95b7-9e9a2a4400df";
@@ -89,6 +100,21 @@ public class PatientServiceTest extends BaseModuleContextSensitiveTest {
 		assertTrue(exist);
 	}
 
+	@Test
+	public void searchPatientsByIdentifiers_shouldMatchAnyOfTheValuesOfTheGivenSystem() {
+		String returned_patientUuid = "61b38324-e2fd-4feb-95b7-9e9a2a4400df";
+		List<String> identifierValues = Arrays.asList("1234", "no-such-identifier");
+		List<Patient> patients = getService().searchPatientsByIdentifiers(identifierValues, null);
+		assertEquals(1, patients.size());
+		assertEquals(returned_patientUuid, patients.get(0).getId());
+
+		patients = getService().searchPatientsByIdentifiers(identifierValues, "Test Identifier Type");
+		assertEquals(1, patients.size());
+		assertEquals(returned_patientUuid, patients.get(0).getId());
+
+		assertTrue(getService().searchPatientsByIdentifiers(identifierValues, "No Such Identifier Type").isEmpty());
+	}
+
 	@Test
 	public void searchPatientsByIdentifierAndIdentifierType_shouldReturnBundle() {
 		String returned_patientUuid = "61b38324-e2fd-4feb-95b7-9e9a2a4400df";
@@ -134,6 +160,31 @@ public class PatientServiceTest extends BaseModuleContextSensitiveTest {
 		assertEquals(3, patients.getEntry().size());
 	}
 
+	@Test
+	public void searchPatientsByName_shouldReturnEachPatientOncePageByPage() {
+		String name = "Doe";
+		int count = getService().getPatientCountByName(null, name, NameMatchMode.STARTS_WITH);
+		assertEquals(3, count);
+
+		List<Patient> firstPage = getService().searchPatientsByName(null, name, NameMatchMode.STARTS_WITH, 0, 2);
+		List<Patient> secondPage = getService().searchPatientsByName(null, name, NameMatchMode.STARTS_WITH, 2, 2);
+		assertEquals(2, firstPage.size());
+		assertEquals(1, secondPage.size());
+		for (Patient patient : firstPage) {
+			assertFalse(patient.getId().equals(secondPage.get(0).getId()));
+		}
+	}
+
+	@Test
+	public void searchPatientsByName_shouldApplyTheMatchMode() {
+		int exact = getService().getPatientCountByName(null, "Doe", NameMatchMode.EXACT);
+		assertEquals(3, exact);
+		assertEquals(0, getService().getPatientCountByName(null, "Do", NameMatchMode.EXACT));
+		assertTrue(getService().getPatientCountByName(null, "do", NameMatchMode.STARTS_WITH) >= exact);
+		assertEquals(0, getService().getPatientCountByName(null, "oe", NameMatchMode.STARTS_WITH));
+		assertTrue(getService().getPatientCountByName(null, "oe", NameMatchMode.CONTAINS) >= exact);
+	}
+
 	@Test
 	public void searchActivePatients_shouldReturnBundle() {
 		List<Patient> patients = getService().searchPatients(true);
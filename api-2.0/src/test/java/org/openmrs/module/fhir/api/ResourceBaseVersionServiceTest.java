@@ -0,0 +1,61 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api;
+
+import org.hl7.fhir.dstu3.model.Patient;
+import org.hl7.fhir.dstu3.model.Person;
+import org.junit.Test;
+import org.openmrs.api.context.Context;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ResourceBaseVersionServiceTest extends BaseModuleContextSensitiveTest {
+
+	private static final String UUID = "61b38324-e2fd-4feb-95b7-9e9a2a4400df";
+
+	public ResourceBaseVersionService getService() {
+		return Context.getService(ResourceBaseVersionService.class);
+	}
+
+	@Test
+	public void getBaseVersion_shouldKeepPatientAndPersonWithTheSameUuidApart() {
+		Patient patient = new Patient();
+		patient.setId(UUID);
+		patient.addName().setFamily("Patient");
+		Person person = new Person();
+		person.setId(UUID);
+		person.addName().setFamily("Person");
+
+		getService().saveBaseVersion(patient);
+		getService().saveBaseVersion(person);
+
+		assertEquals("Patient", getService().getBaseVersion(Patient.class, UUID).getNameFirstRep().getFamily());
+		assertEquals("Person", getService().getBaseVersion(Person.class, UUID).getNameFirstRep().getFamily());
+	}
+
+	@Test
+	public void saveBaseVersion_shouldReplaceTheStoredVersion() {
+		Patient patient = new Patient();
+		patient.setId(UUID);
+		patient.addName().setFamily("Before");
+		getService().saveBaseVersion(patient);
+		patient.getNameFirstRep().setFamily("After");
+		getService().saveBaseVersion(patient);
+
+		assertEquals("After", getService().getBaseVersion(Patient.class, UUID).getNameFirstRep().getFamily());
+		assertNull(getService().getBaseVersion(Person.class, UUID));
+	}
+}
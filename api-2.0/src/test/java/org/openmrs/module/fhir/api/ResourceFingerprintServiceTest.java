@@ -0,0 +1,50 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api;
+
+import org.junit.Test;
+import org.openmrs.api.context.Context;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceFingerprintServiceTest extends BaseModuleContextSensitiveTest {
+
+	private static final String UUID = "61b38324-e2fd-4feb-95b7-9e9a2a4400df";
+
+	public ResourceFingerprintService getService() {
+		return Context.getService(ResourceFingerprintService.class);
+	}
+
+	@Test
+	public void saveFingerprint_shouldKeepPatientAndPersonWithTheSameUuidApart() {
+		getService().saveFingerprint("Patient", UUID, "patient-fingerprint");
+		getService().saveFingerprint("Person", UUID, "person-fingerprint");
+
+		assertEquals("patient-fingerprint", getService().getFingerprint("Patient", UUID));
+		assertEquals("person-fingerprint", getService().getFingerprint("Person", UUID));
+	}
+
+	@Test
+	public void isUnchanged_shouldOnlyCompareWithTheFingerprintOfTheSameResourceType() {
+		getService().saveFingerprint("Person", UUID, "fingerprint");
+
+		assertTrue(getService().isUnchanged("Person", UUID, "fingerprint"));
+		assertFalse(getService().isUnchanged("Patient", UUID, "fingerprint"));
+		assertNull(getService().getFingerprint("Patient", UUID));
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api;
+
+import ca.uhn.fhir.model.api.ResourceMetadataKeyEnum;
+import org.hl7.fhir.dstu3.model.Location;
+import org.hl7.fhir.dstu3.model.Patient;
+import org.hl7.fhir.dstu3.model.Resource;
+import org.junit.Before;
+import org.junit.Test;
+import org.hibernate.SessionFactory;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.db.hibernate.HibernateFHIRDAO;
+import org.openmrs.module.fhir.api.impl.ResourceHistoryServiceImpl;
+import org.openmrs.module.fhir.api.model.ResourceChange;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceHistoryServiceTest extends BaseModuleContextSensitiveTest {
+
+	protected static final String PAT_INITIAL_DATA_XML = "org/openmrs/api/include/PatientServiceTest-createPatient.xml";
+
+	private static final String PATIENT_UUID = "61b38324-e2fd-4feb-95b7-9e9a2a4400df";
+
+	private static final String LOCATION_UUID = "dc5c1fcc-0459-4201-bf70-0b90535ba362";
+
+	/**
+	 * Changes recorded by the other tests are committed, so the ones of these tests are dated after them
+	 */
+	private static final Date SINCE = new Date(4102444800000L);
+
+	private HibernateFHIRDAO dao;
+
+	private ResourceHistoryServiceImpl service;
+
+	/**
+	 * The service is not the transactional proxy, so the changes it records are rolled back with the test
+	 */
+	@Before
+	public void runBeforeEachTest() throws Exception {
+		executeDataSet(PAT_INITIAL_DATA_XML);
+		dao = new HibernateFHIRDAO();
+		dao.setSessionFactory(Context.getRegisteredComponent("sessionFactory", SessionFactory.class));
+		service = new ResourceHistoryServiceImpl();
+		service.setDao(dao);
+	}
+
+	@Test
+	public void recordChange_shouldSaveTheChangeWithTheCurrentDate() {
+		Date before = new Date();
+
+		service.recordChange("Patient", PATIENT_UUID, ResourceChange.ChangeType.UPDATE);
+
+		ResourceChange change = null;
+		for (ResourceChange recorded : dao.getResourceChanges("Patient", before, 0, Integer.MAX_VALUE)) {
+			if (PATIENT_UUID.equals(recorded.getResourceUuid())) {
+				change = recorded;
+			}
+		}
+		assertNotNull(change);
+		assertEquals(ResourceChange.ChangeType.UPDATE, change.getChangeType());
+		assertFalse(change.getDateChanged().before(before));
+	}
+
+	@Test
+	public void getHistory_shouldReturnCurrentResourcesAndDeletedMarkers() {
+		Date updated = new Date(SINCE.getTime() + 1000L);
+		Date deleted = new Date(SINCE.getTime() + 2000L);
+		dao.saveResourceChange(new ResourceChange("Patient", PATIENT_UUID, ResourceChange.ChangeType.UPDATE, updated));
+		dao.saveResourceChange(new ResourceChange("Location", LOCATION_UUID, ResourceChange.ChangeType.DELETE,
+				deleted));
+
+		List<Resource> history = service.getHistory(null, SINCE, 0, 10);
+
+		assertEquals(2, history.size());
+		assertTrue(history.get(0) instanceof Patient);
+		assertEquals(PATIENT_UUID, history.get(0).getIdElement().getIdPart());
+		assertEquals(updated, history.get(0).getMeta().getLastUpdated());
+		assertNull(ResourceMetadataKeyEnum.DELETED_AT.get(history.get(0)));
+		assertTrue(history.get(1) instanceof Location);
+		assertEquals(LOCATION_UUID, history.get(1).getIdElement().getIdPart());
+		assertNotNull(ResourceMetadataKeyEnum.DELETED_AT.get(history.get(1)));
+		assertEquals(deleted, history.get(1).getMeta().getLastUpdated());
+	}
+
+	@Test
+	public void getHistory_shouldReturnDeletedMarkerForResourceWhichNoLongerExists() {
+		String uuid = "0f4a9c3e-5e4b-4d0e-9a47-3c2b7c1f2d11";
+		dao.saveResourceChange(new ResourceChange("Patient", uuid, ResourceChange.ChangeType.UPDATE, SINCE));
+
+		List<Resource> history = service.getHistory(null, SINCE, 0, 10);
+
+		assertEquals(1, history.size());
+		assertEquals(uuid, history.get(0).getIdElement().getIdPart());
+		assertNotNull(ResourceMetadataKeyEnum.DELETED_AT.get(history.get(0)));
+	}
+
+	@Test
+	public void getHistoryCount_shouldCountTheRecordedChanges() {
+		for (int i = 0; i < 3; i++) {
+			dao.saveResourceChange(new ResourceChange("Patient", PATIENT_UUID, ResourceChange.ChangeType.UPDATE,
+					new Date(SINCE.getTime() + i)));
+		}
+		dao.saveResourceChange(new ResourceChange("Location", LOCATION_UUID, ResourceChange.ChangeType.UPDATE, SINCE));
+
+		assertEquals(3, service.getHistoryCount("Patient", SINCE));
+	}
+}
@@ -0,0 +1,51 @@
+package org.openmrs.module.fhir.api.advice;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Location;
+import org.openmrs.api.LocationService;
+import org.openmrs.module.fhir.api.location.LocationTree;
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class LocationTreeAdviceTest extends BaseModuleContextSensitiveTest {
+
+	private LocationTreeAdvice advice;
+
+	@Before
+	public void runBeforeEachTest() {
+		advice = new LocationTreeAdvice();
+		LocationTree.invalidate();
+	}
+
+	@Test
+	public void invoke_shouldDropTheTreeOnlyOnceTheChangeCommitted() throws Throwable {
+		LocationTree tree = LocationTree.getInstance();
+		Location location = new Location();
+
+		advice.invoke(new StubMethodInvocation(LocationService.class.getMethod("saveLocation", Location.class),
+				location, location));
+
+		assertSame(tree, LocationTree.getInstance());
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+		assertNotSame(tree, LocationTree.getInstance());
+	}
+
+	@Test
+	public void invoke_shouldKeepTheTreeOnReads() throws Throwable {
+		LocationTree tree = LocationTree.getInstance();
+
+		advice.invoke(new StubMethodInvocation(LocationService.class.getMethod("getAllLocations"), null));
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+		assertSame(tree, LocationTree.getInstance());
+	}
+}
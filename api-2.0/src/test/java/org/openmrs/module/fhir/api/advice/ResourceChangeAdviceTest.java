@@ -0,0 +1,175 @@
+package org.openmrs.module.fhir.api.advice;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.Concept;
+import org.openmrs.DrugOrder;
+import org.openmrs.Encounter;
+import org.openmrs.Obs;
+import org.openmrs.Order;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.PersonName;
+import org.openmrs.Provider;
+import org.openmrs.api.ObsService;
+import org.openmrs.api.OrderService;
+import org.openmrs.api.PatientService;
+import org.openmrs.api.PersonService;
+import org.openmrs.module.fhir.api.model.ResourceChange;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceChangeAdviceTest {
+
+	private RecordingAdvice advice;
+
+	@Before
+	public void setUp() {
+		advice = new RecordingAdvice();
+	}
+
+	@After
+	public void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	public void invoke_shouldRecordSavedNewObjectAsCreated() throws Throwable {
+		Patient patient = new Patient();
+
+		advice.invoke(new StubMethodInvocation(PatientService.class.getMethod("savePatient", Patient.class),
+				patient, patient));
+
+		assertEquals(Collections.singletonList("CREATE Patient " + patient.getUuid()), advice.recorded);
+	}
+
+	@Test
+	public void invoke_shouldRecordReplacedObsAsDeletedAndCreated() throws Throwable {
+		Obs obs = new Obs(1);
+		Obs newObs = new Obs(2);
+
+		advice.invoke(new StubMethodInvocation(ObsService.class.getMethod("saveObs", Obs.class, String.class),
+				newObs, obs, "changed"));
+
+		assertEquals(Arrays.asList("DELETE Observation " + obs.getUuid(), "CREATE Observation " + newObs.getUuid()),
+				advice.recorded);
+	}
+
+	@Test
+	public void invoke_shouldRecordDiscontinuedOrderAsUpdated() throws Throwable {
+		DrugOrder order = new DrugOrder(1);
+		DrugOrder discontinuationOrder = new DrugOrder(2);
+
+		advice.invoke(new StubMethodInvocation(OrderService.class.getMethod("discontinueOrder", Order.class,
+				Concept.class, Date.class, Provider.class, Encounter.class), discontinuationOrder, order, null, null,
+				null, null));
+
+		assertEquals(Arrays.asList("UPDATE MedicationRequest " + order.getUuid(),
+				"CREATE MedicationRequest " + discontinuationOrder.getUuid()), advice.recorded);
+	}
+
+	@Test
+	public void invoke_shouldRecordMergedPatientAsDeleted() throws Throwable {
+		Patient preferred = new Patient(1);
+		Patient notPreferred = new Patient(2);
+
+		advice.invoke(new StubMethodInvocation(PatientService.class.getMethod("mergePatients", Patient.class,
+				Patient.class), null, preferred, notPreferred));
+
+		assertEquals(Arrays.asList("UPDATE Patient " + preferred.getUuid(), "DELETE Patient " + notPreferred.getUuid()),
+				advice.recorded);
+	}
+
+	@Test
+	public void invoke_shouldRecordChangedNameAsUpdateOfItsPersonAndPatient() throws Throwable {
+		Patient patient = new Patient(1);
+		PersonName name = new PersonName("John", null, "Doe");
+		patient.addName(name);
+
+		advice.invoke(new StubMethodInvocation(PersonService.class.getMethod("voidPersonName", PersonName.class,
+				String.class), name, name, "misspelled"));
+
+		assertEquals(Arrays.asList("UPDATE Person " + patient.getUuid(), "UPDATE Patient " + patient.getUuid()),
+				advice.recorded);
+	}
+
+	@Test
+	public void invoke_shouldRecordSavedIdentifierAsUpdateOfItsPatient() throws Throwable {
+		Patient patient = new Patient(1);
+		PatientIdentifier identifier = new PatientIdentifier();
+		patient.addIdentifier(identifier);
+
+		advice.invoke(new StubMethodInvocation(PatientService.class.getMethod("savePatientIdentifier",
+				PatientIdentifier.class), identifier, identifier));
+
+		assertEquals(Collections.singletonList("UPDATE Patient " + patient.getUuid()), advice.recorded);
+	}
+
+	@Test
+	public void invoke_shouldRecordOnlyAfterCommit() throws Throwable {
+		TransactionSynchronizationManager.initSynchronization();
+		Patient patient = new Patient(1);
+
+		advice.invoke(new StubMethodInvocation(PatientService.class.getMethod("voidPatient", Patient.class,
+				String.class), patient, patient, "duplicate"));
+
+		assertTrue(advice.recorded.isEmpty());
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+		assertEquals(Collections.singletonList("DELETE Patient " + patient.getUuid()), advice.recorded);
+	}
+
+	@Test
+	public void invoke_shouldNotRecordRolledBackChanges() throws Throwable {
+		TransactionSynchronizationManager.initSynchronization();
+		Patient patient = new Patient(1);
+
+		advice.invoke(new StubMethodInvocation(PatientService.class.getMethod("savePatient", Patient.class),
+				patient, patient));
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+		}
+		assertTrue(advice.recorded.isEmpty());
+	}
+
+	@Test
+	public void invoke_shouldNotFailTheCallWhenRecordingFails() throws Throwable {
+		advice.failing = true;
+		Patient patient = new Patient(1);
+
+		Object result = advice.invoke(new StubMethodInvocation(PatientService.class.getMethod("savePatient",
+				Patient.class), patient, patient));
+
+		assertSame(patient, result);
+	}
+
+	private static class RecordingAdvice extends ResourceChangeAdvice {
+
+		private final List<String> recorded = new ArrayList<String>();
+
+		private boolean failing;
+
+		@Override
+		protected void recordChange(String resourceType, String uuid, ResourceChange.ChangeType changeType) {
+			if (failing) {
+				throw new IllegalStateException("change log unavailable");
+			}
+			recorded.add(changeType + " " + resourceType + " " + uuid);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package org.openmrs.module.fhir.api.advice;
+
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+
+/**
+ * Invocation of a service method returning a fixed result, to call advices without the service.
+ */
+public class StubMethodInvocation implements MethodInvocation {
+
+	private final Method method;
+
+	private final Object result;
+
+	private final Object[] arguments;
+
+	public StubMethodInvocation(Method method, Object result, Object... arguments) {
+		this.method = method;
+		this.result = result;
+		this.arguments = arguments;
+	}
+
+	@Override
+	public Method getMethod() {
+		return method;
+	}
+
+	@Override
+	public Object[] getArguments() {
+		return arguments;
+	}
+
+	@Override
+	public Object proceed() {
+		return result;
+	}
+
+	@Override
+	public Object getThis() {
+		return null;
+	}
+
+	@Override
+	public AccessibleObject getStaticPart() {
+		return method;
+	}
+}
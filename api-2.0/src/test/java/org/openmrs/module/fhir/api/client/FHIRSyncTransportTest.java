@@ -0,0 +1,207 @@
+package org.openmrs.module.fhir.api.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.hl7.fhir.dstu3.model.Bundle;
+import org.hl7.fhir.dstu3.model.Patient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.module.fhir.api.exceptions.FHIRBatchException;
+import org.openmrs.module.fhir.api.exceptions.FHIRException;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FHIRSyncTransportTest {
+
+	private static final int PATIENT_COUNT = 120;
+
+	private static final int BATCH_SIZE = 50;
+
+	private static final int MAX_PARALLEL_REQUESTS = 2;
+
+	private HttpServer server;
+
+	private ExecutorService serverExecutor;
+
+	private StubFHIRServer stub;
+
+	private String serverBase;
+
+	@Before
+	public void setUp() throws IOException {
+		stub = new StubFHIRServer();
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/fhir", stub);
+		serverExecutor = Executors.newFixedThreadPool(MAX_PARALLEL_REQUESTS * 2);
+		server.setExecutor(serverExecutor);
+		server.start();
+		serverBase = "http://localhost:" + server.getAddress().getPort() + "/fhir";
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
+
+	@Test
+	public void shouldPushResourcesInCompressedBatchBundles() throws IOException {
+		try (FHIRSyncTransport transport = new FHIRSyncTransport(serverBase,
+				Collections.<ClientHttpRequestInterceptor>singletonList(new BasicAuthInterceptor("admin", "test")),
+				Bundle.BundleType.BATCH, BATCH_SIZE, MAX_PARALLEL_REQUESTS, true)) {
+			List<Bundle> responses = transport.push(createPatients());
+
+			assertEquals(3, responses.size());
+			assertEquals(BATCH_SIZE, responses.get(0).getEntry().size());
+			assertEquals(PATIENT_COUNT - 2 * BATCH_SIZE, responses.get(2).getEntry().size());
+			assertEquals("200 OK", responses.get(0).getEntryFirstRep().getResponse().getStatus());
+		}
+
+		assertEquals(3, stub.bundles.size());
+		int pushed = 0;
+		for (Bundle bundle : stub.bundles) {
+			assertEquals(Bundle.BundleType.BATCH, bundle.getType());
+			assertEquals(Bundle.HTTPVerb.PUT, bundle.getEntryFirstRep().getRequest().getMethod());
+			assertTrue(bundle.getEntryFirstRep().getRequest().getUrl().startsWith("Patient/"));
+			pushed += bundle.getEntry().size();
+		}
+		assertEquals(PATIENT_COUNT, pushed);
+		assertTrue(stub.maxConcurrentRequests.get() <= MAX_PARALLEL_REQUESTS);
+		assertTrue(stub.authorized);
+	}
+
+	@Test(expected = FHIRException.class)
+	public void shouldFailWhenServerRejectsBundle() throws IOException {
+		stub.status = 500;
+		try (FHIRSyncTransport transport = new FHIRSyncTransport(serverBase,
+				Collections.<ClientHttpRequestInterceptor>emptyList())) {
+			transport.push(createPatients());
+		}
+	}
+
+	@Test
+	public void shouldAcceptBundleWithoutResponseBody() throws IOException {
+		stub.status = 204;
+		try (FHIRSyncTransport transport = new FHIRSyncTransport(serverBase,
+				Collections.<ClientHttpRequestInterceptor>emptyList())) {
+			List<Bundle> responses = transport.push(createPatients());
+
+			assertEquals(3, responses.size());
+			assertEquals(Bundle.BundleType.BATCHRESPONSE, responses.get(0).getType());
+			assertTrue(responses.get(0).getEntry().isEmpty());
+		}
+		assertEquals(3, stub.bundles.size());
+	}
+
+	@Test
+	public void shouldReportEntriesRejectedByServer() throws IOException {
+		stub.rejectedIds.add("patient-7");
+		stub.rejectedIds.add("patient-110");
+		List<Patient> patients = createPatients();
+		try (FHIRSyncTransport transport = new FHIRSyncTransport(serverBase,
+				Collections.<ClientHttpRequestInterceptor>emptyList())) {
+			transport.push(patients);
+			fail("Rejected entries should not be reported as pushed");
+		}
+		catch (FHIRBatchException e) {
+			assertEquals(3, e.getResponses().size());
+			assertEquals(2, e.getFailedResources().size());
+			assertSame(patients.get(7), e.getFailedResources().get(0));
+			assertSame(patients.get(110), e.getFailedResources().get(1));
+		}
+	}
+
+	private List<Patient> createPatients() {
+		List<Patient> patients = new ArrayList<>();
+		for (int i = 0; i < PATIENT_COUNT; i++) {
+			Patient patient = new Patient();
+			patient.setId("patient-" + i);
+			patient.addName().setFamily("Doe").addGiven("John");
+			patients.add(patient);
+		}
+		return patients;
+	}
+
+	/**
+	 * Accepts gzip compressed batch bundles and answers every entry with 200 OK, or 422 for rejected ids
+	 */
+	private static class StubFHIRServer implements HttpHandler {
+
+		private final List<Bundle> bundles = new CopyOnWriteArrayList<>();
+
+		private final AtomicInteger concurrentRequests = new AtomicInteger();
+
+		private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+
+		private volatile boolean authorized;
+
+		private final List<String> rejectedIds = new CopyOnWriteArrayList<>();
+
+		private volatile int status = 200;
+
+		@Override
+		public void handle(HttpExchange exchange) throws IOException {
+			int concurrent = concurrentRequests.incrementAndGet();
+			try {
+				while (concurrent > maxConcurrentRequests.get()) {
+					maxConcurrentRequests.compareAndSet(maxConcurrentRequests.get(), concurrent);
+				}
+				authorized = exchange.getRequestHeaders().getFirst("Authorization") != null;
+
+				InputStream body = exchange.getRequestBody();
+				if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+					body = new GZIPInputStream(body);
+				}
+				Bundle request;
+				try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+					request = FHIRContextFactory.getFHIRContext().newJsonParser().parseResource(Bundle.class, reader);
+				}
+				bundles.add(request);
+
+				if (status == 204) {
+					exchange.sendResponseHeaders(status, -1);
+					exchange.close();
+					return;
+				}
+				Bundle response = new Bundle();
+				response.setType(Bundle.BundleType.BATCHRESPONSE);
+				for (Bundle.BundleEntryComponent entry : request.getEntry()) {
+					boolean rejected = rejectedIds.contains(entry.getResource().getIdElement().getIdPart());
+					response.addEntry().getResponse().setStatus(rejected ? "422 Unprocessable Entity" : "200 OK");
+				}
+				byte[] content = FHIRContextFactory.getFHIRContext().newJsonParser().encodeResourceToString(response)
+						.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().add("Content-Type", "application/fhir+json");
+				exchange.sendResponseHeaders(status, content.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(content);
+				}
+			}
+			finally {
+				concurrentRequests.decrementAndGet();
+			}
+		}
+	}
+}
@@ -2,6 +2,8 @@ package org.openmrs.module.fhir.api.helper;
 
 import ca.uhn.fhir.context.FhirContext;
 import org.hl7.fhir.dstu3.model.Encounter;
+import org.hl7.fhir.dstu3.model.Enumerations;
+import org.hl7.fhir.dstu3.model.HumanName;
 import org.hl7.fhir.dstu3.model.Location;
 import org.hl7.fhir.dstu3.model.Observation;
 import org.hl7.fhir.dstu3.model.Patient;
@@ -9,11 +11,14 @@ import org.hl7.fhir.dstu3.model.Person;
 import org.hl7.fhir.dstu3.model.Practitioner;
 import org.junit.Test;
 import org.openmrs.module.fhir.api.client.ClientHttpEntity;
+import org.openmrs.module.fhir.api.util.FHIRFingerprintUtil;
 import org.springframework.http.HttpMethod;
 
 import java.net.URI;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 public class FHIRClientHelperTest {
 
@@ -77,4 +82,63 @@ public class FHIRClientHelperTest {
 		assertEquals(Practitioner.class, fhirClientHelper.resolveClassByCategory("provider"));
 		assertEquals(Person.class, fhirClientHelper.resolveClassByCategory("person"));
 	}
+
+	@Test
+	public void computeFingerprint_shouldIgnoreIdAndMeta() {
+		Patient local = buildPatient("Doe");
+		local.setId("local_uuid");
+		Patient foreign = buildPatient("Doe");
+		foreign.setId("foreign_uuid");
+		foreign.getMeta().setVersionId("2");
+
+		FHIRClientHelper fhirClientHelper = new FHIRClientHelper();
+		assertEquals(fhirClientHelper.computeFingerprint(local), fhirClientHelper.computeFingerprint(foreign));
+		assertTrue(fhirClientHelper.compareResourceObjects("patient", foreign, local));
+	}
+
+	@Test
+	public void computeFingerprint_shouldDifferForDifferentContent() {
+		FHIRClientHelper fhirClientHelper = new FHIRClientHelper();
+		assertNotEquals(fhirClientHelper.computeFingerprint(buildPatient("Doe")),
+				fhirClientHelper.computeFingerprint(buildPatient("Roe")));
+	}
+
+	@Test
+	public void computeFingerprint_shouldFollowChangesToTheResource() {
+		FHIRClientHelper fhirClientHelper = new FHIRClientHelper();
+		Patient patient = (Patient) fhirClientHelper.convertToObject(
+				FhirContext.forDstu3().newJsonParser().encodeResourceToString(buildPatient("Doe")), Patient.class);
+		String fingerprint = fhirClientHelper.computeFingerprint(patient);
+
+		patient.getNameFirstRep().setFamily("Roe");
+
+		assertNotEquals(fingerprint, fhirClientHelper.computeFingerprint(patient));
+		assertEquals(fhirClientHelper.computeFingerprint(buildPatient("Roe")),
+				fhirClientHelper.computeFingerprint(patient));
+	}
+
+	@Test
+	public void compareResourceObjects_shouldUseTheFingerprintsTakenOnConversion() {
+		FHIRClientHelper fhirClientHelper = new FHIRClientHelper();
+		String payload = FhirContext.forDstu3().newJsonParser().encodeResourceToString(buildPatient("Doe"));
+		Patient local = (Patient) fhirClientHelper.convertToObject(payload, Patient.class);
+		Patient foreign = (Patient) fhirClientHelper.convertToObject(payload, Patient.class);
+
+		assertEquals(fhirClientHelper.computeFingerprint(local), FHIRFingerprintUtil.getTakenFingerprint(local));
+		assertTrue(fhirClientHelper.compareResourceObjects("patient", foreign, local));
+
+		foreign.getNameFirstRep().setFamily("Roe");
+		FHIRFingerprintUtil.takeFingerprint(foreign);
+
+		assertEquals(fhirClientHelper.computeFingerprint(foreign), FHIRFingerprintUtil.getTakenFingerprint(foreign));
+		assertNotEquals(FHIRFingerprintUtil.getTakenFingerprint(local),
+				FHIRFingerprintUtil.getTakenFingerprint(foreign));
+	}
+
+	private Patient buildPatient(String familyName) {
+		Patient patient = new Patient();
+		patient.addName(new HumanName().setFamily(familyName).addGiven("John"));
+		patient.setGender(Enumerations.AdministrativeGender.MALE);
+		return patient;
+	}
 }
@@ -0,0 +1,92 @@
+package org.openmrs.module.fhir.api.index;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NameIndexTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void search_shouldRankWholeNamesBeforePrefixes() {
+		NameIndex index = new NameIndex();
+		index.put(person(1, true, "Johnathan", "Smith"));
+		index.put(person(2, true, "John", "Smith"));
+
+		assertEquals(Arrays.asList(2, 1), index.search("john smi", false, 0, 10));
+		assertEquals(Collections.singletonList(2), index.search("john", false, 0, 1));
+	}
+
+	@Test
+	public void search_shouldFindMisspelledNamesByTheirSound() {
+		NameIndex index = new NameIndex();
+		index.put(person(1, true, "John", "Smith"));
+		index.put(person(2, true, "Mary", "Jones"));
+
+		assertEquals(Collections.singletonList(1), index.search("Jon Smyth", false, 0, 10));
+		assertEquals(Collections.singletonList(1), index.search("Jon Smyth", true, 0, 10));
+		assertTrue(index.search("Smi", true, 0, 10).isEmpty());
+	}
+
+	@Test
+	public void search_shouldMatchIdentifiersBirthdatesAndAccentedNames() {
+		NameIndex index = new NameIndex();
+		IndexedPerson person = person(1, true, "Hélène", "Dupré");
+		person.addIdentifier("101-6");
+		person.setBirthdate(new GregorianCalendar(1980, 4, 2).getTime());
+		index.put(person);
+
+		assertEquals(Collections.singletonList(1), index.search("helene dupre", false, 0, 10));
+		assertEquals(Collections.singletonList(1), index.search("101-6", false, 0, 10));
+		assertEquals(Collections.singletonList(1), index.search("dupre 1980-05-02", false, 0, 10));
+		assertTrue(index.search("dupre 1980-05-03", false, 0, 10).isEmpty());
+	}
+
+	@Test
+	public void search_shouldFilterByFlagsAndForgetRemovedPersons() {
+		NameIndex index = new NameIndex();
+		index.put(person(1, true, "Ann", "Lee"));
+		index.put(person(2, false, "Ann", "Lee"));
+
+		assertEquals(Collections.singletonList(1), index.search("lee", false, NameIndex.PATIENT, 10));
+		assertEquals(Arrays.asList(1, 2), index.search("lee", false, 0, 10));
+
+		index.remove(1);
+		assertTrue(index.search("lee", false, NameIndex.PATIENT, 10).isEmpty());
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	public void write_shouldBeReadBack() throws Exception {
+		NameIndex index = new NameIndex();
+		index.put(person(1, true, "John", "Smith"));
+		index.setSyncedUpTo(new GregorianCalendar(2020, 0, 1).getTime());
+		File file = new File(folder.getRoot(), "names.idx");
+
+		index.write(file);
+		NameIndex read = NameIndex.read(file);
+
+		assertEquals(1, read.size());
+		assertEquals(index.getSyncedUpTo(), read.getSyncedUpTo());
+		assertEquals(Integer.valueOf(1), read.getPersonId("uuid-1"));
+		assertEquals(Collections.singletonList(1), read.search("jon", false, NameIndex.PATIENT, 10));
+	}
+
+	private static IndexedPerson person(int personId, boolean patient, String givenName, String familyName) {
+		IndexedPerson person = new IndexedPerson(personId, "uuid-" + personId);
+		person.setPatient(patient);
+		person.addName(givenName);
+		person.addName(familyName);
+		return person;
+	}
+}
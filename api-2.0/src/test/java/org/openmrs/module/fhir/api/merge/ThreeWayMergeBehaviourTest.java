@@ -0,0 +1,138 @@
+package org.openmrs.module.fhir.api.merge;
+
+import org.hl7.fhir.dstu3.model.Enumerations;
+import org.hl7.fhir.dstu3.model.Patient;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ThreeWayMergeBehaviourTest {
+
+	private static final String UUID = "dd553355-632a-4a72-ab2b-4ff0e8e2e5f5";
+
+	private InMemoryBaseVersionStore store;
+
+	private MergeBehaviour<IBaseResource> behaviour;
+
+	@Before
+	public void setUp() {
+		store = new InMemoryBaseVersionStore();
+		behaviour = new ThreeWayMergeBehaviour(store);
+	}
+
+	@Test
+	public void shouldMergeChangesOfDifferentFields() {
+		store.saveBaseVersion(createPatient());
+		Patient local = createPatient();
+		local.setGender(Enumerations.AdministrativeGender.FEMALE);
+		Patient foreign = createPatient();
+		foreign.setActive(false);
+
+		MergeResult<IBaseResource> result = behaviour.resolveDiff(Patient.class, local, foreign);
+
+		assertTrue(result instanceof ThreeWayMergeSuccess);
+		ThreeWayMergeSuccess<IBaseResource> success = (ThreeWayMergeSuccess<IBaseResource>) result;
+		assertEquals(MergeMessageEnum.SAVE_BOTH_MESSAGES, success.getMessage());
+		Patient merged = (Patient) success.getMerged();
+		assertEquals(Enumerations.AdministrativeGender.FEMALE, merged.getGender());
+		assertFalse(merged.getActive());
+		assertEquals(UUID, merged.getIdElement().getIdPart());
+		assertEquals("[{\"op\":\"replace\",\"path\":\"/active\",\"value\":false}]", success.getLocalPatch());
+		assertEquals("[{\"op\":\"replace\",\"path\":\"/gender\",\"value\":\"female\"}]", success.getForeignPatch());
+		assertTrue(((Patient) store.getBaseVersion(Patient.class, UUID)).getActive());
+	}
+
+	@Test
+	public void shouldKeepBaseVersionWhenMergedResourceFailsToApply() {
+		store.saveBaseVersion(createPatient());
+		Patient local = createPatient();
+		local.setGender(Enumerations.AdministrativeGender.FEMALE);
+		Patient foreign = createPatient();
+		foreign.setActive(false);
+
+		ThreeWayMergeSuccess<IBaseResource> first = (ThreeWayMergeSuccess<IBaseResource>) behaviour.resolveDiff(
+				Patient.class, local, foreign);
+		// the patches are never applied, so the next synchronization sees both sides unchanged
+		MergeResult<IBaseResource> retry = behaviour.resolveDiff(Patient.class, local, foreign);
+
+		assertTrue(retry instanceof ThreeWayMergeSuccess);
+		ThreeWayMergeSuccess<IBaseResource> second = (ThreeWayMergeSuccess<IBaseResource>) retry;
+		assertEquals(first.getLocalPatch(), second.getLocalPatch());
+		assertEquals(first.getForeignPatch(), second.getForeignPatch());
+		assertEquals(Enumerations.AdministrativeGender.MALE,
+				((Patient) store.getBaseVersion(Patient.class, UUID)).getGender());
+	}
+
+	@Test
+	public void shouldReportConflictForFieldChangedOnBothSides() {
+		store.saveBaseVersion(createPatient());
+		Patient local = createPatient();
+		local.setGender(Enumerations.AdministrativeGender.FEMALE);
+		Patient foreign = createPatient();
+		foreign.setGender(Enumerations.AdministrativeGender.OTHER);
+		foreign.setActive(false);
+
+		MergeResult<IBaseResource> result = behaviour.resolveDiff(Patient.class, local, foreign);
+
+		assertTrue(result instanceof ThreeWayMergeConflict);
+		assertEquals(Collections.singletonList("gender"),
+				((ThreeWayMergeConflict<IBaseResource>) result).getConflictingFields());
+	}
+
+	@Test
+	public void shouldReportConflictWithoutBaseVersion() {
+		Patient local = createPatient();
+		local.setGender(Enumerations.AdministrativeGender.FEMALE);
+		Patient foreign = createPatient();
+
+		MergeResult<IBaseResource> result = behaviour.resolveDiff(Patient.class, local, foreign);
+
+		assertTrue(result instanceof ThreeWayMergeConflict);
+		assertEquals(Collections.singletonList("gender"),
+				((ThreeWayMergeConflict<IBaseResource>) result).getConflictingFields());
+	}
+
+	@Test
+	public void shouldNotUpdateEqualResources() {
+		MergeResult<IBaseResource> result = behaviour.resolveDiff(Patient.class, createPatient(), createPatient());
+
+		assertTrue(result instanceof MergeSuccess);
+		MergeSuccess<IBaseResource> success = (MergeSuccess<IBaseResource>) result;
+		assertEquals(MergeMessageEnum.NO_SAVE_MESSAGE, success.getMessage());
+		assertNull(success.getMerged());
+		assertNull(store.getBaseVersion(Patient.class, UUID));
+	}
+
+	private Patient createPatient() {
+		Patient patient = new Patient();
+		patient.setId(UUID);
+		patient.setActive(true);
+		patient.setGender(Enumerations.AdministrativeGender.MALE);
+		patient.addName().setFamily("Doe").addGiven("John");
+		return patient;
+	}
+
+	private static class InMemoryBaseVersionStore implements BaseVersionStore {
+
+		private final Map<String, IBaseResource> baseVersions = new HashMap<>();
+
+		@Override
+		public <T extends IBaseResource> T getBaseVersion(Class<T> clazz, String uuid) {
+			return clazz.cast(baseVersions.get(clazz.getSimpleName() + "/" + uuid));
+		}
+
+		@Override
+		public void saveBaseVersion(IBaseResource resource) {
+			baseVersions.put(resource.getClass().getSimpleName() + "/" + resource.getIdElement().getIdPart(), resource);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package org.openmrs.module.fhir.api.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+
+	private static final long ONE_HOUR = 3600000L;
+
+	@Test
+	public void shouldOpenAfterConsecutiveFailures() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker(2, ONE_HOUR);
+
+		circuitBreaker.recordFailure();
+		assertTrue(circuitBreaker.allowRequest());
+		circuitBreaker.recordFailure();
+
+		assertTrue(circuitBreaker.isOpen());
+		assertFalse(circuitBreaker.allowRequest());
+	}
+
+	@Test
+	public void shouldResetFailuresOnSuccess() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker(2, ONE_HOUR);
+
+		circuitBreaker.recordFailure();
+		circuitBreaker.recordSuccess();
+		circuitBreaker.recordFailure();
+
+		assertFalse(circuitBreaker.isOpen());
+		assertTrue(circuitBreaker.allowRequest());
+	}
+
+	@Test
+	public void shouldLetOneTrialRequestThroughAfterOpenPeriod() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker(1, 0);
+		circuitBreaker.recordFailure();
+
+		assertTrue(circuitBreaker.allowRequest());
+		circuitBreaker.recordSuccess();
+
+		assertFalse(circuitBreaker.isOpen());
+	}
+
+	@Test
+	public void shouldCacheFoundAndMissingLookups() {
+		RemoteLookupCache<String> cache = new RemoteLookupCache<>(2, ONE_HOUR, ONE_HOUR);
+		cache.putFound("a", "patient a");
+		cache.putMissing("b");
+
+		assertEquals("patient a", cache.get("a").getValue());
+		assertFalse(cache.get("b").isFound());
+		assertNull(cache.get("c"));
+
+		cache.putFound("c", "patient c");
+		assertNull(cache.get("a"));
+	}
+}
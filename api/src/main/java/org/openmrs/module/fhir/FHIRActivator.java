@@ -15,13 +15,19 @@ package org.openmrs.module.fhir;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.openmrs.api.context.Context;
 import org.openmrs.module.ModuleActivator;
+import org.openmrs.module.fhir.api.NameIndexService;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
+import org.openmrs.module.fhir.api.util.ContextUtil;
 
 /**
  * This class contains the logic that is run every time this module is either started or stopped.
  */
 public class FHIRActivator implements ModuleActivator {
 
+	private static final String NAME_INDEX_THREAD_NAME = "FHIR name index loader";
+
 	protected Log log = LogFactory.getLog(getClass());
 
 	/**
@@ -29,12 +35,15 @@ public class FHIRActivator implements ModuleActivator {
 	 */
 	public void willRefreshContext() {
 		log.info("Refreshing FHIR Module");
+		ContextUtil.clearHelpers();
 	}
 
 	/**
 	 * @see ModuleActivator#contextRefreshed()
 	 */
 	public void contextRefreshed() {
+		//Drops helpers looked up while the context was being refreshed
+		ContextUtil.clearHelpers();
 		log.info("FHIR Module refreshed");
 	}
 
@@ -44,12 +53,14 @@ public class FHIRActivator implements ModuleActivator {
 	public void willStart() {
 
 		log.info("Starting FHIR Module");
+		FHIRContextFactory.warmUpInBackground();
 	}
 
 	/**
 	 * @see ModuleActivator#started()
 	 */
 	public void started() {
+		loadNameIndexInBackground();
 		log.info("FHIR Module started");
 	}
 
@@ -58,6 +69,7 @@ public class FHIRActivator implements ModuleActivator {
 	 */
 	public void willStop() {
 		log.info("Stopping FHIR Module");
+		Context.getService(NameIndexService.class).saveIndex();
 	}
 
 	/**
@@ -67,4 +79,28 @@ public class FHIRActivator implements ModuleActivator {
 		log.info("FHIR Module stopped");
 	}
 
+	/**
+	 * Loads the name index on a background thread, building it from the database the first time, so
+	 * that the module starts without waiting for it
+	 */
+	private void loadNameIndexInBackground() {
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				Context.openSession();
+				try {
+					Context.getService(NameIndexService.class).loadIndex();
+				}
+				catch (RuntimeException e) {
+					log.warn("Failed to load the name index", e);
+				}
+				finally {
+					Context.closeSession();
+				}
+			}
+		}, NAME_INDEX_THREAD_NAME);
+		thread.setDaemon(true);
+		thread.start();
+	}
 }
@@ -14,6 +14,7 @@
 package org.openmrs.module.fhir.api;
 
 import org.hl7.fhir.dstu3.model.AllergyIntolerance;
+import org.openmrs.module.fhir.api.allergy.AllergyIntoleranceSearch;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -61,6 +62,26 @@ public interface AllergyIntoleranceService {
 	 */
 	List<AllergyIntolerance> searchAllergiesByPatientUuid(String personId);
 
+	/**
+	 * Search allergies of the patients matching a name, an identifier or a uuid, page by page
+	 *
+	 * @param search      the criteria of the allergies
+	 * @param firstResult index of the first allergy of the page
+	 * @param maxResults  size of the page
+	 * @return the page of allergies
+	 * @since 1.20.0
+	 */
+	List<AllergyIntolerance> searchAllergies(AllergyIntoleranceSearch search, int firstResult, int maxResults);
+
+	/**
+	 * Count allergies of the patients matching a name, an identifier or a uuid
+	 *
+	 * @param search the criteria of the allergies
+	 * @return the number of matching allergies
+	 * @since 1.20.0
+	 */
+	int getAllergyCount(AllergyIntoleranceSearch search);
+
 	/**
 	 * Create allergy intolerance
 	 *
@@ -16,6 +16,7 @@ package org.openmrs.module.fhir.api;
 import org.hl7.fhir.dstu3.model.DiagnosticReport;
 import org.openmrs.api.APIException;
 import org.openmrs.module.fhir.api.diagnosticreport.DiagnosticReportHandler;
+import org.openmrs.module.fhir.api.diagnosticreport.DiagnosticReportSearch;
 
 import java.util.List;
 import java.util.Map;
@@ -64,6 +65,25 @@ public interface DiagnosticReportService {
 	 */
 	List<DiagnosticReport> getDiagnosticReportByPatientNameAndServiceCategory(String patientName, String service);
 
+	/**
+	 * Search FHIR Diagnostic Reports with a single query over the encounter types configured for the
+	 * registered handlers. Reports are built only for the requested page.
+	 *
+	 * @param search      criteria of the search
+	 * @param firstResult index of the first report to return
+	 * @param maxResults  maximum number of reports to return
+	 * @return the matching Diagnostic Reports, most recently issued first
+	 */
+	List<DiagnosticReport> searchDiagnosticReports(DiagnosticReportSearch search, int firstResult, int maxResults);
+
+	/**
+	 * Count the Diagnostic Reports matched by {@link #searchDiagnosticReports(DiagnosticReportSearch, int, int)}
+	 *
+	 * @param search criteria of the search
+	 * @return the number of matching Diagnostic Reports
+	 */
+	int getDiagnosticReportCount(DiagnosticReportSearch search);
+
 	/**
 	 * Get the DiagnosticReportHandler that has been registered with the given key
 	 *
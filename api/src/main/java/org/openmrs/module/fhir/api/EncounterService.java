@@ -17,8 +17,10 @@ import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.Composition;
 import org.hl7.fhir.dstu3.model.Encounter;
 import org.openmrs.api.OpenmrsService;
+import org.openmrs.module.fhir.api.encounter.EncounterSearch;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -53,6 +55,63 @@ public interface EncounterService extends OpenmrsService {
 	 */
 	List<Encounter> searchEncounterById(String id);
 
+	/**
+	 * Get encounters by their uuids, each uuid being the uuid of an encounter or of a visit, with a single
+	 * query for the encounters and one more for the uuids left over
+	 *
+	 * @param uuids uuids of the encounters and visits
+	 * @return fhir encounter resource list, in no particular order
+	 */
+	List<Encounter> getEncountersByUuids(Collection<String> uuids);
+
+	/**
+	 * Search the encounters and visits of a patient, latest first, one page at a time. Each page is read
+	 * with at most one bounded query for the encounters and one for the visits, and the search position
+	 * is moved past the returned page, so that calling this again returns the next page.
+	 *
+	 * @param search     the search criteria and position, moved past the returned encounters
+	 * @param maxResults maximum number of encounters to return
+	 * @return fhir encounter resource list
+	 */
+	List<Encounter> searchEncounters(EncounterSearch search, int maxResults);
+
+	/**
+	 * Count the encounters and visits matched by {@link #searchEncounters(EncounterSearch, int)}
+	 *
+	 * @param search the search criteria
+	 * @return the number of matching encounters and visits
+	 */
+	int getEncounterCount(EncounterSearch search);
+
+	/**
+	 * Search the encounters of a patient as compositions, latest first, one page at a time. Only the
+	 * compositions of the page are built, and the search position is moved past them, so that calling
+	 * this again returns the next page. Visits have no composition and are left out, and so are
+	 * encounters whose composition cannot be built; the page is filled with the following ones.
+	 *
+	 * @param search     the search criteria and position, moved past the returned compositions
+	 * @param maxResults maximum number of compositions to return
+	 * @return fhir composition list
+	 */
+	List<Composition> searchCompositions(EncounterSearch search, int maxResults);
+
+	/**
+	 * Count the compositions matched by {@link #searchCompositions(EncounterSearch, int)}
+	 *
+	 * @param search the search criteria
+	 * @return the number of matching compositions
+	 */
+	int getCompositionCount(EncounterSearch search);
+
+	/**
+	 * Get the document of an encounter, a bundle starting with the composition of the encounter followed
+	 * by the resources it references: the patient, the encounter, its location, providers and obs
+	 *
+	 * @param encounterId the encounter id
+	 * @return the document bundle, null if there is no such encounter
+	 */
+	Bundle getCompositionDocument(String encounterId);
+
 	/**
 	 * Search encounters by patient identifier
 	 *
@@ -17,6 +17,7 @@ import org.hl7.fhir.dstu3.model.Location;
 import org.openmrs.api.OpenmrsService;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Transactional
@@ -38,6 +39,14 @@ public interface LocationService extends OpenmrsService {
 	 */
 	List<Location> searchLocationsByUuid(String uuid);
 
+	/**
+	 * Get locations by their uuids with a single query, retired ones included with status inactive
+	 *
+	 * @param uuids uuids of the locations
+	 * @return fhir location resource list, in no particular order
+	 */
+	List<Location> getLocationsByUuids(Collection<String> uuids);
+
 	/**
 	 * Search all active or inactive locations
 	 *
@@ -54,6 +63,25 @@ public interface LocationService extends OpenmrsService {
 	 */
 	List<Location> searchLocationsByName(String name);
 
+	/**
+	 * Search the locations that are part of a location
+	 *
+	 * @param uuid  The uuid of the parent location
+	 * @param below true to search the whole hierarchy below the location, false for its direct children
+	 * @return fhir location resource list, parents before their children
+	 */
+	List<Location> searchLocationsByPartOf(String uuid, boolean below);
+
+	/**
+	 * Search the locations near a point
+	 *
+	 * @param latitude  latitude of the point, in degrees
+	 * @param longitude longitude of the point, in degrees
+	 * @param distance  the maximum distance from the point, in kilometers
+	 * @return fhir location resource list, nearest first
+	 */
+	List<Location> searchLocationsNear(double latitude, double longitude, double distance);
+
 	/**
 	 * Delete location by id
 	 *
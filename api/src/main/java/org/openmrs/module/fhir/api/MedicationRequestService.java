@@ -14,6 +14,7 @@
 package org.openmrs.module.fhir.api;
 
 import org.hl7.fhir.dstu3.model.MedicationRequest;
+import org.openmrs.module.fhir.api.medicationrequest.MedicationRequestSearch;
 
 import java.util.List;
 
@@ -43,6 +44,26 @@ public interface MedicationRequestService {
 	 */
 	List<MedicationRequest> searchMedicationRequestByPatientId(String patientUuid);
 
+	/**
+	 * Search medication requests page by page, latest authored first
+	 *
+	 * @param search      the criteria of the medication requests
+	 * @param firstResult index of the first medication request of the page
+	 * @param maxResults  size of the page
+	 * @return the page of medication requests
+	 * @since 1.20.0
+	 */
+	List<MedicationRequest> searchMedicationRequests(MedicationRequestSearch search, int firstResult, int maxResults);
+
+	/**
+	 * Count medication requests
+	 *
+	 * @param search the criteria of the medication requests
+	 * @return the number of matching medication requests
+	 * @since 1.20.0
+	 */
+	int getMedicationRequestCount(MedicationRequestSearch search);
+
 	/**
 	 * Delete drug order by uuid
 	 *
@@ -0,0 +1,83 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api;
+
+import org.openmrs.Patient;
+import org.openmrs.Person;
+import org.openmrs.Provider;
+import org.openmrs.api.OpenmrsService;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Searches persons, patients and providers through the local name index, which is kept on disk in the
+ * application data directory and follows the changes recorded in the module change log.
+ *
+ * @see org.openmrs.module.fhir.api.index.NameIndex
+ * @since 1.20.0
+ */
+@Transactional
+public interface NameIndexService extends OpenmrsService {
+
+	/**
+	 * @return true once the index is loaded and can be searched
+	 */
+	boolean isIndexReady();
+
+	/**
+	 * Search patients by name parts, identifiers and birthdates
+	 *
+	 * @param query      the search tokens, separated by spaces or commas
+	 * @param phonetic   true to match the tokens only by how they sound
+	 * @param maxResults maximum number of patients to return
+	 * @return the best matching patients, best first
+	 */
+	@Transactional(readOnly = true)
+	List<Patient> searchPatients(String query, boolean phonetic, int maxResults);
+
+	/**
+	 * Search providers by the names of their persons
+	 *
+	 * @param query      the search tokens, separated by spaces or commas
+	 * @param phonetic   true to match the tokens only by how they sound
+	 * @param maxResults maximum number of persons to return the providers of
+	 * @return the non retired providers of the best matching persons, best first
+	 */
+	@Transactional(readOnly = true)
+	List<Provider> searchProviders(String query, boolean phonetic, int maxResults);
+
+	/**
+	 * Search persons by name parts, identifiers and birthdates
+	 *
+	 * @param query      the search tokens, separated by spaces or commas
+	 * @param phonetic   true to match the tokens only by how they sound
+	 * @param maxResults maximum number of persons to return
+	 * @return the best matching persons, best first
+	 */
+	@Transactional(readOnly = true)
+	List<Person> searchPersons(String query, boolean phonetic, int maxResults);
+
+	/**
+	 * Loads the index from disk, or builds it from the database when there is none, then applies the
+	 * changes recorded since it was written
+	 */
+	@Transactional(readOnly = true)
+	void loadIndex();
+
+	/**
+	 * Writes the index to disk
+	 */
+	void saveIndex();
+}
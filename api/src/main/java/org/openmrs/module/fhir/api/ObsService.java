@@ -17,6 +17,7 @@ import org.hl7.fhir.dstu3.model.Observation;
 import org.openmrs.api.OpenmrsService;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,14 @@ public interface ObsService extends OpenmrsService {
 	 */
 	Observation getObs(String id);
 
+	/**
+	 * Get observations by their uuids with a single query
+	 *
+	 * @param uuids uuids of the observations
+	 * @return observation fhir resources of the non voided observations found, in no particular order
+	 */
+	List<Observation> getObsByUuids(Collection<String> uuids);
+
 	/**
 	 * Search observations by patient and concepts
 	 *
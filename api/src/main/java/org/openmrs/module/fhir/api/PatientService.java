@@ -16,8 +16,10 @@ package org.openmrs.module.fhir.api;
 import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.openmrs.api.OpenmrsService;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Transactional
@@ -39,6 +41,14 @@ public interface PatientService extends OpenmrsService {
 	 */
 	List<Patient> searchPatientsById(String id);
 
+	/**
+	 * Get patients by their uuids with a single query, leaving out voided ones
+	 *
+	 * @param uuids uuids of the patients
+	 * @return fhir patient resource list, in no particular order
+	 */
+	List<Patient> getPatientsByUuids(Collection<String> uuids);
+
 	/**
 	 * Search patient by identifier and identifier type id
 	 *
@@ -56,6 +66,15 @@ public interface PatientService extends OpenmrsService {
 	 */
 	List<Patient> searchPatientsByIdentifier(String identifierValue);
 
+	/**
+	 * Search patients having an identifier that is exactly one of the given values, in one query
+	 *
+	 * @param identifierValues identifiers to be search
+	 * @param identifierSystem name or uuid of the identifier type, null to search identifiers of any type
+	 * @return fhir patient resource list, each patient once, empty if the identifier type is unknown
+	 */
+	List<Patient> searchPatientsByIdentifiers(Collection<String> identifierValues, String identifierSystem);
+
 	/**
 	 * Search all patients either active or inactive
 	 *
@@ -84,6 +103,37 @@ public interface PatientService extends OpenmrsService {
 	 */
 	Bundle searchPatientsByName(String name);
 
+	/**
+	 * Search patients by how their names sound
+	 *
+	 * @param name the name to be search
+	 * @return matching patients Bundle
+	 */
+	Bundle searchPatientsByPhoneticName(String name);
+
+	/**
+	 * Search patients by the parts of their names, a page at a time
+	 *
+	 * @param givenName   given name to match, null to match any
+	 * @param familyName  family name to match, null to match any
+	 * @param matchMode   how the name parts are matched
+	 * @param firstResult index of the first patient to return
+	 * @param maxResults  maximum number of patients to return
+	 * @return fhir patient resource list, each patient once
+	 */
+	List<Patient> searchPatientsByName(String givenName, String familyName, NameMatchMode matchMode, int firstResult,
+			int maxResults);
+
+	/**
+	 * Count the patients matched by {@link #searchPatientsByName(String, String, NameMatchMode, int, int)}
+	 *
+	 * @param givenName  given name to match, null to match any
+	 * @param familyName family name to match, null to match any
+	 * @param matchMode  how the name parts are matched
+	 * @return the number of matching patients
+	 */
+	int getPatientCountByName(String givenName, String familyName, NameMatchMode matchMode);
+
 	/**
 	 * Get patient operations bundle resource
 	 *
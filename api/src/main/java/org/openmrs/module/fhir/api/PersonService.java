@@ -17,6 +17,7 @@ import ca.uhn.fhir.rest.server.exceptions.NotModifiedException;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import org.hl7.fhir.dstu3.model.Person;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PersonService {
@@ -37,6 +38,14 @@ public interface PersonService {
 	 */
 	List<Person> searchPersonByUuid(String uuid);
 
+	/**
+	 * Get persons by their uuids with a single query, leaving out voided ones
+	 *
+	 * @param uuids uuids of the persons
+	 * @return fhir person resource list, in no particular order
+	 */
+	List<Person> getPersonsByUuids(Collection<String> uuids);
+
 	/**
 	 * Search all persons for given attributes
 	 *
@@ -15,8 +15,10 @@ package org.openmrs.module.fhir.api;
 
 import org.hl7.fhir.dstu3.model.Practitioner;
 import org.openmrs.api.OpenmrsService;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -48,6 +50,14 @@ public interface PractitionerService extends OpenmrsService {
 	 */
 	List<Practitioner> searchPractitionersById(String id);
 
+	/**
+	 * Get practitioners by their uuids with a single query, leaving out retired ones
+	 *
+	 * @param uuids uuids of the practitioners
+	 * @return fhir practitioner resource list, in no particular order
+	 */
+	List<Practitioner> getPractitionersByUuids(Collection<String> uuids);
+
 	/**
 	 * Search practitioners by name
 	 *
@@ -56,6 +66,14 @@ public interface PractitionerService extends OpenmrsService {
 	 */
 	List<Practitioner> searchPractitionersByName(String name);
 
+	/**
+	 * Search practitioners by how their names sound
+	 *
+	 * @param name the name to be search
+	 * @return fhir practitioner resource list
+	 */
+	List<Practitioner> searchPractitionersByPhoneticName(String name);
+
 	/**
 	 * Search practitioners by givenName
 	 *
@@ -72,6 +90,30 @@ public interface PractitionerService extends OpenmrsService {
 	 */
 	List<Practitioner> searchPractitionersByFamilyName(String familyName);
 
+	/**
+	 * Search practitioners by the parts of their names, a page at a time
+	 *
+	 * @param givenName   given name to match, null to match any
+	 * @param familyName  family name to match, null to match any
+	 * @param matchMode   how the name parts are matched
+	 * @param firstResult index of the first practitioner to return
+	 * @param maxResults  maximum number of practitioners to return
+	 * @return fhir practitioner resource list, each practitioner once
+	 */
+	List<Practitioner> searchPractitionersByName(String givenName, String familyName, NameMatchMode matchMode,
+			int firstResult, int maxResults);
+
+	/**
+	 * Count the practitioners matched by
+	 * {@link #searchPractitionersByName(String, String, NameMatchMode, int, int)}
+	 *
+	 * @param givenName  given name to match, null to match any
+	 * @param familyName family name to match, null to match any
+	 * @param matchMode  how the name parts are matched
+	 * @return the number of matching practitioners
+	 */
+	int getPractitionerCountByName(String givenName, String familyName, NameMatchMode matchMode);
+
 	/**
 	 * Search practitioners by identifier
 	 *
@@ -0,0 +1,47 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api;
+
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.api.OpenmrsService;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the last synchronized version of each resource, compactly serialized, to serve as the common
+ * ancestor of three-way merges.
+ *
+ * @see org.openmrs.module.fhir.api.merge.ThreeWayMergeBehaviour
+ * @since 1.20.0
+ */
+@Transactional
+public interface ResourceBaseVersionService extends OpenmrsService {
+
+	/**
+	 * Get the last synchronized version of a resource. Base versions are kept per resource type, as a
+	 * patient and its person share the same uuid.
+	 *
+	 * @param clazz type of the resource
+	 * @param uuid  uuid of the resource
+	 * @return the base version, or null if the resource was never synchronized
+	 */
+	@Transactional(readOnly = true)
+	<T extends IBaseResource> T getBaseVersion(Class<T> clazz, String uuid);
+
+	/**
+	 * Store a resource as its last synchronized version, replacing the previous one
+	 *
+	 * @param resource the synchronized resource
+	 */
+	void saveBaseVersion(IBaseResource resource);
+}
@@ -0,0 +1,59 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api;
+
+import org.openmrs.api.OpenmrsService;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores the content fingerprints of resources as they were when last synchronized, so that the sync
+ * can skip records that did not change without fetching both sides.
+ *
+ * @see org.openmrs.module.fhir.api.util.FHIRFingerprintUtil
+ * @since 1.20.0
+ */
+@Transactional
+public interface ResourceFingerprintService extends OpenmrsService {
+
+	/**
+	 * Get the fingerprint stored for a resource. Fingerprints are kept per resource type, as a patient
+	 * and its person share the same uuid.
+	 *
+	 * @param resourceType fhir resource type
+	 * @param uuid         uuid of the resource
+	 * @return the stored fingerprint, or null if the resource was never synchronized
+	 */
+	@Transactional(readOnly = true)
+	String getFingerprint(String resourceType, String uuid);
+
+	/**
+	 * Store the fingerprint of a resource, replacing the previous one
+	 *
+	 * @param resourceType fhir resource type
+	 * @param uuid         uuid of the resource
+	 * @param fingerprint  content fingerprint of the resource
+	 */
+	void saveFingerprint(String resourceType, String uuid, String fingerprint);
+
+	/**
+	 * Check whether a resource has the same fingerprint as the stored one
+	 *
+	 * @param resourceType fhir resource type
+	 * @param uuid         uuid of the resource
+	 * @param fingerprint  current content fingerprint of the resource
+	 * @return true if a fingerprint is stored and is equal to the given one
+	 */
+	@Transactional(readOnly = true)
+	boolean isUnchanged(String resourceType, String uuid, String fingerprint);
+}
@@ -0,0 +1,67 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api;
+
+import org.hl7.fhir.dstu3.model.Resource;
+import org.openmrs.api.OpenmrsService;
+import org.openmrs.module.fhir.api.model.ResourceChange;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Records changes to the OpenMRS objects behind FHIR resources and serves them as resource history,
+ * so that consumers can ask what changed since a given time instead of re-reading every resource.
+ *
+ * @since 1.20.0
+ */
+@Transactional
+public interface ResourceHistoryService extends OpenmrsService {
+
+	/**
+	 * Record a change in the change log, in a transaction of its own as it is called once the change
+	 * committed
+	 *
+	 * @param resourceType fhir resource type of the changed object
+	 * @param uuid         uuid of the changed object
+	 * @param changeType   kind of change
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	void recordChange(String resourceType, String uuid, ResourceChange.ChangeType changeType);
+
+	/**
+	 * Get the resources changed since the given date, ordered by the date of change. A deleted resource
+	 * is returned as an empty resource carrying only its id and deletion time.
+	 *
+	 * @param resourceType fhir resource type to filter on, null for all types
+	 * @param since        only changes recorded at or after this date, null for all changes
+	 * @param firstResult  index of the first change to return
+	 * @param maxResults   maximum number of changes to return
+	 * @return fhir resources with their last updated date set to the date of change
+	 */
+	@Transactional(readOnly = true)
+	List<Resource> getHistory(String resourceType, Date since, int firstResult, int maxResults);
+
+	/**
+	 * Count the changes recorded since the given date
+	 *
+	 * @param resourceType fhir resource type to filter on, null for all types
+	 * @param since        only changes recorded at or after this date, null for all changes
+	 * @return the number of changes
+	 */
+	@Transactional(readOnly = true)
+	int getHistoryCount(String resourceType, Date since);
+}
@@ -0,0 +1,66 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.advice;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openmrs.module.fhir.api.location.LocationTree;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Around advice on the OpenMRS location service which drops the {@link LocationTree} once a saved,
+ * retired, unretired or purged location is committed, so that the next read loads it again.
+ *
+ * @since 1.20.0
+ */
+public class LocationTreeAdvice implements MethodInterceptor {
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		String methodName = invocation.getMethod().getName();
+		if (!isChange(methodName)) {
+			return invocation.proceed();
+		}
+		try {
+			return invocation.proceed();
+		}
+		finally {
+			invalidateAfterCommit();
+		}
+	}
+
+	/**
+	 * A tree loaded before the commit would hold the previous locations, so the tree is dropped once the
+	 * change is visible to other transactions.
+	 */
+	private static void invalidateAfterCommit() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			LocationTree.invalidate();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+			@Override
+			public void afterCommit() {
+				LocationTree.invalidate();
+			}
+		});
+	}
+
+	private static boolean isChange(String methodName) {
+		return methodName.startsWith("save") || methodName.startsWith("retire") || methodName.startsWith("unretire")
+				|| methodName.startsWith("purge");
+	}
+}
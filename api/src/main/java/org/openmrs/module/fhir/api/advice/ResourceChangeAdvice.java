@@ -0,0 +1,224 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.advice;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openmrs.OpenmrsObject;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.Person;
+import org.openmrs.PersonName;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.ResourceHistoryService;
+import org.openmrs.module.fhir.api.model.ResourceChange;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Around advice on the OpenMRS services which records saved, voided, retired, purged, discontinued and
+ * merged objects in the module change log, under the FHIR resource type they are exposed as. Changes
+ * to names and identifiers are recorded as updates of the person or patient they belong to. Changes
+ * are recorded after the service call committed.
+ *
+ * @since 1.20.0
+ */
+public class ResourceChangeAdvice implements MethodInterceptor {
+
+	protected final Log log = LogFactory.getLog(this.getClass());
+
+	private static final Map<String, String> RESOURCE_TYPES = new HashMap<String, String>();
+
+	private static final String[] UPDATE_METHOD_PREFIXES = { "save", "unvoid", "unretire", "discontinue", "endVisit",
+			"mergePatients" };
+
+	private static final String[] DELETE_METHOD_PREFIXES = { "void", "retire", "purge", "delete" };
+
+	static {
+		RESOURCE_TYPES.put("Patient", "Patient");
+		RESOURCE_TYPES.put("Person", "Person");
+		RESOURCE_TYPES.put("Relationship", "RelatedPerson");
+		RESOURCE_TYPES.put("Encounter", "Encounter");
+		RESOURCE_TYPES.put("Visit", "Encounter");
+		RESOURCE_TYPES.put("Obs", "Observation");
+		RESOURCE_TYPES.put("Location", "Location");
+		RESOURCE_TYPES.put("Provider", "Practitioner");
+		RESOURCE_TYPES.put("Allergy", "AllergyIntolerance");
+		RESOURCE_TYPES.put("DrugOrder", "MedicationRequest");
+		RESOURCE_TYPES.put("TestOrder", "ProcedureRequest");
+		RESOURCE_TYPES.put("Drug", "Medication");
+		RESOURCE_TYPES.put("Cohort", "Group");
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		String methodName = invocation.getMethod().getName();
+		ResourceChange.ChangeType changeType = getChangeType(methodName);
+		Object[] arguments = invocation.getArguments();
+		if (changeType == null || arguments.length == 0 || !(arguments[0] instanceof OpenmrsObject)) {
+			return invocation.proceed();
+		}
+
+		OpenmrsObject object = (OpenmrsObject) arguments[0];
+		if (object instanceof PersonName || object instanceof PatientIdentifier) {
+			Object result = invocation.proceed();
+			recordAfterCommit(getOwnerChanges(object));
+			return result;
+		}
+		String resourceType = getResourceType(object);
+		if (resourceType == null) {
+			return invocation.proceed();
+		}
+
+		boolean isNew = object.getId() == null;
+		Object result = invocation.proceed();
+
+		List<ResourceChange> changes = new ArrayList<ResourceChange>();
+		if (result instanceof OpenmrsObject && !object.getUuid().equals(((OpenmrsObject) result).getUuid())) {
+			OpenmrsObject created = (OpenmrsObject) result;
+			if (methodName.startsWith("save")) {
+				//The object was replaced by a new version, like an edited obs
+				changes.add(new ResourceChange(resourceType, object.getUuid(), ResourceChange.ChangeType.DELETE, null));
+			} else {
+				//The object was changed and another one created for it, like a discontinued order
+				changes.add(new ResourceChange(resourceType, object.getUuid(), changeType, null));
+			}
+			String createdType = getResourceType(created);
+			if (createdType != null) {
+				changes.add(new ResourceChange(createdType, created.getUuid(), ResourceChange.ChangeType.CREATE, null));
+			}
+		} else if (changeType == ResourceChange.ChangeType.UPDATE && isNew) {
+			changes.add(new ResourceChange(resourceType, object.getUuid(), ResourceChange.ChangeType.CREATE, null));
+		} else {
+			changes.add(new ResourceChange(resourceType, object.getUuid(), changeType, null));
+		}
+		if (methodName.equals("mergePatients") && arguments.length > 1) {
+			addMergedPatients(changes, arguments[1]);
+		}
+		recordAfterCommit(changes);
+		return result;
+	}
+
+	/**
+	 * Changes are recorded once the transaction of the service call committed, so that a failure to
+	 * record them cannot roll it back, and rolled back calls leave nothing in the change log.
+	 */
+	private void recordAfterCommit(final List<ResourceChange> changes) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			recordChanges(changes);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+			@Override
+			public void afterCommit() {
+				recordChanges(changes);
+			}
+		});
+	}
+
+	private void recordChanges(List<ResourceChange> changes) {
+		for (ResourceChange change : changes) {
+			try {
+				recordChange(change.getResourceType(), change.getResourceUuid(), change.getChangeType());
+			}
+			catch (RuntimeException e) {
+				log.error(String.format("Failed to record %s of %s with id '%s'", change.getChangeType(),
+						change.getResourceType(), change.getResourceUuid()), e);
+			}
+		}
+	}
+
+	/**
+	 * Called once the service call committed, the history service records the change in a transaction
+	 * of its own.
+	 */
+	protected void recordChange(String resourceType, String uuid, ResourceChange.ChangeType changeType) {
+		Context.getService(ResourceHistoryService.class).recordChange(resourceType, uuid, changeType);
+	}
+
+	/**
+	 * Names and identifiers are part of the person or patient resource they belong to, which is updated
+	 * whenever they are saved, voided or purged.
+	 */
+	private static List<ResourceChange> getOwnerChanges(OpenmrsObject object) {
+		List<ResourceChange> changes = new ArrayList<ResourceChange>();
+		if (object instanceof PersonName) {
+			Person person = ((PersonName) object).getPerson();
+			if (person != null) {
+				changes.add(new ResourceChange("Person", person.getUuid(), ResourceChange.ChangeType.UPDATE, null));
+				if (person.isPatient()) {
+					changes.add(new ResourceChange("Patient", person.getUuid(), ResourceChange.ChangeType.UPDATE, null));
+				}
+			}
+		} else {
+			Patient patient = ((PatientIdentifier) object).getPatient();
+			if (patient != null) {
+				changes.add(new ResourceChange("Patient", patient.getUuid(), ResourceChange.ChangeType.UPDATE, null));
+			}
+		}
+		return changes;
+	}
+
+	/**
+	 * The patients merged into the preferred one are voided by the merge.
+	 */
+	private static void addMergedPatients(List<ResourceChange> changes, Object notPreferred) {
+		Collection<?> patients = notPreferred instanceof Collection ? (Collection<?>) notPreferred
+				: Collections.singletonList(notPreferred);
+		for (Object patient : patients) {
+			if (patient instanceof OpenmrsObject) {
+				changes.add(new ResourceChange("Patient", ((OpenmrsObject) patient).getUuid(),
+						ResourceChange.ChangeType.DELETE, null));
+			}
+		}
+	}
+
+	private static ResourceChange.ChangeType getChangeType(String methodName) {
+		for (String prefix : UPDATE_METHOD_PREFIXES) {
+			if (methodName.startsWith(prefix)) {
+				return ResourceChange.ChangeType.UPDATE;
+			}
+		}
+		for (String prefix : DELETE_METHOD_PREFIXES) {
+			if (methodName.startsWith(prefix)) {
+				return ResourceChange.ChangeType.DELETE;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Walks up the class hierarchy so that Hibernate proxies and subclasses without a resource type of
+	 * their own resolve to the closest mapped class.
+	 */
+	private static String getResourceType(OpenmrsObject object) {
+		for (Class<?> type = object.getClass(); type != null; type = type.getSuperclass()) {
+			String resourceType = RESOURCE_TYPES.get(type.getSimpleName());
+			if (resourceType != null) {
+				return resourceType;
+			}
+		}
+		return null;
+	}
+}
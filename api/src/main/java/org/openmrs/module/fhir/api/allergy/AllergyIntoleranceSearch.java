@@ -0,0 +1,80 @@
+package org.openmrs.module.fhir.api.allergy;
+
+import java.util.List;
+
+/**
+ * <h1>AllergyIntoleranceSearch</h1>
+ * <p>The criteria of a search through the allergies of the patients matching a name, an identifier or
+ * a uuid. Every criterion is optional, a criterion left null does not restrict the result.</p>
+ * <p>The matching patients are resolved once, on first use, and kept with the search so that the
+ * following pages read the allergies of the same patients in a single query.</p>
+ *
+ * @since 1.20.0
+ */
+public class AllergyIntoleranceSearch {
+
+	private String patientUuid;
+
+	private String patientIdentifier;
+
+	private String patientName;
+
+	private String clinicalStatus;
+
+	private List<Integer> patientIds;
+
+	/**
+	 * @return uuid of the patient
+	 */
+	public String getPatientUuid() {
+		return patientUuid;
+	}
+
+	public void setPatientUuid(String patientUuid) {
+		this.patientUuid = patientUuid;
+	}
+
+	/**
+	 * @return an identifier of the patients, as a system|value token or a plain value
+	 */
+	public String getPatientIdentifier() {
+		return patientIdentifier;
+	}
+
+	public void setPatientIdentifier(String patientIdentifier) {
+		this.patientIdentifier = patientIdentifier;
+	}
+
+	/**
+	 * @return a name of the patients
+	 */
+	public String getPatientName() {
+		return patientName;
+	}
+
+	public void setPatientName(String patientName) {
+		this.patientName = patientName;
+	}
+
+	/**
+	 * @return allergy clinical status code, one of active, inactive and resolved
+	 */
+	public String getClinicalStatus() {
+		return clinicalStatus;
+	}
+
+	public void setClinicalStatus(String clinicalStatus) {
+		this.clinicalStatus = clinicalStatus;
+	}
+
+	/**
+	 * @return ids of the matching patients, null until they are resolved
+	 */
+	public List<Integer> getPatientIds() {
+		return patientIds;
+	}
+
+	public void setPatientIds(List<Integer> patientIds) {
+		this.patientIds = patientIds;
+	}
+}
@@ -1,6 +1,5 @@
 package org.openmrs.module.fhir.api.client;
 
-import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.parser.IParser;
 import org.hl7.fhir.dstu3.model.AllergyIntolerance;
 import org.hl7.fhir.dstu3.model.Encounter;
@@ -13,6 +12,8 @@ import org.hl7.fhir.dstu3.model.Practitioner;
 import org.hl7.fhir.dstu3.model.Person;
 import org.hl7.fhir.dstu3.model.ProcedureRequest;
 import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
+import org.openmrs.module.fhir.api.util.FHIRFingerprintUtil;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
@@ -20,12 +21,10 @@ import org.springframework.http.converter.AbstractHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.converter.HttpMessageNotWritableException;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -57,8 +56,6 @@ public class FHIRHttpMessageConverter extends AbstractHttpMessageConverter<IBase
 		SUPPORTED_CLASSES.add(ProcedureRequest.class);
 	}
 
-	private IParser parser = FhirContext.forDstu3().newJsonParser();
-
 	public FHIRHttpMessageConverter() {
 		super(new MediaType(TYPE, SUBTYPE_1, Charset.forName(CHARSET)),
 				new MediaType(TYPE, SUBTYPE_2, Charset.forName(CHARSET)));
@@ -69,50 +66,40 @@ public class FHIRHttpMessageConverter extends AbstractHttpMessageConverter<IBase
 		return SUPPORTED_CLASSES.contains(clazz);
 	}
 
+	/**
+	 * Parses straight from the body, without buffering the whole message in memory first, and
+	 * fingerprints the resource once for the comparisons of the sync
+	 */
 	@Override
 	protected IBaseResource readInternal(Class<? extends IBaseResource> clazz, HttpInputMessage inputMessage) throws
 			HttpMessageNotReadableException {
-		try {
-			String json = convertStreamToString(inputMessage.getBody());
-			return parser.parseResource(json);
+		try (Reader reader = new InputStreamReader(inputMessage.getBody(), StandardCharsets.UTF_8)) {
+			return FHIRFingerprintUtil.takeFingerprint(newParser().parseResource(clazz, reader));
 		}
 		catch (IOException e) {
 			throw new HttpMessageNotReadableException("Could not read JSON: " + e.getMessage(), e);
 		}
 	}
 
+	/**
+	 * Encodes straight to the body in UTF-8, as declared by the supported media types
+	 */
 	@Override
 	protected void writeInternal(IBaseResource o, HttpOutputMessage outputMessage) throws HttpMessageNotWritableException {
 		try {
-			String json = parser.encodeResourceToString(o);
-			outputMessage.getBody().write(json.getBytes());
+			Writer writer = new OutputStreamWriter(outputMessage.getBody(), StandardCharsets.UTF_8);
+			newParser().encodeResourceToWriter(o, writer);
+			writer.flush();
 		}
 		catch (IOException e) {
 			throw new HttpMessageNotWritableException("Could not serialize object. Msg: " + e.getMessage(), e);
 		}
 	}
 
-	private String convertStreamToString(InputStream is) throws IOException {
-		if (is != null) {
-			Writer writer = new StringWriter();
-
-			char[] buffer = new char[1024];
-			try {
-				Reader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
-				int n;
-				while ((n = reader.read(buffer)) != -1) {
-					writer.write(buffer, 0, n);
-				}
-
-				reader.close();
-			}
-			finally {
-				is.close();
-			}
-			return writer.toString();
-		} else {
-			return "";
-		}
+	/**
+	 * Parsers are cheap to create but not thread-safe, the expensive part is the shared context
+	 */
+	private IParser newParser() {
+		return FHIRContextFactory.getFHIRContext().newJsonParser();
 	}
-
 }
@@ -0,0 +1,317 @@
+package org.openmrs.module.fhir.api.client;
+
+import ca.uhn.fhir.context.FhirContext;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.hl7.fhir.dstu3.model.Bundle;
+import org.hl7.fhir.dstu3.model.Resource;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.module.fhir.api.exceptions.FHIRBatchException;
+import org.openmrs.module.fhir.api.exceptions.FHIRException;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <h1>FHIRSyncTransport</h1>
+ * Pushes resources to a remote FHIR server in batch or transaction bundles.
+ * <p>Requests go through a pool of keep-alive connections, one per parallel request, and their
+ * bodies are gzip compressed. At most {@code maxParallelRequests} bundles are in flight at a time;
+ * {@link #push(List)} blocks the caller until a slot frees up, so large pushes do not build up
+ * encoded bundles in memory.</p>
+ * <p>A transport owns its connections and threads, so it is meant to be reused for a whole
+ * synchronization and closed afterwards.</p>
+ *
+ * @since 1.20.0
+ */
+public class FHIRSyncTransport implements Closeable {
+
+	public static final int DEFAULT_BATCH_SIZE = 50;
+
+	public static final int DEFAULT_MAX_PARALLEL_REQUESTS = 4;
+
+	private static final int CONNECT_TIMEOUT_MILLIS = 10000;
+
+	private static final int SOCKET_TIMEOUT_MILLIS = 120000;
+
+	private static final String FHIR_JSON = "application/fhir+json";
+
+	private static final String GZIP = "gzip";
+
+	private static final String HEADER_CONTENT_TYPE = "Content-Type";
+
+	private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+
+	private static final String HEADER_ACCEPT = "Accept";
+
+	protected final Log log = LogFactory.getLog(this.getClass());
+
+	private final String serverBase;
+
+	private final List<ClientHttpRequestInterceptor> interceptors;
+
+	private final Bundle.BundleType bundleType;
+
+	private final int batchSize;
+
+	private final boolean compressRequests;
+
+	private final CloseableHttpClient httpClient;
+
+	private final ExecutorService executor;
+
+	private final Semaphore inFlight;
+
+	public FHIRSyncTransport(String serverBase, List<ClientHttpRequestInterceptor> interceptors) {
+		this(serverBase, interceptors, Bundle.BundleType.BATCH, DEFAULT_BATCH_SIZE, DEFAULT_MAX_PARALLEL_REQUESTS,
+				true);
+	}
+
+	/**
+	 * @param serverBase represents the base URL of the remote FHIR server
+	 * @param interceptors represents interceptors adding headers, such as authorization, to each request
+	 * @param bundleType represents the type of the pushed bundles, either batch or transaction
+	 * @param batchSize represents the maximum number of resources per bundle
+	 * @param maxParallelRequests represents the maximum number of bundles sent at the same time
+	 * @param compressRequests represents whether request bodies are gzip compressed
+	 */
+	public FHIRSyncTransport(String serverBase, List<ClientHttpRequestInterceptor> interceptors,
+			Bundle.BundleType bundleType, int batchSize, int maxParallelRequests, boolean compressRequests) {
+		if (bundleType != Bundle.BundleType.BATCH && bundleType != Bundle.BundleType.TRANSACTION) {
+			throw new IllegalArgumentException("Bundle type must be batch or transaction, was " + bundleType);
+		}
+		if (batchSize < 1 || maxParallelRequests < 1) {
+			throw new IllegalArgumentException("Batch size and parallel requests must be positive");
+		}
+		this.serverBase = serverBase;
+		this.interceptors = interceptors == null ? Collections.<ClientHttpRequestInterceptor>emptyList()
+				: interceptors;
+		this.bundleType = bundleType;
+		this.batchSize = batchSize;
+		this.compressRequests = compressRequests;
+
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(maxParallelRequests);
+		connectionManager.setDefaultMaxPerRoute(maxParallelRequests);
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(CONNECT_TIMEOUT_MILLIS)
+				.setSocketTimeout(SOCKET_TIMEOUT_MILLIS)
+				.build();
+		this.httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+				.setDefaultRequestConfig(requestConfig)
+				.build();
+		this.executor = Executors.newFixedThreadPool(maxParallelRequests);
+		this.inFlight = new Semaphore(maxParallelRequests);
+	}
+
+	/**
+	 * <p>Pushes resources in bundles of at most batch size resources.</p>
+	 *
+	 * @param resources represents resources to be created or updated on the remote server
+	 * @return returns the response bundles, in the order of the pushed resources
+	 * @throws FHIRBatchException if the server answered some entries with an error status
+	 * @throws FHIRException if any bundle could not be pushed
+	 */
+	public List<Bundle> push(List<? extends IBaseResource> resources) {
+		List<List<? extends IBaseResource>> chunks = new ArrayList<>();
+		List<Future<Bundle>> futures = new ArrayList<>();
+		try {
+			for (int from = 0; from < resources.size(); from += batchSize) {
+				List<? extends IBaseResource> chunk = resources.subList(from, Math.min(from + batchSize,
+						resources.size()));
+				final Bundle bundle = createBundle(chunk, bundleType);
+				inFlight.acquire();
+				try {
+					futures.add(executor.submit(new Callable<Bundle>() {
+
+						@Override
+						public Bundle call() throws IOException {
+							try {
+								return send(bundle);
+							}
+							finally {
+								inFlight.release();
+							}
+						}
+					}));
+					chunks.add(chunk);
+				}
+				catch (RuntimeException e) {
+					inFlight.release();
+					throw e;
+				}
+			}
+
+			List<Bundle> responses = new ArrayList<>();
+			List<IBaseResource> failedResources = new ArrayList<>();
+			for (int i = 0; i < futures.size(); i++) {
+				Bundle response = futures.get(i).get();
+				responses.add(response);
+				addFailedResources(chunks.get(i), response, failedResources);
+			}
+			if (!failedResources.isEmpty()) {
+				throw new FHIRBatchException(String.format("%d of %d resources were rejected by %s",
+						failedResources.size(), resources.size(), serverBase), responses, failedResources);
+			}
+			return responses;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FHIRException("Interrupted while pushing to " + serverBase, e);
+		}
+		catch (ExecutionException e) {
+			throw new FHIRException("Failed to push to " + serverBase + ": " + e.getCause().getMessage(),
+					e.getCause());
+		}
+		finally {
+			for (Future<Bundle> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * <p>Wraps resources into a bundle, with an update entry for each resource with an id and a create
+	 * entry for the others.</p>
+	 *
+	 * @param resources represents resources to be bundled
+	 * @param bundleType represents the type of the bundle, either batch or transaction
+	 * @return returns the bundle
+	 */
+	public static Bundle createBundle(List<? extends IBaseResource> resources, Bundle.BundleType bundleType) {
+		FhirContext context = FHIRContextFactory.getFHIRContext();
+		Bundle bundle = new Bundle();
+		bundle.setType(bundleType);
+		for (IBaseResource resource : resources) {
+			String resourceType = context.getResourceDefinition(resource).getName();
+			Bundle.BundleEntryComponent entry = bundle.addEntry();
+			entry.setResource((Resource) resource);
+			if (resource.getIdElement().hasIdPart()) {
+				entry.getRequest().setMethod(Bundle.HTTPVerb.PUT)
+						.setUrl(resourceType + "/" + resource.getIdElement().getIdPart());
+			} else {
+				entry.getRequest().setMethod(Bundle.HTTPVerb.POST).setUrl(resourceType);
+			}
+		}
+		return bundle;
+	}
+
+	@Override
+	public void close() throws IOException {
+		executor.shutdownNow();
+		httpClient.close();
+	}
+
+	private Bundle send(Bundle bundle) throws IOException {
+		HttpPost post = new HttpPost(serverBase);
+		HttpHeaders headers = new HttpHeaders();
+		for (ClientHttpRequestInterceptor interceptor : interceptors) {
+			interceptor.addToHeaders(headers);
+		}
+		for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+			for (String value : header.getValue()) {
+				post.addHeader(header.getKey(), value);
+			}
+		}
+		post.setHeader(HEADER_CONTENT_TYPE, FHIR_JSON + "; charset=UTF-8");
+		post.setHeader(HEADER_ACCEPT, FHIR_JSON);
+		if (compressRequests) {
+			post.setHeader(HEADER_CONTENT_ENCODING, GZIP);
+		}
+		post.setEntity(new ByteArrayEntity(encode(bundle)));
+
+		try (CloseableHttpResponse response = httpClient.execute(post)) {
+			int status = response.getStatusLine().getStatusCode();
+			HttpEntity entity = response.getEntity();
+			if (status >= 300) {
+				EntityUtils.consume(entity);
+				throw new IOException("Server responded with " + response.getStatusLine());
+			}
+			byte[] content = entity == null ? new byte[0] : EntityUtils.toByteArray(entity);
+			if (log.isDebugEnabled()) {
+				log.debug("Pushed " + bundle.getEntry().size() + " resources to " + serverBase);
+			}
+			if (content.length == 0) {
+				//Accepted without a body, such as 204 No Content, so there is no status per entry
+				Bundle result = new Bundle();
+				result.setType(bundleType == Bundle.BundleType.TRANSACTION ? Bundle.BundleType.TRANSACTIONRESPONSE
+						: Bundle.BundleType.BATCHRESPONSE);
+				return result;
+			}
+			return FHIRContextFactory.getFHIRContext().newJsonParser().parseResource(Bundle.class,
+					new String(content, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Entries of a response are in the order of the pushed entries. A response without entries was
+	 * accepted as a whole.
+	 */
+	private static void addFailedResources(List<? extends IBaseResource> pushed, Bundle response,
+			List<IBaseResource> failedResources) {
+		List<Bundle.BundleEntryComponent> entries = response.getEntry();
+		if (entries.isEmpty()) {
+			return;
+		}
+		for (int i = 0; i < pushed.size(); i++) {
+			if (i >= entries.size() || !isSuccess(entries.get(i).getResponse().getStatus())) {
+				failedResources.add(pushed.get(i));
+			}
+		}
+	}
+
+	/**
+	 * @param status the status of a response entry, such as "201 Created"
+	 * @return true for a 2xx status
+	 */
+	private static boolean isSuccess(String status) {
+		if (status == null) {
+			return false;
+		}
+		String code = status.trim();
+		int space = code.indexOf(' ');
+		if (space > 0) {
+			code = code.substring(0, space);
+		}
+		return code.matches("2\\d\\d");
+	}
+
+	private byte[] encode(Bundle bundle) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		OutputStream out = compressRequests ? new GZIPOutputStream(body) : body;
+		try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+			FHIRContextFactory.getFHIRContext().newJsonParser().encodeResourceToWriter(bundle, writer);
+		}
+		return body.toByteArray();
+	}
+}
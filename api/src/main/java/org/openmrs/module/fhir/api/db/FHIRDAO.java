@@ -13,12 +13,266 @@
  */
 package org.openmrs.module.fhir.api.db;
 
+import org.openmrs.Concept;
+import org.openmrs.Encounter;
+import org.openmrs.EncounterType;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.Provider;
+import org.openmrs.Visit;
+import org.openmrs.module.fhir.api.encounter.EncounterSearch;
+import org.openmrs.module.fhir.api.index.IndexedPerson;
+import org.openmrs.module.fhir.api.model.ResourceBaseVersion;
+import org.openmrs.module.fhir.api.model.ResourceChange;
+import org.openmrs.module.fhir.api.model.ResourceFingerprint;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 /**
  * Database methods for FHIR Module
  */
 public interface FHIRDAO {
 
-	/*
-	 * Add DAO methods here
+	/**
+	 * Save an entry of the change log
+	 *
+	 * @param resourceChange the change to save
+	 * @return the saved change
+	 */
+	ResourceChange saveResourceChange(ResourceChange resourceChange);
+
+	/**
+	 * Get the change log entries ordered by the date they were recorded
+	 *
+	 * @param resourceType fhir resource type to filter on, null for all types
+	 * @param since        only changes recorded at or after this date, null for all changes
+	 * @param firstResult  index of the first entry to return
+	 * @param maxResults   maximum number of entries to return
+	 * @return the matching change log entries
+	 */
+	List<ResourceChange> getResourceChanges(String resourceType, Date since, int firstResult, int maxResults);
+
+	/**
+	 * Count the change log entries
+	 *
+	 * @param resourceType fhir resource type to filter on, null for all types
+	 * @param since        only changes recorded at or after this date, null for all changes
+	 * @return the number of matching change log entries
+	 */
+	int getResourceChangeCount(String resourceType, Date since);
+
+	/**
+	 * Get the stored fingerprint of a resource
+	 *
+	 * @param resourceType fhir resource type
+	 * @param resourceUuid uuid of the resource
+	 * @return the stored fingerprint, or null if the resource has none
+	 */
+	ResourceFingerprint getResourceFingerprint(String resourceType, String resourceUuid);
+
+	/**
+	 * Save the fingerprint of a resource, replacing the stored one
+	 *
+	 * @param resourceFingerprint the fingerprint to save
+	 * @return the saved fingerprint
+	 */
+	ResourceFingerprint saveResourceFingerprint(ResourceFingerprint resourceFingerprint);
+
+	/**
+	 * Get the stored base version of a resource
+	 *
+	 * @param resourceType fhir resource type
+	 * @param resourceUuid uuid of the resource
+	 * @return the stored base version, or null if the resource has none
+	 */
+	ResourceBaseVersion getResourceBaseVersion(String resourceType, String resourceUuid);
+
+	/**
+	 * Save the base version of a resource, replacing the stored one
+	 *
+	 * @param resourceBaseVersion the base version to save
+	 * @return the saved base version
+	 */
+	ResourceBaseVersion saveResourceBaseVersion(ResourceBaseVersion resourceBaseVersion);
+
+	/**
+	 * Get non voided observations by their uuids with a single query
+	 *
+	 * @param uuids uuids of the observations
+	 * @return the matching observations, in no particular order
+	 */
+	List<Obs> getObsByUuids(Collection<String> uuids);
+
+	/**
+	 * Get objects of a type by their uuids, with one uuid IN query per few hundred uuids
+	 *
+	 * @param type             the mapped type of the objects
+	 * @param uuids            uuids of the objects
+	 * @param inactiveProperty name of the voided or retired property of the type, to leave out voided or
+	 *                         retired objects, null to get them all
+	 * @return the matching objects, in no particular order
+	 */
+	<T> List<T> getByUuids(Class<T> type, Collection<String> uuids, String inactiveProperty);
+
+	/**
+	 * Get encounters of the given types with a single query, most recent first
+	 *
+	 * @param encounterTypes types of the encounters
+	 * @param patientUuid    uuid of the patient, null for all patients
+	 * @param from           earliest encounter date, inclusive, null for no lower bound
+	 * @param to             latest encounter date, inclusive, null for no upper bound
+	 * @param voided         whether to return voided or non voided encounters
+	 * @param obsConcept     concept of a non voided observation the encounters must contain, null for any
+	 * @param firstResult    index of the first encounter to return
+	 * @param maxResults     maximum number of encounters to return
+	 * @return the matching encounters
+	 */
+	List<Encounter> getEncounters(Collection<EncounterType> encounterTypes, String patientUuid, Date from, Date to,
+			boolean voided, Concept obsConcept, int firstResult, int maxResults);
+
+	/**
+	 * Count the encounters matched by
+	 * {@link #getEncounters(Collection, String, Date, Date, boolean, Concept, int, int)}
+	 *
+	 * @param encounterTypes types of the encounters
+	 * @param patientUuid    uuid of the patient, null for all patients
+	 * @param from           earliest encounter date, inclusive, null for no lower bound
+	 * @param to             latest encounter date, inclusive, null for no upper bound
+	 * @param voided         whether to count voided or non voided encounters
+	 * @param obsConcept     concept of a non voided observation the encounters must contain, null for any
+	 * @return the number of matching encounters
+	 */
+	int getEncounterCount(Collection<EncounterType> encounterTypes, String patientUuid, Date from, Date to,
+			boolean voided, Concept obsConcept);
+
+	/**
+	 * Get non voided encounters matching a search, latest first, starting right after the last encounter
+	 * of the search position. The part of criterion is applied, the status criterion is not.
+	 *
+	 * @param search     the search criteria and position
+	 * @param maxResults maximum number of encounters to return
+	 * @return the matching encounters, ordered by date and id, descending
+	 */
+	List<Encounter> getEncounters(EncounterSearch search, int maxResults);
+
+	/**
+	 * Count the encounters matched by {@link #getEncounters(EncounterSearch, int)}, from the start
+	 *
+	 * @param search the search criteria
+	 * @return the number of matching encounters
+	 */
+	int getEncounterCount(EncounterSearch search);
+
+	/**
+	 * Get non voided visits matching a search, latest started first, starting right after the last visit
+	 * of the search position. Neither the part of nor the status criterion is applied.
+	 *
+	 * @param search     the search criteria and position
+	 * @param maxResults maximum number of visits to return
+	 * @return the matching visits, ordered by start date and id, descending
+	 */
+	List<Visit> getVisits(EncounterSearch search, int maxResults);
+
+	/**
+	 * Count the visits matched by {@link #getVisits(EncounterSearch, int)}, from the start
+	 *
+	 * @param search the search criteria
+	 * @return the number of matching visits
+	 */
+	int getVisitCount(EncounterSearch search);
+
+	/**
+	 * Load the obs, the providers, the patient and the location of encounters with a few joined queries,
+	 * instead of one query per encounter when they are first used
+	 *
+	 * @param encounters the encounters to load the contents of
+	 */
+	void fetchEncounterContents(Collection<Encounter> encounters);
+
+	/**
+	 * Get non voided patients having a non voided name that matches the given name parts, each patient
+	 * once, in a stable order
+	 *
+	 * @param givenName   given name to match, null to match any
+	 * @param familyName  family name to match, null to match any
+	 * @param matchMode   how the name parts are matched
+	 * @param firstResult index of the first patient to return
+	 * @param maxResults  maximum number of patients to return
+	 * @return the matching patients
+	 */
+	List<Patient> getPatientsByName(String givenName, String familyName, NameMatchMode matchMode, int firstResult,
+			int maxResults);
+
+	/**
+	 * Count the patients matched by {@link #getPatientsByName(String, String, NameMatchMode, int, int)}
+	 *
+	 * @param givenName  given name to match, null to match any
+	 * @param familyName family name to match, null to match any
+	 * @param matchMode  how the name parts are matched
+	 * @return the number of matching patients
+	 */
+	int getPatientCountByName(String givenName, String familyName, NameMatchMode matchMode);
+
+	/**
+	 * Get non voided patients having a non voided identifier that is exactly one of the given values, each
+	 * patient once, ordered by id
+	 *
+	 * @param identifiers      identifier values to match
+	 * @param identifierTypeId id of the type the matching identifier must have, null to match any type
+	 * @return the matching patients
+	 */
+	List<Patient> getPatientsByIdentifiers(Collection<String> identifiers, Integer identifierTypeId);
+
+	/**
+	 * Get non retired providers whose person has a non voided name that matches the given name parts,
+	 * each provider once, in a stable order
+	 *
+	 * @param givenName   given name to match, null to match any
+	 * @param familyName  family name to match, null to match any
+	 * @param matchMode   how the name parts are matched
+	 * @param firstResult index of the first provider to return
+	 * @param maxResults  maximum number of providers to return
+	 * @return the matching providers
+	 */
+	List<Provider> getProvidersByName(String givenName, String familyName, NameMatchMode matchMode, int firstResult,
+			int maxResults);
+
+	/**
+	 * Count the providers matched by {@link #getProvidersByName(String, String, NameMatchMode, int, int)}
+	 *
+	 * @param givenName  given name to match, null to match any
+	 * @param familyName family name to match, null to match any
+	 * @param matchMode  how the name parts are matched
+	 * @return the number of matching providers
+	 */
+	int getProviderCountByName(String givenName, String familyName, NameMatchMode matchMode);
+
+	/**
+	 * @return the highest person id, 0 if there are no persons
+	 */
+	int getMaxPersonId();
+
+	/**
+	 * Get the searchable parts of the non voided persons in a range of ids, for the name index
+	 *
+	 * @param fromPersonId lowest person id, inclusive
+	 * @param toPersonId   highest person id, inclusive
+	 * @return the persons in the range, by ascending id
+	 */
+	List<IndexedPerson> getIndexedPersons(int fromPersonId, int toPersonId);
+
+	/**
+	 * @param personUuid uuid of a person or patient
+	 * @return the id of the person, or null if there is no such person
+	 */
+	Integer getPersonId(String personUuid);
+
+	/**
+	 * @param providerUuid uuid of a provider
+	 * @return the id of the person of the provider, or null if there is no such provider or it has no person
 	 */
+	Integer getProviderPersonId(String providerUuid);
 }
@@ -15,14 +15,55 @@ package org.openmrs.module.fhir.api.db.hibernate;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.criterion.MatchMode;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Projections;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.criterion.Subqueries;
+import org.openmrs.Concept;
+import org.openmrs.Encounter;
+import org.openmrs.EncounterType;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.Person;
+import org.openmrs.PersonName;
+import org.openmrs.Provider;
+import org.openmrs.Visit;
 import org.openmrs.module.fhir.api.db.FHIRDAO;
+import org.openmrs.module.fhir.api.encounter.EncounterSearch;
+import org.openmrs.module.fhir.api.index.IndexedPerson;
+import org.openmrs.module.fhir.api.model.ResourceBaseVersion;
+import org.openmrs.module.fhir.api.model.ResourceChange;
+import org.openmrs.module.fhir.api.model.ResourceFingerprint;
+import org.openmrs.module.fhir.api.util.FHIRConstants;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * It is a default implementation of  {@link FHIRDAO}.
  */
 public class HibernateFHIRDAO implements FHIRDAO {
 
+	/**
+	 * Keeps IN lists well below the parameter limits of the supported databases
+	 */
+	private static final int MAX_IN_PARAMETERS = 500;
+
 	protected final Log log = LogFactory.getLog(this.getClass());
 
 	private SessionFactory sessionFactory;
@@ -40,4 +81,493 @@ public class HibernateFHIRDAO implements FHIRDAO {
 	public void setSessionFactory(SessionFactory sessionFactory) {
 		this.sessionFactory = sessionFactory;
 	}
+
+	@Override
+	public ResourceChange saveResourceChange(ResourceChange resourceChange) {
+		getCurrentSession().save(resourceChange);
+		return resourceChange;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<ResourceChange> getResourceChanges(String resourceType, Date since, int firstResult, int maxResults) {
+		Criteria criteria = createResourceChangeCriteria(resourceType, since);
+		criteria.addOrder(Order.asc("dateChanged")).addOrder(Order.asc("id"));
+		criteria.setFirstResult(firstResult);
+		criteria.setMaxResults(maxResults);
+		return criteria.list();
+	}
+
+	@Override
+	public int getResourceChangeCount(String resourceType, Date since) {
+		Criteria criteria = createResourceChangeCriteria(resourceType, since);
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
+	@Override
+	public ResourceFingerprint getResourceFingerprint(String resourceType, String resourceUuid) {
+		return (ResourceFingerprint) getCurrentSession().createCriteria(ResourceFingerprint.class)
+				.add(Restrictions.eq("resourceType", resourceType))
+				.add(Restrictions.eq("resourceUuid", resourceUuid))
+				.uniqueResult();
+	}
+
+	@Override
+	public ResourceFingerprint saveResourceFingerprint(ResourceFingerprint resourceFingerprint) {
+		//The resource type and uuid are an assigned id, so merge decides between insert and update
+		return (ResourceFingerprint) getCurrentSession().merge(resourceFingerprint);
+	}
+
+	@Override
+	public ResourceBaseVersion getResourceBaseVersion(String resourceType, String resourceUuid) {
+		return (ResourceBaseVersion) getCurrentSession().createCriteria(ResourceBaseVersion.class)
+				.add(Restrictions.eq("resourceType", resourceType))
+				.add(Restrictions.eq("resourceUuid", resourceUuid))
+				.uniqueResult();
+	}
+
+	@Override
+	public ResourceBaseVersion saveResourceBaseVersion(ResourceBaseVersion resourceBaseVersion) {
+		//The resource type and uuid are an assigned id, so merge decides between insert and update
+		return (ResourceBaseVersion) getCurrentSession().merge(resourceBaseVersion);
+	}
+
+	@Override
+	public List<Obs> getObsByUuids(Collection<String> uuids) {
+		return getByUuids(Obs.class, uuids, "voided");
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> List<T> getByUuids(Class<T> type, Collection<String> uuids, String inactiveProperty) {
+		List<String> uuidList = new ArrayList<>(new LinkedHashSet<>(uuids));
+		List<T> objects = new ArrayList<>();
+		for (int from = 0; from < uuidList.size(); from += MAX_IN_PARAMETERS) {
+			Criteria criteria = getCurrentSession().createCriteria(type);
+			criteria.add(Restrictions.in("uuid", uuidList.subList(from, Math.min(from + MAX_IN_PARAMETERS,
+					uuidList.size()))));
+			if (inactiveProperty != null) {
+				criteria.add(Restrictions.eq(inactiveProperty, false));
+			}
+			objects.addAll(criteria.list());
+		}
+		return objects;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Encounter> getEncounters(Collection<EncounterType> encounterTypes, String patientUuid, Date from,
+			Date to, boolean voided, Concept obsConcept, int firstResult, int maxResults) {
+		Criteria criteria = createEncounterCriteria(encounterTypes, patientUuid, from, to, voided, obsConcept);
+		criteria.addOrder(Order.desc("encounterDatetime")).addOrder(Order.desc("encounterId"));
+		criteria.setFirstResult(firstResult);
+		criteria.setMaxResults(maxResults);
+		return criteria.list();
+	}
+
+	@Override
+	public int getEncounterCount(Collection<EncounterType> encounterTypes, String patientUuid, Date from, Date to,
+			boolean voided, Concept obsConcept) {
+		Criteria criteria = createEncounterCriteria(encounterTypes, patientUuid, from, to, voided, obsConcept);
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Encounter> getEncounters(EncounterSearch search, int maxResults) {
+		Criteria criteria = createEncounterSearchCriteria(search);
+		if (search.getLastEncounterId() != null) {
+			criteria.add(Restrictions.or(Restrictions.lt("e.encounterDatetime", search.getLastEncounterDatetime()),
+					Restrictions.and(Restrictions.eq("e.encounterDatetime", search.getLastEncounterDatetime()),
+							Restrictions.lt("e.encounterId", search.getLastEncounterId()))));
+		}
+		criteria.addOrder(Order.desc("e.encounterDatetime")).addOrder(Order.desc("e.encounterId"));
+		criteria.setMaxResults(maxResults);
+		return criteria.list();
+	}
+
+	@Override
+	public int getEncounterCount(EncounterSearch search) {
+		Criteria criteria = createEncounterSearchCriteria(search);
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Visit> getVisits(EncounterSearch search, int maxResults) {
+		Criteria criteria = createVisitSearchCriteria(search);
+		if (search.getLastVisitId() != null) {
+			criteria.add(Restrictions.or(Restrictions.lt("vi.startDatetime", search.getLastVisitDatetime()),
+					Restrictions.and(Restrictions.eq("vi.startDatetime", search.getLastVisitDatetime()),
+							Restrictions.lt("vi.visitId", search.getLastVisitId()))));
+		}
+		criteria.addOrder(Order.desc("vi.startDatetime")).addOrder(Order.desc("vi.visitId"));
+		criteria.setMaxResults(maxResults);
+		return criteria.list();
+	}
+
+	@Override
+	public int getVisitCount(EncounterSearch search) {
+		Criteria criteria = createVisitSearchCriteria(search);
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
+	@Override
+	public void fetchEncounterContents(Collection<Encounter> encounters) {
+		List<Integer> encounterIds = new ArrayList<>();
+		for (Encounter encounter : encounters) {
+			if (encounter.getEncounterId() != null) {
+				encounterIds.add(encounter.getEncounterId());
+			}
+		}
+		for (int from = 0; from < encounterIds.size(); from += MAX_IN_PARAMETERS) {
+			List<Integer> chunk = encounterIds.subList(from, Math.min(from + MAX_IN_PARAMETERS, encounterIds.size()));
+			//Obs and providers are fetched separately, joining both at once would multiply the rows
+			Criteria criteria = getCurrentSession().createCriteria(Encounter.class);
+			criteria.add(Restrictions.in("encounterId", chunk));
+			criteria.setFetchMode("patient", FetchMode.JOIN);
+			criteria.setFetchMode("location", FetchMode.JOIN);
+			criteria.setFetchMode("obs", FetchMode.JOIN);
+			criteria.list();
+
+			criteria = getCurrentSession().createCriteria(Encounter.class);
+			criteria.add(Restrictions.in("encounterId", chunk));
+			criteria.setFetchMode("encounterProviders", FetchMode.JOIN);
+			criteria.setFetchMode("encounterProviders.provider", FetchMode.JOIN);
+			criteria.list();
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Patient> getPatientsByName(String givenName, String familyName, NameMatchMode matchMode,
+			int firstResult, int maxResults) {
+		Criteria criteria = createPatientByNameCriteria(givenName, familyName, matchMode);
+		criteria.addOrder(Order.asc("personId"));
+		criteria.setFirstResult(firstResult);
+		criteria.setMaxResults(maxResults);
+		return criteria.list();
+	}
+
+	@Override
+	public int getPatientCountByName(String givenName, String familyName, NameMatchMode matchMode) {
+		Criteria criteria = createPatientByNameCriteria(givenName, familyName, matchMode);
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Patient> getPatientsByIdentifiers(Collection<String> identifiers, Integer identifierTypeId) {
+		List<String> identifierList = new ArrayList<>(new LinkedHashSet<>(identifiers));
+		Map<Integer, Patient> patients = new TreeMap<>();
+		for (int from = 0; from < identifierList.size(); from += MAX_IN_PARAMETERS) {
+			List<String> chunk = identifierList.subList(from, Math.min(from + MAX_IN_PARAMETERS, identifierList.size()));
+			DetachedCriteria matches = DetachedCriteria.forClass(PatientIdentifier.class, "pi");
+			matches.add(Restrictions.eqProperty("pi.patient.personId", "p.personId"));
+			matches.add(Restrictions.eq("pi.voided", false));
+			matches.add(Restrictions.in("pi.identifier", chunk));
+			if (identifierTypeId != null) {
+				matches.add(Restrictions.eq("pi.identifierType.patientIdentifierTypeId", identifierTypeId));
+			}
+			matches.setProjection(Projections.id());
+
+			Criteria criteria = getCurrentSession().createCriteria(Patient.class, "p");
+			criteria.add(Restrictions.eq("voided", false));
+			criteria.add(Subqueries.exists(matches));
+			for (Patient patient : (List<Patient>) criteria.list()) {
+				patients.put(patient.getPersonId(), patient);
+			}
+		}
+		return new ArrayList<>(patients.values());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<Provider> getProvidersByName(String givenName, String familyName, NameMatchMode matchMode,
+			int firstResult, int maxResults) {
+		Criteria criteria = createProviderByNameCriteria(givenName, familyName, matchMode);
+		criteria.addOrder(Order.asc("providerId"));
+		criteria.setFirstResult(firstResult);
+		criteria.setMaxResults(maxResults);
+		return criteria.list();
+	}
+
+	@Override
+	public int getProviderCountByName(String givenName, String familyName, NameMatchMode matchMode) {
+		Criteria criteria = createProviderByNameCriteria(givenName, familyName, matchMode);
+		criteria.setProjection(Projections.rowCount());
+		return ((Number) criteria.uniqueResult()).intValue();
+	}
+
+	@Override
+	public int getMaxPersonId() {
+		Criteria criteria = getCurrentSession().createCriteria(Person.class);
+		criteria.setProjection(Projections.max("personId"));
+		Number maxPersonId = (Number) criteria.uniqueResult();
+		return maxPersonId == null ? 0 : maxPersonId.intValue();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<IndexedPerson> getIndexedPersons(int fromPersonId, int toPersonId) {
+		Map<Integer, IndexedPerson> persons = new LinkedHashMap<>();
+		Criteria criteria = getCurrentSession().createCriteria(Person.class);
+		criteria.add(Restrictions.between("personId", fromPersonId, toPersonId));
+		criteria.add(Restrictions.eq("personVoided", false));
+		criteria.setProjection(Projections.projectionList().add(Projections.property("personId"))
+				.add(Projections.property("uuid")).add(Projections.property("birthdate")));
+		criteria.addOrder(Order.asc("personId"));
+		for (Object[] row : (List<Object[]>) criteria.list()) {
+			IndexedPerson person = new IndexedPerson((Integer) row[0], (String) row[1]);
+			person.setBirthdate((Date) row[2]);
+			persons.put(person.getPersonId(), person);
+		}
+		if (persons.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		criteria = getCurrentSession().createCriteria(PersonName.class, "pn");
+		criteria.createAlias("pn.person", "p");
+		criteria.add(Restrictions.between("p.personId", fromPersonId, toPersonId));
+		criteria.add(Restrictions.eq("pn.voided", false));
+		criteria.setProjection(Projections.projectionList().add(Projections.property("p.personId"))
+				.add(Projections.property("pn.givenName")).add(Projections.property("pn.middleName"))
+				.add(Projections.property("pn.familyName")).add(Projections.property("pn.familyName2")));
+		for (Object[] row : (List<Object[]>) criteria.list()) {
+			IndexedPerson person = persons.get(row[0]);
+			if (person != null) {
+				for (int i = 1; i < row.length; i++) {
+					person.addName((String) row[i]);
+				}
+			}
+		}
+
+		criteria = getCurrentSession().createCriteria(PatientIdentifier.class, "pi");
+		criteria.createAlias("pi.patient", "p");
+		criteria.add(Restrictions.between("p.personId", fromPersonId, toPersonId));
+		criteria.add(Restrictions.eq("pi.voided", false));
+		criteria.setProjection(Projections.projectionList().add(Projections.property("p.personId"))
+				.add(Projections.property("pi.identifier")));
+		for (Object[] row : (List<Object[]>) criteria.list()) {
+			IndexedPerson person = persons.get(row[0]);
+			if (person != null) {
+				person.addIdentifier((String) row[1]);
+			}
+		}
+
+		criteria = getCurrentSession().createCriteria(Patient.class);
+		criteria.add(Restrictions.between("personId", fromPersonId, toPersonId));
+		criteria.add(Restrictions.eq("voided", false));
+		criteria.setProjection(Projections.property("personId"));
+		for (Integer personId : (List<Integer>) criteria.list()) {
+			IndexedPerson person = persons.get(personId);
+			if (person != null) {
+				person.setPatient(true);
+			}
+		}
+
+		criteria = getCurrentSession().createCriteria(Provider.class, "pr");
+		criteria.createAlias("pr.person", "p");
+		criteria.add(Restrictions.between("p.personId", fromPersonId, toPersonId));
+		criteria.add(Restrictions.eq("pr.retired", false));
+		criteria.setProjection(Projections.property("p.personId"));
+		for (Integer personId : (List<Integer>) criteria.list()) {
+			IndexedPerson person = persons.get(personId);
+			if (person != null) {
+				person.setProvider(true);
+			}
+		}
+		return new ArrayList<>(persons.values());
+	}
+
+	@Override
+	public Integer getPersonId(String personUuid) {
+		Criteria criteria = getCurrentSession().createCriteria(Person.class);
+		criteria.add(Restrictions.eq("uuid", personUuid));
+		criteria.setProjection(Projections.property("personId"));
+		return (Integer) criteria.uniqueResult();
+	}
+
+	@Override
+	public Integer getProviderPersonId(String providerUuid) {
+		Criteria criteria = getCurrentSession().createCriteria(Provider.class, "pr");
+		criteria.createAlias("pr.person", "p");
+		criteria.add(Restrictions.eq("pr.uuid", providerUuid));
+		criteria.setProjection(Projections.property("p.personId"));
+		return (Integer) criteria.uniqueResult();
+	}
+
+	private Criteria createResourceChangeCriteria(String resourceType, Date since) {
+		Criteria criteria = getCurrentSession().createCriteria(ResourceChange.class);
+		if (resourceType != null) {
+			criteria.add(Restrictions.eq("resourceType", resourceType));
+		}
+		if (since != null) {
+			criteria.add(Restrictions.ge("dateChanged", since));
+		}
+		return criteria;
+	}
+
+	private Criteria createEncounterCriteria(Collection<EncounterType> encounterTypes, String patientUuid, Date from,
+			Date to, boolean voided, Concept obsConcept) {
+		Criteria criteria = getCurrentSession().createCriteria(Encounter.class, "e");
+		criteria.add(Restrictions.in("encounterType", encounterTypes));
+		criteria.add(Restrictions.eq("voided", voided));
+		if (patientUuid != null) {
+			criteria.createAlias("patient", "p");
+			criteria.add(Restrictions.eq("p.uuid", patientUuid));
+		}
+		if (from != null) {
+			criteria.add(Restrictions.ge("encounterDatetime", from));
+		}
+		if (to != null) {
+			criteria.add(Restrictions.le("encounterDatetime", to));
+		}
+		if (obsConcept != null) {
+			DetachedCriteria obs = DetachedCriteria.forClass(Obs.class, "o");
+			obs.add(Restrictions.eqProperty("o.encounter.encounterId", "e.encounterId"));
+			obs.add(Restrictions.eq("o.concept", obsConcept));
+			obs.add(Restrictions.eq("o.voided", false));
+			obs.setProjection(Projections.id());
+			criteria.add(Subqueries.exists(obs));
+		}
+		return criteria;
+	}
+
+	private Criteria createEncounterSearchCriteria(EncounterSearch search) {
+		Criteria criteria = getCurrentSession().createCriteria(Encounter.class, "e");
+		criteria.createAlias("e.patient", "p");
+		criteria.add(Restrictions.eq("e.voided", false));
+		addPatientRestrictions(criteria, search);
+		if (search.getFrom() != null) {
+			criteria.add(Restrictions.ge("e.encounterDatetime", search.getFrom()));
+		}
+		if (search.getTo() != null) {
+			criteria.add(Restrictions.le("e.encounterDatetime", search.getTo()));
+		}
+		if (search.getType() != null) {
+			criteria.createAlias("e.encounterType", "et");
+			criteria.add(Restrictions.or(Restrictions.eq("et.uuid", search.getType()),
+					Restrictions.eq("et.name", search.getType())));
+		}
+		if (search.getLocationUuid() != null) {
+			criteria.createAlias("e.location", "l");
+			criteria.add(Restrictions.eq("l.uuid", search.getLocationUuid()));
+		}
+		if (FHIRConstants.NONE.equalsIgnoreCase(search.getPartOf())) {
+			criteria.add(Restrictions.isNull("e.visit"));
+		} else if (search.getPartOf() != null) {
+			criteria.createAlias("e.visit", "v");
+			criteria.add(Restrictions.eq("v.uuid", search.getPartOf()));
+		}
+		return criteria;
+	}
+
+	private Criteria createVisitSearchCriteria(EncounterSearch search) {
+		Criteria criteria = getCurrentSession().createCriteria(Visit.class, "vi");
+		criteria.createAlias("vi.patient", "p");
+		criteria.add(Restrictions.eq("vi.voided", false));
+		addPatientRestrictions(criteria, search);
+		if (search.getFrom() != null) {
+			criteria.add(Restrictions.or(Restrictions.isNull("vi.stopDatetime"),
+					Restrictions.ge("vi.stopDatetime", search.getFrom())));
+		}
+		if (search.getTo() != null) {
+			criteria.add(Restrictions.le("vi.startDatetime", search.getTo()));
+		}
+		if (search.getType() != null) {
+			criteria.createAlias("vi.visitType", "vt");
+			criteria.add(Restrictions.or(Restrictions.eq("vt.uuid", search.getType()),
+					Restrictions.eq("vt.name", search.getType())));
+		}
+		if (search.getLocationUuid() != null) {
+			criteria.createAlias("vi.location", "l");
+			criteria.add(Restrictions.eq("l.uuid", search.getLocationUuid()));
+		}
+		return criteria;
+	}
+
+	/**
+	 * Restricts a criteria, which has the patient aliased as p, to the patient of a search
+	 */
+	private void addPatientRestrictions(Criteria criteria, EncounterSearch search) {
+		if (search.getPatientUuid() != null) {
+			criteria.add(Restrictions.eq("p.uuid", search.getPatientUuid()));
+		}
+		if (search.getPatientIdentifier() != null) {
+			DetachedCriteria identifiers = DetachedCriteria.forClass(PatientIdentifier.class, "pi");
+			identifiers.add(Restrictions.eqProperty("pi.patient.personId", "p.personId"));
+			identifiers.add(Restrictions.eq("pi.voided", false));
+			identifiers.add(Restrictions.eq("pi.identifier", search.getPatientIdentifier()));
+			identifiers.setProjection(Projections.id());
+			criteria.add(Subqueries.exists(identifiers));
+		}
+	}
+
+	private Criteria createPatientByNameCriteria(String givenName, String familyName, NameMatchMode matchMode) {
+		Criteria criteria = getCurrentSession().createCriteria(Patient.class, "p");
+		criteria.add(Restrictions.eq("voided", false));
+		criteria.add(Subqueries.exists(createPersonNameCriteria("p.personId", givenName, familyName, matchMode)));
+		return criteria;
+	}
+
+	private Criteria createProviderByNameCriteria(String givenName, String familyName, NameMatchMode matchMode) {
+		Criteria criteria = getCurrentSession().createCriteria(Provider.class, "pr");
+		criteria.createAlias("person", "person");
+		criteria.add(Restrictions.eq("retired", false));
+		criteria.add(Subqueries.exists(createPersonNameCriteria("person.personId", givenName, familyName,
+				matchMode)));
+		return criteria;
+	}
+
+	/**
+	 * Matches the non voided names of the person with the given id property. Both name parts have to
+	 * match the same name. Used as an exists subquery, so that a person with several matching names is
+	 * still returned once.
+	 */
+	private DetachedCriteria createPersonNameCriteria(String personIdProperty, String givenName, String familyName,
+			NameMatchMode matchMode) {
+		DetachedCriteria names = DetachedCriteria.forClass(PersonName.class, "pn");
+		names.add(Restrictions.eqProperty("pn.person.personId", personIdProperty));
+		names.add(Restrictions.eq("pn.voided", false));
+		if (givenName != null) {
+			names.add(matchName("pn.givenName", givenName, matchMode));
+		}
+		if (familyName != null) {
+			names.add(matchName("pn.familyName", familyName, matchMode));
+		}
+		names.setProjection(Projections.id());
+		return names;
+	}
+
+	private static Criterion matchName(String property, String value, NameMatchMode matchMode) {
+		switch (matchMode) {
+			case EXACT:
+				return Restrictions.eq(property, value);
+			case CONTAINS:
+				return Restrictions.ilike(property, value, MatchMode.ANYWHERE);
+			default:
+				return Restrictions.ilike(property, value, MatchMode.START);
+		}
+	}
+
+	private Session getCurrentSession() {
+		try {
+			return sessionFactory.getCurrentSession();
+		}
+		catch (NoSuchMethodError error) {
+			//Supports Hibernate 3 by casting org.hibernate.classic.Session to org.hibernate.Session
+			try {
+				return (Session) sessionFactory.getClass().getMethod("getCurrentSession").invoke(sessionFactory);
+			}
+			catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
 }
@@ -0,0 +1,104 @@
+package org.openmrs.module.fhir.api.diagnosticreport;
+
+import java.util.Date;
+
+/**
+ * <h1>DiagnosticReportSearch</h1>
+ * <p>The criteria of a Diagnostic Report search. Every criterion is optional, a criterion left null does
+ * not restrict the result.</p>
+ *
+ * @since 1.20.0
+ */
+public class DiagnosticReportSearch {
+
+	private String patientUuid;
+
+	private String category;
+
+	private Date from;
+
+	private Date to;
+
+	private String status;
+
+	private String codeSystem;
+
+	private String code;
+
+	/**
+	 * @return uuid of the patient the reports are about
+	 */
+	public String getPatientUuid() {
+		return patientUuid;
+	}
+
+	public void setPatientUuid(String patientUuid) {
+		this.patientUuid = patientUuid;
+	}
+
+	/**
+	 * @return service category code of the reports, which selects the configured encounter type
+	 */
+	public String getCategory() {
+		return category;
+	}
+
+	public void setCategory(String category) {
+		this.category = category;
+	}
+
+	/**
+	 * @return earliest issued date, inclusive
+	 */
+	public Date getFrom() {
+		return from;
+	}
+
+	public void setFrom(Date from) {
+		this.from = from;
+	}
+
+	/**
+	 * @return latest issued date, inclusive
+	 */
+	public Date getTo() {
+		return to;
+	}
+
+	public void setTo(Date to) {
+		this.to = to;
+	}
+
+	/**
+	 * @return fhir status code of the reports
+	 */
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	/**
+	 * @return system uri of the code, null for a concept uuid
+	 */
+	public String getCodeSystem() {
+		return codeSystem;
+	}
+
+	public void setCodeSystem(String codeSystem) {
+		this.codeSystem = codeSystem;
+	}
+
+	/**
+	 * @return code of an observation the reports contain
+	 */
+	public String getCode() {
+		return code;
+	}
+
+	public void setCode(String code) {
+		this.code = code;
+	}
+}
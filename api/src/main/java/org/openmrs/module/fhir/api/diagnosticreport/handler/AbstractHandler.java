@@ -1,5 +1,7 @@
 package org.openmrs.module.fhir.api.diagnosticreport.handler;
 
+import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.Attachment;
@@ -18,6 +20,7 @@ import org.openmrs.Patient;
 import org.openmrs.Person;
 import org.openmrs.Provider;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.ObsService;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.openmrs.module.fhir.api.util.FHIRObsUtil;
 import org.openmrs.module.fhir.api.util.FHIRPatientUtil;
@@ -51,6 +54,62 @@ public abstract class AbstractHandler {
 		return resultObsGroup;
 	}
 
+	/**
+	 * Resolves the Observations of the `result` field. Observations given inline are used as they are,
+	 * the referenced ones are loaded from the database with a single query.
+	 *
+	 * @param diagnosticReport FHIR DiagnosticReport
+	 * @return the result Observations, in the order of the `result` field
+	 */
+	protected List<Observation> resolveResultObservations(DiagnosticReport diagnosticReport) {
+		Set<String> referencedUuids = new HashSet<>();
+		for (Reference reference : diagnosticReport.getResult()) {
+			if (!(reference.getResource() instanceof Observation)) {
+				referencedUuids.add(getReferencedUuid(reference));
+			}
+		}
+		Map<String, Observation> referencedObservations = new HashMap<>();
+		if (!referencedUuids.isEmpty()) {
+			for (Observation observation : Context.getService(ObsService.class).getObsByUuids(referencedUuids)) {
+				referencedObservations.put(observation.getIdElement().getIdPart(), observation);
+			}
+		}
+
+		List<Observation> observations = new ArrayList<>();
+		for (Reference reference : diagnosticReport.getResult()) {
+			if (reference.getResource() instanceof Observation) {
+				observations.add((Observation) reference.getResource());
+			} else {
+				Observation observation = referencedObservations.get(getReferencedUuid(reference));
+				if (observation == null) {
+					throw new UnprocessableEntityException("Result Observation " + reference.getReference()
+							+ " not found");
+				}
+				observations.add(observation);
+			}
+		}
+		return observations;
+	}
+
+	/**
+	 * Saves an Obs together with all its group members, at any depth, with a single cascaded save
+	 * instead of one save per member.
+	 *
+	 * @param obs the root of the Obs tree, members are added with {@link Obs#addGroupMember(Obs)}
+	 * @return the saved Obs
+	 */
+	protected Obs saveObsTree(Obs obs) {
+		return Context.getObsService().saveObs(obs, null);
+	}
+
+	private String getReferencedUuid(Reference reference) {
+		if (!StringUtils.isEmpty(reference.getReference())) {
+			return new IdType(reference.getReference()).getIdPart();
+		}
+		// Assume that the id of the reference element is the uuid of an Observation stored in the OpenMRS database
+		return reference.getId();
+	}
+
 	protected void saveComplexData(Encounter encounter, int complexConceptId, Patient patient,
 			Attachment attachment) {
 		Person person = Context.getPersonService().getPersonByUuid(patient.getUuid());
@@ -132,6 +191,10 @@ public abstract class AbstractHandler {
 		// @required: Get EncounterDateTime and set as `Issued` date
 		diagnosticReport.setIssued(omrsDiagnosticReport.getEncounterDatetime());
 
+		// @required: Voided reports are `Cancelled`, the others are `Final`
+		diagnosticReport.setStatus(Boolean.TRUE.equals(omrsDiagnosticReport.getVoided()) ?
+				DiagnosticReport.DiagnosticReportStatus.CANCELLED : DiagnosticReport.DiagnosticReportStatus.FINAL);
+
 		// @required: Get Encounter Patient and set as `Subject`
 		Patient omrsPatient = omrsDiagnosticReport.getPatient();
 		diagnosticReport.getSubject().setResource(FHIRPatientUtil.generatePatient(omrsPatient));
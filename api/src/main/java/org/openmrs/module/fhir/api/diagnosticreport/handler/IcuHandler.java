@@ -2,7 +2,6 @@ package org.openmrs.module.fhir.api.diagnosticreport.handler;
 import ca.uhn.fhir.rest.server.exceptions.MethodNotAllowedException;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 
-import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.Attachment;
@@ -215,25 +214,8 @@ public class IcuHandler extends AbstractHandler implements DiagnosticReportHandl
 		// @required: Set `Subject` as Encounter Patient
 		Reference subjectReference = diagnosticReport.getSubject();
 		// Iterate through 'result' Observations and adding to the OpenMRS Obs group
-		for (Reference referenceDt : diagnosticReport.getResult()) {
+		for (Observation observation : resolveResultObservations(diagnosticReport)) {
 			List<String> errors = new ArrayList<>();
-			Observation observation = null;
-			if (!referenceDt.getReference().isEmpty()) {
-				observation = (Observation) referenceDt.getResource();;
-			} else {
-				// Get Id of the Observation
-				String observationID = referenceDt.getId();
-				if (StringUtils.isEmpty(observationID)) {
-					// Assume that the given Observation is stored in the OpenMRS database
-					observation = Context.getService(org.openmrs.module.fhir.api.ObsService.class).getObs(observationID);
-				} else {
-					String observationReference = referenceDt.getReference();
-					if (!StringUtils.isEmpty(observationReference) && "/".contains(observationReference)) {
-						observationID = observationReference.split("/")[1];
-						observation = Context.getService(org.openmrs.module.fhir.api.ObsService.class).getObs(observationID);
-					}
-				}
-			}
 			observation.setSubject(subjectReference);
 			observation.setId(new IdType());
 			Obs obs = FHIRObsUtil.generateOpenMRSObs(prepareForGenerateOpenMRSObs(observation, diagnosticReport), errors);
@@ -9,14 +9,12 @@ import org.hl7.fhir.dstu3.model.Coding;
 import org.hl7.fhir.dstu3.model.DiagnosticReport;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Observation;
-import org.hl7.fhir.dstu3.model.Reference;
 import org.openmrs.Encounter;
 import org.openmrs.Obs;
 import org.openmrs.Patient;
 import org.openmrs.api.APIException;
 import org.openmrs.api.EncounterService;
 import org.openmrs.api.context.Context;
-import org.openmrs.module.fhir.api.ObsService;
 import org.openmrs.module.fhir.api.diagnosticreport.DiagnosticReportHandler;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.openmrs.module.fhir.api.util.FHIRObsUtil;
@@ -200,33 +198,21 @@ public class LaboratoryHandler extends AbstractHandler implements DiagnosticRepo
 		// Set parsed obsSet (`Result` as Set of Obs)
 		Set<Obs> resultObsGroupMembersSet = new HashSet<>();
 		// Iterate through 'result' Observations and adding to the OpenMRS Obs group
-		for (Reference referenceDt : diagnosticReport.getResult()) {
+		for (Observation observation : resolveResultObservations(diagnosticReport)) {
 			List<String> errors = new ArrayList<>();
-			Observation observation;
-
-			if (referenceDt.getReference() != null) {
-				observation = (Observation) referenceDt.getResource();
-			} else {
-				// Get Id of the Observation
-				String observationID = referenceDt.getId();
-				// Assume that the given Observation is stored in the OpenMRS database
-				observation = Context.getService(ObsService.class).getObs(observationID);
-			}
-
 			Obs obs = FHIRObsUtil.generateOpenMRSObs(prepareForGenerateOpenMRSObs(observation, diagnosticReport), errors);
 			/**
 			 * TODO: Unable to check for errors because it's sending errors also for not mandatory
 			 * fields if(errors.isEmpty()) {}
 			 */
-			obs = Context.getObsService().saveObs(obs, null);
 			resultObsGroupMembersSet.add(obs);
 		}
 
 		if (!resultObsGroupMembersSet.isEmpty()) {
 			Obs resultObsGroup = getObsGroup(diagnosticReport, omrsPatient, omrsEncounter, resultObsGroupMembersSet,
 					FHIRUtils.getDiagnosticReportResultConcept());
-
-			Context.getObsService().saveObs(resultObsGroup, null);
+			// The members are saved along with the group
+			saveObsTree(resultObsGroup);
 		}
 	}
 
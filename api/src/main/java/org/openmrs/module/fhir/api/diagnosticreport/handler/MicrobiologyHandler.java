@@ -4,7 +4,6 @@ import ca.uhn.fhir.rest.gclient.ICriterion;
 import ca.uhn.fhir.rest.gclient.ReferenceClientParam;
 import ca.uhn.fhir.rest.gclient.TokenClientParam;
 import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
-import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.Attachment;
@@ -28,7 +27,6 @@ import org.openmrs.Provider;
 import org.openmrs.Visit;
 import org.openmrs.Obs.Interpretation;
 import org.openmrs.api.EncounterService;
-import org.openmrs.api.ObsService;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.diagnosticreport.DiagnosticReportHandler;
 import org.openmrs.module.fhir.api.util.ErrorUtil;
@@ -204,8 +202,8 @@ public class MicrobiologyHandler extends AbstractHandler implements DiagnosticRe
 		if (log.isDebugEnabled()) {
 			log.debug("Saving FHIR DiagnosticReport " + diagnosticReport.getId());
 		}
+		FHIRImagingStudyUtil.prefetchPatients(diagnosticReport);
 		EncounterService encounterService = Context.getEncounterService();
-		ObsService obsService = Context.getObsService();
 		Encounter omrsDiagnosticReport = new Encounter();
 		Visit visit = null;
 
@@ -239,70 +237,42 @@ public class MicrobiologyHandler extends AbstractHandler implements DiagnosticRe
 		Encounter omrsEncounter = encounterService.saveEncounter(omrsDiagnosticReport);
 
 		/****************************** Set `Result` field *************************************************/
-		// Set parsed obsSet (`Result` as Set of Obs)
+		// Set parsed obsSet (`Result` as Set of Obs), the whole tree of results, organisms and agents is
+		// built first and saved along with the group
 		Set<Obs> resultObsGroupMembersSet = new HashSet<>();
 		Obs resultObsGroup = new Obs(Context.getPersonService().getPersonByUuid(omrsPatient.getUuid()),
 				FHIRUtils.getDiagnosticReportResultConcept(),
 				diagnosticReport.getIssued(), null);
 		resultObsGroup.setEncounter(omrsEncounter);
-		obsService.saveObs(resultObsGroup, null);
 		// Iterate through 'result' Observations and adding to the OpenMRS Obs group
-		for (Reference referenceDt : diagnosticReport.getResult()) {
+		for (Observation observation : resolveResultObservations(diagnosticReport)) {
 			List<String> errors = new ArrayList<>();
-			Observation observation = null;
-			if (!referenceDt.getReference().isEmpty()) {
-				observation = (Observation) referenceDt.getResource();
-				observation.setSubject(subjectReference);
-			} else {
-				// Get Id of the Observation
-				String observationID = referenceDt.getId();
-				if (StringUtils.isEmpty(observationID)) {
-					// Assume that the given Observation is stored in the OpenMRS database
-					observation = Context.getService(org.openmrs.module.fhir.api.ObsService.class).getObs(observationID);
-				} else {
-					String observationReference = referenceDt.getReference();
-					System.out.println("observationID");
-					System.out.println(observationID);
-					if (!StringUtils.isEmpty(observationReference) && "/".contains(observationReference)) {
-						observationID = observationReference.split("/")[1];
-						observation = Context.getService(org.openmrs.module.fhir.api.ObsService.class).getObs(observationID);
-					}
-				}
-			}
 			observation.setSubject(diagnosticReport.getSubject());
 			Obs obs = FHIRObsUtil.generateOpenMRSObs(observation, errors);
 			obs.setObsDatetime(diagnosticReport.getIssued());
-			obs.setObsGroup(resultObsGroup);
 			obs.setInterpretation(convertInterpretation(observation));
-			obs = obsService.saveObs(obs, null);
-			int numOrg = observation.getRelated().size();
-            Set<Obs> orgObs = new HashSet<Obs>();
-            for (int i = 0; i < numOrg; i++) {
-                 String orgRef = observation.getRelated().get(i).getTarget().getReference();
-                 System.out.println(orgRef);
-                 Observation org_observation = null;
-                 org_observation = (Observation) observation.getRelated().get(i).getTarget().getResource();
-                 org_observation.setSubject(diagnosticReport.getSubject());
-                 int numAgent = org_observation.getRelated().size();
-                 Set<Obs> agentObs = new HashSet<Obs>();
-                 Obs oObs = FHIRObsUtil.generateOpenMRSObs(org_observation, errors);
-                 //oObs.setInterpretation(convertInterpretation(org_observation));
-                 oObs.setObsDatetime(diagnosticReport.getIssued());
-                 oObs.setObsGroup(obs);
-                 Context.getObsService().saveObs(oObs,null);
-                 for (int j = 0; j < numAgent; j++) {
-                	 Observation agent_observation = null;
-                	 agent_observation = (Observation) org_observation.getRelated().get(j).getTarget().getResource();
-                	 agent_observation.setSubject(diagnosticReport.getSubject());
-                 	 Obs aObs = FHIRObsUtil.generateOpenMRSObs(agent_observation, errors);
-                 	 aObs.setObsDatetime(diagnosticReport.getIssued());
-                 	 aObs.setInterpretation(convertInterpretation(agent_observation));
-                 	 aObs.setObsGroup(oObs);
-                 	 Context.getObsService().saveObs(aObs, null);
-                 }
-                 oObs.setObsGroup(obs);
-             }
+			resultObsGroup.addGroupMember(obs);
+			// Organisms are members of the result, agents are members of their organism
+			for (ObservationRelatedComponent organism : observation.getRelated()) {
+				Observation org_observation = (Observation) organism.getTarget().getResource();
+				org_observation.setSubject(diagnosticReport.getSubject());
+				Obs oObs = FHIRObsUtil.generateOpenMRSObs(org_observation, errors);
+				oObs.setObsDatetime(diagnosticReport.getIssued());
+				obs.addGroupMember(oObs);
+				for (ObservationRelatedComponent agent : org_observation.getRelated()) {
+					Observation agent_observation = (Observation) agent.getTarget().getResource();
+					agent_observation.setSubject(diagnosticReport.getSubject());
+					Obs aObs = FHIRObsUtil.generateOpenMRSObs(agent_observation, errors);
+					aObs.setObsDatetime(diagnosticReport.getIssued());
+					aObs.setInterpretation(convertInterpretation(agent_observation));
+					oObs.addGroupMember(aObs);
+				}
+			}
+			resultObsGroupMembersSet.add(obs);
 		}
+		if (!resultObsGroupMembersSet.isEmpty()) {
+			saveObsTree(resultObsGroup);
+		} //-- END of set `result`
 
 		/****************************** Set `ImagingStudy` as a set of Obs *********************************/
 		Set<Obs> imagingStudyObsGroupMembersSet = new HashSet<>();
@@ -323,13 +293,13 @@ public class MicrobiologyHandler extends AbstractHandler implements DiagnosticRe
 				// Get `ImagingStudy` Obs from external server
 				obs = this.getOpenMRSImagingStudyObs(imagingStudyId);
 			}
-			obs = obsService.saveObs(obs, null);
 			imagingStudyObsGroupMembersSet.add(obs);
 		}
 		if (!imagingStudyObsGroupMembersSet.isEmpty()) {
-			Obs imagingStudyObsGroup = getObsGroup(diagnosticReport, omrsPatient, omrsEncounter, resultObsGroupMembersSet,
-					FHIRUtils.getDiagnosticReportImagingStudyConcept());
-			obsService.saveObs(imagingStudyObsGroup, null);
+			Obs imagingStudyObsGroup = getObsGroup(diagnosticReport, omrsPatient, omrsEncounter,
+					imagingStudyObsGroupMembersSet, FHIRUtils.getDiagnosticReportImagingStudyConcept());
+			// The imaging studies and their series are saved along with the group
+			saveObsTree(imagingStudyObsGroup);
 		} //-- Set `ImagingStudy` as a set of Obs
 
 		// Set Binary Obs Handler which used to store `PresentedForm`
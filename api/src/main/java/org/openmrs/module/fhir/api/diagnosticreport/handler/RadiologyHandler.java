@@ -7,7 +7,6 @@ import ca.uhn.fhir.rest.gclient.ICriterion;
 import ca.uhn.fhir.rest.gclient.ReferenceClientParam;
 import ca.uhn.fhir.rest.gclient.TokenClientParam;
 import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
-import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.Attachment;
@@ -21,7 +20,6 @@ import org.hl7.fhir.dstu3.model.Reference;
 import org.openmrs.Encounter;
 import org.openmrs.Obs;
 import org.openmrs.api.EncounterService;
-import org.openmrs.api.ObsService;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.diagnosticreport.DiagnosticReportHandler;
 import org.openmrs.module.fhir.api.util.ErrorUtil;
@@ -118,8 +116,8 @@ public class RadiologyHandler extends AbstractHandler implements DiagnosticRepor
 		if (log.isDebugEnabled()) {
 			log.debug("Saving FHIR DiagnosticReport " + diagnosticReport.getId());
 		}
+		FHIRImagingStudyUtil.prefetchPatients(diagnosticReport);
 		EncounterService encounterService = Context.getEncounterService();
-		ObsService obsService = Context.getObsService();
 		Encounter omrsDiagnosticReport = new Encounter();
 
 		// Set `Name` as a Obs
@@ -155,29 +153,10 @@ public class RadiologyHandler extends AbstractHandler implements DiagnosticRepor
 		// Set parsed obsSet (`Result` as Set of Obs)
 		Set<Obs> resultObsGroupMembersSet = new HashSet<>();
 		// Iterate through 'result' Observations and adding to the OpenMRS Obs group
-		for (Reference referenceDt : diagnosticReport.getResult()) {
+		for (Observation observation : resolveResultObservations(diagnosticReport)) {
 			List<String> errors = new ArrayList<>();
-			Observation observation = null;
-
-			if (!referenceDt.getReference().isEmpty()) {
-				observation = (Observation) referenceDt.getResource();
-			} else {
-				// Get Id of the Observation
-				String observationID = referenceDt.getId();
-				if (StringUtils.isEmpty(observationID)) {
-					// Assume that the given Observation is stored in the OpenMRS database
-					observation = Context.getService(org.openmrs.module.fhir.api.ObsService.class).getObs(observationID);
-				} else {
-					String observationReference = referenceDt.getReference();
-					if (!StringUtils.isEmpty(observationReference) && "/".contains(observationReference)) {
-						observationID = observationReference.split("/")[1];
-						observation = Context.getService(org.openmrs.module.fhir.api.ObsService.class).getObs(observationID);
-					}
-				}
-			}
 			Obs obs = FHIRObsUtil.generateOpenMRSObs(prepareForGenerateOpenMRSObs(observation, diagnosticReport), errors);
 			if (errors.isEmpty()) {
-				obs = obsService.saveObs(obs, null);
 				resultObsGroupMembersSet.add(obs);
 			} else {
 				String errorMessage = ErrorUtil.generateErrorMessage(errors, FHIRConstants.REQUEST_ISSUE_LIST);
@@ -188,8 +167,8 @@ public class RadiologyHandler extends AbstractHandler implements DiagnosticRepor
 
 			Obs resultObsGroup = getObsGroup(diagnosticReport, omrsPatient, omrsEncounter, resultObsGroupMembersSet,
 					FHIRUtils.getDiagnosticReportResultConcept());
-
-			obsService.saveObs(resultObsGroup, null);
+			// The members are saved along with the group
+			saveObsTree(resultObsGroup);
 		} //-- END of set `result`
 
 		/****************************** Set `ImagingStudy` as a set of Obs *********************************/
@@ -211,13 +190,13 @@ public class RadiologyHandler extends AbstractHandler implements DiagnosticRepor
 				// Get `ImagingStudy` Obs from external server
 				obs = this.getOpenMRSImagingStudyObs(imagingStudyId);
 			}
-			obs = obsService.saveObs(obs, null);
 			imagingStudyObsGroupMembersSet.add(obs);
 		}
 		if (!imagingStudyObsGroupMembersSet.isEmpty()) {
-			Obs imagingStudyObsGroup = getObsGroup(diagnosticReport, omrsPatient, omrsEncounter, resultObsGroupMembersSet,
-					FHIRUtils.getDiagnosticReportImagingStudyConcept());
-			obsService.saveObs(imagingStudyObsGroup, null);
+			Obs imagingStudyObsGroup = getObsGroup(diagnosticReport, omrsPatient, omrsEncounter,
+					imagingStudyObsGroupMembersSet, FHIRUtils.getDiagnosticReportImagingStudyConcept());
+			// The imaging studies and their series are saved along with the group
+			saveObsTree(imagingStudyObsGroup);
 		} //-- Set `ImagingStudy` as a set of Obs
 
 		// Set Binary Obs Handler which used to store `PresentedForm`
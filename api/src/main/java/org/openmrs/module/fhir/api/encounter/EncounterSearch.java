@@ -0,0 +1,187 @@
+package org.openmrs.module.fhir.api.encounter;
+
+import java.util.Date;
+
+/**
+ * <h1>EncounterSearch</h1>
+ * <p>The criteria of a search through the encounters and visits of a patient, both served as FHIR
+ * encounters. Every criterion is optional, a criterion left null does not restrict the result.</p>
+ * <p>The search also keeps its position in the result, the last encounter and the last visit returned,
+ * so that the next page starts right after them instead of counting rows from the start. Use
+ * {@link #copy()} to keep a position before reading on.</p>
+ *
+ * @since 1.20.0
+ */
+public class EncounterSearch {
+
+	private String patientUuid;
+
+	private String patientIdentifier;
+
+	private Date from;
+
+	private Date to;
+
+	private String type;
+
+	private String status;
+
+	private String locationUuid;
+
+	private String partOf;
+
+	private Date lastEncounterDatetime;
+
+	private Integer lastEncounterId;
+
+	private Date lastVisitDatetime;
+
+	private Integer lastVisitId;
+
+	/**
+	 * @return a search with the same criteria and position
+	 */
+	public EncounterSearch copy() {
+		EncounterSearch copy = new EncounterSearch();
+		copy.patientUuid = patientUuid;
+		copy.patientIdentifier = patientIdentifier;
+		copy.from = from;
+		copy.to = to;
+		copy.type = type;
+		copy.status = status;
+		copy.locationUuid = locationUuid;
+		copy.partOf = partOf;
+		copy.lastEncounterDatetime = lastEncounterDatetime;
+		copy.lastEncounterId = lastEncounterId;
+		copy.lastVisitDatetime = lastVisitDatetime;
+		copy.lastVisitId = lastVisitId;
+		return copy;
+	}
+
+	/**
+	 * @return uuid of the patient
+	 */
+	public String getPatientUuid() {
+		return patientUuid;
+	}
+
+	public void setPatientUuid(String patientUuid) {
+		this.patientUuid = patientUuid;
+	}
+
+	/**
+	 * @return an identifier of the patient, matched exactly
+	 */
+	public String getPatientIdentifier() {
+		return patientIdentifier;
+	}
+
+	public void setPatientIdentifier(String patientIdentifier) {
+		this.patientIdentifier = patientIdentifier;
+	}
+
+	/**
+	 * @return earliest date, inclusive. A visit matches if it has not ended by then
+	 */
+	public Date getFrom() {
+		return from;
+	}
+
+	public void setFrom(Date from) {
+		this.from = from;
+	}
+
+	/**
+	 * @return latest date, inclusive. A visit matches if it has started by then
+	 */
+	public Date getTo() {
+		return to;
+	}
+
+	public void setTo(Date to) {
+		this.to = to;
+	}
+
+	/**
+	 * @return name or uuid of the encounter type or visit type
+	 */
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	/**
+	 * @return fhir status code of the encounters
+	 */
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	/**
+	 * @return uuid of the location
+	 */
+	public String getLocationUuid() {
+		return locationUuid;
+	}
+
+	public void setLocationUuid(String locationUuid) {
+		this.locationUuid = locationUuid;
+	}
+
+	/**
+	 * @return uuid of the visit the encounters are part of, or {@code none} for the visits and the
+	 * encounters outside of any visit
+	 */
+	public String getPartOf() {
+		return partOf;
+	}
+
+	public void setPartOf(String partOf) {
+		this.partOf = partOf;
+	}
+
+	/**
+	 * @return date of the last encounter returned, null before the first page
+	 */
+	public Date getLastEncounterDatetime() {
+		return lastEncounterDatetime;
+	}
+
+	/**
+	 * @return id of the last encounter returned, null before the first page
+	 */
+	public Integer getLastEncounterId() {
+		return lastEncounterId;
+	}
+
+	public void setLastEncounter(Date encounterDatetime, Integer encounterId) {
+		this.lastEncounterDatetime = encounterDatetime;
+		this.lastEncounterId = encounterId;
+	}
+
+	/**
+	 * @return start date of the last visit returned, null before the first page
+	 */
+	public Date getLastVisitDatetime() {
+		return lastVisitDatetime;
+	}
+
+	/**
+	 * @return id of the last visit returned, null before the first page
+	 */
+	public Integer getLastVisitId() {
+		return lastVisitId;
+	}
+
+	public void setLastVisit(Date startDatetime, Integer visitId) {
+		this.lastVisitDatetime = startDatetime;
+		this.lastVisitId = visitId;
+	}
+}
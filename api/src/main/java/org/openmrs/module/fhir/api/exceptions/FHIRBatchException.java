@@ -0,0 +1,39 @@
+package org.openmrs.module.fhir.api.exceptions;
+
+import org.hl7.fhir.dstu3.model.Bundle;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+
+import java.util.List;
+
+/**
+ * Thrown when a remote server accepted a pushed bundle but rejected some of its entries. The other
+ * entries were processed, so the exception carries every response along with the rejected resources.
+ *
+ * @since 1.20.0
+ */
+public class FHIRBatchException extends FHIRException {
+
+	private final List<Bundle> responses;
+
+	private final List<IBaseResource> failedResources;
+
+	public FHIRBatchException(String message, List<Bundle> responses, List<IBaseResource> failedResources) {
+		super(message);
+		this.responses = responses;
+		this.failedResources = failedResources;
+	}
+
+	/**
+	 * @return the response bundles, in the order of the pushed resources
+	 */
+	public List<Bundle> getResponses() {
+		return responses;
+	}
+
+	/**
+	 * @return the resources whose entries were answered with an error status
+	 */
+	public List<IBaseResource> getFailedResources() {
+		return failedResources;
+	}
+}
@@ -4,6 +4,7 @@ import org.hl7.fhir.dstu3.model.AllergyIntolerance;
 import org.openmrs.Patient;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface AllergyHelper {
 
@@ -11,6 +12,23 @@ public interface AllergyHelper {
 
 	Collection<AllergyIntolerance> getAllergyIntoleranceByPatient(Patient patient);
 
+	/**
+	 * @param patientIds     ids of the patients the allergies belong to
+	 * @param clinicalStatus clinical status code of the allergies, or null for any
+	 * @param firstResult    index of the first allergy of the page
+	 * @param maxResults     size of the page
+	 * @return the page of matching allergies
+	 */
+	List<AllergyIntolerance> getAllergyIntolerancesByPatients(Collection<Integer> patientIds, String clinicalStatus,
+			int firstResult, int maxResults);
+
+	/**
+	 * @param patientIds     ids of the patients the allergies belong to
+	 * @param clinicalStatus clinical status code of the allergies, or null for any
+	 * @return the number of matching allergies
+	 */
+	int getAllergyIntoleranceCountByPatients(Collection<Integer> patientIds, String clinicalStatus);
+
 	AllergyIntolerance createAllergy(AllergyIntolerance allergyIntolerance);
 
 	AllergyIntolerance updateAllergy(AllergyIntolerance allergyIntolerance, String uuid);
@@ -116,4 +116,36 @@ public interface ClientHelper {
 	 * @throws NotSupportedException
 	 */
 	Object convertToOpenMrsObject(Object object, String category) throws NotSupportedException;
+
+	/**
+	 * <p>Computes a fingerprint of the content of an object. Objects with equal content have equal
+	 * fingerprints, regardless of their ids and metadata.</p>
+	 *
+	 * @param object represents an object to be fingerprinted
+	 * @return returns the fingerprint of the object
+	 * @since 1.20.0
+	 */
+	String computeFingerprint(Object object);
+
+	/**
+	 * <p>Checks whether an object has the same content as when it was last marked as synchronized,
+	 * so that it can be skipped without fetching the other side.</p>
+	 *
+	 * @param category represents category of the object
+	 * @param object represents the current version of the object
+	 * @return returns true if the object did not change since the last synchronization
+	 * @since 1.20.0
+	 */
+	boolean isUnchangedSinceLastSync(String category, Object object);
+
+	/**
+	 * <p>Remembers the content of an object as the last synchronized version, which is also the
+	 * common ancestor of the next three-way merge. It must only be called once the object has been
+	 * applied on both sides.</p>
+	 *
+	 * @param category represents category of the object
+	 * @param object represents the synchronized version of the object
+	 * @since 1.20.0
+	 */
+	void markAsSynced(String category, Object object);
 }
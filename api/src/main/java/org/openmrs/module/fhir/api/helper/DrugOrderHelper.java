@@ -6,6 +6,9 @@ import org.hl7.fhir.dstu3.model.SimpleQuantity;
 import org.hl7.fhir.dstu3.model.Timing;
 import org.openmrs.Concept;
 import org.openmrs.DrugOrder;
+import org.openmrs.module.fhir.api.medicationrequest.MedicationRequestSearch;
+
+import java.util.List;
 
 public interface DrugOrderHelper extends OrderHelper {
 
@@ -62,4 +65,18 @@ public interface DrugOrderHelper extends OrderHelper {
 	Duration getDuration(DrugOrder omrsDrugOrder);
 
 	void setDuration(DrugOrder drugOrder, Duration duration);
+
+	/**
+	 * @param search      the criteria of the orders
+	 * @param firstResult index of the first order of the page
+	 * @param maxResults  size of the page
+	 * @return the page of matching drug orders, latest first
+	 */
+	List<DrugOrder> getDrugOrders(MedicationRequestSearch search, int firstResult, int maxResults);
+
+	/**
+	 * @param search the criteria of the orders
+	 * @return the number of matching drug orders
+	 */
+	int getDrugOrderCount(MedicationRequestSearch search);
 }
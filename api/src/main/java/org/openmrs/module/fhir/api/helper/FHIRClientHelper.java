@@ -1,6 +1,5 @@
 package org.openmrs.module.fhir.api.helper;
 
-import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.parser.IParser;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -15,16 +14,22 @@ import org.hl7.fhir.dstu3.model.Person;
 import org.hl7.fhir.dstu3.model.Practitioner;
 import org.hl7.fhir.dstu3.model.ProcedureRequest;
 import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.ResourceBaseVersionService;
+import org.openmrs.module.fhir.api.ResourceFingerprintService;
 import org.openmrs.module.fhir.api.client.BasicAuthInterceptor;
 import org.openmrs.module.fhir.api.client.BasicHttpRequestInterceptor;
 import org.openmrs.module.fhir.api.client.ClientHttpEntity;
 import org.openmrs.module.fhir.api.client.ClientHttpRequestInterceptor;
 import org.openmrs.module.fhir.api.client.FHIRHttpMessageConverter;
+import org.openmrs.module.fhir.api.client.FHIRSyncTransport;
 import org.openmrs.module.fhir.api.exceptions.FHIRException;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
 import org.openmrs.module.fhir.api.util.ContextUtil;
 import org.openmrs.module.fhir.api.util.ErrorUtil;
 import org.openmrs.module.fhir.api.util.FHIRAllergyIntoleranceUtil;
 import org.openmrs.module.fhir.api.util.FHIREncounterUtil;
+import org.openmrs.module.fhir.api.util.FHIRFingerprintUtil;
 import org.openmrs.module.fhir.api.util.FHIRGroupUtil;
 import org.openmrs.module.fhir.api.util.FHIRLocationUtil;
 import org.openmrs.module.fhir.api.util.FHIRMedicationRequestUtil;
@@ -84,7 +89,7 @@ public class FHIRClientHelper implements ClientHelper {
 	protected final Log log = LogFactory.getLog(this.getClass());
 
 	public FHIRClientHelper() {
-		parser = FhirContext.forDstu3().newJsonParser();
+		parser = FHIRContextFactory.getFHIRContext().newJsonParser();
 	}
 
 	@Override
@@ -124,6 +129,21 @@ public class FHIRClientHelper implements ClientHelper {
 				new BasicHttpRequestInterceptor("Accept", "application/json"));
 	}
 
+	/**
+	 * <p>Creates a transport pushing resources to a remote server in batch bundles, over pooled
+	 * keep-alive connections. The transport should be reused for a whole synchronization and then
+	 * closed.</p>
+	 *
+	 * @param url represents the base URL of the remote FHIR server
+	 * @param username represents username of a user
+	 * @param password represents password of a user
+	 * @return returns a new transport
+	 * @since 1.20.0
+	 */
+	public FHIRSyncTransport createSyncTransport(String url, String username, String password) {
+		return new FHIRSyncTransport(url, getCustomInterceptors(username, password));
+	}
+
 	@Override
 	public List<HttpMessageConverter<?>> getCustomMessageConverter() {
 		return Arrays.asList(new HttpMessageConverter<?>[]
@@ -132,6 +152,10 @@ public class FHIRClientHelper implements ClientHelper {
 
 	@Override
 	public boolean compareResourceObjects(String category, Object from, Object dest) {
+		if (from instanceof IBaseResource && dest instanceof IBaseResource
+				&& FHIRFingerprintUtil.haveSameFingerprint((IBaseResource) from, (IBaseResource) dest)) {
+			return true;
+		}
 		boolean result;
 		switch (category) {
 			case CATEGORY_PATIENT:
@@ -169,7 +193,7 @@ public class FHIRClientHelper implements ClientHelper {
 
 	@Override
 	public Object convertToObject(String formattedData, Class<?> clazz) {
-		return parser.parseResource(formattedData);
+		return FHIRFingerprintUtil.takeFingerprint(parser.parseResource(formattedData));
 	}
 
 	@Override
@@ -177,6 +201,26 @@ public class FHIRClientHelper implements ClientHelper {
 		return parser.encodeResourceToString((IBaseResource) object);
 	}
 
+	@Override
+	public String computeFingerprint(Object object) {
+		return FHIRFingerprintUtil.getFingerprint((IBaseResource) object);
+	}
+
+	@Override
+	public boolean isUnchangedSinceLastSync(String category, Object object) {
+		IBaseResource resource = (IBaseResource) object;
+		return getFingerprintService().isUnchanged(resolveClassByCategory(category).getSimpleName(),
+				resource.getIdElement().getIdPart(), FHIRFingerprintUtil.getFingerprint(resource));
+	}
+
+	@Override
+	public void markAsSynced(String category, Object object) {
+		IBaseResource resource = (IBaseResource) object;
+		getFingerprintService().saveFingerprint(resolveClassByCategory(category).getSimpleName(),
+				resource.getIdElement().getIdPart(), FHIRFingerprintUtil.getFingerprint(resource));
+		getBaseVersionService().saveBaseVersion(resource);
+	}
+
 	@Override
 	public Object convertToOpenMrsObject(Object object, String category) throws NotSupportedException {
 		List<String> errors = new ArrayList<>();
@@ -224,4 +268,12 @@ public class FHIRClientHelper implements ClientHelper {
 	private String createUrl(String url, IBaseResource object) {
 		return url + "/" + object.getIdElement().getIdPart();
 	}
+
+	private ResourceFingerprintService getFingerprintService() {
+		return Context.getService(ResourceFingerprintService.class);
+	}
+
+	private ResourceBaseVersionService getBaseVersionService() {
+		return Context.getService(ResourceBaseVersionService.class);
+	}
 }
@@ -13,4 +13,13 @@ public interface ObsHelper {
 	CodeableConcept getInterpretation(Obs obs);
 
 	void setInterpretation(Obs obs, CodeableConcept interpretation);
+
+	/**
+	 * Sets the status and the interpretation of an obs to an observation in one call, as
+	 * {@link #getObsStatus(Obs)} and {@link #getInterpretation(Obs)} would
+	 *
+	 * @param observation the observation to update
+	 * @param obs         the obs the observation is generated from
+	 */
+	void setStatusAndInterpretation(Observation observation, Obs obs);
 }
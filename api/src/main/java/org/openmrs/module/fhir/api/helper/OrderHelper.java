@@ -4,6 +4,7 @@ import org.hl7.fhir.dstu3.model.Reference;
 import org.openmrs.Order;
 import org.openmrs.Patient;
 
+import java.util.Date;
 import java.util.List;
 
 public interface OrderHelper {
@@ -22,6 +23,8 @@ public interface OrderHelper {
 
 	List<Order> getAllOrdersByPatient(Patient patient);
 
+	Date getDateActivated(Order order);
+
 	void setOrderer(Order order, String uuid);
 
 	Reference buildPartitionerReference(Order omrsOrder);
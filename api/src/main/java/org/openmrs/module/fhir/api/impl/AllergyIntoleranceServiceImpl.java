@@ -16,11 +16,19 @@ package org.openmrs.module.fhir.api.impl;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.AllergyIntolerance;
+import org.openmrs.Patient;
+import org.openmrs.api.context.Context;
 import org.openmrs.api.impl.BaseOpenmrsService;
 import org.openmrs.module.fhir.api.AllergyIntoleranceService;
+import org.openmrs.module.fhir.api.allergy.AllergyIntoleranceSearch;
 import org.openmrs.module.fhir.api.db.FHIRDAO;
 import org.openmrs.module.fhir.api.strategies.allergy.AllergyStrategyUtil;
+import org.openmrs.module.fhir.api.util.FHIRIdentifierUtil;
+import org.openmrs.module.fhir.api.util.PatientIdentifierTypeCache;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -58,17 +66,41 @@ public class AllergyIntoleranceServiceImpl extends BaseOpenmrsService implements
 
 	@Override
 	public List<AllergyIntolerance> searchAllergiesByPatientIdentifier(String identifier) {
-		return AllergyStrategyUtil.getAllergyStrategy().searchAllergiesByPatientIdentifier(identifier);
+		AllergyIntoleranceSearch search = new AllergyIntoleranceSearch();
+		search.setPatientIdentifier(identifier);
+		return searchAllergies(search, 0, Integer.MAX_VALUE);
 	}
 
 	@Override
 	public List<AllergyIntolerance> searchAllergiesByPatientName(String name) {
-		return AllergyStrategyUtil.getAllergyStrategy().searchAllergiesByPatientName(name);
+		AllergyIntoleranceSearch search = new AllergyIntoleranceSearch();
+		search.setPatientName(name);
+		return searchAllergies(search, 0, Integer.MAX_VALUE);
 	}
 
 	@Override
 	public List<AllergyIntolerance> searchAllergiesByPatientUuid(String personId) {
-		return AllergyStrategyUtil.getAllergyStrategy().searchAllergiesByPersonId(personId);
+		AllergyIntoleranceSearch search = new AllergyIntoleranceSearch();
+		search.setPatientUuid(personId);
+		return searchAllergies(search, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.AllergyIntoleranceService#searchAllergies(AllergyIntoleranceSearch, int, int)
+	 */
+	@Override
+	public List<AllergyIntolerance> searchAllergies(AllergyIntoleranceSearch search, int firstResult, int maxResults) {
+		return AllergyStrategyUtil.getAllergyStrategy().searchAllergiesByPatients(getPatientIds(search),
+				search.getClinicalStatus(), firstResult, maxResults);
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.AllergyIntoleranceService#getAllergyCount(AllergyIntoleranceSearch)
+	 */
+	@Override
+	public int getAllergyCount(AllergyIntoleranceSearch search) {
+		return AllergyStrategyUtil.getAllergyStrategy().getAllergyCountByPatients(getPatientIds(search),
+				search.getClinicalStatus());
 	}
 
 	@Override
@@ -85,4 +117,37 @@ public class AllergyIntoleranceServiceImpl extends BaseOpenmrsService implements
 	public void deleteAllergy(String uuid) {
 		AllergyStrategyUtil.getAllergyStrategy().deleteAllergy(uuid);
 	}
+
+	/**
+	 * Resolves the patients of a search once, with a single query whatever the number of patients
+	 */
+	private List<Integer> getPatientIds(AllergyIntoleranceSearch search) {
+		if (search.getPatientIds() != null) {
+			return search.getPatientIds();
+		}
+		Collection<Patient> patients = new ArrayList<>();
+		if (search.getPatientUuid() != null) {
+			Patient patient = Context.getPatientService().getPatientByUuid(search.getPatientUuid());
+			if (patient != null) {
+				patients.add(patient);
+			}
+		} else if (search.getPatientIdentifier() != null) {
+			String system = FHIRIdentifierUtil.getTokenSystem(search.getPatientIdentifier());
+			Integer identifierTypeId = PatientIdentifierTypeCache.getIdentifierTypeId(system);
+			if (system == null || identifierTypeId != null) {
+				patients = dao.getPatientsByIdentifiers(
+						Collections.singletonList(FHIRIdentifierUtil.getTokenValue(search.getPatientIdentifier())),
+						identifierTypeId);
+			}
+		} else if (search.getPatientName() != null) {
+			patients = Context.getPatientService().getPatients(search.getPatientName(), null, null, true);
+		}
+
+		List<Integer> patientIds = new ArrayList<>();
+		for (Patient patient : patients) {
+			patientIds.add(patient.getPatientId());
+		}
+		search.setPatientIds(patientIds);
+		return patientIds;
+	}
 }
@@ -17,7 +17,9 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.Coding;
 import org.hl7.fhir.dstu3.model.DiagnosticReport;
+import org.openmrs.Concept;
 import org.openmrs.Encounter;
+import org.openmrs.EncounterType;
 import org.openmrs.api.APIException;
 import org.openmrs.api.EncounterService;
 import org.openmrs.api.context.Context;
@@ -25,10 +27,14 @@ import org.openmrs.api.impl.BaseOpenmrsService;
 import org.openmrs.module.fhir.api.DiagnosticReportService;
 import org.openmrs.module.fhir.api.db.FHIRDAO;
 import org.openmrs.module.fhir.api.diagnosticreport.DiagnosticReportHandler;
+import org.openmrs.module.fhir.api.diagnosticreport.DiagnosticReportSearch;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.openmrs.module.fhir.api.util.FHIRDiagnosticReportUtil;
+import org.openmrs.module.fhir.api.util.FHIRUtils;
 import org.openmrs.util.OpenmrsClassLoader;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -134,6 +140,44 @@ public class DiagnosticReportServiceImpl extends BaseOpenmrsService implements D
 		return FHIRDiagnosticReportUtil.getFHIRDiagnosticReportBySubjectName(patientName, getHandler(serviceCode));
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.DiagnosticReportService#searchDiagnosticReports(DiagnosticReportSearch, int,
+	 * int)
+	 */
+	@Override
+	public List<DiagnosticReport> searchDiagnosticReports(DiagnosticReportSearch search, int firstResult,
+			int maxResults) {
+		List<DiagnosticReport> diagnosticReports = new ArrayList<>();
+		ReportCriteria criteria = ReportCriteria.resolve(search, getHandlers().keySet());
+		if (criteria == null || maxResults <= 0) {
+			return diagnosticReports;
+		}
+
+		List<Encounter> encounters = dao.getEncounters(criteria.encounterTypes, search.getPatientUuid(),
+				search.getFrom(), search.getTo(), criteria.voided, criteria.obsConcept, firstResult, maxResults);
+		for (Encounter encounter : encounters) {
+			DiagnosticReportHandler handler = getHandler(encounter.getEncounterType().getName());
+			if (handler == null) {
+				handler = getHandler(FHIRConstants.DEFAULT);
+			}
+			diagnosticReports.add(FHIRDiagnosticReportUtil.getFHIRDiagnosticReport(encounter.getUuid(), handler));
+		}
+		return diagnosticReports;
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.DiagnosticReportService#getDiagnosticReportCount(DiagnosticReportSearch)
+	 */
+	@Override
+	public int getDiagnosticReportCount(DiagnosticReportSearch search) {
+		ReportCriteria criteria = ReportCriteria.resolve(search, getHandlers().keySet());
+		if (criteria == null) {
+			return 0;
+		}
+		return dao.getEncounterCount(criteria.encounterTypes, search.getPatientUuid(), search.getFrom(),
+				search.getTo(), criteria.voided, criteria.obsConcept);
+	}
+
 	/****************************************************************
 	 * Handler Implementation
 	 ***************************************************************/
@@ -184,4 +228,71 @@ public class DiagnosticReportServiceImpl extends BaseOpenmrsService implements D
 	public void removeHandler(String key) {
 		handlers.remove(key);
 	}
+
+	/**
+	 * The search criteria translated to OpenMRS objects. Resolving yields null when the search cannot
+	 * match any report, so that no query is run.
+	 */
+	private static class ReportCriteria {
+
+		private final List<EncounterType> encounterTypes = new ArrayList<>();
+
+		private boolean voided;
+
+		private Concept obsConcept;
+
+		private static ReportCriteria resolve(DiagnosticReportSearch search, Collection<String> serviceCategories) {
+			ReportCriteria criteria = new ReportCriteria();
+			if (search.getCategory() != null) {
+				addEncounterType(criteria.encounterTypes, search.getCategory());
+			} else {
+				for (String serviceCategory : serviceCategories) {
+					addEncounterType(criteria.encounterTypes, serviceCategory);
+				}
+			}
+			if (criteria.encounterTypes.isEmpty()) {
+				return null;
+			}
+
+			String status = search.getStatus();
+			if (status != null) {
+				if (DiagnosticReport.DiagnosticReportStatus.CANCELLED.toCode().equals(status)) {
+					criteria.voided = true;
+				} else if (!DiagnosticReport.DiagnosticReportStatus.FINAL.toCode().equals(status)) {
+					return null;
+				}
+			}
+
+			if (search.getCode() != null) {
+				criteria.obsConcept = getConcept(search.getCodeSystem(), search.getCode());
+				if (criteria.obsConcept == null) {
+					return null;
+				}
+			}
+			return criteria;
+		}
+
+		private static void addEncounterType(List<EncounterType> encounterTypes, String serviceCategory) {
+			try {
+				EncounterType encounterType = FHIRUtils.getEncounterType(serviceCategory);
+				if (!encounterTypes.contains(encounterType)) {
+					encounterTypes.add(encounterType);
+				}
+			}
+			catch (IllegalStateException e) {
+				//No encounter type is configured for this service category, so it has no reports
+			}
+		}
+
+		private static Concept getConcept(String system, String code) {
+			if (system == null || system.isEmpty()) {
+				return Context.getConceptService().getConceptByUuid(code);
+			}
+			String systemName = FHIRConstants.conceptSourceURINameMap.get(system);
+			if (systemName == null) {
+				return null;
+			}
+			return Context.getConceptService().getConceptByMapping(code, systemName);
+		}
+	}
 }
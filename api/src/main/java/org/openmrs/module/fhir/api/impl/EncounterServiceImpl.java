@@ -13,21 +13,44 @@
  */
 package org.openmrs.module.fhir.api.impl;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.Composition;
 import org.hl7.fhir.dstu3.model.Encounter;
+import org.hl7.fhir.exceptions.FHIRException;
+import org.openmrs.EncounterProvider;
+import org.openmrs.Obs;
+import org.openmrs.Visit;
+import org.openmrs.api.APIException;
+import org.openmrs.api.context.Context;
 import org.openmrs.api.impl.BaseOpenmrsService;
 import org.openmrs.module.fhir.api.EncounterService;
 import org.openmrs.module.fhir.api.db.FHIRDAO;
+import org.openmrs.module.fhir.api.encounter.EncounterSearch;
+import org.openmrs.module.fhir.api.location.LocationTree;
 import org.openmrs.module.fhir.api.strategies.encounter.EncounterStrategyUtil;
+import org.openmrs.module.fhir.api.util.FHIRConstants;
+import org.openmrs.module.fhir.api.util.FHIREncounterUtil;
+import org.openmrs.module.fhir.api.util.FHIRObsUtil;
+import org.openmrs.module.fhir.api.util.FHIRPatientUtil;
+import org.openmrs.module.fhir.api.util.FHIRPractitionerUtil;
+import org.openmrs.module.fhir.api.util.FHIRVisitUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * It is a default implementation of {@link org.openmrs.module.fhir.api.EncounterService}.
  */
 public class EncounterServiceImpl extends BaseOpenmrsService implements EncounterService {
 
+	protected final Log log = LogFactory.getLog(this.getClass());
+
 	private FHIRDAO dao;
 
 	/**
@@ -59,6 +82,155 @@ public class EncounterServiceImpl extends BaseOpenmrsService implements Encounte
 		return EncounterStrategyUtil.getEncounterStrategy().searchEncounterById(uuid);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.EncounterService#getEncountersByUuids(Collection)
+	 */
+	@Override
+	public List<Encounter> getEncountersByUuids(Collection<String> uuids) {
+		List<Encounter> encounters = new ArrayList<>();
+		Set<String> visitUuids = new HashSet<>(uuids);
+		for (org.openmrs.Encounter encounter : dao.getByUuids(org.openmrs.Encounter.class, uuids, null)) {
+			encounters.add(FHIREncounterUtil.generateEncounter(encounter));
+			visitUuids.remove(encounter.getUuid());
+		}
+		if (!visitUuids.isEmpty()) {
+			for (Visit visit : dao.getByUuids(Visit.class, visitUuids, null)) {
+				encounters.add(FHIRVisitUtil.generateEncounter(visit));
+			}
+		}
+		return encounters;
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.EncounterService#searchEncounters(EncounterSearch, int)
+	 */
+	@Override
+	public List<Encounter> searchEncounters(EncounterSearch search, int maxResults) {
+		List<Encounter> encounters = new ArrayList<>();
+		if (maxResults <= 0 || !matchesStatus(search)) {
+			return encounters;
+		}
+		List<org.openmrs.Encounter> omrsEncounters = dao.getEncounters(search, maxResults);
+		List<Visit> visits = includesVisits(search) ? dao.getVisits(search, maxResults)
+				: Collections.<Visit>emptyList();
+
+		//Merges both lists, latest first, visits first on the same date
+		int e = 0;
+		int v = 0;
+		while (encounters.size() < maxResults && (e < omrsEncounters.size() || v < visits.size())) {
+			if (v < visits.size() && (e == omrsEncounters.size() || visits.get(v).getStartDatetime().getTime()
+					>= omrsEncounters.get(e).getEncounterDatetime().getTime())) {
+				Visit visit = visits.get(v++);
+				encounters.add(FHIRVisitUtil.generateEncounter(visit));
+				search.setLastVisit(visit.getStartDatetime(), visit.getVisitId());
+			} else {
+				org.openmrs.Encounter encounter = omrsEncounters.get(e++);
+				encounters.add(FHIREncounterUtil.generateEncounter(encounter));
+				search.setLastEncounter(encounter.getEncounterDatetime(), encounter.getEncounterId());
+			}
+		}
+		return encounters;
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.EncounterService#getEncounterCount(EncounterSearch)
+	 */
+	@Override
+	public int getEncounterCount(EncounterSearch search) {
+		if (!matchesStatus(search)) {
+			return 0;
+		}
+		return dao.getEncounterCount(search) + (includesVisits(search) ? dao.getVisitCount(search) : 0);
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.EncounterService#searchCompositions(EncounterSearch, int)
+	 */
+	@Override
+	public List<Composition> searchCompositions(EncounterSearch search, int maxResults) {
+		List<Composition> compositions = new ArrayList<>();
+		if (maxResults <= 0) {
+			return compositions;
+		}
+		//Encounters whose composition fails are skipped, so more are read to keep the page full
+		while (compositions.size() < maxResults) {
+			int wanted = maxResults - compositions.size();
+			List<org.openmrs.Encounter> omrsEncounters = dao.getEncounters(search, wanted);
+			dao.fetchEncounterContents(omrsEncounters);
+			for (org.openmrs.Encounter encounter : omrsEncounters) {
+				search.setLastEncounter(encounter.getEncounterDatetime(), encounter.getEncounterId());
+				try {
+					compositions.add(FHIREncounterUtil.generateComposition(encounter));
+				}
+				catch (FHIRException e) {
+					log.error("Error while building the composition of encounter " + encounter.getUuid(), e);
+				}
+			}
+			if (omrsEncounters.size() < wanted) {
+				break;
+			}
+		}
+		return compositions;
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.EncounterService#getCompositionCount(EncounterSearch)
+	 */
+	@Override
+	public int getCompositionCount(EncounterSearch search) {
+		return dao.getEncounterCount(search);
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.EncounterService#getCompositionDocument(String)
+	 */
+	@Override
+	public Bundle getCompositionDocument(String encounterId) {
+		org.openmrs.Encounter encounter = Context.getEncounterService().getEncounterByUuid(encounterId);
+		if (encounter == null || encounter.getVoided()) {
+			return null;
+		}
+		dao.fetchEncounterContents(Collections.singletonList(encounter));
+
+		Bundle document = new Bundle();
+		document.setType(Bundle.BundleType.DOCUMENT);
+		try {
+			document.addEntry().setResource(FHIREncounterUtil.generateComposition(encounter));
+		}
+		catch (FHIRException e) {
+			throw new APIException("Error while building the composition of encounter " + encounterId, e);
+		}
+		document.addEntry().setResource(FHIRPatientUtil.generatePatient(encounter.getPatient()));
+		document.addEntry().setResource(FHIREncounterUtil.generateEncounter(encounter));
+		if (encounter.getLocation() != null) {
+			document.addEntry().setResource(LocationTree.getInstance().getLocation(encounter.getLocation().getUuid()));
+		}
+		for (EncounterProvider encounterProvider : encounter.getEncounterProviders()) {
+			if (!encounterProvider.getVoided()) {
+				document.addEntry().setResource(FHIRPractitionerUtil.generatePractitioner(
+						encounterProvider.getProvider()));
+			}
+		}
+		for (Obs obs : encounter.getAllObs(false)) {
+			document.addEntry().setResource(FHIRObsUtil.generateObs(obs));
+		}
+		return document;
+	}
+
+	/**
+	 * Encounters and visits are all served as finished
+	 */
+	private static boolean matchesStatus(EncounterSearch search) {
+		return search.getStatus() == null || Encounter.EncounterStatus.FINISHED.toCode().equals(search.getStatus());
+	}
+
+	/**
+	 * Visits are top level encounters, so they are left out of a search for the encounters of a visit
+	 */
+	private static boolean includesVisits(EncounterSearch search) {
+		return search.getPartOf() == null || FHIRConstants.NONE.equalsIgnoreCase(search.getPartOf());
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.EncounterService#searchEncountersByPatientIdentifier(String)
 	 */
@@ -19,8 +19,13 @@ import org.hl7.fhir.dstu3.model.Location;
 import org.openmrs.api.impl.BaseOpenmrsService;
 import org.openmrs.module.fhir.api.LocationService;
 import org.openmrs.module.fhir.api.db.FHIRDAO;
+import org.openmrs.module.fhir.api.location.LocationTree;
 import org.openmrs.module.fhir.api.strategies.location.LocationStrategyUtil;
+import org.openmrs.module.fhir.api.util.FHIRLocationUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -62,6 +67,39 @@ public class LocationServiceImpl extends BaseOpenmrsService implements LocationS
 		return LocationStrategyUtil.getLocationStrategy().searchLocationsByUuid(uuid);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.LocationService#getLocationsByUuids(Collection)
+	 */
+	@Override
+	public List<Location> getLocationsByUuids(Collection<String> uuids) {
+		List<Location> locations = new ArrayList<>();
+		List<String> missing = new ArrayList<>();
+		LocationTree tree = LocationTree.getInstance();
+		for (String uuid : new LinkedHashSet<>(uuids)) {
+			Location location = tree.findLocation(uuid);
+			if (location == null) {
+				//Invalid locations are in the tree, but left out like in the other searches
+				if (!tree.containsLocation(uuid)) {
+					missing.add(uuid);
+				}
+			} else {
+				//Retired locations are returned as inactive, like the read by id
+				locations.add(location);
+			}
+		}
+		//Locations missing from the tree are new, looked up with one query
+		if (!missing.isEmpty()) {
+			List<org.openmrs.Location> omrsLocations = dao.getByUuids(org.openmrs.Location.class, missing, null);
+			if (!omrsLocations.isEmpty()) {
+				LocationTree.invalidate();
+			}
+			for (org.openmrs.Location location : omrsLocations) {
+				locations.add(FHIRLocationUtil.generateLocation(location));
+			}
+		}
+		return locations;
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.LocationService#searchLocationsByName(String)
 	 */
@@ -70,6 +108,22 @@ public class LocationServiceImpl extends BaseOpenmrsService implements LocationS
 		return LocationStrategyUtil.getLocationStrategy().searchLocationsByName(name);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.LocationService#searchLocationsByPartOf(String, boolean)
+	 */
+	@Override
+	public List<Location> searchLocationsByPartOf(String uuid, boolean below) {
+		return LocationStrategyUtil.getLocationStrategy().searchLocationsByPartOf(uuid, below);
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.LocationService#searchLocationsNear(double, double, double)
+	 */
+	@Override
+	public List<Location> searchLocationsNear(double latitude, double longitude, double distance) {
+		return LocationStrategyUtil.getLocationStrategy().searchLocationsNear(latitude, longitude, distance);
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.LocationService#searchLocationsByStatus(boolean)
 	 */
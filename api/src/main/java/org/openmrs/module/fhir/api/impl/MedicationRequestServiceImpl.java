@@ -19,6 +19,7 @@ import org.hl7.fhir.dstu3.model.MedicationRequest;
 import org.openmrs.api.impl.BaseOpenmrsService;
 import org.openmrs.module.fhir.api.MedicationRequestService;
 import org.openmrs.module.fhir.api.db.FHIRDAO;
+import org.openmrs.module.fhir.api.medicationrequest.MedicationRequestSearch;
 import org.openmrs.module.fhir.api.strategies.medicationrequest.MedicationRequestStrategyUtil;
 
 import java.util.List;
@@ -58,6 +59,18 @@ public class MedicationRequestServiceImpl extends BaseOpenmrsService implements
 		return MedicationRequestStrategyUtil.getMedicationRequestStrategy().searchMedicationRequestByPatientUuid(patientUuid);
 	}
 
+	@Override
+	public List<MedicationRequest> searchMedicationRequests(MedicationRequestSearch search, int firstResult,
+			int maxResults) {
+		return MedicationRequestStrategyUtil.getMedicationRequestStrategy()
+				.searchMedicationRequests(search, firstResult, maxResults);
+	}
+
+	@Override
+	public int getMedicationRequestCount(MedicationRequestSearch search) {
+		return MedicationRequestStrategyUtil.getMedicationRequestStrategy().getMedicationRequestCount(search);
+	}
+
 	@Override
 	public void deleteMedicationRequest(String uuid) {
 		MedicationRequestStrategyUtil.getMedicationRequestStrategy().deleteMedicationRequest(uuid);
@@ -0,0 +1,290 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openmrs.Patient;
+import org.openmrs.Person;
+import org.openmrs.Provider;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.impl.BaseOpenmrsService;
+import org.openmrs.module.fhir.api.NameIndexService;
+import org.openmrs.module.fhir.api.db.FHIRDAO;
+import org.openmrs.module.fhir.api.index.IndexedPerson;
+import org.openmrs.module.fhir.api.index.NameIndex;
+import org.openmrs.module.fhir.api.model.ResourceChange;
+import org.openmrs.module.fhir.api.util.FHIRConstants;
+import org.openmrs.util.OpenmrsUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * It is a default implementation of {@link NameIndexService}.
+ */
+public class NameIndexServiceImpl extends BaseOpenmrsService implements NameIndexService {
+
+	protected final Log log = LogFactory.getLog(this.getClass());
+
+	private static final String INDEX_DIRECTORY = "fhir" + File.separator + "index";
+
+	private static final String INDEX_FILE = "names.idx";
+
+	private static final String PERSON = "Person";
+
+	/**
+	 * Change log entries of these resource types can change what is indexed for a person
+	 */
+	private static final String[] INDEXED_RESOURCE_TYPES = { FHIRConstants.PATIENT, PERSON,
+			FHIRConstants.PRACTITIONER };
+
+	private static final int BATCH_SIZE = 1000;
+
+	/**
+	 * Minimum time between two look ups of the change log, in milliseconds
+	 */
+	private static final long CATCH_UP_INTERVAL = 1000;
+
+	/**
+	 * Time before the last applied change from which the change log is read again, in milliseconds
+	 */
+	private static final long CATCH_UP_OVERLAP = 5 * 60 * 1000;
+
+	private FHIRDAO dao;
+
+	private volatile NameIndex index;
+
+	private volatile long lastCatchUp;
+
+	private final Object catchUpLock = new Object();
+
+	/**
+	 * The dates of the changes applied within the overlap, by change id, guarded by the catch up lock
+	 */
+	private final Map<Long, Date> appliedChanges = new HashMap<>();
+
+	/**
+	 * @return the dao
+	 */
+	public FHIRDAO getDao() {
+		return dao;
+	}
+
+	/**
+	 * @param dao the dao to set
+	 */
+	public void setDao(FHIRDAO dao) {
+		this.dao = dao;
+	}
+
+	@Override
+	public boolean isIndexReady() {
+		return index != null;
+	}
+
+	@Override
+	public List<Patient> searchPatients(String query, boolean phonetic, int maxResults) {
+		List<Patient> patients = new ArrayList<>();
+		for (Integer personId : search(query, phonetic, NameIndex.PATIENT, maxResults)) {
+			Patient patient = Context.getPatientService().getPatient(personId);
+			if (patient != null && !patient.isVoided()) {
+				patients.add(patient);
+			}
+		}
+		return patients;
+	}
+
+	@Override
+	public List<Provider> searchProviders(String query, boolean phonetic, int maxResults) {
+		List<Provider> providers = new ArrayList<>();
+		for (Integer personId : search(query, phonetic, NameIndex.PROVIDER, maxResults)) {
+			Person person = Context.getPersonService().getPerson(personId);
+			if (person != null) {
+				for (Provider provider : Context.getProviderService().getProvidersByPerson(person)) {
+					if (!provider.isRetired()) {
+						providers.add(provider);
+					}
+				}
+			}
+		}
+		return providers;
+	}
+
+	@Override
+	public List<Person> searchPersons(String query, boolean phonetic, int maxResults) {
+		List<Person> persons = new ArrayList<>();
+		for (Integer personId : search(query, phonetic, 0, maxResults)) {
+			Person person = Context.getPersonService().getPerson(personId);
+			if (person != null && !person.getPersonVoided()) {
+				persons.add(person);
+			}
+		}
+		return persons;
+	}
+
+	@Override
+	public void loadIndex() {
+		File file = getIndexFile();
+		NameIndex loaded = null;
+		if (file.isFile()) {
+			try {
+				loaded = NameIndex.read(file);
+			}
+			catch (IOException e) {
+				log.warn("Could not read the name index " + file + ", building it again", e);
+			}
+		}
+		if (loaded == null) {
+			loaded = buildIndex();
+			write(loaded);
+		}
+		synchronized (catchUpLock) {
+			appliedChanges.clear();
+		}
+		catchUp(loaded, true);
+		index = loaded;
+		log.info("Name index loaded with " + loaded.size() + " persons");
+	}
+
+	@Override
+	public void saveIndex() {
+		NameIndex current = index;
+		if (current != null) {
+			write(current);
+		}
+	}
+
+	private List<Integer> search(String query, boolean phonetic, int flags, int maxResults) {
+		NameIndex current = index;
+		if (current == null) {
+			throw new IllegalStateException("The name index is not loaded yet");
+		}
+		catchUp(current, false);
+		return current.search(query, phonetic, flags, maxResults);
+	}
+
+	private NameIndex buildIndex() {
+		Date start = new Date();
+		NameIndex built = new NameIndex();
+		int maxPersonId = dao.getMaxPersonId();
+		for (int from = 0; from <= maxPersonId; from += BATCH_SIZE) {
+			for (IndexedPerson person : dao.getIndexedPersons(from, from + BATCH_SIZE - 1)) {
+				built.put(person);
+			}
+		}
+		built.setSyncedUpTo(start);
+		return built;
+	}
+
+	/**
+	 * Applies the changes recorded in the change log since the index was last brought up to date. Looks
+	 * the change log up at most once per {@link #CATCH_UP_INTERVAL} unless forced.
+	 * <p>A change is dated when it is recorded, but may commit a little later, after a newer change was
+	 * already applied. The change log is therefore read again from {@link #CATCH_UP_OVERLAP} before the
+	 * last applied change, skipping the changes already applied.</p>
+	 */
+	private void catchUp(NameIndex current, boolean force) {
+		if (!force && System.currentTimeMillis() - lastCatchUp < CATCH_UP_INTERVAL) {
+			return;
+		}
+		synchronized (catchUpLock) {
+			long now = System.currentTimeMillis();
+			if (!force && now - lastCatchUp < CATCH_UP_INTERVAL) {
+				return;
+			}
+			lastCatchUp = now;
+
+			Date syncedUpTo = current.getSyncedUpTo();
+			Date since = syncedUpTo != null ? new Date(syncedUpTo.getTime() - CATCH_UP_OVERLAP) : null;
+			for (String resourceType : INDEXED_RESOURCE_TYPES) {
+				List<ResourceChange> changes;
+				int firstResult = 0;
+				do {
+					changes = dao.getResourceChanges(resourceType, since, firstResult, BATCH_SIZE);
+					for (ResourceChange change : changes) {
+						if (appliedChanges.put(change.getId(), change.getDateChanged()) == null) {
+							reindex(current, change);
+						}
+						if (syncedUpTo == null || change.getDateChanged().after(syncedUpTo)) {
+							syncedUpTo = change.getDateChanged();
+						}
+					}
+					firstResult += changes.size();
+				} while (changes.size() == BATCH_SIZE);
+			}
+			current.setSyncedUpTo(syncedUpTo);
+			forgetAppliedChanges(syncedUpTo);
+		}
+	}
+
+	/**
+	 * Forgets the applied changes which the next catch up no longer reads.
+	 */
+	private void forgetAppliedChanges(Date syncedUpTo) {
+		if (syncedUpTo == null) {
+			return;
+		}
+		long overlapStart = syncedUpTo.getTime() - CATCH_UP_OVERLAP;
+		Iterator<Date> dates = appliedChanges.values().iterator();
+		while (dates.hasNext()) {
+			if (dates.next().getTime() < overlapStart) {
+				dates.remove();
+			}
+		}
+	}
+
+	private void reindex(NameIndex current, ResourceChange change) {
+		Integer personId;
+		if (FHIRConstants.PRACTITIONER.equals(change.getResourceType())) {
+			personId = dao.getProviderPersonId(change.getResourceUuid());
+		} else {
+			personId = dao.getPersonId(change.getResourceUuid());
+			if (personId == null) {
+				//The person was purged
+				personId = current.getPersonId(change.getResourceUuid());
+			}
+		}
+		if (personId == null) {
+			return;
+		}
+
+		List<IndexedPerson> persons = dao.getIndexedPersons(personId, personId);
+		if (persons.isEmpty()) {
+			current.remove(personId);
+		} else {
+			current.put(persons.get(0));
+		}
+	}
+
+	private void write(NameIndex nameIndex) {
+		File file = getIndexFile();
+		try {
+			nameIndex.write(file);
+		}
+		catch (IOException e) {
+			log.warn("Could not write the name index " + file, e);
+		}
+	}
+
+	private static File getIndexFile() {
+		return new File(OpenmrsUtil.getDirectoryInApplicationDataDirectory(INDEX_DIRECTORY), INDEX_FILE);
+	}
+}
@@ -16,11 +16,15 @@ package org.openmrs.module.fhir.api.impl;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.Observation;
+import org.openmrs.Obs;
 import org.openmrs.api.impl.BaseOpenmrsService;
 import org.openmrs.module.fhir.api.ObsService;
 import org.openmrs.module.fhir.api.db.FHIRDAO;
 import org.openmrs.module.fhir.api.strategies.observation.ObservationStrategyUtil;
+import org.openmrs.module.fhir.api.util.FHIRObsUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +59,18 @@ public class ObsServiceImpl extends BaseOpenmrsService implements ObsService {
 		return ObservationStrategyUtil.getObservationStrategy().getObservation(id);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.ObsService#getObsByUuids(java.util.Collection)
+	 */
+	@Override
+	public List<Observation> getObsByUuids(Collection<String> uuids) {
+		List<Observation> observations = new ArrayList<>();
+		for (Obs obs : dao.getObsByUuids(uuids)) {
+			observations.add(FHIRObsUtil.generateObs(obs));
+		}
+		return observations;
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.ObsService#searchObsByPatientAndConcept(String, java.util.Map)
 	 */
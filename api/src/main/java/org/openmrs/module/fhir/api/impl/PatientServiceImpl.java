@@ -21,7 +21,12 @@ import org.openmrs.api.impl.BaseOpenmrsService;
 import org.openmrs.module.fhir.api.PatientService;
 import org.openmrs.module.fhir.api.db.FHIRDAO;
 import org.openmrs.module.fhir.api.strategies.patient.PatientStrategyUtil;
+import org.openmrs.module.fhir.api.util.FHIRPatientUtil;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
+import org.openmrs.module.fhir.api.util.PatientIdentifierTypeCache;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -61,6 +66,18 @@ public class PatientServiceImpl extends BaseOpenmrsService implements PatientSer
 		return PatientStrategyUtil.getPatientStrategy().searchPatientsById(uuid);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.PatientService#getPatientsByUuids(Collection)
+	 */
+	@Override
+	public List<Patient> getPatientsByUuids(Collection<String> uuids) {
+		List<Patient> patients = new ArrayList<>();
+		for (org.openmrs.Patient patient : dao.getByUuids(org.openmrs.Patient.class, uuids, "voided")) {
+			patients.add(FHIRPatientUtil.generatePatient(patient));
+		}
+		return patients;
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.PatientService#searchPatientsByIdentifier(String, String)
 	 */
@@ -75,6 +92,22 @@ public class PatientServiceImpl extends BaseOpenmrsService implements PatientSer
 		return PatientStrategyUtil.getPatientStrategy().searchPatientsByIdentifier(identifier);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.PatientService#searchPatientsByIdentifiers(Collection, String)
+	 */
+	@Override
+	public List<Patient> searchPatientsByIdentifiers(Collection<String> identifierValues, String identifierSystem) {
+		List<Patient> patients = new ArrayList<>();
+		Integer identifierTypeId = PatientIdentifierTypeCache.getIdentifierTypeId(identifierSystem);
+		if (identifierValues.isEmpty() || (identifierSystem != null && identifierTypeId == null)) {
+			return patients;
+		}
+		for (org.openmrs.Patient patient : dao.getPatientsByIdentifiers(identifierValues, identifierTypeId)) {
+			patients.add(FHIRPatientUtil.generatePatient(patient));
+		}
+		return patients;
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.PatientService#searchPatients(boolean)
 	 */
@@ -103,6 +136,35 @@ public class PatientServiceImpl extends BaseOpenmrsService implements PatientSer
 		return PatientStrategyUtil.getPatientStrategy().searchPatientsByName(name);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.PatientService#searchPatientsByName(String, String, NameMatchMode, int, int)
+	 */
+	@Override
+	public List<Patient> searchPatientsByName(String givenName, String familyName, NameMatchMode matchMode,
+			int firstResult, int maxResults) {
+		List<Patient> patients = new ArrayList<>();
+		for (org.openmrs.Patient patient : dao.getPatientsByName(givenName, familyName, matchMode, firstResult,
+				maxResults)) {
+			patients.add(FHIRPatientUtil.generatePatient(patient));
+		}
+		return patients;
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.PatientService#getPatientCountByName(String, String, NameMatchMode)
+	 */
+	@Override
+	public int getPatientCountByName(String givenName, String familyName, NameMatchMode matchMode) {
+		return dao.getPatientCountByName(givenName, familyName, matchMode);
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.PatientService#searchPatientsByPhoneticName(String)
+	 */
+	public Bundle searchPatientsByPhoneticName(String name) {
+		return PatientStrategyUtil.getPatientStrategy().searchPatientsByPhoneticName(name);
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.PatientService#getPatientOperationsById(String)
 	 */
@@ -21,7 +21,10 @@ import org.hl7.fhir.dstu3.model.Person;
 import org.openmrs.module.fhir.api.PersonService;
 import org.openmrs.module.fhir.api.db.FHIRDAO;
 import org.openmrs.module.fhir.api.strategies.person.PersonStrategyUtil;
+import org.openmrs.module.fhir.api.util.FHIRPersonUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class PersonServiceImpl implements PersonService {
@@ -60,6 +63,18 @@ public class PersonServiceImpl implements PersonService {
 		return PersonStrategyUtil.getPersonStrategy().searchPersonByUuid(uuid);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.PersonService#getPersonsByUuids(Collection)
+	 */
+	@Override
+	public List<Person> getPersonsByUuids(Collection<String> uuids) {
+		List<Person> persons = new ArrayList<>();
+		for (org.openmrs.Person person : dao.getByUuids(org.openmrs.Person.class, uuids, "personVoided")) {
+			persons.add(FHIRPersonUtil.generatePerson(person));
+		}
+		return persons;
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.PersonService#searchPersons(String, Integer, String)
 	 */
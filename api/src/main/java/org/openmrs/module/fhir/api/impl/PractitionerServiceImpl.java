@@ -16,11 +16,16 @@ package org.openmrs.module.fhir.api.impl;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.Practitioner;
+import org.openmrs.Provider;
 import org.openmrs.api.impl.BaseOpenmrsService;
 import org.openmrs.module.fhir.api.PractitionerService;
 import org.openmrs.module.fhir.api.db.FHIRDAO;
 import org.openmrs.module.fhir.api.strategies.practitioner.PractitionerStrategyUtil;
+import org.openmrs.module.fhir.api.util.FHIRPractitionerUtil;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -60,6 +65,18 @@ public class PractitionerServiceImpl extends BaseOpenmrsService implements Pract
 		return PractitionerStrategyUtil.getPractitionerStrategy().searchPractitionersByUuid(id);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.PractitionerService#getPractitionersByUuids(Collection)
+	 */
+	@Override
+	public List<Practitioner> getPractitionersByUuids(Collection<String> uuids) {
+		List<Practitioner> practitioners = new ArrayList<>();
+		for (Provider provider : dao.getByUuids(Provider.class, uuids, "retired")) {
+			practitioners.add(FHIRPractitionerUtil.generatePractitioner(provider));
+		}
+		return practitioners;
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.PractitionerService#searchPractitionersByName(String)
 	 */
@@ -67,6 +84,13 @@ public class PractitionerServiceImpl extends BaseOpenmrsService implements Pract
 		return PractitionerStrategyUtil.getPractitionerStrategy().searchPractitionersByName(name);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.PractitionerService#searchPractitionersByPhoneticName(String)
+	 */
+	public List<Practitioner> searchPractitionersByPhoneticName(String name) {
+		return PractitionerStrategyUtil.getPractitionerStrategy().searchPractitionersByPhoneticName(name);
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.PractitionerService#searchPractitionersByGivenName(String)
 	 */
@@ -81,6 +105,28 @@ public class PractitionerServiceImpl extends BaseOpenmrsService implements Pract
 		return PractitionerStrategyUtil.getPractitionerStrategy().searchPractitionersByFamilyName(familyName);
 	}
 
+	/**
+	 * @see org.openmrs.module.fhir.api.PractitionerService#searchPractitionersByName(String, String, NameMatchMode,
+	 * int, int)
+	 */
+	@Override
+	public List<Practitioner> searchPractitionersByName(String givenName, String familyName, NameMatchMode matchMode,
+			int firstResult, int maxResults) {
+		List<Practitioner> practitioners = new ArrayList<>();
+		for (Provider provider : dao.getProvidersByName(givenName, familyName, matchMode, firstResult, maxResults)) {
+			practitioners.add(FHIRPractitionerUtil.generatePractitioner(provider));
+		}
+		return practitioners;
+	}
+
+	/**
+	 * @see org.openmrs.module.fhir.api.PractitionerService#getPractitionerCountByName(String, String, NameMatchMode)
+	 */
+	@Override
+	public int getPractitionerCountByName(String givenName, String familyName, NameMatchMode matchMode) {
+		return dao.getProviderCountByName(givenName, familyName, matchMode);
+	}
+
 	/**
 	 * @see org.openmrs.module.fhir.api.PractitionerService#searchPractitionersByIdentifier(String)
 	 */
@@ -0,0 +1,93 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.impl;
+
+import ca.uhn.fhir.parser.IParser;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.api.impl.BaseOpenmrsService;
+import org.openmrs.module.fhir.api.ResourceBaseVersionService;
+import org.openmrs.module.fhir.api.db.FHIRDAO;
+import org.openmrs.module.fhir.api.exceptions.FHIRException;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
+import org.openmrs.module.fhir.api.model.ResourceBaseVersion;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class ResourceBaseVersionServiceImpl extends BaseOpenmrsService implements ResourceBaseVersionService {
+
+	private FHIRDAO dao;
+
+	/**
+	 * @return the dao
+	 */
+	public FHIRDAO getDao() {
+		return dao;
+	}
+
+	/**
+	 * @param dao the dao to set
+	 */
+	public void setDao(FHIRDAO dao) {
+		this.dao = dao;
+	}
+
+	@Override
+	public <T extends IBaseResource> T getBaseVersion(Class<T> clazz, String uuid) {
+		String resourceType = FHIRContextFactory.getFHIRContext().getResourceDefinition(clazz).getName();
+		ResourceBaseVersion baseVersion = dao.getResourceBaseVersion(resourceType, uuid);
+		if (baseVersion == null) {
+			return null;
+		}
+		try (Reader reader = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(
+				baseVersion.getContent())), StandardCharsets.UTF_8)) {
+			return newParser().parseResource(clazz, reader);
+		}
+		catch (IOException e) {
+			throw new FHIRException("Failed to read the base version of " + resourceType + "/" + uuid, e);
+		}
+	}
+
+	@Override
+	public void saveBaseVersion(IBaseResource resource) {
+		String resourceType = FHIRContextFactory.getFHIRContext().getResourceDefinition(resource).getName();
+		String uuid = resource.getIdElement().getIdPart();
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(content), StandardCharsets.UTF_8)) {
+			newParser().encodeResourceToWriter(resource, writer);
+		}
+		catch (IOException e) {
+			throw new FHIRException("Failed to write the base version of " + resourceType + "/" + uuid, e);
+		}
+		dao.saveResourceBaseVersion(new ResourceBaseVersion(uuid, resourceType, content.toByteArray(), new Date()));
+	}
+
+	/**
+	 * The base version is only used for merging, so the narrative is left out to keep it small
+	 */
+	private IParser newParser() {
+		IParser parser = FHIRContextFactory.getFHIRContext().newJsonParser();
+		parser.setSuppressNarratives(true);
+		return parser;
+	}
+}
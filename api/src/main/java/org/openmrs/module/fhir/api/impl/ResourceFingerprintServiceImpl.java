@@ -0,0 +1,56 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.impl;
+
+import org.openmrs.api.impl.BaseOpenmrsService;
+import org.openmrs.module.fhir.api.ResourceFingerprintService;
+import org.openmrs.module.fhir.api.db.FHIRDAO;
+import org.openmrs.module.fhir.api.model.ResourceFingerprint;
+
+import java.util.Date;
+
+public class ResourceFingerprintServiceImpl extends BaseOpenmrsService implements ResourceFingerprintService {
+
+	private FHIRDAO dao;
+
+	/**
+	 * @return the dao
+	 */
+	public FHIRDAO getDao() {
+		return dao;
+	}
+
+	/**
+	 * @param dao the dao to set
+	 */
+	public void setDao(FHIRDAO dao) {
+		this.dao = dao;
+	}
+
+	@Override
+	public String getFingerprint(String resourceType, String uuid) {
+		ResourceFingerprint resourceFingerprint = dao.getResourceFingerprint(resourceType, uuid);
+		return resourceFingerprint == null ? null : resourceFingerprint.getFingerprint();
+	}
+
+	@Override
+	public void saveFingerprint(String resourceType, String uuid, String fingerprint) {
+		dao.saveResourceFingerprint(new ResourceFingerprint(uuid, resourceType, fingerprint, new Date()));
+	}
+
+	@Override
+	public boolean isUnchanged(String resourceType, String uuid, String fingerprint) {
+		return fingerprint != null && fingerprint.equals(getFingerprint(resourceType, uuid));
+	}
+}
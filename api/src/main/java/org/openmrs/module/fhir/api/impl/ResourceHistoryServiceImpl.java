@@ -0,0 +1,136 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.impl;
+
+import ca.uhn.fhir.model.api.ResourceMetadataKeyEnum;
+import ca.uhn.fhir.model.primitive.InstantDt;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import org.hl7.fhir.dstu3.model.Resource;
+import org.hl7.fhir.dstu3.model.ResourceType;
+import org.openmrs.api.context.Context;
+import org.openmrs.api.impl.BaseOpenmrsService;
+import org.openmrs.module.fhir.api.AllergyIntoleranceService;
+import org.openmrs.module.fhir.api.EncounterService;
+import org.openmrs.module.fhir.api.GroupService;
+import org.openmrs.module.fhir.api.LocationService;
+import org.openmrs.module.fhir.api.MedicationRequestService;
+import org.openmrs.module.fhir.api.MedicationService;
+import org.openmrs.module.fhir.api.ObsService;
+import org.openmrs.module.fhir.api.PatientService;
+import org.openmrs.module.fhir.api.PersonService;
+import org.openmrs.module.fhir.api.PractitionerService;
+import org.openmrs.module.fhir.api.ProcedureRequestService;
+import org.openmrs.module.fhir.api.RelatedPersonService;
+import org.openmrs.module.fhir.api.ResourceHistoryService;
+import org.openmrs.module.fhir.api.db.FHIRDAO;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
+import org.openmrs.module.fhir.api.model.ResourceChange;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class ResourceHistoryServiceImpl extends BaseOpenmrsService implements ResourceHistoryService {
+
+	private FHIRDAO dao;
+
+	/**
+	 * @return the dao
+	 */
+	public FHIRDAO getDao() {
+		return dao;
+	}
+
+	/**
+	 * @param dao the dao to set
+	 */
+	public void setDao(FHIRDAO dao) {
+		this.dao = dao;
+	}
+
+	@Override
+	public void recordChange(String resourceType, String uuid, ResourceChange.ChangeType changeType) {
+		dao.saveResourceChange(new ResourceChange(resourceType, uuid, changeType, new Date()));
+	}
+
+	@Override
+	public List<Resource> getHistory(String resourceType, Date since, int firstResult, int maxResults) {
+		List<Resource> history = new ArrayList<Resource>();
+		for (ResourceChange change : dao.getResourceChanges(resourceType, since, firstResult, maxResults)) {
+			Resource resource = null;
+			if (change.getChangeType() != ResourceChange.ChangeType.DELETE) {
+				resource = getCurrentResource(change.getResourceType(), change.getResourceUuid());
+			}
+			if (resource == null) {
+				resource = buildDeletedResource(change);
+			}
+			resource.getMeta().setLastUpdated(change.getDateChanged());
+			history.add(resource);
+		}
+		return history;
+	}
+
+	@Override
+	public int getHistoryCount(String resourceType, Date since) {
+		return dao.getResourceChangeCount(resourceType, since);
+	}
+
+	/**
+	 * @return the current state of the resource, or null if it no longer exists
+	 */
+	private Resource getCurrentResource(String resourceType, String uuid) {
+		try {
+			switch (ResourceType.valueOf(resourceType)) {
+				case Patient:
+					return Context.getService(PatientService.class).getPatient(uuid);
+				case Person:
+					return Context.getService(PersonService.class).getPerson(uuid);
+				case Encounter:
+					return Context.getService(EncounterService.class).getEncounter(uuid);
+				case Observation:
+					return Context.getService(ObsService.class).getObs(uuid);
+				case Location:
+					return Context.getService(LocationService.class).getLocation(uuid);
+				case Practitioner:
+					return Context.getService(PractitionerService.class).getPractitioner(uuid);
+				case AllergyIntolerance:
+					return Context.getService(AllergyIntoleranceService.class).getAllergyById(uuid);
+				case MedicationRequest:
+					return Context.getService(MedicationRequestService.class).getMedicationRequestById(uuid);
+				case ProcedureRequest:
+					return Context.getService(ProcedureRequestService.class).getProcedureRequestByUuid(uuid);
+				case RelatedPerson:
+					return Context.getService(RelatedPersonService.class).getRelatedPerson(uuid);
+				case Group:
+					return Context.getService(GroupService.class).getGroup(uuid);
+				case Medication:
+					return Context.getService(MedicationService.class).getMedicationById(uuid);
+				default:
+					return null;
+			}
+		}
+		catch (ResourceNotFoundException e) {
+			log.debug(String.format("%s with id '%s' no longer exists", resourceType, uuid));
+		}
+		return null;
+	}
+
+	private Resource buildDeletedResource(ResourceChange change) {
+		Resource resource = (Resource) FHIRContextFactory.getFHIRContext().getResourceDefinition(change.getResourceType())
+				.newInstance();
+		resource.setId(change.getResourceType() + "/" + change.getResourceUuid());
+		ResourceMetadataKeyEnum.DELETED_AT.put(resource, new InstantDt(change.getDateChanged()));
+		return resource;
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.index;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * <h1>IndexedPerson</h1>
+ * <p>The searchable parts of a person as kept in the {@link NameIndex}: the name parts of the non voided
+ * names, the identifiers when the person is a patient and the birthdate.</p>
+ *
+ * @since 1.20.0
+ */
+public class IndexedPerson {
+
+	private final int personId;
+
+	private final String uuid;
+
+	private Date birthdate;
+
+	private boolean patient;
+
+	private boolean provider;
+
+	private final List<String> names = new ArrayList<>();
+
+	private final List<String> identifiers = new ArrayList<>();
+
+	public IndexedPerson(int personId, String uuid) {
+		this.personId = personId;
+		this.uuid = uuid;
+	}
+
+	public int getPersonId() {
+		return personId;
+	}
+
+	public String getUuid() {
+		return uuid;
+	}
+
+	public Date getBirthdate() {
+		return birthdate;
+	}
+
+	public void setBirthdate(Date birthdate) {
+		this.birthdate = birthdate;
+	}
+
+	/**
+	 * @return true if the person is a non voided patient
+	 */
+	public boolean isPatient() {
+		return patient;
+	}
+
+	public void setPatient(boolean patient) {
+		this.patient = patient;
+	}
+
+	/**
+	 * @return true if the person is a non retired provider
+	 */
+	public boolean isProvider() {
+		return provider;
+	}
+
+	public void setProvider(boolean provider) {
+		this.provider = provider;
+	}
+
+	/**
+	 * @return given, middle and family name parts, as stored
+	 */
+	public List<String> getNames() {
+		return names;
+	}
+
+	public void addName(String name) {
+		if (name != null) {
+			names.add(name);
+		}
+	}
+
+	/**
+	 * @return the identifier values, as stored
+	 */
+	public List<String> getIdentifiers() {
+		return identifiers;
+	}
+
+	public void addIdentifier(String identifier) {
+		if (identifier != null) {
+			identifiers.add(identifier);
+		}
+	}
+}
@@ -0,0 +1,487 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.index;
+
+import org.apache.commons.codec.language.DoubleMetaphone;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * <h1>NameIndex</h1>
+ * <p>In memory search index over the names, identifiers and birthdates of persons. Name parts are
+ * normalized to lower case without accents and indexed whole, by prefix through a sorted term dictionary,
+ * and by their Double Metaphone codes so that misspelled names are found too.</p>
+ * <p>Every token of a query has to match a person. Persons are ranked by how closely the tokens match:
+ * whole terms first, then prefixes, then phonetic matches. Only the top results are kept while ranking.</p>
+ * <p>The index can be written to a file and read back, together with the date up to which it reflects the
+ * database.</p>
+ *
+ * @since 1.20.0
+ */
+public class NameIndex {
+
+	/**
+	 * Flag of the persons that are patients
+	 */
+	public static final int PATIENT = 1;
+
+	/**
+	 * Flag of the persons that are providers
+	 */
+	public static final int PROVIDER = 2;
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final int EXACT_SCORE = 4;
+
+	private static final int PREFIX_SCORE = 2;
+
+	private static final int PHONETIC_SCORE = 1;
+
+	private static final int INITIAL_CAPACITY = 1000;
+
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+	private static final Pattern QUERY_SEPARATORS = Pattern.compile("[\\s,]+");
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	private static final Pattern DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+	private static final Pattern DIGIT = Pattern.compile("\\d");
+
+	private static final String DATE_FORMAT = "yyyy-MM-dd";
+
+	private static final Comparator<ScoredPerson> BEST_FIRST = new Comparator<ScoredPerson>() {
+
+		@Override
+		public int compare(ScoredPerson person1, ScoredPerson person2) {
+			if (person1.score != person2.score) {
+				return person1.score > person2.score ? -1 : 1;
+			}
+			return Integer.compare(person1.personId, person2.personId);
+		}
+	};
+
+	private final DoubleMetaphone metaphone = new DoubleMetaphone();
+
+	private final Map<Integer, Document> documents = new HashMap<>();
+
+	private final Map<String, Integer> personIds = new HashMap<>();
+
+	private final NavigableMap<String, Set<Integer>> terms = new TreeMap<>();
+
+	private final Map<String, Set<Integer>> codes = new HashMap<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private volatile Date syncedUpTo;
+
+	/**
+	 * Adds a person to the index, replacing what was indexed for the person before
+	 *
+	 * @param person the person to index
+	 */
+	public void put(IndexedPerson person) {
+		Set<String> personTerms = new LinkedHashSet<>();
+		Set<String> personCodes = new LinkedHashSet<>();
+		for (String name : person.getNames()) {
+			for (String token : tokenize(name)) {
+				personTerms.add(token);
+				personCodes.addAll(encode(token));
+			}
+		}
+		for (String identifier : person.getIdentifiers()) {
+			String term = normalize(identifier).trim();
+			if (!term.isEmpty()) {
+				personTerms.add(term);
+			}
+		}
+		if (person.getBirthdate() != null) {
+			personTerms.add(new SimpleDateFormat(DATE_FORMAT).format(person.getBirthdate()));
+		}
+
+		int flags = (person.isPatient() ? PATIENT : 0) | (person.isProvider() ? PROVIDER : 0);
+		Document document = new Document(person.getPersonId(), person.getUuid(), flags,
+				personTerms.toArray(new String[personTerms.size()]), personCodes.toArray(new String[personCodes.size()]));
+		lock.writeLock().lock();
+		try {
+			removeDocument(person.getPersonId());
+			addDocument(document);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @param personId id of the person to drop from the index
+	 */
+	public void remove(int personId) {
+		lock.writeLock().lock();
+		try {
+			removeDocument(personId);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @param uuid uuid of an indexed person
+	 * @return the id of the person, or null if no person with this uuid is indexed
+	 */
+	public Integer getPersonId(String uuid) {
+		lock.readLock().lock();
+		try {
+			return personIds.get(uuid);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the number of indexed persons
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return documents.size();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the date up to which the index reflects the database, null if unknown
+	 */
+	public Date getSyncedUpTo() {
+		return syncedUpTo;
+	}
+
+	public void setSyncedUpTo(Date syncedUpTo) {
+		this.syncedUpTo = syncedUpTo;
+	}
+
+	/**
+	 * Search persons by name parts, identifiers and birthdates, the latter written as yyyy-MM-dd
+	 *
+	 * @param query      the search tokens, separated by spaces or commas
+	 * @param phonetic   true to match the tokens only by how they sound
+	 * @param flags      {@link #PATIENT} and {@link #PROVIDER} flags the persons need one of, 0 for all persons
+	 * @param maxResults maximum number of persons to return
+	 * @return ids of the best matching persons, best first
+	 */
+	public List<Integer> search(String query, boolean phonetic, int flags, int maxResults) {
+		List<String> tokens = tokenizeQuery(query);
+		if (tokens.isEmpty() || maxResults <= 0) {
+			return new ArrayList<>();
+		}
+
+		PriorityQueue<ScoredPerson> best = new PriorityQueue<>(Math.min(maxResults, INITIAL_CAPACITY) + 1,
+				Collections.reverseOrder(BEST_FIRST));
+		lock.readLock().lock();
+		try {
+			List<Map<Integer, Integer>> matches = new ArrayList<>();
+			for (String token : tokens) {
+				matches.add(match(token, phonetic));
+			}
+			//Goes through the persons matching the most selective token only
+			Collections.sort(matches, new Comparator<Map<Integer, Integer>>() {
+
+				@Override
+				public int compare(Map<Integer, Integer> matches1, Map<Integer, Integer> matches2) {
+					return Integer.compare(matches1.size(), matches2.size());
+				}
+			});
+
+			for (Map.Entry<Integer, Integer> match : matches.get(0).entrySet()) {
+				int personId = match.getKey();
+				if (flags != 0 && (documents.get(personId).flags & flags) == 0) {
+					continue;
+				}
+				int score = match.getValue();
+				for (int i = 1; i < matches.size() && score > 0; i++) {
+					Integer tokenScore = matches.get(i).get(personId);
+					score = tokenScore == null ? 0 : score + tokenScore;
+				}
+				if (score > 0) {
+					best.add(new ScoredPerson(personId, score));
+					if (best.size() > maxResults) {
+						best.poll();
+					}
+				}
+			}
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+
+		List<ScoredPerson> ranked = new ArrayList<>(best);
+		Collections.sort(ranked, BEST_FIRST);
+		List<Integer> personIdList = new ArrayList<>();
+		for (ScoredPerson person : ranked) {
+			personIdList.add(person.personId);
+		}
+		return personIdList;
+	}
+
+	/**
+	 * Writes the index to a file, through a temporary file so that a complete index is always found
+	 *
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(File file) throws IOException {
+		File temporaryFile = new File(file.getPath() + ".tmp");
+		lock.readLock().lock();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+			out.writeInt(FORMAT_VERSION);
+			out.writeLong(syncedUpTo == null ? -1 : syncedUpTo.getTime());
+			out.writeInt(documents.size());
+			for (Document document : documents.values()) {
+				out.writeInt(document.personId);
+				out.writeUTF(document.uuid);
+				out.writeByte(document.flags);
+				writeStrings(out, document.terms);
+				writeStrings(out, document.codes);
+			}
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+		Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * @param file a file written by {@link #write(File)}
+	 * @return the index read from the file
+	 * @throws IOException if the file cannot be read or was written in another format
+	 */
+	public static NameIndex read(File file) throws IOException {
+		NameIndex index = new NameIndex();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FORMAT_VERSION) {
+				throw new IOException("Unsupported format of the name index " + file);
+			}
+			long syncedUpTo = in.readLong();
+			index.syncedUpTo = syncedUpTo < 0 ? null : new Date(syncedUpTo);
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				index.addDocument(new Document(in.readInt(), in.readUTF(), in.readByte(), readStrings(in),
+						readStrings(in)));
+			}
+		}
+		return index;
+	}
+
+	private Map<Integer, Integer> match(String token, boolean phonetic) {
+		Map<Integer, Integer> scores = new HashMap<>();
+		if (!phonetic) {
+			for (Map.Entry<String, Set<Integer>> term : terms.subMap(token, true, token + Character.MAX_VALUE, false)
+					.entrySet()) {
+				int score = term.getKey().equals(token) ? EXACT_SCORE : PREFIX_SCORE;
+				for (Integer personId : term.getValue()) {
+					addScore(scores, personId, score);
+				}
+			}
+		}
+		for (String code : encode(token)) {
+			Set<Integer> personIdSet = codes.get(code);
+			if (personIdSet != null) {
+				for (Integer personId : personIdSet) {
+					addScore(scores, personId, PHONETIC_SCORE);
+				}
+			}
+		}
+		return scores;
+	}
+
+	private static void addScore(Map<Integer, Integer> scores, Integer personId, int score) {
+		Integer current = scores.get(personId);
+		if (current == null || current < score) {
+			scores.put(personId, score);
+		}
+	}
+
+	private void addDocument(Document document) {
+		documents.put(document.personId, document);
+		personIds.put(document.uuid, document.personId);
+		for (String term : document.terms) {
+			post(terms, term, document.personId);
+		}
+		for (String code : document.codes) {
+			post(codes, code, document.personId);
+		}
+	}
+
+	private void removeDocument(int personId) {
+		Document document = documents.remove(personId);
+		if (document == null) {
+			return;
+		}
+		personIds.remove(document.uuid);
+		for (String term : document.terms) {
+			unpost(terms, term, personId);
+		}
+		for (String code : document.codes) {
+			unpost(codes, code, personId);
+		}
+	}
+
+	private static void post(Map<String, Set<Integer>> postings, String key, int personId) {
+		Set<Integer> personIdSet = postings.get(key);
+		if (personIdSet == null) {
+			personIdSet = new HashSet<>();
+			postings.put(key, personIdSet);
+		}
+		personIdSet.add(personId);
+	}
+
+	private static void unpost(Map<String, Set<Integer>> postings, String key, int personId) {
+		Set<Integer> personIdSet = postings.get(key);
+		if (personIdSet != null) {
+			personIdSet.remove(personId);
+			if (personIdSet.isEmpty()) {
+				postings.remove(key);
+			}
+		}
+	}
+
+	private Set<String> encode(String token) {
+		Set<String> tokenCodes = new LinkedHashSet<>();
+		if (DATE.matcher(token).matches()) {
+			return tokenCodes;
+		}
+		String primary = metaphone.doubleMetaphone(token);
+		if (primary != null && !primary.isEmpty()) {
+			tokenCodes.add(primary);
+		}
+		String alternate = metaphone.doubleMetaphone(token, true);
+		if (alternate != null && !alternate.isEmpty()) {
+			tokenCodes.add(alternate);
+		}
+		return tokenCodes;
+	}
+
+	private static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		for (String token : SEPARATORS.split(normalize(text))) {
+			if (!token.isEmpty()) {
+				tokens.add(token);
+			}
+		}
+		return tokens;
+	}
+
+	private static List<String> tokenizeQuery(String query) {
+		List<String> tokens = new ArrayList<>();
+		if (query == null) {
+			return tokens;
+		}
+		for (String part : QUERY_SEPARATORS.split(query.trim())) {
+			if (DATE.matcher(part).matches()) {
+				tokens.add(part);
+			} else if (DIGIT.matcher(part).find()) {
+				//Identifiers are indexed whole
+				tokens.add(normalize(part));
+			} else {
+				tokens.addAll(tokenize(part));
+			}
+		}
+		return tokens;
+	}
+
+	private static String normalize(String text) {
+		return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+
+	private static void writeStrings(DataOutputStream out, String[] strings) throws IOException {
+		out.writeShort(strings.length);
+		for (String string : strings) {
+			out.writeUTF(string);
+		}
+	}
+
+	private static String[] readStrings(DataInputStream in) throws IOException {
+		String[] strings = new String[in.readUnsignedShort()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = in.readUTF();
+		}
+		return strings;
+	}
+
+	private static class Document {
+
+		private final int personId;
+
+		private final String uuid;
+
+		private final int flags;
+
+		private final String[] terms;
+
+		private final String[] codes;
+
+		private Document(int personId, String uuid, int flags, String[] terms, String[] codes) {
+			this.personId = personId;
+			this.uuid = uuid;
+			this.flags = flags;
+			this.terms = terms;
+			this.codes = codes;
+		}
+	}
+
+	private static class ScoredPerson {
+
+		private final int personId;
+
+		private final int score;
+
+		private ScoredPerson(int personId, int score) {
+			this.personId = personId;
+			this.score = score;
+		}
+	}
+}
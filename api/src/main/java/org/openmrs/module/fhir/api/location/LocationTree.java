@@ -0,0 +1,371 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.location;
+
+import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hl7.fhir.dstu3.model.Location;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.util.FHIRLocationUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps every location, with its FHIR representation, in memory, so that location reads and searches
+ * need no query. Locations are few and seldom change, while they are referenced from most resources.
+ * <p>The tree is loaded on first use and dropped by {@link #invalidate()} once a change to a location
+ * committed. It is also loaded again once it is older than {@link #TIME_TO_LIVE_MILLIS}, in case
+ * a change went around the location service. Lookups return copies, which callers are free to
+ * modify. Locations that fail validation are left out of the searches.</p>
+ * <p>Positioned locations are indexed on a grid of {@link #GRID_CELL_DEGREES} degree cells, so that a
+ * search for nearby locations only measures the distance to the locations in the cells around the
+ * point.</p>
+ */
+public final class LocationTree {
+
+	private static final Log log = LogFactory.getLog(LocationTree.class);
+
+	private static final long TIME_TO_LIVE_MILLIS = 5 * 60 * 1000;
+
+	private static final double GRID_CELL_DEGREES = 0.5;
+
+	private static final double EARTH_RADIUS_KM = 6371.0;
+
+	private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+	private static volatile LocationTree tree;
+
+	private static final AtomicLong generation = new AtomicLong();
+
+	private final long loadedAt;
+
+	private final long loadedGeneration;
+
+	private final Map<String, Node> nodes;
+
+	private final Map<Long, List<Node>> grid;
+
+	private LocationTree(List<org.openmrs.Location> omrsLocations, long loadedAt, long loadedGeneration) {
+		this.loadedAt = loadedAt;
+		this.loadedGeneration = loadedGeneration;
+		List<org.openmrs.Location> sorted = new ArrayList<>(omrsLocations);
+		Collections.sort(sorted, new Comparator<org.openmrs.Location>() {
+
+			@Override
+			public int compare(org.openmrs.Location location1, org.openmrs.Location location2) {
+				return StringUtils.defaultString(location1.getName()).compareToIgnoreCase(
+						StringUtils.defaultString(location2.getName()));
+			}
+		});
+
+		nodes = new LinkedHashMap<>();
+		for (org.openmrs.Location omrsLocation : sorted) {
+			nodes.put(omrsLocation.getUuid(), new Node(omrsLocation));
+		}
+		grid = new HashMap<>();
+		for (Node node : nodes.values()) {
+			Node parent = node.parentUuid != null ? nodes.get(node.parentUuid) : null;
+			if (parent != null) {
+				parent.children.add(node);
+			}
+			if (node.latitude != null) {
+				Long cell = getCell(getRow(node.latitude), getColumn(node.longitude));
+				List<Node> cellNodes = grid.get(cell);
+				if (cellNodes == null) {
+					cellNodes = new ArrayList<>();
+					grid.put(cell, cellNodes);
+				}
+				cellNodes.add(node);
+			}
+		}
+	}
+
+	/**
+	 * @return the tree of the current locations, loaded if it is not yet or no longer current
+	 */
+	public static LocationTree getInstance() {
+		LocationTree current = tree;
+		if (!isCurrent(current, System.currentTimeMillis())) {
+			current = load();
+		}
+		return current;
+	}
+
+	/**
+	 * Drops the tree, so that it is loaded again on next use. A load running at the same time may have
+	 * read the locations before the change, the tree it builds is then not used past that load.
+	 */
+	public static void invalidate() {
+		generation.incrementAndGet();
+		tree = null;
+	}
+
+	private static synchronized LocationTree load() {
+		LocationTree current = tree;
+		long now = System.currentTimeMillis();
+		if (!isCurrent(current, now)) {
+			current = new LocationTree(Context.getLocationService().getAllLocations(true), now, generation.get());
+			tree = current;
+		}
+		return current;
+	}
+
+	private static boolean isCurrent(LocationTree current, long now) {
+		return current != null && current.loadedGeneration == generation.get()
+				&& now - current.loadedAt <= TIME_TO_LIVE_MILLIS;
+	}
+
+	/**
+	 * Gets a location, retired or not. A location missing from the tree is looked up in the database, and
+	 * the tree is loaded again on next use if it turns out to be new.
+	 *
+	 * @param uuid the uuid of the location
+	 * @return the location, or null if there is no such location
+	 */
+	public Location getLocation(String uuid) {
+		Location location = findLocation(uuid);
+		if (location != null) {
+			return location;
+		}
+		org.openmrs.Location omrsLocation = Context.getLocationService().getLocationByUuid(uuid);
+		if (omrsLocation == null) {
+			return null;
+		}
+		if (!containsLocation(uuid)) {
+			invalidate();
+		}
+		return FHIRLocationUtil.generateLocation(omrsLocation);
+	}
+
+	/**
+	 * @param uuid the uuid of the location
+	 * @return true if the location is in the tree, even if it is left out of the lookups as invalid
+	 */
+	public boolean containsLocation(String uuid) {
+		return nodes.containsKey(uuid);
+	}
+
+	/**
+	 * @param uuid the uuid of the location
+	 * @return the location, retired or not, or null if it is not in the tree or not valid
+	 */
+	public Location findLocation(String uuid) {
+		Node node = nodes.get(uuid);
+		return node != null && node.location != null ? node.location.copy() : null;
+	}
+
+	/**
+	 * @param active true for the locations that are not retired, false for the retired ones
+	 * @return the locations with the given status, ordered by name
+	 */
+	public List<Location> getLocationsByStatus(boolean active) {
+		List<Location> locations = new ArrayList<>();
+		for (Node node : nodes.values()) {
+			if (node.retired != active && node.location != null) {
+				locations.add(node.location.copy());
+			}
+		}
+		return locations;
+	}
+
+	/**
+	 * @param name the start of the names to match, ignoring case
+	 * @return the locations that are not retired and whose name starts with the given name, ordered by name
+	 */
+	public List<Location> getLocationsByName(String name) {
+		List<Location> locations = new ArrayList<>();
+		for (Node node : nodes.values()) {
+			if (!node.retired && node.location != null && StringUtils.startsWithIgnoreCase(node.name, name)) {
+				locations.add(node.location.copy());
+			}
+		}
+		return locations;
+	}
+
+	/**
+	 * @param uuid  the uuid of the parent location
+	 * @param below true to return the whole subtree of the location, false for its children only
+	 * @return the locations that are part of the given location and not retired, parents before their
+	 * children
+	 */
+	public List<Location> getLocationsPartOf(String uuid, boolean below) {
+		List<Location> locations = new ArrayList<>();
+		Node parent = nodes.get(uuid);
+		if (parent == null) {
+			return locations;
+		}
+		//Breadth first, guarding against cycles in the hierarchy
+		List<Node> pending = new ArrayList<>(parent.children);
+		Map<String, Node> visited = new HashMap<>();
+		visited.put(parent.uuid, parent);
+		for (int i = 0; i < pending.size(); i++) {
+			Node node = pending.get(i);
+			if (visited.put(node.uuid, node) != null) {
+				continue;
+			}
+			if (!node.retired && node.location != null) {
+				locations.add(node.location.copy());
+			}
+			if (below) {
+				pending.addAll(node.children);
+			}
+		}
+		return locations;
+	}
+
+	/**
+	 * @param latitude  latitude of the point, in degrees
+	 * @param longitude longitude of the point, in degrees
+	 * @param distance  the maximum distance from the point, in kilometers
+	 * @return the locations that are not retired within the distance of the point, nearest first
+	 */
+	public List<Location> getLocationsNear(double latitude, double longitude, double distance) {
+		double latitudeSpan = distance / KM_PER_DEGREE;
+		//A degree of longitude shrinks towards the poles, where every column is searched
+		double cosine = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latitudeSpan)));
+		double longitudeSpan = cosine > 0 ? distance / (KM_PER_DEGREE * cosine) : 360;
+		int fromRow = getRow(Math.max(-90, latitude - latitudeSpan));
+		int toRow = getRow(Math.min(90, latitude + latitudeSpan));
+		int columns = (int) Math.ceil(360 / GRID_CELL_DEGREES);
+		int fromColumn = getColumn(longitude - Math.min(180, longitudeSpan));
+		int toColumn = fromColumn + Math.min(columns - 1, getColumn(longitude + Math.min(180, longitudeSpan))
+				- fromColumn);
+
+		final Map<Node, Double> distances = new HashMap<>();
+		for (int row = fromRow; row <= toRow; row++) {
+			for (int column = fromColumn; column <= toColumn; column++) {
+				List<Node> cellNodes = grid.get(getCell(row, (column % columns + columns) % columns));
+				if (cellNodes == null) {
+					continue;
+				}
+				for (Node node : cellNodes) {
+					double nodeDistance = getDistance(latitude, longitude, node.latitude, node.longitude);
+					if (!node.retired && node.location != null && nodeDistance <= distance) {
+						distances.put(node, nodeDistance);
+					}
+				}
+			}
+		}
+
+		List<Node> near = new ArrayList<>(distances.keySet());
+		Collections.sort(near, new Comparator<Node>() {
+
+			@Override
+			public int compare(Node node1, Node node2) {
+				return Double.compare(distances.get(node1), distances.get(node2));
+			}
+		});
+		List<Location> locations = new ArrayList<>();
+		for (Node node : near) {
+			locations.add(node.location.copy());
+		}
+		return locations;
+	}
+
+	private static int getRow(double latitude) {
+		return (int) Math.floor((latitude + 90) / GRID_CELL_DEGREES);
+	}
+
+	/**
+	 * @return the column of a longitude, which may fall outside of the grid for longitudes past 180
+	 * degrees, to be wrapped around by the caller
+	 */
+	private static int getColumn(double longitude) {
+		return (int) Math.floor((longitude + 180) / GRID_CELL_DEGREES);
+	}
+
+	private static Long getCell(int row, int column) {
+		return ((long) row << 32) | (column & 0xffffffffL);
+	}
+
+	/**
+	 * Great circle distance between two points, in kilometers
+	 */
+	private static double getDistance(double latitude1, double longitude1, double latitude2, double longitude2) {
+		double latitudeDelta = Math.toRadians(latitude2 - latitude1);
+		double longitudeDelta = Math.toRadians(longitude2 - longitude1);
+		double a = Math.sin(latitudeDelta / 2) * Math.sin(latitudeDelta / 2)
+				+ Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+				* Math.sin(longitudeDelta / 2) * Math.sin(longitudeDelta / 2);
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	private static Double parseCoordinate(String coordinate) {
+		if (StringUtils.isBlank(coordinate)) {
+			return null;
+		}
+		try {
+			return Double.valueOf(coordinate.trim());
+		}
+		catch (NumberFormatException e) {
+			log.debug("Ignoring the invalid location coordinate " + coordinate);
+			return null;
+		}
+	}
+
+	private static class Node {
+
+		private final String uuid;
+
+		private final String name;
+
+		private final boolean retired;
+
+		private final String parentUuid;
+
+		private final Double latitude;
+
+		private final Double longitude;
+
+		private final Location location;
+
+		private final List<Node> children = new ArrayList<>();
+
+		private Node(org.openmrs.Location omrsLocation) {
+			uuid = omrsLocation.getUuid();
+			name = omrsLocation.getName();
+			retired = omrsLocation.isRetired();
+			parentUuid = omrsLocation.getParentLocation() != null ? omrsLocation.getParentLocation().getUuid() : null;
+			Double nodeLatitude = parseCoordinate(omrsLocation.getLatitude());
+			Double nodeLongitude = parseCoordinate(omrsLocation.getLongitude());
+			boolean positioned = nodeLatitude != null && nodeLongitude != null;
+			latitude = positioned ? nodeLatitude : null;
+			longitude = positioned ? nodeLongitude : null;
+			location = generateLocation(omrsLocation);
+		}
+
+		/**
+		 * @return the FHIR location, or null if it is not valid, in which case it is generated again, and
+		 * the error reported, when the location is read
+		 */
+		private static Location generateLocation(org.openmrs.Location omrsLocation) {
+			try {
+				return FHIRLocationUtil.generateLocation(omrsLocation);
+			}
+			catch (UnprocessableEntityException e) {
+				log.warn("Leaving the invalid location " + omrsLocation.getUuid() + " out of the location tree", e);
+				return null;
+			}
+		}
+	}
+}
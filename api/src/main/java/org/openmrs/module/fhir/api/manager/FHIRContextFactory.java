@@ -14,12 +14,105 @@
 package org.openmrs.module.fhir.api.manager;
 
 import ca.uhn.fhir.context.FhirContext;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hl7.fhir.dstu3.model.AllergyIntolerance;
+import org.hl7.fhir.dstu3.model.Bundle;
+import org.hl7.fhir.dstu3.model.CapabilityStatement;
+import org.hl7.fhir.dstu3.model.Composition;
+import org.hl7.fhir.dstu3.model.Condition;
+import org.hl7.fhir.dstu3.model.DiagnosticReport;
+import org.hl7.fhir.dstu3.model.Encounter;
+import org.hl7.fhir.dstu3.model.FamilyMemberHistory;
+import org.hl7.fhir.dstu3.model.Group;
+import org.hl7.fhir.dstu3.model.ImagingStudy;
+import org.hl7.fhir.dstu3.model.Location;
+import org.hl7.fhir.dstu3.model.Medication;
+import org.hl7.fhir.dstu3.model.MedicationRequest;
+import org.hl7.fhir.dstu3.model.Observation;
+import org.hl7.fhir.dstu3.model.OperationOutcome;
+import org.hl7.fhir.dstu3.model.Patient;
+import org.hl7.fhir.dstu3.model.Person;
+import org.hl7.fhir.dstu3.model.Practitioner;
+import org.hl7.fhir.dstu3.model.ProcedureRequest;
+import org.hl7.fhir.dstu3.model.RelatedPerson;
+import org.hl7.fhir.instance.model.api.IBaseResource;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Owns the single DSTU3 {@link FhirContext} of the module. The context is thread-safe and expensive
+ * to build, as it scans the model classes of every resource on first use, so the server, the
+ * clients and the parsers all share this one.
+ */
 public class FHIRContextFactory {
 
-	private static final FhirContext context = new FhirContext();
+	private static final Log log = LogFactory.getLog(FHIRContextFactory.class);
+
+	/**
+	 * Resources served by the providers and exchanged by the clients
+	 */
+	private static final List<Class<? extends IBaseResource>> RESOURCE_TYPES = Collections.unmodifiableList(
+			Arrays.<Class<? extends IBaseResource>>asList(Patient.class, AllergyIntolerance.class, Encounter.class,
+					FamilyMemberHistory.class, Location.class, Observation.class, Practitioner.class, Condition.class,
+					DiagnosticReport.class, Medication.class, MedicationRequest.class, ProcedureRequest.class,
+					Person.class, RelatedPerson.class, Group.class, ImagingStudy.class, Composition.class,
+					Bundle.class, OperationOutcome.class, CapabilityStatement.class));
+
+	private static final String WARM_UP_THREAD_NAME = "FHIR context warm-up";
+
+	private static final FhirContext context = FhirContext.forDstu3();
+
+	private static final FhirContext serverContext = FhirContext.forDstu3();
 
 	public static FhirContext getFHIRContext() {
 		return context;
 	}
+
+	/**
+	 * @return the context of the REST server, kept apart from {@link #getFHIRContext()} so that the
+	 * server configuration, such as its narrative generator, does not change how the clients and the
+	 * sync encode resources
+	 */
+	public static FhirContext getServerFHIRContext() {
+		return serverContext;
+	}
+
+	/**
+	 * Scans the model of every resource type used by the module, in the shared and the server contexts,
+	 * so that the first request does not pay for it.
+	 */
+	public static void warmUp() {
+		long start = System.currentTimeMillis();
+		for (FhirContext fhirContext : Arrays.asList(context, serverContext)) {
+			for (Class<? extends IBaseResource> resourceType : RESOURCE_TYPES) {
+				fhirContext.getResourceDefinition(resourceType);
+			}
+			fhirContext.newJsonParser();
+			fhirContext.newXmlParser();
+		}
+		log.info("FHIR context warmed up in " + (System.currentTimeMillis() - start) + " ms");
+	}
+
+	/**
+	 * Runs {@link #warmUp()} on a daemon thread, so that it does not delay module startup.
+	 */
+	public static void warmUpInBackground() {
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					warmUp();
+				}
+				catch (RuntimeException e) {
+					log.warn("Failed to warm up the FHIR context", e);
+				}
+			}
+		}, WARM_UP_THREAD_NAME);
+		thread.setDaemon(true);
+		thread.start();
+	}
 }
@@ -0,0 +1,106 @@
+package org.openmrs.module.fhir.api.medicationrequest;
+
+import java.util.Date;
+
+/**
+ * <h1>MedicationRequestSearch</h1>
+ * <p>The criteria of a search through drug orders, served as FHIR medication requests. Every criterion
+ * is optional, a criterion left null does not restrict the result.</p>
+ * <p>The criteria are applied by the drug order query of the running OpenMRS version, so that only the
+ * matching page of orders is loaded.</p>
+ *
+ * @since 1.20.0
+ */
+public class MedicationRequestSearch {
+
+	private String patientUuid;
+
+	private String status;
+
+	private Date from;
+
+	private Date to;
+
+	private String medicationUuid;
+
+	private String codeUuid;
+
+	private boolean includeVoided;
+
+	/**
+	 * @return uuid of the patient the orders are for
+	 */
+	public String getPatientUuid() {
+		return patientUuid;
+	}
+
+	public void setPatientUuid(String patientUuid) {
+		this.patientUuid = patientUuid;
+	}
+
+	/**
+	 * @return medication request status code, one of active, stopped and completed
+	 */
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	/**
+	 * @return earliest authored date, inclusive
+	 */
+	public Date getFrom() {
+		return from;
+	}
+
+	public void setFrom(Date from) {
+		this.from = from;
+	}
+
+	/**
+	 * @return latest authored date, inclusive
+	 */
+	public Date getTo() {
+		return to;
+	}
+
+	public void setTo(Date to) {
+		this.to = to;
+	}
+
+	/**
+	 * @return uuid of the ordered drug
+	 */
+	public String getMedicationUuid() {
+		return medicationUuid;
+	}
+
+	public void setMedicationUuid(String medicationUuid) {
+		this.medicationUuid = medicationUuid;
+	}
+
+	/**
+	 * @return uuid of the ordered concept
+	 */
+	public String getCodeUuid() {
+		return codeUuid;
+	}
+
+	public void setCodeUuid(String codeUuid) {
+		this.codeUuid = codeUuid;
+	}
+
+	/**
+	 * @return true if voided orders are returned as well
+	 */
+	public boolean isIncludeVoided() {
+		return includeVoided;
+	}
+
+	public void setIncludeVoided(boolean includeVoided) {
+		this.includeVoided = includeVoided;
+	}
+}
@@ -0,0 +1,29 @@
+package org.openmrs.module.fhir.api.merge;
+
+import org.hl7.fhir.instance.model.api.IBaseResource;
+
+/**
+ * <h1>BaseVersionStore</h1>
+ * Keeps the last synchronized version of resources, used as the common ancestor by
+ * {@link ThreeWayMergeBehaviour}.
+ *
+ * @since 1.20.0
+ */
+public interface BaseVersionStore {
+
+	/**
+	 * <p>Returns the last synchronized version of a resource.</p>
+	 *
+	 * @param clazz represents the type of the resource
+	 * @param uuid represents the uuid of the resource
+	 * @return returns the base version or null if the resource was never synchronized
+	 */
+	<T extends IBaseResource> T getBaseVersion(Class<T> clazz, String uuid);
+
+	/**
+	 * <p>Stores a resource as its last synchronized version.</p>
+	 *
+	 * @param resource represents the synchronized resource
+	 */
+	void saveBaseVersion(IBaseResource resource);
+}
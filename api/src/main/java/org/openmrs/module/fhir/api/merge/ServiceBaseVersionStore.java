@@ -0,0 +1,24 @@
+package org.openmrs.module.fhir.api.merge;
+
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.ResourceBaseVersionService;
+
+/**
+ * <h1>ServiceBaseVersionStore</h1>
+ * Stores base versions in the database through {@link ResourceBaseVersionService}.
+ *
+ * @since 1.20.0
+ */
+public class ServiceBaseVersionStore implements BaseVersionStore {
+
+	@Override
+	public <T extends IBaseResource> T getBaseVersion(Class<T> clazz, String uuid) {
+		return Context.getService(ResourceBaseVersionService.class).getBaseVersion(clazz, uuid);
+	}
+
+	@Override
+	public void saveBaseVersion(IBaseResource resource) {
+		Context.getService(ResourceBaseVersionService.class).saveBaseVersion(resource);
+	}
+}
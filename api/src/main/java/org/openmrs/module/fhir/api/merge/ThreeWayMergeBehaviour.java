@@ -0,0 +1,168 @@
+package org.openmrs.module.fhir.api.merge;
+
+import ca.uhn.fhir.parser.IParser;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h1>ThreeWayMergeBehaviour</h1>
+ * Merges two versions of a resource using the version they were last synchronized at as the common
+ * ancestor.
+ * <p>Resources are compared field by field on their top-level elements. A field changed on one side
+ * only is taken from that side, a field changed the same way on both sides is kept, and a field
+ * changed differently on both sides is a conflict. Without a base version every differing field is
+ * a conflict.</p>
+ * <p>A successful merge is returned as a {@link ThreeWayMergeSuccess} carrying a JSON Patch for each
+ * side which needs an update. The base version is left untouched, as the patches may still fail to
+ * apply; it is replaced once the merged resource has been synchronized, see
+ * {@link org.openmrs.module.fhir.api.helper.ClientHelper#markAsSynced(String, Object)}.</p>
+ *
+ * @see BaseVersionStore
+ * @since 1.20.0
+ */
+public class ThreeWayMergeBehaviour implements MergeBehaviour<IBaseResource> {
+
+	private static final String ID_FIELD = "id";
+
+	private static final Set<String> EXCLUDED_ELEMENTS = Collections.unmodifiableSet(
+			new HashSet<>(Collections.singletonList("*.meta")));
+
+	private final BaseVersionStore baseVersionStore;
+
+	public ThreeWayMergeBehaviour() {
+		this(new ServiceBaseVersionStore());
+	}
+
+	public ThreeWayMergeBehaviour(BaseVersionStore baseVersionStore) {
+		this.baseVersionStore = baseVersionStore;
+	}
+
+	@Override
+	public MergeResult<IBaseResource> resolveDiff(Class<? extends IBaseResource> clazz, IBaseResource local,
+			IBaseResource foreign) {
+		JsonObject localJson = toJson(local);
+		JsonObject foreignJson = toJson(foreign);
+		if (localJson.equals(foreignJson)) {
+			return new MergeSuccess<>(clazz, local, foreign);
+		}
+
+		IBaseResource base = baseVersionStore.getBaseVersion(clazz, local.getIdElement().getIdPart());
+		if (base == null) {
+			return new ThreeWayMergeConflict<>(clazz, local, foreign, getDifferingFields(localJson, foreignJson));
+		}
+		JsonObject baseJson = toJson(base);
+
+		JsonObject mergedJson = new JsonObject();
+		List<String> conflictingFields = new ArrayList<>();
+		for (String field : getFieldNames(localJson, foreignJson, baseJson)) {
+			JsonElement localValue = localJson.get(field);
+			JsonElement foreignValue = foreignJson.get(field);
+			JsonElement baseValue = baseJson.get(field);
+			JsonElement mergedValue;
+			if (isEqual(localValue, foreignValue) || isEqual(foreignValue, baseValue)) {
+				mergedValue = localValue;
+			} else if (isEqual(localValue, baseValue)) {
+				mergedValue = foreignValue;
+			} else {
+				conflictingFields.add(field);
+				continue;
+			}
+			if (mergedValue != null) {
+				mergedJson.add(field, mergedValue);
+			}
+		}
+		if (!conflictingFields.isEmpty()) {
+			return new ThreeWayMergeConflict<>(clazz, local, foreign, conflictingFields);
+		}
+
+		IBaseResource merged = newParser().parseResource(clazz, mergedJson.toString());
+		merged.setId(local.getIdElement());
+		String localPatch = createPatch(localJson, mergedJson);
+		String foreignPatch = createPatch(foreignJson, mergedJson);
+		return new ThreeWayMergeSuccess<>(clazz, local, foreign, merged, localPatch, foreignPatch);
+	}
+
+	/**
+	 * The id is left out of the comparison, as the same resource can be known by a different id on
+	 * both sides, and so are meta and narrative, which are generated by each server.
+	 */
+	private JsonObject toJson(IBaseResource resource) {
+		JsonObject json = new JsonParser().parse(newParser().encodeResourceToString(resource)).getAsJsonObject();
+		json.remove(ID_FIELD);
+		return json;
+	}
+
+	private IParser newParser() {
+		IParser parser = FHIRContextFactory.getFHIRContext().newJsonParser();
+		parser.setSuppressNarratives(true);
+		parser.setDontEncodeElements(EXCLUDED_ELEMENTS);
+		return parser;
+	}
+
+	/**
+	 * <p>Creates a JSON Patch (RFC 6902) which turns the source into the target.</p>
+	 *
+	 * @return returns the patch or null if both are equal
+	 */
+	private String createPatch(JsonObject source, JsonObject target) {
+		JsonArray patch = new JsonArray();
+		for (String field : getFieldNames(source, target)) {
+			JsonElement sourceValue = source.get(field);
+			JsonElement targetValue = target.get(field);
+			if (targetValue == null) {
+				patch.add(createOperation("remove", field, null));
+			} else if (sourceValue == null) {
+				patch.add(createOperation("add", field, targetValue));
+			} else if (!sourceValue.equals(targetValue)) {
+				patch.add(createOperation("replace", field, targetValue));
+			}
+		}
+		return patch.size() == 0 ? null : patch.toString();
+	}
+
+	private JsonObject createOperation(String op, String field, JsonElement value) {
+		JsonObject operation = new JsonObject();
+		operation.addProperty("op", op);
+		operation.addProperty("path", "/" + field);
+		if (value != null) {
+			operation.add("value", value);
+		}
+		return operation;
+	}
+
+	private List<String> getDifferingFields(JsonObject local, JsonObject foreign) {
+		List<String> differingFields = new ArrayList<>();
+		for (String field : getFieldNames(local, foreign)) {
+			if (!isEqual(local.get(field), foreign.get(field))) {
+				differingFields.add(field);
+			}
+		}
+		return differingFields;
+	}
+
+	private Set<String> getFieldNames(JsonObject... objects) {
+		Set<String> fieldNames = new LinkedHashSet<>();
+		for (JsonObject object : objects) {
+			for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+				fieldNames.add(entry.getKey());
+			}
+		}
+		return fieldNames;
+	}
+
+	private boolean isEqual(JsonElement first, JsonElement second) {
+		return first == null ? second == null : first.equals(second);
+	}
+}
@@ -0,0 +1,29 @@
+package org.openmrs.module.fhir.api.merge;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h1>ThreeWayMergeConflict</h1>
+ * Describes conflict of two entities which changed the same fields since their base version.
+ *
+ * @see ThreeWayMergeBehaviour
+ * @since 1.20.0
+ */
+public class ThreeWayMergeConflict<T> extends MergeConflict<T> {
+
+	private final List<String> conflictingFields;
+
+	public ThreeWayMergeConflict(Class<? extends T> clazz, T local, T foreign, List<String> conflictingFields) {
+		super(clazz, local, foreign);
+		this.conflictingFields = Collections.unmodifiableList(conflictingFields);
+	}
+
+	/**
+	 * @return returns names of the fields changed differently on both sides, or all differing fields
+	 * when no base version was available
+	 */
+	public List<String> getConflictingFields() {
+		return conflictingFields;
+	}
+}
@@ -0,0 +1,39 @@
+package org.openmrs.module.fhir.api.merge;
+
+/**
+ * <h1>ThreeWayMergeSuccess</h1>
+ * Describes success of a three-way merge, together with the minimal updates bringing each side to
+ * the merged version.
+ * <p>The updates are JSON Patch documents (RFC 6902) which only touch the fields that differ from
+ * the merged version, so they can be sent instead of the whole resource.</p>
+ *
+ * @see ThreeWayMergeBehaviour
+ * @since 1.20.0
+ */
+public class ThreeWayMergeSuccess<T> extends MergeSuccess<T> {
+
+	private final String localPatch;
+
+	private final String foreignPatch;
+
+	public ThreeWayMergeSuccess(Class<? extends T> clazz, T orgLocal, T orgForeign, T merged, String localPatch,
+			String foreignPatch) {
+		super(clazz, orgLocal, orgForeign, merged, localPatch != null, foreignPatch != null);
+		this.localPatch = localPatch;
+		this.foreignPatch = foreignPatch;
+	}
+
+	/**
+	 * @return returns the JSON Patch updating the local entity, or null if it is up to date
+	 */
+	public String getLocalPatch() {
+		return localPatch;
+	}
+
+	/**
+	 * @return returns the JSON Patch updating the foreign entity, or null if it is up to date
+	 */
+	public String getForeignPatch() {
+		return foreignPatch;
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.model;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * The last synchronized version of a resource, kept as the common ancestor for three-way merges.
+ * The content is the compressed JSON encoding of the resource. It is keyed by the resource type and
+ * uuid, as a patient and its person share the same uuid.
+ *
+ * @since 1.20.0
+ */
+public class ResourceBaseVersion implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String resourceUuid;
+
+	private String resourceType;
+
+	private byte[] content;
+
+	private Date dateUpdated;
+
+	public ResourceBaseVersion() {
+	}
+
+	public ResourceBaseVersion(String resourceUuid, String resourceType, byte[] content, Date dateUpdated) {
+		this.resourceUuid = resourceUuid;
+		this.resourceType = resourceType;
+		this.content = content;
+		this.dateUpdated = dateUpdated;
+	}
+
+	public String getResourceUuid() {
+		return resourceUuid;
+	}
+
+	public void setResourceUuid(String resourceUuid) {
+		this.resourceUuid = resourceUuid;
+	}
+
+	public String getResourceType() {
+		return resourceType;
+	}
+
+	public void setResourceType(String resourceType) {
+		this.resourceType = resourceType;
+	}
+
+	public byte[] getContent() {
+		return content;
+	}
+
+	public void setContent(byte[] content) {
+		this.content = content;
+	}
+
+	public Date getDateUpdated() {
+		return dateUpdated;
+	}
+
+	public void setDateUpdated(Date dateUpdated) {
+		this.dateUpdated = dateUpdated;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof ResourceBaseVersion)) {
+			return false;
+		}
+		ResourceBaseVersion other = (ResourceBaseVersion) o;
+		return Objects.equals(resourceType, other.resourceType) && Objects.equals(resourceUuid, other.resourceUuid);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(resourceType, resourceUuid);
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.model;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * An entry of the module change log, recording that the OpenMRS object behind a FHIR resource was
+ * created, updated or deleted at a given time.
+ *
+ * @since 1.20.0
+ */
+public class ResourceChange implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public enum ChangeType {
+		CREATE, UPDATE, DELETE
+	}
+
+	private Long id;
+
+	private String resourceType;
+
+	private String resourceUuid;
+
+	private ChangeType changeType;
+
+	private Date dateChanged;
+
+	public ResourceChange() {
+	}
+
+	public ResourceChange(String resourceType, String resourceUuid, ChangeType changeType, Date dateChanged) {
+		this.resourceType = resourceType;
+		this.resourceUuid = resourceUuid;
+		this.changeType = changeType;
+		this.dateChanged = dateChanged;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getResourceType() {
+		return resourceType;
+	}
+
+	public void setResourceType(String resourceType) {
+		this.resourceType = resourceType;
+	}
+
+	public String getResourceUuid() {
+		return resourceUuid;
+	}
+
+	public void setResourceUuid(String resourceUuid) {
+		this.resourceUuid = resourceUuid;
+	}
+
+	public ChangeType getChangeType() {
+		return changeType;
+	}
+
+	public void setChangeType(ChangeType changeType) {
+		this.changeType = changeType;
+	}
+
+	public Date getDateChanged() {
+		return dateChanged;
+	}
+
+	public void setDateChanged(Date dateChanged) {
+		this.dateChanged = dateChanged;
+	}
+}
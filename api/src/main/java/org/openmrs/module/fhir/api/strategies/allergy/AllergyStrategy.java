@@ -14,24 +14,16 @@
 package org.openmrs.module.fhir.api.strategies.allergy;
 
 import org.hl7.fhir.dstu3.model.AllergyIntolerance;
-import org.openmrs.Patient;
-import org.openmrs.PatientIdentifierType;
-import org.openmrs.api.PatientService;
-import org.openmrs.api.context.Context;
-import org.openmrs.module.fhir.api.helper.AllergyHelper;
 import org.openmrs.module.fhir.api.util.ContextUtil;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Component("DefaultAllergyStrategy")
 public class AllergyStrategy implements GenericAllergyStrategy {
 
-	@Autowired
-	private PatientService patientService;
-
 	@Override
 	public AllergyIntolerance getAllergyById(String uuid) {
 		return ContextUtil.getAllergyHelper().getAllergyIntolerance(uuid);
@@ -49,38 +41,15 @@ public class AllergyStrategy implements GenericAllergyStrategy {
 	}
 
 	@Override
-	public List<AllergyIntolerance> searchAllergiesByPatientIdentifier(String identifier) {
-		List<AllergyIntolerance> allergies = new ArrayList<>();
-		List<PatientIdentifierType> allPatientIdentifierTypes = patientService.getAllPatientIdentifierTypes();
-		List<org.openmrs.Patient> patientList = patientService.getPatients(identifier, null, allPatientIdentifierTypes,
-				true);
-		if (patientList != null && !patientList.isEmpty()) {
-			for (Patient patient : patientList) {
-				allergies.addAll(ContextUtil.getAllergyHelper().getAllergyIntoleranceByPatient(patient));
-			}
-		}
-		return allergies;
+	public List<AllergyIntolerance> searchAllergiesByPatients(Collection<Integer> patientIds, String clinicalStatus,
+			int firstResult, int maxResults) {
+		return ContextUtil.getAllergyHelper().getAllergyIntolerancesByPatients(patientIds, clinicalStatus, firstResult,
+				maxResults);
 	}
 
 	@Override
-	public List<AllergyIntolerance> searchAllergiesByPatientName(String name) {
-		PatientService allergyService = Context.getService(PatientService.class);
-		List<org.openmrs.Patient> patientList = patientService.getPatients(name, null, null, true);
-		List<AllergyIntolerance> allergies = new ArrayList<>();
-		for (Patient patient : patientList) {
-			allergies.addAll(ContextUtil.getAllergyHelper().getAllergyIntoleranceByPatient(patient));
-		}
-		return allergies;
-	}
-
-	@Override
-	public List<AllergyIntolerance> searchAllergiesByPersonId(String uuid) {
-		Patient patient = patientService.getPatientByUuid(uuid);
-		List<AllergyIntolerance> allergies = new ArrayList<>();
-		if (patient != null) {
-			allergies.addAll(ContextUtil.getAllergyHelper().getAllergyIntoleranceByPatient(patient));
-		}
-		return allergies;
+	public int getAllergyCountByPatients(Collection<Integer> patientIds, String clinicalStatus) {
+		return ContextUtil.getAllergyHelper().getAllergyIntoleranceCountByPatients(patientIds, clinicalStatus);
 	}
 
 	@Override
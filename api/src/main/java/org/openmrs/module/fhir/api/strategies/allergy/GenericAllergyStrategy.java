@@ -15,6 +15,7 @@ package org.openmrs.module.fhir.api.strategies.allergy;
 
 import org.hl7.fhir.dstu3.model.AllergyIntolerance;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface GenericAllergyStrategy {
@@ -23,11 +24,10 @@ public interface GenericAllergyStrategy {
 
 	List<AllergyIntolerance> searchAllergyById(String uuid);
 
-	List<AllergyIntolerance> searchAllergiesByPatientIdentifier(String identifier);
+	List<AllergyIntolerance> searchAllergiesByPatients(Collection<Integer> patientIds, String clinicalStatus,
+			int firstResult, int maxResults);
 
-	List<AllergyIntolerance> searchAllergiesByPatientName(String name);
-
-	List<AllergyIntolerance> searchAllergiesByPersonId(String uuid);
+	int getAllergyCountByPatients(Collection<Integer> patientIds, String clinicalStatus);
 
 	AllergyIntolerance createAllergy(AllergyIntolerance allergyIntolerance);
 
@@ -15,6 +15,7 @@ package org.openmrs.module.fhir.api.strategies.allergy;
 
 import org.hl7.fhir.dstu3.model.AllergyIntolerance;
 
+import java.util.Collection;
 import java.util.List;
 
 public class ObsAllergyStrategy implements GenericAllergyStrategy {
@@ -30,18 +31,14 @@ public class ObsAllergyStrategy implements GenericAllergyStrategy {
 	}
 
 	@Override
-	public List<AllergyIntolerance> searchAllergiesByPatientIdentifier(String identifier) {
+	public List<AllergyIntolerance> searchAllergiesByPatients(Collection<Integer> patientIds, String clinicalStatus,
+			int firstResult, int maxResults) {
 		return null;
 	}
 
 	@Override
-	public List<AllergyIntolerance> searchAllergiesByPatientName(String name) {
-		return null;
-	}
-
-	@Override
-	public List<AllergyIntolerance> searchAllergiesByPersonId(String uuid) {
-		return null;
+	public int getAllergyCountByPatients(Collection<Integer> patientIds, String clinicalStatus) {
+		return 0;
 	}
 
 	@Override
@@ -13,14 +13,14 @@ import org.hl7.fhir.exceptions.FHIRException;
 import org.hl7.fhir.instance.model.api.IIdType;
 import org.openmrs.EncounterProvider;
 import org.openmrs.Patient;
-import org.openmrs.PatientIdentifierType;
 import org.openmrs.Visit;
 import org.openmrs.api.EncounterService;
 import org.openmrs.api.VisitService;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.encounter.EncounterSearch;
+import org.openmrs.module.fhir.api.location.LocationTree;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.openmrs.module.fhir.api.util.FHIREncounterUtil;
-import org.openmrs.module.fhir.api.util.FHIRLocationUtil;
 import org.openmrs.module.fhir.api.util.FHIRPatientUtil;
 import org.openmrs.module.fhir.api.util.FHIRPractitionerUtil;
 import org.openmrs.module.fhir.api.util.FHIRUtils;
@@ -77,26 +77,10 @@ public class EncounterStrategy implements GenericEncounterStrategy {
 	 */
 	@Override
 	public List<Encounter> searchEncountersByPatientIdentifier(String identifier) {
-		org.openmrs.api.PatientService patientService = Context.getPatientService();
-		List<PatientIdentifierType> allPatientIdentifierTypes = patientService.getAllPatientIdentifierTypes();
-		List<org.openmrs.Patient> patientList = patientService
-				.getPatients(null, identifier, allPatientIdentifierTypes, true);
-		List<Encounter> fhirEncountersList = new ArrayList<>();
-
-		for (Patient patient : patientList) {
-			List<org.openmrs.Encounter> encounters = Context.getEncounterService().getEncountersByPatient(patient);
-			for (org.openmrs.Encounter encounter : encounters) {
-				fhirEncountersList.add(FHIREncounterUtil.generateEncounter(encounter));
-			}
-		}
-
-		for (Patient patient : patientList) {
-			List<Visit> visits = Context.getVisitService().getVisitsByPatient(patient);
-			for (Visit visit : visits) {
-				fhirEncountersList.add(FHIRVisitUtil.generateEncounter(visit));
-			}
-		}
-		return fhirEncountersList;
+		EncounterSearch search = new EncounterSearch();
+		search.setPatientIdentifier(identifier);
+		return Context.getService(org.openmrs.module.fhir.api.EncounterService.class).searchEncounters(search,
+				Integer.MAX_VALUE);
 	}
 
 	/**
@@ -123,19 +107,13 @@ public class EncounterStrategy implements GenericEncounterStrategy {
 	 */
 	@Override
 	public List<Composition> searchEncounterCompositionByPatientId(String patientId) {
-		Patient patient = Context.getPatientService().getPatientByUuid(patientId);
-		List<org.openmrs.Encounter> omrsEncounters = Context.getEncounterService().getEncountersByPatient(patient);
-		List<Composition> fhirEncounters = new ArrayList<>();
-		for (org.openmrs.Encounter enc : omrsEncounters) {
-			try {
-				fhirEncounters.add(FHIREncounterUtil.generateComposition(enc));
-			}
-			catch (FHIRException e) {
-				String msg = "Error while searching the encounter composition by patient id " + patientId;
-				log.error(msg, e);
-			}
+		if (patientId == null) {
+			return new ArrayList<>();
 		}
-		return fhirEncounters;
+		EncounterSearch search = new EncounterSearch();
+		search.setPatientUuid(patientId);
+		return Context.getService(org.openmrs.module.fhir.api.EncounterService.class).searchCompositions(search,
+				Integer.MAX_VALUE);
 	}
 
 	/**
@@ -184,7 +162,7 @@ public class EncounterStrategy implements GenericEncounterStrategy {
 			Bundle.BundleEntryComponent location;
 			if (omsrEncounter.getLocation() != null) {
 				location = bundle.addEntry();
-				location.setResource(FHIRLocationUtil.generateLocation(omsrEncounter.getLocation()));
+				location.setResource(LocationTree.getInstance().getLocation(omsrEncounter.getLocation().getUuid()));
 			}
 
 			//Set patient
@@ -230,28 +208,11 @@ public class EncounterStrategy implements GenericEncounterStrategy {
 	 */
 	@Override
 	public List<Encounter> searchEncountersByPatientIdentifierAndPartOf(String patientIdentifier, String partOf) {
-		org.openmrs.api.PatientService patientService = Context.getPatientService();
-		List<PatientIdentifierType> allPatientIdentifierTypes = patientService.getAllPatientIdentifierTypes();
-		List<org.openmrs.Patient> patientList = patientService.getPatients(patientIdentifier, null,
-				allPatientIdentifierTypes, true);
-		List<Encounter> fhirEncounterList = new ArrayList<>();
-
-		for (Patient patient : patientList) {
-			List<org.openmrs.Encounter> encounters = Context.getEncounterService().getEncountersByPatient(patient);
-			for (org.openmrs.Encounter encounter : encounters) {
-				fhirEncounterList = addEncountersByPartOf(encounter, partOf, fhirEncounterList);
-			}
-		}
-
-		for (Patient patient : patientList) {
-			List<Visit> visits = Context.getVisitService().getVisitsByPatient(patient);
-			if (FHIRConstants.NONE.equalsIgnoreCase(partOf)) {
-				for (Visit visit : visits) {
-					fhirEncounterList.add(FHIRVisitUtil.generateEncounter(visit));
-				}
-			}
-		}
-		return fhirEncounterList;
+		EncounterSearch search = new EncounterSearch();
+		search.setPatientIdentifier(patientIdentifier);
+		search.setPartOf(partOf);
+		return Context.getService(org.openmrs.module.fhir.api.EncounterService.class).searchEncounters(search,
+				Integer.MAX_VALUE);
 	}
 
 	/**
@@ -14,6 +14,10 @@ public interface GenericLocationStrategy {
 
 	List<Location> searchLocationsByName(String name);
 
+	List<Location> searchLocationsByPartOf(String uuid, boolean below);
+
+	List<Location> searchLocationsNear(double latitude, double longitude, double distance);
+
 	void deleteLocation(String uuid);
 
 	Location updateLocation(String uuid, Location location);
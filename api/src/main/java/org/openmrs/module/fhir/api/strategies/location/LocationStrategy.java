@@ -1,9 +1,9 @@
 package org.openmrs.module.fhir.api.strategies.location;
 
 import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
-import org.apache.commons.lang.StringUtils;
 import org.hl7.fhir.dstu3.model.Location;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.location.LocationTree;
 import org.openmrs.module.fhir.api.util.ErrorUtil;
 import org.openmrs.module.fhir.api.util.FHIRLocationUtil;
 import org.openmrs.module.fhir.api.util.FHIRUtils;
@@ -17,52 +17,41 @@ public class LocationStrategy implements GenericLocationStrategy {
 
 	@Override
 	public Location getLocation(String uuid) {
-		org.openmrs.Location omrsLocation = Context.getLocationService().getLocationByUuid(uuid);
-		if (omrsLocation == null || omrsLocation.isRetired()) {
+		Location location = LocationTree.getInstance().getLocation(uuid);
+		if (location == null || location.getStatus() == Location.LocationStatus.INACTIVE) {
 			return null;
 		}
-		return FHIRLocationUtil.generateLocation(omrsLocation);
+		return location;
 	}
 
 	@Override
 	public List<Location> searchLocationsByUuid(String uuid) {
-		org.openmrs.Location omrsLocation = Context.getLocationService().getLocationByUuid(uuid);
 		List<Location> locationList = new ArrayList<Location>();
-		if (omrsLocation != null && !omrsLocation.isRetired()) {
-			locationList.add(FHIRLocationUtil.generateLocation(omrsLocation));
+		Location location = getLocation(uuid);
+		if (location != null) {
+			locationList.add(location);
 		}
 		return locationList;
 	}
 
 	@Override
 	public List<Location> searchLocationsByName(String name) {
-		List<org.openmrs.Location> omrsLocations = Context.getLocationService().getLocations(name);
-		List<Location> locationList = new ArrayList<Location>();
-		for (org.openmrs.Location location : omrsLocations) {
-			if (StringUtils.startsWithIgnoreCase(location.getName(), name)) {
-				locationList.add(FHIRLocationUtil.generateLocation(location));
-			}
-		}
-		return locationList;
+		return LocationTree.getInstance().getLocationsByName(name);
 	}
 
 	@Override
 	public List<Location> searchLocationsByStatus(boolean status) {
-		//TODO this method looks for all the locations which is inefficient. Reimplement after API revamp
-		List<org.openmrs.Location> omrsLocations = Context.getLocationService().getAllLocations(true);
-		List<Location> locationList = new ArrayList<Location>();
-		for (org.openmrs.Location location : omrsLocations) {
-			if (status) {
-				if (!location.isRetired()) {
-					locationList.add(FHIRLocationUtil.generateLocation(location));
-				}
-			} else {
-				if (location.isRetired()) {
-					locationList.add(FHIRLocationUtil.generateLocation(location));
-				}
-			}
-		}
-		return locationList;
+		return LocationTree.getInstance().getLocationsByStatus(status);
+	}
+
+	@Override
+	public List<Location> searchLocationsByPartOf(String uuid, boolean below) {
+		return LocationTree.getInstance().getLocationsPartOf(uuid, below);
+	}
+
+	@Override
+	public List<Location> searchLocationsNear(double latitude, double longitude, double distance) {
+		return LocationTree.getInstance().getLocationsNear(latitude, longitude, distance);
 	}
 
 	@Override
@@ -1,6 +1,7 @@
 package org.openmrs.module.fhir.api.strategies.medicationrequest;
 
 import org.hl7.fhir.dstu3.model.MedicationRequest;
+import org.openmrs.module.fhir.api.medicationrequest.MedicationRequestSearch;
 
 import java.util.List;
 
@@ -12,6 +13,10 @@ public interface GenericMedicationRequestStrategy {
 
 	List<MedicationRequest> searchMedicationRequestByPatientUuid(String patientUuid);
 
+	List<MedicationRequest> searchMedicationRequests(MedicationRequestSearch search, int firstResult, int maxResults);
+
+	int getMedicationRequestCount(MedicationRequestSearch search);
+
 	void deleteMedicationRequest(String uuid);
 
 	MedicationRequest createFHIRMedicationRequest(MedicationRequest medicationRequest);
@@ -5,8 +5,8 @@ import org.hl7.fhir.dstu3.model.MedicationRequest;
 import org.openmrs.Drug;
 import org.openmrs.DrugOrder;
 import org.openmrs.Order;
-import org.openmrs.Patient;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.medicationrequest.MedicationRequestSearch;
 import org.openmrs.module.fhir.api.util.ContextUtil;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.openmrs.module.fhir.api.util.FHIRMedicationRequestUtil;
@@ -41,20 +41,34 @@ public class MedicationRequestStrategy implements GenericMedicationRequestStrate
 
 	@Override
 	public List<MedicationRequest> searchMedicationRequestByPatientUuid(String patientUuid) {
-		Patient patient = Context.getPatientService().getPatientByUuid(patientUuid);
+		MedicationRequestSearch search = new MedicationRequestSearch();
+		search.setPatientUuid(patientUuid);
+		//Keeps returning every drug order of the patient, voided ones included
+		search.setIncludeVoided(true);
+		return searchMedicationRequests(search, 0, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public List<MedicationRequest> searchMedicationRequests(MedicationRequestSearch search, int firstResult,
+			int maxResults) {
 		List<MedicationRequest> medicationRequests = new ArrayList<>();
-		if (patient != null) {
-			List<Order> orders = ContextUtil.getOrderHelper().getAllOrdersByPatient(patient);
-			for (Order order : orders) {
-				if (order instanceof DrugOrder) {
-					DrugOrder drugOrder = (DrugOrder) order;
-					medicationRequests.add(FHIRMedicationRequestUtil.generateMedicationRequest(drugOrder));
-				}
-			}
+		if (!isKnownStatus(search.getStatus())) {
+			return medicationRequests;
+		}
+		for (DrugOrder drugOrder : ContextUtil.getDrugOrderHelper().getDrugOrders(search, firstResult, maxResults)) {
+			medicationRequests.add(FHIRMedicationRequestUtil.generateMedicationRequest(drugOrder));
 		}
 		return medicationRequests;
 	}
 
+	@Override
+	public int getMedicationRequestCount(MedicationRequestSearch search) {
+		if (!isKnownStatus(search.getStatus())) {
+			return 0;
+		}
+		return ContextUtil.getDrugOrderHelper().getDrugOrderCount(search);
+	}
+
 	@Override
 	public void deleteMedicationRequest(String uuid) {
 		Order drugOrder = Context.getOrderService().getOrderByUuid(uuid);
@@ -95,4 +109,13 @@ public class MedicationRequestStrategy implements GenericMedicationRequestStrate
 			return createFHIRMedicationRequest(medicationRequest);
 		}
 	}
+
+	/**
+	 * Drug orders are only ever active, stopped or completed, so other statuses match nothing
+	 */
+	private static boolean isKnownStatus(String status) {
+		return status == null || MedicationRequest.MedicationRequestStatus.ACTIVE.toCode().equals(status)
+				|| MedicationRequest.MedicationRequestStatus.STOPPED.toCode().equals(status)
+				|| MedicationRequest.MedicationRequestStatus.COMPLETED.toCode().equals(status);
+	}
 }
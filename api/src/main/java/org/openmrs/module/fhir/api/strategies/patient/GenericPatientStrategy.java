@@ -23,6 +23,8 @@ public interface GenericPatientStrategy {
 
 	Bundle searchPatientsByName(String name);
 
+	Bundle searchPatientsByPhoneticName(String name);
+
 	Bundle getPatientOperationsById(String patientId);
 
 	void deletePatient(String uuid);
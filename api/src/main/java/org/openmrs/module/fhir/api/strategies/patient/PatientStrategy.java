@@ -8,23 +8,25 @@ import org.hl7.fhir.dstu3.model.FamilyMemberHistory;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.openmrs.Encounter;
-import org.openmrs.PatientIdentifierType;
-import org.openmrs.PersonName;
 import org.openmrs.Visit;
 import org.openmrs.api.APIException;
 import org.openmrs.api.PatientService;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.EncounterService;
 import org.openmrs.module.fhir.api.FamilyMemberHistoryService;
+import org.openmrs.module.fhir.api.NameIndexService;
+import org.openmrs.module.fhir.api.location.LocationTree;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
-import org.openmrs.module.fhir.api.util.FHIRLocationUtil;
+import org.openmrs.module.fhir.api.util.FHIRIdentifierUtil;
 import org.openmrs.module.fhir.api.util.FHIRPatientUtil;
 import org.openmrs.module.fhir.api.util.FHIRUtils;
 import org.openmrs.module.fhir.api.util.FHIRVisitUtil;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
 import org.openmrs.module.fhir.api.util.StrategyUtil;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.openmrs.module.fhir.api.util.FHIRUtils.extractUuid;
@@ -56,31 +58,15 @@ public class PatientStrategy implements GenericPatientStrategy {
 
 	@Override
 	public List<Patient> searchPatientsByIdentifier(String identifierValue, String identifierTypeName) {
-		org.openmrs.api.PatientService patientService = Context.getPatientService();
-		List<PatientIdentifierType> patientIdentifierTypes = new ArrayList<>();
-		patientIdentifierTypes.add(patientService.getPatientIdentifierTypeByName(identifierTypeName));
-		List<org.openmrs.Patient> patientList = patientService.getPatients(identifierValue, null,
-				patientIdentifierTypes, true);
-
-		List<Patient> fhirPatientList = new ArrayList<>();
-		for (org.openmrs.Patient patient : patientList) {
-			fhirPatientList.add(FHIRPatientUtil.generatePatient(patient));
-		}
-		return fhirPatientList;
+		return Context.getService(org.openmrs.module.fhir.api.PatientService.class).searchPatientsByIdentifiers(
+				Collections.singletonList(identifierValue), identifierTypeName);
 	}
 
 	@Override
 	public List<Patient> searchPatientsByIdentifier(String identifier) {
-		org.openmrs.api.PatientService patientService = Context.getPatientService();
-		List<PatientIdentifierType> allPatientIdentifierTypes = patientService.getAllPatientIdentifierTypes();
-		List<org.openmrs.Patient> patientList = patientService
-				.getPatients(identifier, null, allPatientIdentifierTypes, true);
-
-		List<Patient> fhirPatientList = new ArrayList<>();
-		for (org.openmrs.Patient patient : patientList) {
-			fhirPatientList.add(FHIRPatientUtil.generatePatient(patient));
-		}
-		return fhirPatientList;
+		return Context.getService(org.openmrs.module.fhir.api.PatientService.class).searchPatientsByIdentifiers(
+				Collections.singletonList(FHIRIdentifierUtil.getTokenValue(identifier)),
+				FHIRIdentifierUtil.getTokenSystem(identifier));
 	}
 
 	@Override
@@ -105,50 +91,21 @@ public class PatientStrategy implements GenericPatientStrategy {
 
 	@Override
 	public Bundle searchPatientsByGivenName(String givenName) {
-		List<org.openmrs.Patient> patients = searchPatientByQuery(givenName);
-
-		List<Patient> fhirPatientList = new ArrayList<>();
-		//Go through the patients given by the openmrs core api and find them patient who has the givenName matching
-		for (org.openmrs.Patient patient : patients) {
-			if (givenName.toLowerCase().contains(patient.getGivenName().toLowerCase())) {
-				fhirPatientList.add(FHIRPatientUtil.generatePatient(patient));
-			} else {
-				for (PersonName personName : patient.getNames()) {
-					if (givenName.toLowerCase().contains(personName.getGivenName().toLowerCase())) {
-						fhirPatientList.add(FHIRPatientUtil.generatePatient(patient));
-					}
-				}
-			}
-		}
-
-		Bundle bundle = new Bundle();
-		List<Bundle.BundleEntryComponent> filteredList = new ArrayList<>();
-		for (Patient fhirPatient : fhirPatientList) {
-			Bundle.BundleEntryComponent entry = new Bundle.BundleEntryComponent();
-			entry.setResource(fhirPatient);
-			filteredList.add(entry);
-		}
-		bundle.setEntry(filteredList);
-
-		return bundle;
+		return searchPatientsByNamePart(givenName, null);
 	}
 
 	@Override
 	public Bundle searchPatientsByFamilyName(String familyName) {
-		List<org.openmrs.Patient> patients = searchPatientByQuery(familyName);
+		return searchPatientsByNamePart(null, familyName);
+	}
+
+	@Override
+	public Bundle searchPatientsByName(String name) {
+		List<org.openmrs.Patient> patients = searchPatientByIndex(name, false);
 
 		List<Patient> fhirPatientList = new ArrayList<>();
-		//Go through the patients given by the openmrs core api and find them patient who has the familyName matching
 		for (org.openmrs.Patient patient : patients) {
-			if (familyName.toLowerCase().contains(patient.getFamilyName().toLowerCase())) {
-				fhirPatientList.add(FHIRPatientUtil.generatePatient(patient));
-			} else {
-				for (PersonName personName : patient.getNames()) {
-					if (familyName.toLowerCase().contains(personName.getFamilyName().toLowerCase())) {
-						fhirPatientList.add(FHIRPatientUtil.generatePatient(patient));
-					}
-				}
-			}
+			fhirPatientList.add(FHIRPatientUtil.generatePatient(patient));
 		}
 
 		Bundle bundle = new Bundle();
@@ -164,23 +121,11 @@ public class PatientStrategy implements GenericPatientStrategy {
 	}
 
 	@Override
-	public Bundle searchPatientsByName(String name) {
-		List<org.openmrs.Patient> patients = searchPatientByQuery(name);
-
-		List<Patient> fhirPatientList = new ArrayList<>();
-		for (org.openmrs.Patient patient : patients) {
-			fhirPatientList.add(FHIRPatientUtil.generatePatient(patient));
-		}
-
+	public Bundle searchPatientsByPhoneticName(String name) {
 		Bundle bundle = new Bundle();
-		List<Bundle.BundleEntryComponent> filteredList = new ArrayList<>();
-		for (Patient fhirPatient : fhirPatientList) {
-			Bundle.BundleEntryComponent entry = new Bundle.BundleEntryComponent();
-			entry.setResource(fhirPatient);
-			filteredList.add(entry);
+		for (org.openmrs.Patient patient : searchPatientByIndex(name, true)) {
+			bundle.addEntry().setResource(FHIRPatientUtil.generatePatient(patient));
 		}
-		bundle.setEntry(filteredList);
-
 		return bundle;
 	}
 
@@ -210,7 +155,7 @@ public class PatientStrategy implements GenericPatientStrategy {
 			for (Visit visit : Context.getVisitService().getVisitsByPatient(omsrPatient)) {
 				bundle.addEntry().setResource(FHIRVisitUtil.generateEncounter(visit));
 				if (visit.getLocation() != null) {
-					bundle.addEntry().setResource(FHIRLocationUtil.generateLocation(visit.getLocation()));
+					bundle.addEntry().setResource(LocationTree.getInstance().getLocation(visit.getLocation().getUuid()));
 				}
 			}
 
@@ -293,6 +238,17 @@ public class PatientStrategy implements GenericPatientStrategy {
 		return Context.getPatientService().getPatients(query);
 	}
 
+	/**
+	 * Searches the name index once it is loaded, the database until then
+	 */
+	private List<org.openmrs.Patient> searchPatientByIndex(String query, boolean phonetic) {
+		NameIndexService nameIndexService = Context.getService(NameIndexService.class);
+		if (nameIndexService.isIndexReady()) {
+			return nameIndexService.searchPatients(query, phonetic, FHIRConstants.NAME_SEARCH_MAX_RESULTS);
+		}
+		return searchPatientByQuery(query);
+	}
+
 	private List<Bundle.BundleEntryComponent> rejectResourceDuplicates(Bundle bundle) {
 		List<Bundle.BundleEntryComponent> result = new ArrayList<>();
 
@@ -310,4 +266,15 @@ public class PatientStrategy implements GenericPatientStrategy {
 
 		return result;
 	}
+
+	private Bundle searchPatientsByNamePart(String givenName, String familyName) {
+		List<Patient> fhirPatientList = Context.getService(org.openmrs.module.fhir.api.PatientService.class)
+				.searchPatientsByName(givenName, familyName, NameMatchMode.STARTS_WITH, 0, Integer.MAX_VALUE);
+
+		Bundle bundle = new Bundle();
+		for (Patient fhirPatient : fhirPatientList) {
+			bundle.addEntry().setResource(fhirPatient);
+		}
+		return bundle;
+	}
 }
@@ -6,6 +6,7 @@ import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import org.hl7.fhir.dstu3.model.Person;
 import org.openmrs.api.APIException;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.NameIndexService;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.openmrs.module.fhir.api.util.FHIRPersonUtil;
 import org.openmrs.module.fhir.api.util.FHIRUtils;
@@ -53,7 +54,13 @@ public class PersonStrategy implements GenericPersonStrategy {
 
 	@Override
 	public List<Person> searchPersonsByName(String name) {
-		List<org.openmrs.Person> persons = Context.getPersonService().getPeople(name, null);
+		NameIndexService nameIndexService = Context.getService(NameIndexService.class);
+		List<org.openmrs.Person> persons;
+		if (nameIndexService.isIndexReady()) {
+			persons = nameIndexService.searchPersons(name, false, FHIRConstants.NAME_SEARCH_MAX_RESULTS);
+		} else {
+			persons = Context.getPersonService().getPeople(name, null);
+		}
 		List<Person> fhirPersonsList = new ArrayList<>();
 
 		for (org.openmrs.Person person : persons) {
@@ -12,6 +12,8 @@ public interface GenericPractitionerStrategy {
 
 	List<Practitioner> searchPractitionersByName(String name);
 
+	List<Practitioner> searchPractitionersByPhoneticName(String name);
+
 	List<Practitioner> searchPractitionersByGivenName(String givenName);
 
 	List<Practitioner> searchPractitionersByFamilyName(String familyName);
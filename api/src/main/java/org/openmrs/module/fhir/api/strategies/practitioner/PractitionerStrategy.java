@@ -6,13 +6,15 @@ import org.hl7.fhir.dstu3.model.Identifier;
 import org.hl7.fhir.dstu3.model.Practitioner;
 import org.hl7.fhir.dstu3.model.StringType;
 import org.openmrs.Person;
-import org.openmrs.PersonName;
 import org.openmrs.Provider;
 import org.openmrs.api.ProviderService;
 import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.NameIndexService;
+import org.openmrs.module.fhir.api.PractitionerService;
 import org.openmrs.module.fhir.api.util.ErrorUtil;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.openmrs.module.fhir.api.util.FHIRPractitionerUtil;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
 import org.openmrs.module.fhir.api.util.StrategyUtil;
 import org.springframework.stereotype.Component;
 
@@ -46,7 +48,7 @@ public class PractitionerStrategy implements GenericPractitionerStrategy {
 
 	@Override
 	public List<Practitioner> searchPractitionersByName(String name) {
-		List<Provider> omrsProviders = searchProvidersByQuery(name);
+		List<Provider> omrsProviders = searchProvidersByIndex(name, false);
 		List<Practitioner> practitioners = new ArrayList<>();
 		for (Provider provider : omrsProviders) {
 			practitioners.add(FHIRPractitionerUtil.generatePractitioner(provider));
@@ -55,47 +57,22 @@ public class PractitionerStrategy implements GenericPractitionerStrategy {
 	}
 
 	@Override
-	public List<Practitioner> searchPractitionersByGivenName(String givenName) {
-		List<Provider> omrsProviders = searchProvidersByQuery(givenName);
+	public List<Practitioner> searchPractitionersByPhoneticName(String name) {
 		List<Practitioner> practitioners = new ArrayList<>();
-		for (Provider provider : omrsProviders) {
-			if (provider.getPerson() != null) {
-				//Search through the provider given name for check whether given name exist in the returned provider
-				// resource
-
-				if (givenName.equalsIgnoreCase(provider.getPerson().getGivenName())) {
-					practitioners.add(FHIRPractitionerUtil.generatePractitioner(provider));
-				} else {
-					for (PersonName personName : provider.getPerson().getNames()) {
-						if (givenName.equalsIgnoreCase(personName.getGivenName())) {
-							practitioners.add(FHIRPractitionerUtil.generatePractitioner(provider));
-						}
-					}
-				}
-			}
+		for (Provider provider : searchProvidersByIndex(name, true)) {
+			practitioners.add(FHIRPractitionerUtil.generatePractitioner(provider));
 		}
 		return practitioners;
 	}
 
+	@Override
+	public List<Practitioner> searchPractitionersByGivenName(String givenName) {
+		return searchPractitionersByNamePart(givenName, null);
+	}
+
 	@Override
 	public List<Practitioner> searchPractitionersByFamilyName(String familyName) {
-		List<Provider> omrsProviders = searchProvidersByQuery(familyName);
-		List<Practitioner> practitioners = new ArrayList<>();
-		for (Provider provider : omrsProviders) {
-			//Search through the provider family name for check whether family name exist in the returned provider resource
-			if (provider.getPerson() != null) {
-				if (familyName.equalsIgnoreCase(provider.getPerson().getFamilyName())) {
-					practitioners.add(FHIRPractitionerUtil.generatePractitioner(provider));
-				} else {
-					for (PersonName personName : provider.getPerson().getNames()) {
-						if (familyName.equalsIgnoreCase(personName.getFamilyName())) {
-							practitioners.add(FHIRPractitionerUtil.generatePractitioner(provider));
-						}
-					}
-				}
-			}
-		}
-		return practitioners;
+		return searchPractitionersByNamePart(null, familyName);
 	}
 
 	@Override
@@ -182,7 +159,23 @@ public class PractitionerStrategy implements GenericPractitionerStrategy {
 		}
 	}
 
+	/**
+	 * Searches the name index once it is loaded, the database until then
+	 */
+	private List<Provider> searchProvidersByIndex(String query, boolean phonetic) {
+		NameIndexService nameIndexService = Context.getService(NameIndexService.class);
+		if (nameIndexService.isIndexReady()) {
+			return nameIndexService.searchProviders(query, phonetic, FHIRConstants.NAME_SEARCH_MAX_RESULTS);
+		}
+		return searchProvidersByQuery(query);
+	}
+
 	private List<Provider> searchProvidersByQuery(String query) {
 		return Context.getProviderService().getProviders(query, null, null, null, false);
 	}
+
+	private List<Practitioner> searchPractitionersByNamePart(String givenName, String familyName) {
+		return Context.getService(PractitionerService.class).searchPractitionersByName(givenName, familyName,
+				NameMatchMode.STARTS_WITH, 0, Integer.MAX_VALUE);
+	}
 }
@@ -0,0 +1,72 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.util;
+
+/**
+ * Stops calling a remote server after a number of consecutive failures, so that callers fail fast
+ * instead of waiting for timeouts. Once the open period has elapsed a single trial call is let
+ * through: its success closes the circuit again, its failure keeps it open for another period.
+ *
+ * @since 1.20.0
+ */
+public class CircuitBreaker {
+
+	private final int failureThreshold;
+
+	private final long openMillis;
+
+	private int consecutiveFailures;
+
+	private long openedAt;
+
+	/**
+	 * @param failureThreshold the number of consecutive failures which opens the circuit
+	 * @param openMillis how long the circuit stays open before a trial call is let through
+	 */
+	public CircuitBreaker(int failureThreshold, long openMillis) {
+		this.failureThreshold = failureThreshold;
+		this.openMillis = openMillis;
+	}
+
+	/**
+	 * @return true if a call may be attempted
+	 */
+	public synchronized boolean allowRequest() {
+		if (consecutiveFailures < failureThreshold) {
+			return true;
+		}
+		long now = System.currentTimeMillis();
+		if (now - openedAt >= openMillis) {
+			// Let one trial call through and hold the others back until it completes
+			openedAt = now;
+			return true;
+		}
+		return false;
+	}
+
+	public synchronized void recordSuccess() {
+		consecutiveFailures = 0;
+	}
+
+	public synchronized void recordFailure() {
+		consecutiveFailures++;
+		if (consecutiveFailures >= failureThreshold) {
+			openedAt = System.currentTimeMillis();
+		}
+	}
+
+	public synchronized boolean isOpen() {
+		return consecutiveFailures >= failureThreshold;
+	}
+}
@@ -8,30 +8,57 @@ import org.openmrs.module.fhir.api.helper.ObsHelper;
 import org.openmrs.module.fhir.api.helper.OrderHelper;
 import org.openmrs.module.fhir.api.helper.TestOrderHelper;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Gives access to the helpers implemented for the running OpenMRS version.
+ * <p>A helper is looked up in the application context the first time it is asked for and kept, so
+ * that converting many resources does not pay a lookup per use. The kept helpers are dropped with
+ * {@link #clearHelpers()} when the context is refreshed, as the refresh replaces the beans.</p>
+ */
 public class ContextUtil {
 
+	private static final ConcurrentMap<String, Object> helpers = new ConcurrentHashMap<>();
+
 	public static ObsHelper getObsHelper() {
-		return Context.getRegisteredComponent("fhir.ObsHelper", ObsHelper.class);
+		return getHelper("fhir.ObsHelper", ObsHelper.class);
 	}
 
 	public static DrugHelper getDrugHelper() {
-		return Context.getRegisteredComponent("fhir.DrugHelper", DrugHelper.class);
+		return getHelper("fhir.DrugHelper", DrugHelper.class);
 	}
 
 	public static AllergyHelper getAllergyHelper() {
-		return Context.getRegisteredComponent("fhir.AllergyHelper", AllergyHelper.class);
+		return getHelper("fhir.AllergyHelper", AllergyHelper.class);
 	}
 
 	public static OrderHelper getOrderHelper() {
-		return Context.getRegisteredComponent("fhir.OrderHelper", OrderHelper.class);
+		return getHelper("fhir.OrderHelper", OrderHelper.class);
 	}
 
 	public static TestOrderHelper getTestOrderHelper() {
-		return Context.getRegisteredComponent("fhir.TestOrderHelper", TestOrderHelper.class);
+		return getHelper("fhir.TestOrderHelper", TestOrderHelper.class);
 	}
 
 	public static DrugOrderHelper getDrugOrderHelper() {
-		return Context.getRegisteredComponent("fhir.DrugOrderHelper", DrugOrderHelper.class);
+		return getHelper("fhir.DrugOrderHelper", DrugOrderHelper.class);
+	}
+
+	/**
+	 * Drops the kept helpers, so that they are looked up again on next use
+	 */
+	public static void clearHelpers() {
+		helpers.clear();
+	}
+
+	private static <T> T getHelper(String name, Class<T> type) {
+		Object helper = helpers.get(name);
+		if (helper == null) {
+			helper = Context.getRegisteredComponent(name, type);
+			helpers.put(name, helper);
+		}
+		return type.cast(helper);
 	}
 
 	private ContextUtil() { }
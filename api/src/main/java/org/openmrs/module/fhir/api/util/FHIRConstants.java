@@ -118,6 +118,8 @@ public final class FHIRConstants {
 
 	public static final String PATIENT = "Patient";
 
+	public static final String PERSON = "Person";
+
 	public static final String VISIT = "Visit";
 
 	public static final String PRACTITIONER = "Practitioner";
@@ -262,6 +264,10 @@ public final class FHIRConstants {
 
 	public static final int FIRST = 0;
 
+	public static final int NAME_SEARCH_MAX_RESULTS = 100;
+
+	public static final String GET = "GET";
+
 	public static final String POST = "POST";
 
 	public static final String PUT = "PUT";
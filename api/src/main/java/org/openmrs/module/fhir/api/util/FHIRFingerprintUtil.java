@@ -0,0 +1,104 @@
+package org.openmrs.module.fhir.api.util;
+
+import ca.uhn.fhir.parser.IParser;
+import org.hl7.fhir.dstu3.model.Base;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.module.fhir.api.exceptions.FHIRException;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Computes content fingerprints of resources: a SHA-256 digest of the canonical JSON encoding of the
+ * resource, leaving out the id, meta and narrative so that two versions of a resource with the same
+ * content have the same fingerprint regardless of the server they come from.
+ * <p>{@link #getFingerprint(IBaseResource)} computes the fingerprint from the current content. A
+ * resource converted from a payload is fingerprinted once by {@link #takeFingerprint(IBaseResource)},
+ * so that comparing converted resources does not encode them again. The fingerprint taken is never
+ * refreshed implicitly: code modifying a converted resource takes it again.</p>
+ *
+ * @since 1.20.0
+ */
+public final class FHIRFingerprintUtil {
+
+	private static final String FINGERPRINT_KEY = FHIRFingerprintUtil.class.getName() + ".fingerprint";
+
+	private static final String ALGORITHM = "SHA-256";
+
+	private static final Set<String> EXCLUDED_ELEMENTS = Collections.unmodifiableSet(
+			new HashSet<>(Collections.singletonList("*.meta")));
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private FHIRFingerprintUtil() {
+	}
+
+	/**
+	 * @param resource the resource to fingerprint
+	 * @return the fingerprint of the current content of the resource
+	 */
+	public static String getFingerprint(IBaseResource resource) {
+		IParser parser = FHIRContextFactory.getFHIRContext().newJsonParser();
+		parser.setOmitResourceId(true);
+		parser.setSuppressNarratives(true);
+		parser.setDontEncodeElements(EXCLUDED_ELEMENTS);
+		byte[] canonical = parser.encodeResourceToString(resource).getBytes(StandardCharsets.UTF_8);
+		try {
+			return toHex(MessageDigest.getInstance(ALGORITHM).digest(canonical));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new FHIRException(ALGORITHM + " is not available", e);
+		}
+	}
+
+	/**
+	 * Fingerprints a resource and keeps the fingerprint on it, for {@link #getTakenFingerprint(IBaseResource)}.
+	 *
+	 * @param resource a resource just converted, or modified since its fingerprint was taken
+	 * @return the resource
+	 */
+	public static <T extends IBaseResource> T takeFingerprint(T resource) {
+		if (resource instanceof Base) {
+			((Base) resource).setUserData(FINGERPRINT_KEY, getFingerprint(resource));
+		}
+		return resource;
+	}
+
+	/**
+	 * @param resource the resource to fingerprint
+	 * @return the fingerprint taken on conversion, or the fingerprint of the current content if none was
+	 * taken
+	 */
+	public static String getTakenFingerprint(IBaseResource resource) {
+		if (resource instanceof Base) {
+			String fingerprint = (String) ((Base) resource).getUserData(FINGERPRINT_KEY);
+			if (fingerprint != null) {
+				return fingerprint;
+			}
+		}
+		return getFingerprint(resource);
+	}
+
+	/**
+	 * @param resource1 first resource
+	 * @param resource2 second resource
+	 * @return true if both resources have the same content, using the fingerprints taken on conversion
+	 */
+	public static boolean haveSameFingerprint(IBaseResource resource1, IBaseResource resource2) {
+		return getTakenFingerprint(resource1).equals(getTakenFingerprint(resource2));
+	}
+
+	private static String toHex(byte[] bytes) {
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+			hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xf];
+		}
+		return new String(hex);
+	}
+}
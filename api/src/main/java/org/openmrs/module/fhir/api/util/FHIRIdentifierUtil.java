@@ -10,6 +10,8 @@ import java.util.List;
 
 public class FHIRIdentifierUtil {
 
+	private static final char TOKEN_SEPARATOR = '|';
+
 	public static Identifier generateIdentifier(PatientIdentifier identifier) {
 		Identifier patientIdentifier = new Identifier();
 		if (identifier.isPreferred()) {
@@ -62,6 +64,23 @@ public class FHIRIdentifierUtil {
 		return oldIdentifier;
 	}
 
+	/**
+	 * @param token a token search value, either value or system|value
+	 * @return the system of the token, or null if it has none
+	 */
+	public static String getTokenSystem(String token) {
+		int separator = token.indexOf(TOKEN_SEPARATOR);
+		return separator > 0 ? token.substring(0, separator) : null;
+	}
+
+	/**
+	 * @param token a token search value, either value or system|value
+	 * @return the value of the token
+	 */
+	public static String getTokenValue(String token) {
+		return token.substring(token.indexOf(TOKEN_SEPARATOR) + 1);
+	}
+
 	private static PatientIdentifierType getPatientIdentifierType(Identifier fhirIdentifier) {
 		String identifierTypeName = fhirIdentifier.getSystem();
 		PatientIdentifierType patientIdentifierType =  Context.getPatientService().getPatientIdentifierTypeByName(identifierTypeName);
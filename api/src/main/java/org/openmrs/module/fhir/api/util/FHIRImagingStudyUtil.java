@@ -18,8 +18,10 @@ import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.Attachment;
+import org.hl7.fhir.dstu3.model.DiagnosticReport;
 import org.hl7.fhir.dstu3.model.ImagingStudy;
 import org.hl7.fhir.dstu3.model.Patient;
+import org.hl7.fhir.dstu3.model.Reference;
 import org.openmrs.Concept;
 import org.openmrs.ConceptComplex;
 import org.openmrs.Obs;
@@ -30,7 +32,9 @@ import org.openmrs.obs.ComplexData;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class FHIRImagingStudyUtil {
 
@@ -48,7 +52,7 @@ public class FHIRImagingStudyUtil {
 			started = imagingStudy.getStarted();
 		}
 		// Set `patient` as Obs Person
-		String patientId = imagingStudy.getPatient().getId();
+		String patientId = getPatientId(imagingStudy);
 		org.openmrs.Patient omrsPatient = getOpenMRSPatient(patientId);
 		// Create Obs for store `ImagingStudy`
 		Obs omrsImagingStudy = new Obs(omrsPatient, conceptImagingStudy, started, null);
@@ -84,16 +88,55 @@ public class FHIRImagingStudyUtil {
 		if (!"".equals(value)) {
 			omrsImagingStudy.setValueText(value);
 		}
-		// Set `series` as Obs group
-		ObsService obsService = Context.getObsService();
+		// Set `series` as Obs group, the series are saved along with the returned Obs
 		for (ImagingStudy.ImagingStudySeriesComponent series : imagingStudy.getSeries()) {
-			Obs omrsSeries = generateOpenMRSSeriesObs(series, omrsPatient);
-			omrsSeries = obsService.saveObs(omrsSeries, null);
-			omrsImagingStudy.addGroupMember(omrsSeries);
+			omrsImagingStudy.addGroupMember(generateOpenMRSSeriesObs(series, omrsPatient));
 		}
 		return omrsImagingStudy;
 	}
 
+	/**
+	 * Looks up, with a single search on the third party server, the subject of the report and the
+	 * patients of its imaging studies which are not in the Database yet. The following patient lookups
+	 * for this report are then answered from the cache of {@link FHIRRESTfulGenericClient}.
+	 *
+	 * @param diagnosticReport the report about to be saved
+	 */
+	public static void prefetchPatients(DiagnosticReport diagnosticReport) {
+		Set<String> patientIds = new LinkedHashSet<String>();
+		Reference subject = diagnosticReport.getSubject();
+		if (!subject.isEmpty()) {
+			patientIds.add(FHIRUtils.getObjectUuidByReference(subject));
+		}
+		for (Reference reference : diagnosticReport.getImagingStudy()) {
+			if (reference.getResource() instanceof ImagingStudy) {
+				patientIds.add(getPatientId((ImagingStudy) reference.getResource()));
+			}
+		}
+
+		Set<String> unknownPatientIds = new LinkedHashSet<String>();
+		for (String patientId : patientIds) {
+			if (patientId != null && Context.getPatientService().getPatientByUuid(patientId) == null) {
+				unknownPatientIds.add(patientId);
+			}
+		}
+		String serverBase = FHIRUtils.getDiagnosticReportRadiologyBaseServerURL();
+		if (unknownPatientIds.isEmpty() || serverBase == null || serverBase.isEmpty()) {
+			return;
+		}
+		try {
+			FHIRRESTfulGenericClient.prefetchPatients(serverBase, unknownPatientIds);
+		}
+		catch (RuntimeException e) {
+			// Only an optimization, the patients are then looked up one by one
+			log.warn("Failed to prefetch patients " + unknownPatientIds + ": " + e.getMessage());
+		}
+	}
+
+	private static String getPatientId(ImagingStudy imagingStudy) {
+		return imagingStudy.getPatient().getId();
+	}
+
 	/**
 	 * Check whether there is a Patient in the Database for given uuid. If it's existing, then retrieve it, otherwise
 	 * retrieve from third party server, save as a new Patient and return it back.
@@ -62,6 +62,7 @@ public class FHIRMedicationRequestUtil {
 		medicationRequest.setStatus(buildStatus(omrsDrugOrder));
 		medicationRequest.setIntent(MedicationRequest.MedicationRequestIntent.ORDER);
 		medicationRequest.setPriority(buildPriority(omrsDrugOrder));
+		medicationRequest.setAuthoredOn(ContextUtil.getOrderHelper().getDateActivated(omrsDrugOrder));
 		medicationRequest.setSubject(FHIRRequestUtil.buildSubject(omrsDrugOrder));
 		medicationRequest.setContext(FHIRRequestUtil.buildContext(omrsDrugOrder));
 		medicationRequest.setRequester(buildRequester(omrsDrugOrder));
@@ -175,10 +175,7 @@ public class FHIRObsUtil {
 			observation.setValue(value);
 		}
 
-		Observation.ObservationStatus status = ContextUtil.getObsHelper().getObsStatus(obs);
-		observation.setStatus(status);
-		CodeableConcept interpretation = ContextUtil.getObsHelper().getInterpretation(obs);
-		observation.setInterpretation(interpretation);
+		ContextUtil.getObsHelper().setStatusAndInterpretation(observation, obs);
 		observation.setIssued(obs.getObsDatetime());
 
 		//Set reference observations
@@ -19,62 +19,277 @@ import ca.uhn.fhir.rest.client.IGenericClient;
 import ca.uhn.fhir.rest.gclient.ICriterion;
 import ca.uhn.fhir.rest.gclient.ReferenceClientParam;
 import ca.uhn.fhir.rest.gclient.TokenClientParam;
+import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.model.DiagnosticReport;
 import org.hl7.fhir.dstu3.model.ImagingStudy;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.hl7.fhir.dstu3.model.Practitioner;
+import org.openmrs.module.fhir.api.exceptions.FHIRException;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads resources from third party FHIR servers, such as a PACS.
+ * <p>One client is kept per server and all of them share the pooled connections of the context's
+ * client factory, with bounded connect and read timeouts. Each server is guarded by a
+ * {@link CircuitBreaker}, so that an unavailable server fails requests immediately instead of
+ * holding request threads until the timeouts expire. Patient lookups, including misses, are
+ * cached, and every caller gets its own copy of a cached patient.</p>
+ */
 public class FHIRRESTfulGenericClient {
 
-	private static final FhirContext ctx = FhirContext.forDstu3();
+	private static final Log log = LogFactory.getLog(FHIRRESTfulGenericClient.class);
+
+	private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+
+	private static final int SOCKET_TIMEOUT_MILLIS = 15000;
+
+	private static final int CONNECTION_REQUEST_TIMEOUT_MILLIS = 5000;
+
+	private static final int MAX_CONNECTIONS = 20;
+
+	private static final int FAILURE_THRESHOLD = 5;
+
+	private static final long CIRCUIT_OPEN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+	private static final int MAX_CACHED_PATIENTS = 1000;
+
+	private static final long FOUND_PATIENT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+	private static final long MISSING_PATIENT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private static final TokenClientParam RESOURCE_ID = new TokenClientParam("_id");
+
+	private static final FhirContext ctx = FHIRContextFactory.getFHIRContext();
+
+	private static final ConcurrentMap<String, IGenericClient> clients = new ConcurrentHashMap<>();
+
+	private static final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+	private static final RemoteLookupCache<Patient> patientCache = new RemoteLookupCache<>(MAX_CACHED_PATIENTS,
+			FOUND_PATIENT_TTL_MILLIS, MISSING_PATIENT_TTL_MILLIS);
+
+	static {
+		ctx.getRestfulClientFactory().setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+		ctx.getRestfulClientFactory().setSocketTimeout(SOCKET_TIMEOUT_MILLIS);
+		ctx.getRestfulClientFactory().setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT_MILLIS);
+		ctx.getRestfulClientFactory().setPoolMaxTotal(MAX_CONNECTIONS);
+		ctx.getRestfulClientFactory().setPoolMaxPerRoute(MAX_CONNECTIONS);
+	}
 
 	public static Patient readPatientById(String serverBase,
-			String theID) {
-		IGenericClient client = ctx.newRestfulGenericClient(serverBase);
-		return client.read()
-				.resource(Patient.class)
-				.withId(theID)
-				.execute();
+			final String theID) {
+		RemoteLookupCache.Lookup<Patient> lookup = patientCache.get(cacheKey(serverBase, theID));
+		if (lookup != null) {
+			if (!lookup.isFound()) {
+				throw new ResourceNotFoundException("Patient " + theID + " was not found on " + serverBase);
+			}
+			return lookup.getValue().copy();
+		}
+		try {
+			Patient patient = execute(serverBase, new RemoteCall<Patient>() {
+
+				@Override
+				public Patient execute(IGenericClient client) {
+					return client.read()
+							.resource(Patient.class)
+							.withId(theID)
+							.execute();
+				}
+			});
+			patientCache.putFound(cacheKey(serverBase, theID), patient);
+			return patient.copy();
+		}
+		catch (ResourceNotFoundException e) {
+			patientCache.putMissing(cacheKey(serverBase, theID));
+			throw e;
+		}
+	}
+
+	/**
+	 * Looks up patients with a single search and caches the result, so that the following
+	 * {@link #readPatientById(String, String)} calls for these ids do not hit the server.
+	 *
+	 * @param serverBase the base URL of the server
+	 * @param ids ids of the patients, the ones already cached are skipped
+	 */
+	public static void prefetchPatients(String serverBase, Collection<String> ids) {
+		final Set<String> missingIds = new LinkedHashSet<>();
+		for (String id : ids) {
+			if (id != null && patientCache.get(cacheKey(serverBase, id)) == null) {
+				missingIds.add(id);
+			}
+		}
+		if (missingIds.isEmpty()) {
+			return;
+		}
+
+		List<Patient> patients = execute(serverBase, new RemoteCall<List<Patient>>() {
+
+			@Override
+			public List<Patient> execute(IGenericClient client) {
+				org.hl7.fhir.dstu3.model.Bundle bundle = client.search()
+						.forResource(Patient.class)
+						.where(RESOURCE_ID.exactly().codes(missingIds.toArray(new String[missingIds.size()])))
+						.count(missingIds.size())
+						.returnBundle(org.hl7.fhir.dstu3.model.Bundle.class)
+						.execute();
+				List<Patient> result = new ArrayList<>();
+				for (org.hl7.fhir.dstu3.model.Bundle.BundleEntryComponent entry : bundle.getEntry()) {
+					if (entry.getResource() instanceof Patient) {
+						result.add((Patient) entry.getResource());
+					}
+				}
+				return result;
+			}
+		});
+		for (Patient patient : patients) {
+			String id = patient.getIdElement().getIdPart();
+			patientCache.putFound(cacheKey(serverBase, id), patient);
+			missingIds.remove(id);
+		}
+		for (String id : missingIds) {
+			patientCache.putMissing(cacheKey(serverBase, id));
+		}
 	}
 
 	public static Practitioner readPractitionerById(String serverBase,
-			String theID) {
-		IGenericClient client = ctx.newRestfulGenericClient(serverBase);
-		return client.read()
-				.resource(Practitioner.class)
-				.withId(theID)
-				.execute();
+			final String theID) {
+		return execute(serverBase, new RemoteCall<Practitioner>() {
+
+			@Override
+			public Practitioner execute(IGenericClient client) {
+				return client.read()
+						.resource(Practitioner.class)
+						.withId(theID)
+						.execute();
+			}
+		});
 	}
 
 	public static ImagingStudy readImagingStudyById(String serverBase,
-			String theID) {
-		IGenericClient client = ctx.newRestfulGenericClient(serverBase);
-		return client.read()
-				.resource(ImagingStudy.class)
-				.withId(theID)
-				.execute();
+			final String theID) {
+		return execute(serverBase, new RemoteCall<ImagingStudy>() {
+
+			@Override
+			public ImagingStudy execute(IGenericClient client) {
+				return client.read()
+						.resource(ImagingStudy.class)
+						.withId(theID)
+						.execute();
+			}
+		});
 	}
 
 	public static Bundle searchWhereReferenceAndToken(String serverBase,
-			Class<DiagnosticReport> fhirResource,
-			ICriterion<ReferenceClientParam> where,
-			ICriterion<TokenClientParam> and) {
-		IGenericClient client = ctx.newRestfulGenericClient(serverBase);
-		return client.search()
-				.forResource(fhirResource)
-				.where(where)
-				.and(and)
-				.execute();
+			final Class<DiagnosticReport> fhirResource,
+			final ICriterion<ReferenceClientParam> where,
+			final ICriterion<TokenClientParam> and) {
+		return execute(serverBase, new RemoteCall<Bundle>() {
+
+			@Override
+			public Bundle execute(IGenericClient client) {
+				return client.search()
+						.forResource(fhirResource)
+						.where(where)
+						.and(and)
+						.execute();
+			}
+		});
 	}
 
 	public static Bundle searchWhereReference(String serverBase,
-			Class<DiagnosticReport> fhirResource,
-			ICriterion<ReferenceClientParam> where) {
-		IGenericClient client = ctx.newRestfulGenericClient(serverBase);
-		return (Bundle) client.search()
-				.forResource(fhirResource)
-				.where(where)
-				.execute();
+			final Class<DiagnosticReport> fhirResource,
+			final ICriterion<ReferenceClientParam> where) {
+		return execute(serverBase, new RemoteCall<Bundle>() {
+
+			@Override
+			public Bundle execute(IGenericClient client) {
+				return (Bundle) client.search()
+						.forResource(fhirResource)
+						.where(where)
+						.execute();
+			}
+		});
 	}
 
+	/**
+	 * Drops the cached patient lookups, e.g. after the server configuration changed
+	 */
+	public static void clearCache() {
+		patientCache.clear();
+	}
+
+	private static <T> T execute(String serverBase, RemoteCall<T> call) {
+		CircuitBreaker circuitBreaker = getCircuitBreaker(serverBase);
+		if (!circuitBreaker.allowRequest()) {
+			throw new FHIRException("Server " + serverBase + " is unavailable, not retrying for "
+					+ TimeUnit.MILLISECONDS.toSeconds(CIRCUIT_OPEN_MILLIS) + " seconds");
+		}
+		try {
+			T result = call.execute(getClient(serverBase));
+			circuitBreaker.recordSuccess();
+			return result;
+		}
+		catch (BaseServerResponseException e) {
+			// The server answered, only server errors count as failures
+			if (e.getStatusCode() >= 500) {
+				circuitBreaker.recordFailure();
+			} else {
+				circuitBreaker.recordSuccess();
+			}
+			throw e;
+		}
+		catch (RuntimeException e) {
+			circuitBreaker.recordFailure();
+			if (circuitBreaker.isOpen()) {
+				log.warn("Server " + serverBase + " is unavailable: " + e.getMessage());
+			}
+			throw e;
+		}
+	}
+
+	private static IGenericClient getClient(String serverBase) {
+		IGenericClient client = clients.get(serverBase);
+		if (client == null) {
+			IGenericClient newClient = ctx.newRestfulGenericClient(serverBase);
+			client = clients.putIfAbsent(serverBase, newClient);
+			if (client == null) {
+				client = newClient;
+			}
+		}
+		return client;
+	}
+
+	private static CircuitBreaker getCircuitBreaker(String serverBase) {
+		CircuitBreaker circuitBreaker = circuitBreakers.get(serverBase);
+		if (circuitBreaker == null) {
+			CircuitBreaker newCircuitBreaker = new CircuitBreaker(FAILURE_THRESHOLD, CIRCUIT_OPEN_MILLIS);
+			circuitBreaker = circuitBreakers.putIfAbsent(serverBase, newCircuitBreaker);
+			if (circuitBreaker == null) {
+				circuitBreaker = newCircuitBreaker;
+			}
+		}
+		return circuitBreaker;
+	}
+
+	private static String cacheKey(String serverBase, String id) {
+		return serverBase + "|" + id;
+	}
+
+	private interface RemoteCall<T> {
+
+		T execute(IGenericClient client);
+	}
 }
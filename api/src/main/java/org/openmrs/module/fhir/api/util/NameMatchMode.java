@@ -0,0 +1,50 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.util;
+
+/**
+ * How a name search value is matched against the stored name parts, following the FHIR string search
+ * modifiers.
+ *
+ * @since 1.20.0
+ */
+public enum NameMatchMode {
+
+	/**
+	 * Case insensitive match of the start of the name part, the FHIR default
+	 */
+	STARTS_WITH,
+
+	/**
+	 * Match of the whole name part, the :exact modifier
+	 */
+	EXACT,
+
+	/**
+	 * Case insensitive match anywhere in the name part, the :contains modifier
+	 */
+	CONTAINS;
+
+	/**
+	 * @param exact    true if the search has the :exact modifier
+	 * @param contains true if the search has the :contains modifier
+	 * @return the match mode of the search
+	 */
+	public static NameMatchMode valueOf(boolean exact, boolean contains) {
+		if (exact) {
+			return EXACT;
+		}
+		return contains ? CONTAINS : STARTS_WITH;
+	}
+}
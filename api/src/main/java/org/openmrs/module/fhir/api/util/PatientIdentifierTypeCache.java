@@ -0,0 +1,99 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.util;
+
+import org.openmrs.PatientIdentifierType;
+import org.openmrs.api.PatientService;
+import org.openmrs.api.context.Context;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves FHIR identifier systems to patient identifier types without a query per lookup. A system is
+ * the name of an identifier type, as written by {@link FHIRIdentifierUtil}, or its uuid.
+ * <p>The map holds type ids rather than the types themselves, so that nothing is kept attached to a
+ * closed session. It is loaded again once it is older than {@link #TIME_TO_LIVE_MILLIS}. A miss is
+ * checked against the database, and loads the map again if the type turns out to be new.</p>
+ */
+public final class PatientIdentifierTypeCache {
+
+	private static final long TIME_TO_LIVE_MILLIS = 5 * 60 * 1000;
+
+	private static volatile Map<String, Integer> identifierTypeIds;
+
+	private static volatile long loadedAt;
+
+	private PatientIdentifierTypeCache() {
+	}
+
+	/**
+	 * @param system the name or uuid of an identifier type
+	 * @return the id of the identifier type, or null if there is no such type
+	 */
+	public static Integer getIdentifierTypeId(String system) {
+		if (system == null) {
+			return null;
+		}
+		long now = System.currentTimeMillis();
+		Map<String, Integer> ids = identifierTypeIds;
+		if (ids == null || now - loadedAt > TIME_TO_LIVE_MILLIS) {
+			ids = load(now);
+		}
+		Integer id = ids.get(system);
+		if (id == null) {
+			PatientService patientService = Context.getPatientService();
+			PatientIdentifierType type = patientService.getPatientIdentifierTypeByName(system);
+			if (type == null) {
+				type = patientService.getPatientIdentifierTypeByUuid(system);
+			}
+			if (type != null) {
+				load(now);
+				id = type.getPatientIdentifierTypeId();
+			}
+		}
+		return id;
+	}
+
+	/**
+	 * Drops the map, so that it is loaded again on the next lookup
+	 */
+	public static void invalidate() {
+		identifierTypeIds = null;
+	}
+
+	private static synchronized Map<String, Integer> load(long now) {
+		List<PatientIdentifierType> types = Context.getPatientService().getAllPatientIdentifierTypes(true);
+		Map<String, Integer> ids = new HashMap<>();
+		for (PatientIdentifierType type : types) {
+			ids.put(type.getUuid(), type.getPatientIdentifierTypeId());
+		}
+		//Names win over uuids, and unretired types over retired ones with the same name
+		for (PatientIdentifierType type : types) {
+			if (type.isRetired()) {
+				ids.put(type.getName(), type.getPatientIdentifierTypeId());
+			}
+		}
+		for (PatientIdentifierType type : types) {
+			if (!type.isRetired()) {
+				ids.put(type.getName(), type.getPatientIdentifierTypeId());
+			}
+		}
+		identifierTypeIds = Collections.unmodifiableMap(ids);
+		loadedAt = now;
+		return identifierTypeIds;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.api.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least recently used cache of lookups against a remote server. Both found values and
+ * misses are cached, each with their own time to live, so that repeated lookups of an unknown id
+ * do not hit the remote server either.
+ *
+ * @since 1.20.0
+ */
+public class RemoteLookupCache<V> {
+
+	private final int maxEntries;
+
+	private final long foundTtlMillis;
+
+	private final long missingTtlMillis;
+
+	private final Map<String, Lookup<V>> entries;
+
+	/**
+	 * @param maxEntries the maximum number of cached lookups
+	 * @param foundTtlMillis how long a found value is cached
+	 * @param missingTtlMillis how long a miss is cached
+	 */
+	public RemoteLookupCache(final int maxEntries, long foundTtlMillis, long missingTtlMillis) {
+		this.maxEntries = maxEntries;
+		this.foundTtlMillis = foundTtlMillis;
+		this.missingTtlMillis = missingTtlMillis;
+		this.entries = new LinkedHashMap<String, Lookup<V>>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Lookup<V>> eldest) {
+				return size() > RemoteLookupCache.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * @param key the looked up id
+	 * @return the cached lookup, or null if the id was not looked up recently
+	 */
+	public synchronized Lookup<V> get(String key) {
+		Lookup<V> lookup = entries.get(key);
+		if (lookup != null && lookup.expiresAt < System.currentTimeMillis()) {
+			entries.remove(key);
+			return null;
+		}
+		return lookup;
+	}
+
+	public synchronized void putFound(String key, V value) {
+		entries.put(key, new Lookup<>(value, System.currentTimeMillis() + foundTtlMillis));
+	}
+
+	public synchronized void putMissing(String key) {
+		entries.put(key, new Lookup<V>(null, System.currentTimeMillis() + missingTtlMillis));
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public static class Lookup<V> {
+
+		private final V value;
+
+		private final long expiresAt;
+
+		private Lookup(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+
+		/**
+		 * @return the found value, or null if the remote server did not have it
+		 */
+		public V getValue() {
+			return value;
+		}
+
+		public boolean isFound() {
+			return value != null;
+		}
+	}
+}
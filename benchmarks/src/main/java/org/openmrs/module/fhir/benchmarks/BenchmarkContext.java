@@ -0,0 +1,75 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks;
+
+import org.openmrs.test.BaseModuleContextSensitiveTest;
+import org.springframework.test.context.TestContextManager;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.lang.reflect.Method;
+
+/**
+ * Boots the in-memory H2 OpenMRS context used by the module tests outside of JUnit, so that JMH
+ * states can run the converters against real Hibernate entities.
+ * <p>The Spring test lifecycle is driven by hand: the context is loaded once, a transaction is opened
+ * for the duration of the trial and rolled back on {@link #stop()}.</p>
+ */
+public class BenchmarkContext extends BaseModuleContextSensitiveTest {
+
+	private TestContextManager testContextManager;
+
+	private Method lifecycleMethod;
+
+	/**
+	 * Loads the application context, the standard test dataset and the given additional datasets.
+	 *
+	 * @param dataSets classpath locations of extra datasets to execute
+	 * @throws Exception if the context or any dataset cannot be loaded
+	 */
+	public void start(String... dataSets) throws Exception {
+		testContextManager = new TestContextManager(getClass());
+		lifecycleMethod = BenchmarkContext.class.getMethod("start", String[].class);
+		testContextManager.prepareTestInstance(this);
+		testContextManager.beforeTestMethod(this, lifecycleMethod);
+
+		baseSetupWithStandardDataAndAuthentication();
+		for (String dataSet : dataSets) {
+			executeDataSet(dataSet);
+		}
+		updateSearchIndex();
+	}
+
+	/**
+	 * Commits the data loaded so far and opens a new transaction, so that the data is visible to
+	 * other threads using their own connections to the in-memory database.
+	 */
+	public void commit() {
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		TestTransaction.start();
+	}
+
+	/**
+	 * Rolls back the trial transaction and closes the application context.
+	 *
+	 * @throws Exception if the Spring test lifecycle fails
+	 */
+	public void stop() throws Exception {
+		if (testContextManager != null) {
+			testContextManager.afterTestMethod(this, lifecycleMethod, null);
+			testContextManager.afterTestClass();
+			testContextManager = null;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the module benchmarks and reports throughput in operations per second together with the
+ * allocation rate collected by the GC profiler.
+ * <p>The first argument is a regular expression selecting the benchmarks to run, all of them by default.</p>
+ */
+public class BenchmarkRunner {
+
+	private static final int WARMUP_ITERATIONS = 5;
+
+	private static final int MEASUREMENT_ITERATIONS = 10;
+
+	private static final int FORKS = 1;
+
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : ".*";
+		Options options = new OptionsBuilder()
+				.include(include)
+				.mode(Mode.Throughput)
+				.timeUnit(TimeUnit.SECONDS)
+				.warmupIterations(WARMUP_ITERATIONS)
+				.measurementIterations(MEASUREMENT_ITERATIONS)
+				.forks(FORKS)
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks;
+
+import org.hl7.fhir.dstu3.model.Encounter;
+import org.hl7.fhir.dstu3.model.MedicationRequest;
+import org.hl7.fhir.dstu3.model.Observation;
+import org.hl7.fhir.dstu3.model.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openmrs.DrugOrder;
+import org.openmrs.Obs;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.util.FHIREncounterUtil;
+import org.openmrs.module.fhir.api.util.FHIRMedicationRequestUtil;
+import org.openmrs.module.fhir.api.util.FHIRObsUtil;
+import org.openmrs.module.fhir.api.util.FHIRPatientUtil;
+
+import java.util.ArrayList;
+
+/**
+ * Measures the OpenMRS to FHIR and FHIR to OpenMRS converters for the resources the sync and the
+ * REST server touch most often, using entities from the OpenMRS standard test dataset.
+ */
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+	private static final int ENCOUNTER_ID = 3;
+
+	private static final int DRUG_ORDER_ID = 1;
+
+	private BenchmarkContext context;
+
+	private Obs omrsObs;
+
+	private org.openmrs.Patient omrsPatient;
+
+	private org.openmrs.Encounter omrsEncounter;
+
+	private DrugOrder omrsDrugOrder;
+
+	private Observation fhirObservation;
+
+	private Patient fhirPatient;
+
+	private Encounter fhirEncounter;
+
+	private MedicationRequest fhirMedicationRequest;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = new BenchmarkContext();
+		context.start();
+
+		omrsEncounter = Context.getEncounterService().getEncounter(ENCOUNTER_ID);
+		omrsObs = omrsEncounter.getObsAtTopLevel(false).iterator().next();
+		omrsPatient = omrsEncounter.getPatient();
+		omrsDrugOrder = (DrugOrder) Context.getOrderService().getOrder(DRUG_ORDER_ID);
+
+		fhirObservation = FHIRObsUtil.generateObs(omrsObs);
+		fhirPatient = FHIRPatientUtil.generatePatient(omrsPatient);
+		fhirEncounter = FHIREncounterUtil.generateEncounter(omrsEncounter);
+		fhirMedicationRequest = FHIRMedicationRequestUtil.generateMedicationRequest(omrsDrugOrder);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		context.stop();
+	}
+
+	@Benchmark
+	public Observation obsToFhir() {
+		return FHIRObsUtil.generateObs(omrsObs);
+	}
+
+	@Benchmark
+	public Patient patientToFhir() {
+		return FHIRPatientUtil.generatePatient(omrsPatient);
+	}
+
+	@Benchmark
+	public Encounter encounterToFhir() {
+		return FHIREncounterUtil.generateEncounter(omrsEncounter);
+	}
+
+	@Benchmark
+	public MedicationRequest drugOrderToFhir() {
+		return FHIRMedicationRequestUtil.generateMedicationRequest(omrsDrugOrder);
+	}
+
+	@Benchmark
+	public Obs observationToOpenmrs() {
+		return FHIRObsUtil.generateOpenMRSObs(fhirObservation, new ArrayList<String>());
+	}
+
+	@Benchmark
+	public org.openmrs.Patient patientToOpenmrs() {
+		return FHIRPatientUtil.generateOmrsPatient(fhirPatient, new ArrayList<String>());
+	}
+
+	@Benchmark
+	public org.openmrs.Encounter encounterToOpenmrs() {
+		return FHIREncounterUtil.generateOMRSEncounter(fhirEncounter, new ArrayList<String>());
+	}
+
+	@Benchmark
+	public DrugOrder medicationRequestToOpenmrs() {
+		return FHIRMedicationRequestUtil.generateDrugOrder(fhirMedicationRequest, new ArrayList<String>());
+	}
+}
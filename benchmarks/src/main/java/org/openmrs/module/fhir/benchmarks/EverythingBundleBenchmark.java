@@ -0,0 +1,59 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks;
+
+import org.hl7.fhir.dstu3.model.Bundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.PatientService;
+
+/**
+ * Measures assembly of the Patient $everything bundle for the standard dataset patient with the most
+ * encounters, obs and orders attached.
+ */
+@State(Scope.Benchmark)
+public class EverythingBundleBenchmark {
+
+	private static final int PATIENT_ID = 7;
+
+	private BenchmarkContext context;
+
+	private PatientService patientService;
+
+	private String patientUuid;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = new BenchmarkContext();
+		context.start();
+
+		patientService = Context.getService(PatientService.class);
+		patientUuid = Context.getPatientService().getPatient(PATIENT_ID).getUuid();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		context.stop();
+	}
+
+	@Benchmark
+	public Bundle everything() {
+		return patientService.getPatientOperationsById(patientUuid);
+	}
+}
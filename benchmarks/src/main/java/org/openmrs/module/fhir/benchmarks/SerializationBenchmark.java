@@ -0,0 +1,170 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.IParser;
+import org.hl7.fhir.dstu3.model.Address;
+import org.hl7.fhir.dstu3.model.CodeableConcept;
+import org.hl7.fhir.dstu3.model.Enumerations;
+import org.hl7.fhir.dstu3.model.HumanName;
+import org.hl7.fhir.dstu3.model.Identifier;
+import org.hl7.fhir.dstu3.model.Observation;
+import org.hl7.fhir.dstu3.model.Patient;
+import org.hl7.fhir.dstu3.model.Quantity;
+import org.hl7.fhir.dstu3.model.Reference;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openmrs.module.fhir.api.client.FHIRHttpMessageConverter;
+import org.openmrs.module.fhir.api.helper.FHIRClientHelper;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Measures JSON and XML parsing and encoding of Patient and Observation resources through the paths
+ * the module uses: the sync {@link FHIRHttpMessageConverter}, the {@link FHIRClientHelper} and the
+ * HAPI XML parser used by the REST server. The fixtures are built in code so no OpenMRS context is
+ * required.
+ */
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+	private static final MediaType FHIR_JSON = MediaType.valueOf("application/fhir+json");
+
+	private FHIRHttpMessageConverter converter;
+
+	private FHIRClientHelper clientHelper;
+
+	private IParser xmlParser;
+
+	private Patient patient;
+
+	private Observation observation;
+
+	private byte[] patientJson;
+
+	private byte[] observationJson;
+
+	private String patientXml;
+
+	private String observationXml;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		converter = new FHIRHttpMessageConverter();
+		clientHelper = new FHIRClientHelper();
+		FhirContext fhirContext = FhirContext.forDstu3();
+		xmlParser = fhirContext.newXmlParser();
+		IParser jsonParser = fhirContext.newJsonParser();
+
+		patient = buildPatient();
+		observation = buildObservation();
+		patientJson = jsonParser.encodeResourceToString(patient).getBytes(StandardCharsets.UTF_8);
+		observationJson = jsonParser.encodeResourceToString(observation).getBytes(StandardCharsets.UTF_8);
+		patientXml = xmlParser.encodeResourceToString(patient);
+		observationXml = xmlParser.encodeResourceToString(observation);
+	}
+
+	@Benchmark
+	public IBaseResource converterReadPatient() throws IOException {
+		return converter.read(Patient.class, new MockHttpInputMessage(patientJson));
+	}
+
+	@Benchmark
+	public IBaseResource converterReadObservation() throws IOException {
+		return converter.read(Observation.class, new MockHttpInputMessage(observationJson));
+	}
+
+	@Benchmark
+	public MockHttpOutputMessage converterWritePatient() throws IOException {
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		converter.write(patient, FHIR_JSON, outputMessage);
+		return outputMessage;
+	}
+
+	@Benchmark
+	public MockHttpOutputMessage converterWriteObservation() throws IOException {
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		converter.write(observation, FHIR_JSON, outputMessage);
+		return outputMessage;
+	}
+
+	@Benchmark
+	public Object clientHelperParseObservation() {
+		return clientHelper.convertToObject(new String(observationJson, StandardCharsets.UTF_8), Observation.class);
+	}
+
+	@Benchmark
+	public String clientHelperEncodeObservation() {
+		return clientHelper.convertToFormattedData(observation);
+	}
+
+	@Benchmark
+	public IBaseResource xmlParsePatient() {
+		return xmlParser.parseResource(patientXml);
+	}
+
+	@Benchmark
+	public IBaseResource xmlParseObservation() {
+		return xmlParser.parseResource(observationXml);
+	}
+
+	@Benchmark
+	public String xmlEncodePatient() {
+		return xmlParser.encodeResourceToString(patient);
+	}
+
+	@Benchmark
+	public String xmlEncodeObservation() {
+		return xmlParser.encodeResourceToString(observation);
+	}
+
+	private static Patient buildPatient() {
+		Patient patient = new Patient();
+		patient.setId("da7f524f-27ce-4bb2-86d6-6d1d05312bd5");
+		patient.addIdentifier(new Identifier().setSystem("OpenMRS ID").setValue("101-6").setUse(Identifier.IdentifierUse
+				.OFFICIAL));
+		patient.addName(new HumanName().setFamily("Doe").addGiven("John").addGiven("Henry")
+				.setUse(HumanName.NameUse.OFFICIAL));
+		patient.addAddress(new Address().addLine("1050 Wishard Blvd.").setCity("Indianapolis").setState("Indiana")
+				.setPostalCode("46202").setCountry("USA"));
+		patient.setGender(Enumerations.AdministrativeGender.MALE);
+		patient.setBirthDate(new Date(0));
+		patient.setActive(true);
+		return patient;
+	}
+
+	private static Observation buildObservation() {
+		Observation observation = new Observation();
+		observation.setId("be3a4d7a-f9ab-47bb-aaad-bc0b452fcda4");
+		observation.setStatus(Observation.ObservationStatus.FINAL);
+		CodeableConcept code = new CodeableConcept();
+		code.addCoding().setSystem("http://loinc.org").setCode("5089").setDisplay("WEIGHT (KG)");
+		observation.setCode(code);
+		observation.setSubject(new Reference("Patient/da7f524f-27ce-4bb2-86d6-6d1d05312bd5"));
+		observation.setContext(new Reference("Encounter/430bbb70-6a9c-4e1e-badb-9d1034b1b5e9"));
+		observation.setValue(new Quantity().setValue(61).setUnit("kg"));
+		observation.setIssued(new Date(0));
+		return observation;
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks.load;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency distribution of one endpoint over one load run.
+ */
+public class EndpointReport {
+
+	public static final String HEADER = String.format("%-32s %8s %7s %10s %9s %9s %9s %9s %9s",
+			"endpoint", "requests", "errors", "req/s", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms");
+
+	private final LoadEndpoint endpoint;
+
+	private final long[] latenciesNanos;
+
+	private final int errors;
+
+	private final long elapsedNanos;
+
+	/**
+	 * @param endpoint the endpoint that was exercised
+	 * @param latenciesNanos the latency of every request, this array is sorted in place
+	 * @param errors the number of requests answered with an error status or failed with an exception
+	 * @param elapsedNanos the wall-clock duration of the run
+	 */
+	public EndpointReport(LoadEndpoint endpoint, long[] latenciesNanos, int errors, long elapsedNanos) {
+		Arrays.sort(latenciesNanos);
+		this.endpoint = endpoint;
+		this.latenciesNanos = latenciesNanos;
+		this.errors = errors;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public double getThroughput() {
+		return latenciesNanos.length / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+	}
+
+	public double getMeanMillis() {
+		long total = 0;
+		for (long latency : latenciesNanos) {
+			total += latency;
+		}
+		return toMillis(latenciesNanos.length == 0 ? 0 : total / latenciesNanos.length);
+	}
+
+	/**
+	 * @param percentile between 0 and 100
+	 * @return the latency below which the given percentage of requests completed
+	 */
+	public double getPercentileMillis(double percentile) {
+		if (latenciesNanos.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile / 100 * latenciesNanos.length) - 1;
+		return toMillis(latenciesNanos[Math.max(0, Math.min(index, latenciesNanos.length - 1))]);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%-32s %8d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f", endpoint, latenciesNanos.length,
+				errors, getThroughput(), getMeanMillis(), getPercentileMillis(50), getPercentileMillis(95),
+				getPercentileMillis(99), getPercentileMillis(100));
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks.load;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.server.FHIRRESTServer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.orm.hibernate4.SessionFactoryUtils;
+import org.springframework.orm.hibernate4.SessionHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+
+/**
+ * Issues requests against an in-process {@link FHIRRESTServer}, without a servlet container.
+ * <p>Each request runs the way the web application runs it: a Hibernate session is bound to the
+ * calling thread for the duration of the request, as the OpenMRS open-session-in-view filter does.
+ * The calling thread must have an authenticated OpenMRS user context.</p>
+ */
+public class FHIRServerClient {
+
+	private static final String CONTEXT_PATH = "/openmrs";
+
+	private static final String SERVLET_PATH = "/ms";
+
+	private static final String MODULE_SERVLET_PREFIX = "/fhir/fhirServelet";
+
+	private static final String FHIR_JSON = "application/fhir+json";
+
+	private static final String ENCODING = "UTF-8";
+
+	private final MockServletContext servletContext;
+
+	private final FHIRRESTServer server;
+
+	private final SessionFactory sessionFactory;
+
+	public FHIRServerClient() throws ServletException {
+		servletContext = new MockServletContext();
+		servletContext.setContextPath(CONTEXT_PATH);
+		server = new FHIRRESTServer();
+		server.init(new MockServletConfig(servletContext, "fhirServelet"));
+		sessionFactory = Context.getRegisteredComponent("sessionFactory", SessionFactory.class);
+	}
+
+	/**
+	 * @param request the path and query relative to the FHIR servlet, as built by {@link LoadEndpoint}
+	 * @return the HTTP status of the response
+	 */
+	public int get(String request) throws ServletException, IOException {
+		MockHttpServletRequest servletRequest = buildRequest(request);
+		MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+		Session session = sessionFactory.openSession();
+		TransactionSynchronizationManager.bindResource(sessionFactory, new SessionHolder(session));
+		try {
+			server.service(servletRequest, servletResponse);
+		}
+		finally {
+			TransactionSynchronizationManager.unbindResource(sessionFactory);
+			SessionFactoryUtils.closeSession(session);
+		}
+		return servletResponse.getStatus();
+	}
+
+	public void destroy() {
+		server.destroy();
+	}
+
+	private MockHttpServletRequest buildRequest(String request) throws UnsupportedEncodingException {
+		int queryStart = request.indexOf('?');
+		String path = queryStart < 0 ? request : request.substring(0, queryStart);
+
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest(servletContext, "GET",
+				CONTEXT_PATH + SERVLET_PATH + MODULE_SERVLET_PREFIX + path);
+		servletRequest.setContextPath(CONTEXT_PATH);
+		servletRequest.setServletPath(SERVLET_PATH);
+		servletRequest.addHeader("Accept", FHIR_JSON);
+
+		if (queryStart >= 0) {
+			String query = request.substring(queryStart + 1);
+			servletRequest.setQueryString(query);
+			for (String parameter : query.split("&")) {
+				int separator = parameter.indexOf('=');
+				if (separator > 0) {
+					servletRequest.addParameter(URLDecoder.decode(parameter.substring(0, separator), ENCODING),
+							URLDecoder.decode(parameter.substring(separator + 1), ENCODING));
+				}
+			}
+		}
+		return servletRequest;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks.load;
+
+/**
+ * The requests issued by the load test. Each endpoint builds the path and query of its n-th request
+ * from the synthetic population, relative to the FHIR servlet.
+ */
+public enum LoadEndpoint {
+
+	PATIENT_READ {
+		@Override
+		public String getRequest(SyntheticPopulation population, int index) {
+			return "/Patient/" + population.getPatientUuid(index);
+		}
+	},
+
+	PATIENT_SEARCH_BY_NAME {
+		@Override
+		public String getRequest(SyntheticPopulation population, int index) {
+			return "/Patient?name=" + population.getFamilyName(index);
+		}
+	},
+
+	PATIENT_SEARCH_BY_GIVEN {
+		@Override
+		public String getRequest(SyntheticPopulation population, int index) {
+			return "/Patient?given=" + population.getGivenName(index);
+		}
+	},
+
+	PATIENT_SEARCH_BY_FAMILY {
+		@Override
+		public String getRequest(SyntheticPopulation population, int index) {
+			return "/Patient?family=" + population.getFamilyName(index);
+		}
+	},
+
+	PATIENT_SEARCH_BY_IDENTIFIER {
+		@Override
+		public String getRequest(SyntheticPopulation population, int index) {
+			return "/Patient?identifier=" + population.getIdentifier(index);
+		}
+	},
+
+	PATIENT_EVERYTHING {
+		@Override
+		public String getRequest(SyntheticPopulation population, int index) {
+			return "/Patient/" + population.getPatientUuid(index) + "/$everything";
+		}
+	},
+
+	ENCOUNTER_READ {
+		@Override
+		public String getRequest(SyntheticPopulation population, int index) {
+			return "/Encounter/" + population.getEncounterUuid(index);
+		}
+	},
+
+	OBSERVATION_READ {
+		@Override
+		public String getRequest(SyntheticPopulation population, int index) {
+			return "/Observation/" + population.getObsUuid(index);
+		}
+	},
+
+	OBSERVATION_SEARCH_BY_SUBJECT {
+		@Override
+		public String getRequest(SyntheticPopulation population, int index) {
+			return "/Observation?subject=Patient/" + population.getPatientUuid(index);
+		}
+	};
+
+	/**
+	 * @param population the data the request should hit
+	 * @param index the sequence number of the request within the run
+	 * @return the request path and query, relative to the FHIR servlet
+	 */
+	public abstract String getRequest(SyntheticPopulation population, int index);
+}
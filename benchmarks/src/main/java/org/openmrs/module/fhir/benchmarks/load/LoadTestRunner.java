@@ -0,0 +1,164 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks.load;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.benchmarks.BenchmarkContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the module against the in-memory database, seeds it with a synthetic population and drives
+ * every {@link LoadEndpoint} through {@link org.openmrs.module.fhir.server.FHIRRESTServer} with
+ * concurrent clients, then prints throughput and latency per endpoint.
+ * <p>Configured through system properties: {@code load.patients}, {@code load.encountersPerPatient},
+ * {@code load.obsPerEncounter}, {@code load.clients}, {@code load.requests} (per endpoint) and
+ * {@code load.seed}.</p>
+ */
+public class LoadTestRunner {
+
+	private static final Log log = LogFactory.getLog(LoadTestRunner.class);
+
+	private static final String[] DATA_SETS = { "Concept_customTestData.xml", "DrugOrders_customTestData.xml" };
+
+	private static final String USERNAME = "admin";
+
+	private static final String PASSWORD = "test";
+
+	private static final int WARMUP_DIVISOR = 5;
+
+	private final int clients;
+
+	private final int requests;
+
+	private final SyntheticPopulation population;
+
+	private final FHIRServerClient client;
+
+	public LoadTestRunner(int clients, int requests, SyntheticPopulation population, FHIRServerClient client) {
+		this.clients = clients;
+		this.requests = requests;
+		this.population = population;
+		this.client = client;
+	}
+
+	public static void main(String[] args) throws Exception {
+		int patients = Integer.getInteger("load.patients", 200);
+		int encountersPerPatient = Integer.getInteger("load.encountersPerPatient", 3);
+		int obsPerEncounter = Integer.getInteger("load.obsPerEncounter", 5);
+		int clients = Integer.getInteger("load.clients", 8);
+		int requests = Integer.getInteger("load.requests", 500);
+		long seed = Long.getLong("load.seed", 42L);
+
+		BenchmarkContext context = new BenchmarkContext();
+		context.start(DATA_SETS);
+		FHIRServerClient client = null;
+		try {
+			SyntheticPopulation population = new SyntheticPopulationGenerator(patients, encountersPerPatient,
+					obsPerEncounter, seed).generate();
+			context.commit();
+			Context.updateSearchIndex();
+			log.info("Generated " + population.getPatientCount() + " patients, " + population.getEncounterCount()
+					+ " encounters and " + population.getObsCount() + " obs");
+
+			client = new FHIRServerClient();
+			List<EndpointReport> reports = new LoadTestRunner(clients, requests, population, client).run();
+
+			System.out.println(clients + " clients, " + requests + " requests per endpoint");
+			System.out.println(EndpointReport.HEADER);
+			for (EndpointReport report : reports) {
+				System.out.println(report);
+			}
+		}
+		finally {
+			if (client != null) {
+				client.destroy();
+			}
+			context.stop();
+			System.exit(0);
+		}
+	}
+
+	/**
+	 * Runs every endpoint in turn, each after a warm-up run whose results are discarded.
+	 */
+	public List<EndpointReport> run() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		try {
+			List<EndpointReport> reports = new ArrayList<EndpointReport>();
+			for (LoadEndpoint endpoint : LoadEndpoint.values()) {
+				run(executor, endpoint, Math.max(1, requests / WARMUP_DIVISOR));
+				reports.add(run(executor, endpoint, requests));
+			}
+			return reports;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private EndpointReport run(ExecutorService executor, final LoadEndpoint endpoint, final int requestCount)
+			throws Exception {
+		final long[] latencies = new long[requestCount];
+		final AtomicInteger next = new AtomicInteger();
+		final AtomicInteger errors = new AtomicInteger();
+
+		List<Callable<Void>> workers = new ArrayList<Callable<Void>>();
+		for (int i = 0; i < clients; i++) {
+			workers.add(new Callable<Void>() {
+
+				@Override
+				public Void call() throws Exception {
+					Context.openSession();
+					try {
+						Context.authenticate(USERNAME, PASSWORD);
+						int index;
+						while ((index = next.getAndIncrement()) < requestCount) {
+							String request = endpoint.getRequest(population, index);
+							long start = System.nanoTime();
+							try {
+								if (client.get(request) >= 400) {
+									errors.incrementAndGet();
+								}
+							}
+							catch (Exception e) {
+								errors.incrementAndGet();
+								log.debug("Request " + request + " failed", e);
+							}
+							latencies[index] = System.nanoTime() - start;
+						}
+					}
+					finally {
+						Context.closeSession();
+					}
+					return null;
+				}
+			});
+		}
+
+		long start = System.nanoTime();
+		for (Future<Void> result : executor.invokeAll(workers)) {
+			result.get();
+		}
+		return new EndpointReport(endpoint, latencies, errors.get(), System.nanoTime() - start);
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The keys of the data created by {@link SyntheticPopulationGenerator}, used to build requests that
+ * hit existing resources.
+ */
+public class SyntheticPopulation {
+
+	private final List<String> patientUuids = new ArrayList<String>();
+
+	private final List<String> identifiers = new ArrayList<String>();
+
+	private final List<String> givenNames = new ArrayList<String>();
+
+	private final List<String> familyNames = new ArrayList<String>();
+
+	private final List<String> encounterUuids = new ArrayList<String>();
+
+	private final List<String> obsUuids = new ArrayList<String>();
+
+	public void addPatient(String uuid, String identifier, String givenName, String familyName) {
+		patientUuids.add(uuid);
+		identifiers.add(identifier);
+		givenNames.add(givenName);
+		familyNames.add(familyName);
+	}
+
+	public void addEncounter(String uuid) {
+		encounterUuids.add(uuid);
+	}
+
+	public void addObs(String uuid) {
+		obsUuids.add(uuid);
+	}
+
+	public int getPatientCount() {
+		return patientUuids.size();
+	}
+
+	public int getEncounterCount() {
+		return encounterUuids.size();
+	}
+
+	public int getObsCount() {
+		return obsUuids.size();
+	}
+
+	public String getPatientUuid(int index) {
+		return patientUuids.get(index % patientUuids.size());
+	}
+
+	public String getIdentifier(int index) {
+		return identifiers.get(index % identifiers.size());
+	}
+
+	public String getGivenName(int index) {
+		return givenNames.get(index % givenNames.size());
+	}
+
+	public String getFamilyName(int index) {
+		return familyNames.get(index % familyNames.size());
+	}
+
+	public String getEncounterUuid(int index) {
+		return encounterUuids.get(index % encounterUuids.size());
+	}
+
+	public String getObsUuid(int index) {
+		return obsUuids.get(index % obsUuids.size());
+	}
+}
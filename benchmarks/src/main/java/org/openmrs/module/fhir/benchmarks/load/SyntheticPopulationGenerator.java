@@ -0,0 +1,245 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.benchmarks.load;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openmrs.Concept;
+import org.openmrs.ConceptDescription;
+import org.openmrs.ConceptMap;
+import org.openmrs.ConceptMapType;
+import org.openmrs.ConceptName;
+import org.openmrs.ConceptNumeric;
+import org.openmrs.ConceptReferenceTerm;
+import org.openmrs.ConceptSource;
+import org.openmrs.Encounter;
+import org.openmrs.Location;
+import org.openmrs.Obs;
+import org.openmrs.Patient;
+import org.openmrs.PatientIdentifier;
+import org.openmrs.PatientIdentifierType;
+import org.openmrs.PersonName;
+import org.openmrs.api.ConceptService;
+import org.openmrs.api.PatientService;
+import org.openmrs.api.context.Context;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Creates a configurable synthetic population on top of the standard test dataset and the api-2.0
+ * test datasets: patients with names and identifiers, encounters and numeric vital sign obs whose
+ * concepts are mapped to LOINC codes.
+ * <p>The generator is deterministic for a given seed, so two runs with the same configuration hit the
+ * same data shape.</p>
+ */
+public class SyntheticPopulationGenerator {
+
+	protected final Log log = LogFactory.getLog(getClass());
+
+	private static final String LOINC_SOURCE_NAME = "LOINC";
+
+	private static final int STANDARD_LOCATION_ID = 1;
+
+	private static final int STANDARD_ENCOUNTER_TYPE_ID = 1;
+
+	private static final int BATCH_SIZE = 50;
+
+	private static final int MAX_AGE_IN_YEARS = 90;
+
+	private static final int MAX_ENCOUNTER_AGE_IN_DAYS = 730;
+
+	/**
+	 * LOINC code, name, units, lowest and highest generated value
+	 */
+	private static final Object[][] VITAL_SIGNS = {
+			{ "29463-7", "Synthetic body weight", "kg", 3d, 140d },
+			{ "8302-2", "Synthetic body height", "cm", 45d, 200d },
+			{ "8480-6", "Synthetic systolic blood pressure", "mmHg", 80d, 200d },
+			{ "8462-4", "Synthetic diastolic blood pressure", "mmHg", 40d, 120d },
+			{ "8867-4", "Synthetic heart rate", "beats/min", 40d, 180d },
+			{ "8310-5", "Synthetic body temperature", "DEG C", 35d, 41d },
+			{ "9279-1", "Synthetic respiratory rate", "breaths/min", 8d, 40d },
+			{ "2708-6", "Synthetic oxygen saturation", "%", 80d, 100d }
+	};
+
+	private static final String[] GIVEN_NAMES = { "Amina", "John", "Grace", "Peter", "Mary", "Joseph", "Fatuma",
+			"David", "Esther", "Samuel", "Ruth", "Daniel", "Akinyi", "Brian", "Wanjiru", "Kevin" };
+
+	private static final String[] FAMILY_NAMES = { "Otieno", "Smith", "Mwangi", "Okafor", "Kamau", "Nguyen", "Banda",
+			"Garcia", "Mensah", "Patel", "Kariuki", "Johnson", "Achieng", "Moyo", "Silva", "Ochieng" };
+
+	private final int patientCount;
+
+	private final int encountersPerPatient;
+
+	private final int obsPerEncounter;
+
+	private final Random random;
+
+	public SyntheticPopulationGenerator(int patientCount, int encountersPerPatient, int obsPerEncounter, long seed) {
+		this.patientCount = patientCount;
+		this.encountersPerPatient = encountersPerPatient;
+		this.obsPerEncounter = obsPerEncounter;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Saves the population through the OpenMRS services in the current transaction.
+	 *
+	 * @return the keys of the created data
+	 */
+	public SyntheticPopulation generate() {
+		List<Integer> conceptIds = createVitalSignConcepts();
+		List<Integer> identifierTypeIds = getIdentifierTypeIds();
+		SyntheticPopulation population = new SyntheticPopulation();
+
+		for (int i = 0; i < patientCount; i++) {
+			Patient patient = buildPatient(i, identifierTypeIds);
+			Context.getPatientService().savePatient(patient);
+			population.addPatient(patient.getUuid(), patient.getPatientIdentifier().getIdentifier(),
+					patient.getGivenName(), patient.getFamilyName());
+
+			for (int e = 0; e < encountersPerPatient; e++) {
+				Encounter encounter = buildEncounter(patient, conceptIds);
+				Context.getEncounterService().saveEncounter(encounter);
+				population.addEncounter(encounter.getUuid());
+				for (Obs obs : encounter.getObsAtTopLevel(false)) {
+					population.addObs(obs.getUuid());
+				}
+			}
+
+			if ((i + 1) % BATCH_SIZE == 0) {
+				Context.flushSession();
+				Context.clearSession();
+				log.info("Generated " + (i + 1) + " of " + patientCount + " patients");
+			}
+		}
+		Context.flushSession();
+		return population;
+	}
+
+	private List<Integer> createVitalSignConcepts() {
+		ConceptService conceptService = Context.getConceptService();
+		ConceptSource loinc = conceptService.getConceptSourceByName(LOINC_SOURCE_NAME);
+		ConceptMapType sameAs = conceptService.getConceptMapTypeByUuid(ConceptMapType.SAME_AS_MAP_TYPE_UUID);
+		if (sameAs == null) {
+			sameAs = conceptService.getDefaultConceptMapType();
+		}
+
+		List<Integer> conceptIds = new ArrayList<Integer>();
+		for (Object[] vitalSign : VITAL_SIGNS) {
+			String code = (String) vitalSign[0];
+			String name = (String) vitalSign[1];
+
+			ConceptNumeric concept = new ConceptNumeric();
+			concept.addName(new ConceptName(name, Locale.ENGLISH));
+			concept.addDescription(new ConceptDescription(name, Locale.ENGLISH));
+			concept.setDatatype(conceptService.getConceptDatatypeByName("Numeric"));
+			concept.setConceptClass(conceptService.getConceptClassByName("Test"));
+			concept.setUnits((String) vitalSign[2]);
+			concept.setAllowDecimal(true);
+
+			if (loinc != null) {
+				ConceptReferenceTerm term = conceptService.getConceptReferenceTermByCode(code, loinc);
+				if (term == null) {
+					term = conceptService.saveConceptReferenceTerm(new ConceptReferenceTerm(loinc, code, name));
+				}
+				concept.addConceptMapping(new ConceptMap(term, sameAs));
+			}
+			conceptIds.add(conceptService.saveConcept(concept).getConceptId());
+		}
+		return conceptIds;
+	}
+
+	/**
+	 * The first type is used as the preferred identifier, the others are the required types which
+	 * every patient has to carry to pass validation.
+	 */
+	private List<Integer> getIdentifierTypeIds() {
+		List<Integer> identifierTypeIds = new ArrayList<Integer>();
+		PatientIdentifierType preferred = null;
+		for (PatientIdentifierType type : Context.getPatientService().getAllPatientIdentifierTypes()) {
+			if (preferred == null && type.getFormat() == null) {
+				preferred = type;
+				identifierTypeIds.add(0, type.getPatientIdentifierTypeId());
+			} else if (Boolean.TRUE.equals(type.getRequired())) {
+				identifierTypeIds.add(type.getPatientIdentifierTypeId());
+			}
+		}
+		return identifierTypeIds;
+	}
+
+	private Patient buildPatient(int index, List<Integer> identifierTypeIds) {
+		PatientService patientService = Context.getPatientService();
+		Location location = Context.getLocationService().getLocation(STANDARD_LOCATION_ID);
+
+		Patient patient = new Patient();
+		patient.addName(new PersonName(pick(GIVEN_NAMES), null, pick(FAMILY_NAMES)));
+		patient.setGender(random.nextBoolean() ? "M" : "F");
+		patient.setBirthdate(daysAgo(random.nextInt(MAX_AGE_IN_YEARS * 365) + MAX_ENCOUNTER_AGE_IN_DAYS + 1));
+
+		for (int i = 0; i < identifierTypeIds.size(); i++) {
+			PatientIdentifierType type = patientService.getPatientIdentifierType(identifierTypeIds.get(i));
+			String value = "SYN" + type.getPatientIdentifierTypeId() + "X" + index;
+			if (type.getValidator() != null) {
+				value = patientService.getIdentifierValidator(type.getValidator()).getValidIdentifier(value);
+			}
+			PatientIdentifier identifier = new PatientIdentifier(value, type, location);
+			identifier.setPreferred(i == 0);
+			patient.addIdentifier(identifier);
+		}
+		return patient;
+	}
+
+	private Encounter buildEncounter(Patient patient, List<Integer> conceptIds) {
+		Location location = Context.getLocationService().getLocation(STANDARD_LOCATION_ID);
+		Date encounterDatetime = daysAgo(random.nextInt(MAX_ENCOUNTER_AGE_IN_DAYS));
+
+		Encounter encounter = new Encounter();
+		encounter.setPatient(patient);
+		encounter.setEncounterType(Context.getEncounterService().getEncounterType(STANDARD_ENCOUNTER_TYPE_ID));
+		encounter.setLocation(location);
+		encounter.setEncounterDatetime(encounterDatetime);
+
+		for (int i = 0; i < obsPerEncounter; i++) {
+			int vitalSign = i % conceptIds.size();
+			double low = (Double) VITAL_SIGNS[vitalSign][3];
+			double high = (Double) VITAL_SIGNS[vitalSign][4];
+
+			Obs obs = new Obs();
+			obs.setPerson(patient);
+			obs.setConcept(Context.getConceptService().getConcept(conceptIds.get(vitalSign)));
+			obs.setObsDatetime(encounterDatetime);
+			obs.setLocation(location);
+			obs.setValueNumeric(Math.round((low + random.nextDouble() * (high - low)) * 10) / 10d);
+			encounter.addObs(obs);
+		}
+		return encounter;
+	}
+
+	private String pick(String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	private static Date daysAgo(int days) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.add(Calendar.DAY_OF_YEAR, -days);
+		return calendar.getTime();
+	}
+}
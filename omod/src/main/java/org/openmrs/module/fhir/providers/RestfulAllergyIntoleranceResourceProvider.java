@@ -15,21 +15,27 @@ package org.openmrs.module.fhir.providers;
 
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import org.hl7.fhir.dstu3.model.AllergyIntolerance;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.hl7.fhir.dstu3.model.Resource;
 import org.openmrs.module.fhir.resources.FHIRAllergyIntoleranceResource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
 import java.util.List;
@@ -38,8 +44,11 @@ public class RestfulAllergyIntoleranceResourceProvider implements IResourceProvi
 
 	private FHIRAllergyIntoleranceResource allergyIntoleranceResource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulAllergyIntoleranceResourceProvider() {
 		allergyIntoleranceResource = new FHIRAllergyIntoleranceResource();
+		historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -47,6 +56,17 @@ public class RestfulAllergyIntoleranceResourceProvider implements IResourceProvi
 		return AllergyIntolerance.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	/**
 	 * The "@Read" annotation indicates that this method supports the
 	 * read operation. Read operations should return a single resource
@@ -73,34 +93,40 @@ public class RestfulAllergyIntoleranceResourceProvider implements IResourceProvi
 	}
 
 	/**
-	 * Search allergies by patient identifier
+	 * Search allergies by patient identifier. Only the requested page is read.
 	 *
-	 * @param identifier object containing the patient identifier
+	 * @param identifier     object containing the patient identifier
+	 * @param clinicalStatus the clinical status of the allergies
 	 */
 	@Search
-	public List<AllergyIntolerance> findAllergiesByPatientIdentifier(
+	public IBundleProvider findAllergiesByPatientIdentifier(
 			@RequiredParam(name = AllergyIntolerance.SP_PATIENT, chainWhitelist = {
-					Patient.SP_IDENTIFIER }) ReferenceParam identifier) {
-		return allergyIntoleranceResource.searchAllergiesByPatientIdentifier(identifier);
+					Patient.SP_IDENTIFIER }) ReferenceParam identifier,
+			@OptionalParam(name = AllergyIntolerance.SP_CLINICAL_STATUS) TokenParam clinicalStatus) {
+		return allergyIntoleranceResource.searchAllergiesByPatientIdentifier(identifier, clinicalStatus);
 	}
 
 	/**
-	 * Search allergies by patient name
+	 * Search allergies by patient name. The allergies of all matching patients are read in one query, page by
+	 * page.
 	 *
-	 * @param name object containing the patient name
+	 * @param name           object containing the patient name
+	 * @param clinicalStatus the clinical status of the allergies
 	 */
 	@Search
-	public List<AllergyIntolerance> findAllergiesByPatientName(
+	public IBundleProvider findAllergiesByPatientName(
 			@RequiredParam(name = AllergyIntolerance.SP_PATIENT, chainWhitelist = { Patient.SP_NAME }) ReferenceParam
-					name) {
-		return allergyIntoleranceResource.searchAllergiesByPatientName(name);
+					name,
+			@OptionalParam(name = AllergyIntolerance.SP_CLINICAL_STATUS) TokenParam clinicalStatus) {
+		return allergyIntoleranceResource.searchAllergiesByPatientName(name, clinicalStatus);
 	}
 
 	@Search
-	public List<AllergyIntolerance> findAllergiesByPatientUuid(
+	public IBundleProvider findAllergiesByPatientUuid(
 			@RequiredParam(name = AllergyIntolerance.SP_PATIENT, chainWhitelist = { Patient.SP_RES_ID })
-					ReferenceParam uuid) {
-		return allergyIntoleranceResource.searchAllergiesByPatientUuid(uuid);
+					ReferenceParam uuid,
+			@OptionalParam(name = AllergyIntolerance.SP_CLINICAL_STATUS) TokenParam clinicalStatus) {
+		return allergyIntoleranceResource.searchAllergiesByPatientUuid(uuid, clinicalStatus);
 	}
 
 	@Delete
@@ -97,6 +97,9 @@ public class RestfulBundleResourceProvider implements IResourceProvider {
 			}
 		}
 
+		//Answers the read entries, reading the resources referenced by the bundle in one query per type
+		bundleResource.resolveReads(theResources);
+
 		//TODO (Implementation proposal can be found in git history)
 
 		return theResources;
@@ -13,12 +13,19 @@
  */
 package org.openmrs.module.fhir.providers;
 
+import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.Operation;
+import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
+import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.Composition;
+import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Resource;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
 import org.openmrs.module.fhir.resources.FHIRCompositionResource;
@@ -39,15 +46,17 @@ public class RestfulCompositionResourceProvider implements IResourceProvider {
 	}
 
 	/**
-	 * Search compositions by patient
+	 * Search compositions by patient, latest first. Only the compositions of the requested page are built.
 	 *
 	 * @param patient object containing the requested id
+	 * @param date    the range the encounters of the compositions took place in
+	 * @return Returns a bundle of matching compositions
 	 */
 	@Search
-	public List<Composition> findCompositionEncountersByPatient(
-			@RequiredParam(name = Composition.SP_SUBJECT) ReferenceParam
-					patient) {
-		return compositionResource.searchEncounterCompostionsByPatient(patient);
+	public IBundleProvider findCompositionEncountersByPatient(
+			@RequiredParam(name = Composition.SP_SUBJECT) ReferenceParam patient,
+			@OptionalParam(name = Composition.SP_DATE) DateRangeParam date) {
+		return compositionResource.searchEncounterCompostionsByPatient(patient, date);
 	}
 
 	/**
@@ -60,4 +69,16 @@ public class RestfulCompositionResourceProvider implements IResourceProvider {
 			TokenParam encounter) {
 		return compositionResource.searchEncounterCompostionsByEncounterId(encounter);
 	}
+
+	/**
+	 * Implementation of $document operation which returns the document bundle of a composition, the
+	 * composition followed by the resources it references
+	 *
+	 * @param compositionId id of the composition, which is the id of its encounter
+	 * @return document bundle
+	 */
+	@Operation(name = "$document", type = Composition.class, idempotent = true)
+	public Bundle getDocument(@IdParam IdType compositionId) {
+		return compositionResource.getDocument(compositionId);
+	}
 }
@@ -23,8 +23,10 @@ import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import org.hl7.fhir.dstu3.model.DiagnosticReport;
 import org.hl7.fhir.dstu3.model.IdType;
@@ -113,4 +115,26 @@ public class RestfulDiagnosticReportResourceProvider implements IResourceProvide
 			@OptionalParam(name = DiagnosticReport.SP_CATEGORY) TokenParam theService) {
 		return diagnosticReportResource.getDiagnosticReportByPatientNameAndServiceCategory(theSubject, theService);
 	}
+
+	/**
+	 * Search Diagnostic Reports by subject, service category, issued date, status and code. Only the
+	 * requested page of reports is built.
+	 *
+	 * @param theSubject  the patient the reports are about
+	 * @param theCategory the service category of the reports
+	 * @param theDate     the range the reports were issued in
+	 * @param theStatus   the status of the reports, final or cancelled
+	 * @param theCode     the code of an observation the reports contain
+	 * @return Returns a bundle of matching Diagnostic Reports, most recently issued first
+	 */
+	@Search
+	public IBundleProvider searchDiagnosticReports(
+			@OptionalParam(name = DiagnosticReport.SP_SUBJECT, chainWhitelist = OptionalParam.ALLOW_CHAIN_NOTCHAINED)
+					ReferenceParam theSubject,
+			@OptionalParam(name = DiagnosticReport.SP_CATEGORY) TokenParam theCategory,
+			@OptionalParam(name = DiagnosticReport.SP_DATE) DateRangeParam theDate,
+			@OptionalParam(name = DiagnosticReport.SP_STATUS) TokenParam theStatus,
+			@OptionalParam(name = DiagnosticReport.SP_CODE) TokenParam theCode) {
+		return diagnosticReportResource.searchDiagnosticReports(theSubject, theCategory, theDate, theStatus, theCode);
+	}
 }
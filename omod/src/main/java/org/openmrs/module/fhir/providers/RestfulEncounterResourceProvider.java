@@ -15,23 +15,31 @@ package org.openmrs.module.fhir.providers;
 
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.Operation;
+import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.Encounter;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.hl7.fhir.dstu3.model.Resource;
 import org.openmrs.module.fhir.resources.FHIREncounterResource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
 import java.util.List;
@@ -40,8 +48,11 @@ public class RestfulEncounterResourceProvider implements IResourceProvider {
 
 	private FHIREncounterResource encounterResource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulEncounterResourceProvider() {
 		encounterResource = new FHIREncounterResource();
+		historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -49,6 +60,17 @@ public class RestfulEncounterResourceProvider implements IResourceProvider {
 		return Encounter.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	/**
 	 * The "@Read" annotation indicates that this method supports the read operation. Read
 	 * operations should return a single resource instance.
@@ -65,22 +87,50 @@ public class RestfulEncounterResourceProvider implements IResourceProvider {
 	/**
 	 * Search encounters by unique id
 	 *
-	 * @param id object containing the requested id
+	 * @param ids the requested ids, any of which has to match
+	 */
+	@Search
+	public List<Encounter> findEncountersByUniqueId(@RequiredParam(name = Encounter.SP_RES_ID) TokenOrListParam ids) {
+		return encounterResource.searchEncountersById(ids);
+	}
+
+	/**
+	 * Search encounters and visits by patient identifier, latest first. Only the requested page is read.
+	 *
+	 * @param identifier  object containing the patient identifier
+	 * @param theDate     the range the encounters took place in
+	 * @param theType     name or uuid of the encounter or visit type
+	 * @param theStatus   the status of the encounters
+	 * @param theLocation the location of the encounters
+	 * @return Returns a bundle of matching encounters
 	 */
 	@Search
-	public List<Encounter> findEncountersByUniqueId(@RequiredParam(name = Encounter.SP_RES_ID) TokenParam id) {
-		return encounterResource.searchEncountersById(id);
+	public IBundleProvider findEncountersByPatientIdentifier(
+			@RequiredParam(name = Encounter.SP_PATIENT, chainWhitelist = { Patient.SP_IDENTIFIER }) ReferenceParam identifier,
+			@OptionalParam(name = Encounter.SP_DATE) DateRangeParam theDate,
+			@OptionalParam(name = Encounter.SP_TYPE) TokenParam theType,
+			@OptionalParam(name = Encounter.SP_STATUS) TokenParam theStatus,
+			@OptionalParam(name = Encounter.SP_LOCATION) ReferenceParam theLocation) {
+		return encounterResource.searchEncountersByPatient(identifier, theDate, theType, theStatus, theLocation);
 	}
 
 	/**
-	 * Search encounters by patient identifier
+	 * Search encounters and visits by patient id, latest first. Only the requested page is read.
 	 *
-	 * @param identifier object containing the patient identifier
+	 * @param thePatient  the patient the encounters belong to
+	 * @param theDate     the range the encounters took place in
+	 * @param theType     name or uuid of the encounter or visit type
+	 * @param theStatus   the status of the encounters
+	 * @param theLocation the location of the encounters
+	 * @return Returns a bundle of matching encounters
 	 */
 	@Search
-	public List<Encounter> findEncountersByPatientIdentifier(
-			@RequiredParam(name = Encounter.SP_PATIENT, chainWhitelist = { Patient.SP_IDENTIFIER }) ReferenceParam identifier) {
-		return encounterResource.searchEncountersByPatientIdentifier(identifier);
+	public IBundleProvider findEncountersByPatient(@RequiredParam(name = Encounter.SP_PATIENT) ReferenceParam thePatient,
+			@OptionalParam(name = Encounter.SP_DATE) DateRangeParam theDate,
+			@OptionalParam(name = Encounter.SP_TYPE) TokenParam theType,
+			@OptionalParam(name = Encounter.SP_STATUS) TokenParam theStatus,
+			@OptionalParam(name = Encounter.SP_LOCATION) ReferenceParam theLocation) {
+		return encounterResource.searchEncountersByPatient(thePatient, theDate, theType, theStatus, theLocation);
 	}
 
 	/**
@@ -2,20 +2,25 @@ package org.openmrs.module.fhir.providers;
 
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.param.StringParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import org.hl7.fhir.dstu3.model.Group;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.openmrs.module.fhir.resources.FHIRGroupResource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
 import java.util.List;
@@ -24,8 +29,11 @@ public class RestfulGroupResourceProvider implements IResourceProvider {
 
 	private FHIRGroupResource groupResource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulGroupResourceProvider() {
 		groupResource = new FHIRGroupResource();
+		historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -33,6 +41,17 @@ public class RestfulGroupResourceProvider implements IResourceProvider {
 		return Group.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	@Create
 	public MethodOutcome createGroup(@ResourceParam Group group) {
 		return MethodOutcomeBuilder.buildCreate(groupResource.createGroup(group));
@@ -0,0 +1,43 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.providers;
+
+import ca.uhn.fhir.rest.annotation.History;
+import ca.uhn.fhir.rest.annotation.Since;
+import ca.uhn.fhir.rest.server.IBundleProvider;
+import org.hl7.fhir.dstu3.model.InstantType;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
+
+/**
+ * Serves the system level _history across all resource types from the module change log.
+ */
+public class RestfulHistoryProvider {
+
+	private FHIRHistoryResource historyResource;
+
+	public RestfulHistoryProvider() {
+		historyResource = new FHIRHistoryResource();
+	}
+
+	/**
+	 * System-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(null, since);
+	}
+}
@@ -16,20 +16,29 @@ package org.openmrs.module.fhir.providers;
 import ca.uhn.fhir.rest.annotation.ConditionalUrlParam;
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.param.QuantityParam;
+import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.exceptions.PreconditionFailedException;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.Location;
 import org.hl7.fhir.dstu3.model.Resource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.resources.FHIRLocationResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
@@ -39,8 +48,11 @@ public class RestfulLocationResourceProvider implements IResourceProvider {
 
 	private FHIRLocationResource locationResource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulLocationResourceProvider() {
 		this.locationResource = new FHIRLocationResource();
+		this.historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -48,6 +60,17 @@ public class RestfulLocationResourceProvider implements IResourceProvider {
 		return Location.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	/**
 	 * The "@Read" annotation indicates that this method supports the read operation. Read
 	 * operations should return a single resource instance.
@@ -64,11 +87,11 @@ public class RestfulLocationResourceProvider implements IResourceProvider {
 	/**
 	 * Search locations by unique id
 	 *
-	 * @param id object containing the requested id
+	 * @param ids the requested ids, any of which has to match
 	 */
 	@Search
-	public List<Location> findLocationsByUniqueId(@RequiredParam(name = Location.SP_RES_ID) TokenParam id) {
-		return locationResource.searchLocationsById(id);
+	public List<Location> findLocationsByUniqueId(@RequiredParam(name = Location.SP_RES_ID) TokenOrListParam ids) {
+		return locationResource.searchLocationsById(ids);
 	}
 
 	/**
@@ -95,6 +118,30 @@ public class RestfulLocationResourceProvider implements IResourceProvider {
 		return locationResource.searchLocationsByStatus(active);
 	}
 
+	/**
+	 * Search locations by the location they are part of
+	 *
+	 * @param partOf the parent location, with the :below modifier to search its whole hierarchy
+	 * @return This method returns a list of locations, parents before their children
+	 */
+	@Search
+	public List<Location> findLocationsByPartOf(@RequiredParam(name = Location.SP_PARTOF) ReferenceParam partOf) {
+		return locationResource.searchLocationsByPartOf(partOf);
+	}
+
+	/**
+	 * Search locations near a point
+	 *
+	 * @param near         the point, as latitude:longitude
+	 * @param nearDistance the maximum distance from the point, in km or m
+	 * @return This method returns a list of locations, nearest first
+	 */
+	@Search
+	public List<Location> findLocationsNear(@RequiredParam(name = Location.SP_NEAR) TokenParam near,
+			@OptionalParam(name = Location.SP_NEAR_DISTANCE) QuantityParam nearDistance) {
+		return locationResource.searchLocationsNear(near, nearDistance);
+	}
+
 	/**
 	 * Delete Location by unique id
 	 *
@@ -15,19 +15,26 @@ package org.openmrs.module.fhir.providers;
 
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
+import ca.uhn.fhir.rest.annotation.OptionalParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.MedicationRequest;
 import org.hl7.fhir.dstu3.model.Resource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.resources.FHIRMedicationRequestResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
@@ -39,8 +46,11 @@ public class RestfulMedicationRequestResourceProvider implements IResourceProvid
 
 	private FHIRMedicationRequestResource fhirMedicationRequestResource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulMedicationRequestResourceProvider() {
 		this.fhirMedicationRequestResource = new FHIRMedicationRequestResource();
+		this.historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -48,6 +58,17 @@ public class RestfulMedicationRequestResourceProvider implements IResourceProvid
 		return MedicationRequest.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	/**
 	 * The "@Read" annotation indicates that this method supports the read operation. Read
 	 * operations should return a single resource instance.
@@ -73,14 +94,22 @@ public class RestfulMedicationRequestResourceProvider implements IResourceProvid
 	}
 
 	/**
-	 * Search Medication by unique patient uuod
+	 * Search Medication by unique patient uuod, latest authored first. Only the requested page is read.
 	 *
-	 * @param patient patient reference with uuid
+	 * @param patient    patient reference with uuid
+	 * @param status     the status of the medication requests
+	 * @param authoredOn the range the medication requests were authored in
+	 * @param medication reference to the ordered drug
+	 * @param code       uuid of the ordered concept
 	 */
 	@Search
-	public List<MedicationRequest> findMedicatoonRequestByPatientId(
-			@RequiredParam(name = MedicationRequest.SP_PATIENT) ReferenceParam patient) {
-		return fhirMedicationRequestResource.searchByPatientId(patient);
+	public IBundleProvider findMedicatoonRequestByPatientId(
+			@RequiredParam(name = MedicationRequest.SP_PATIENT) ReferenceParam patient,
+			@OptionalParam(name = MedicationRequest.SP_STATUS) TokenParam status,
+			@OptionalParam(name = MedicationRequest.SP_AUTHOREDON) DateRangeParam authoredOn,
+			@OptionalParam(name = MedicationRequest.SP_MEDICATION) ReferenceParam medication,
+			@OptionalParam(name = MedicationRequest.SP_CODE) TokenParam code) {
+		return fhirMedicationRequestResource.searchByPatientId(patient, status, authoredOn, medication, code);
 	}
 
 	/**
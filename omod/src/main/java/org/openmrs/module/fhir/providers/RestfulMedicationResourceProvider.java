@@ -2,18 +2,23 @@ package org.openmrs.module.fhir.providers;
 
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.Medication;
 import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.resources.FHIRMedicationResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
@@ -23,8 +28,11 @@ public class RestfulMedicationResourceProvider implements IResourceProvider {
 
 	private FHIRMedicationResource medicationResource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulMedicationResourceProvider() {
 		medicationResource = new FHIRMedicationResource();
+		historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -32,6 +40,17 @@ public class RestfulMedicationResourceProvider implements IResourceProvider {
 		return Medication.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	@Create
 	public MethodOutcome createFHIRMedication(@ResourceParam Medication medication) {
 		return MethodOutcomeBuilder.buildCreate(medicationResource.createMedication(medication));
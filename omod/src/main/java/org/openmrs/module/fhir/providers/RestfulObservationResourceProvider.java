@@ -15,24 +15,29 @@ package org.openmrs.module.fhir.providers;
 
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.param.DateParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.Observation;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.hl7.fhir.dstu3.model.Resource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.resources.FHIRObservationResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
@@ -42,8 +47,11 @@ public class RestfulObservationResourceProvider implements IResourceProvider {
 
 	private FHIRObservationResource provider;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulObservationResourceProvider() {
 		provider = new FHIRObservationResource();
+		historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -51,6 +59,17 @@ public class RestfulObservationResourceProvider implements IResourceProvider {
 		return Observation.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	/**
 	 * The "@Read" annotation indicates that this method supports the
 	 * read operation. Read operations should return a single resource
@@ -68,11 +87,11 @@ public class RestfulObservationResourceProvider implements IResourceProvider {
 	/**
 	 * Search observation by unique id
 	 *
-	 * @param id object containing the requested id
+	 * @param ids the requested ids, any of which has to match
 	 */
 	@Search
-	public List<Observation> findObsById(@RequiredParam(name = Observation.SP_RES_ID) TokenParam id) {
-		return provider.searchObsById(id);
+	public List<Observation> findObsById(@RequiredParam(name = Observation.SP_RES_ID) TokenOrListParam ids) {
+		return provider.searchObsById(ids);
 	}
 
 	/**
@@ -16,26 +16,32 @@ package org.openmrs.module.fhir.providers;
 import ca.uhn.fhir.rest.annotation.ConditionalUrlParam;
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.Operation;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.exceptions.PreconditionFailedException;
 import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.CodeableConcept;
 import org.hl7.fhir.dstu3.model.Coding;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.OperationOutcome;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.hl7.fhir.dstu3.model.Resource;
 import org.openmrs.module.fhir.api.util.FHIRConstants;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.resources.FHIRPatientResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
@@ -46,8 +52,11 @@ public class RestfulPatientResourceProvider implements IResourceProvider {
 
 	private FHIRPatientResource patientResource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulPatientResourceProvider() {
 		patientResource = new FHIRPatientResource();
+		historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -55,6 +64,17 @@ public class RestfulPatientResourceProvider implements IResourceProvider {
 		return Patient.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	/**
 	 * Get patient by patient uuid
 	 *
@@ -69,11 +89,11 @@ public class RestfulPatientResourceProvider implements IResourceProvider {
 	/**
 	 * Search patient by unique id
 	 *
-	 * @param id object containing the requested id
+	 * @param ids the requested ids, any of which has to match
 	 */
 	@Search
-	public List<Patient> findPatientByUniqueId(@RequiredParam(name = Patient.SP_RES_ID) TokenParam id) {
-		return patientResource.searchByUniqueId(id);
+	public List<Patient> findPatientByUniqueId(@RequiredParam(name = Patient.SP_RES_ID) TokenOrListParam ids) {
+		return patientResource.searchByUniqueId(ids);
 	}
 
 	/**
@@ -82,8 +102,9 @@ public class RestfulPatientResourceProvider implements IResourceProvider {
 	 * @param theFamilyName object contaning the requested family name
 	 */
 	@Search
-	public Bundle findPatientsByFamilyName(@RequiredParam(name = Patient.SP_FAMILY) StringParam theFamilyName) {
-		return patientResource.searchByFamilyName(theFamilyName);
+	public IBundleProvider findPatientsByFamilyName(
+			@RequiredParam(name = Patient.SP_FAMILY) StringParam theFamilyName) {
+		return patientResource.searchByNamePart(null, theFamilyName);
 	}
 
 	/**
@@ -98,16 +119,29 @@ public class RestfulPatientResourceProvider implements IResourceProvider {
 		return patientResource.searchByName(name);
 	}
 
+	/**
+	 * Get patients by how their names sound
+	 *
+	 * @param name name of the patient
+	 * @return This method returns a Bundle of Patients. This list may contain multiple matching
+	 * resources, or it may also be empty.
+	 */
+	@Search
+	public Bundle findPatientsByPhoneticName(@RequiredParam(name = Patient.SP_PHONETIC) StringParam name) {
+		return patientResource.searchByPhoneticName(name);
+	}
+
 	/**
 	 * Get patients by identifier
 	 *
-	 * @param identifier
+	 * @param identifiers one or more identifiers, as value or system|value, any of which has to match
 	 * @return This method returns a list of Patients. This list may contain multiple matching
 	 * resources, or it may also be empty.
 	 */
 	@Search
-	public List<Patient> findPatientsByIdentifier(@RequiredParam(name = Patient.SP_IDENTIFIER) TokenParam identifier) {
-		return patientResource.searchByIdentifier(identifier);
+	public List<Patient> findPatientsByIdentifier(
+			@RequiredParam(name = Patient.SP_IDENTIFIER) TokenOrListParam identifiers) {
+		return patientResource.searchByIdentifiers(identifiers);
 	}
 
 	/**
@@ -130,8 +164,8 @@ public class RestfulPatientResourceProvider implements IResourceProvider {
 	 * resources, or it may also be empty.
 	 */
 	@Search
-	public Bundle findPatientsByGivenName(@RequiredParam(name = Patient.SP_GIVEN) StringParam givenName) {
-		return patientResource.searchByGivenName(givenName);
+	public IBundleProvider findPatientsByGivenName(@RequiredParam(name = Patient.SP_GIVEN) StringParam givenName) {
+		return patientResource.searchByNamePart(givenName, null);
 	}
 
 	/**
@@ -16,21 +16,26 @@ package org.openmrs.module.fhir.providers;
 import ca.uhn.fhir.rest.annotation.ConditionalUrlParam;
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.param.DateParam;
 import ca.uhn.fhir.rest.param.StringParam;
-import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.exceptions.PreconditionFailedException;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.Person;
 import org.hl7.fhir.dstu3.model.Resource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.resources.FHIRPersonResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
@@ -44,8 +49,11 @@ public class RestfulPersonResourceProvider implements IResourceProvider {
 
 	private FHIRPersonResource personResource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulPersonResourceProvider() {
 		this.personResource = new FHIRPersonResource();
+		this.historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -53,6 +61,17 @@ public class RestfulPersonResourceProvider implements IResourceProvider {
 		return Person.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	/**
 	 * The "@Read" annotation indicates that this method supports the read operation. Read
 	 * operations should return a single resource instance.
@@ -69,11 +88,11 @@ public class RestfulPersonResourceProvider implements IResourceProvider {
 	/**
 	 * Search person by unique id
 	 *
-	 * @param id object containing the requested person
+	 * @param ids the requested ids, any of which has to match
 	 */
 	@Search
-	public List<Person> findPractitionerByUniqueId(@RequiredParam(name = Person.SP_RES_ID) TokenParam id) {
-		return personResource.searchByUniqueId(id);
+	public List<Person> findPractitionerByUniqueId(@RequiredParam(name = Person.SP_RES_ID) TokenOrListParam ids) {
+		return personResource.searchByUniqueId(ids);
 	}
 
 	/**
@@ -14,19 +14,25 @@
 package org.openmrs.module.fhir.providers;
 
 import ca.uhn.fhir.rest.annotation.Create;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.RequiredParam;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
 import ca.uhn.fhir.rest.annotation.Search;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
 import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.Practitioner;
 import org.hl7.fhir.dstu3.model.Resource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.resources.FHIRPractitionerResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
@@ -36,8 +42,11 @@ public class RestfulPractitionerResourceProvider implements IResourceProvider {
 
 	private FHIRPractitionerResource practitionerResource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulPractitionerResourceProvider() {
 		this.practitionerResource = new FHIRPractitionerResource();
+		this.historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -45,6 +54,17 @@ public class RestfulPractitionerResourceProvider implements IResourceProvider {
 		return Practitioner.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	/**
 	 * The "@Read" annotation indicates that this method supports the read operation. Read
 	 * operations should return a single resource instance.
@@ -61,11 +81,12 @@ public class RestfulPractitionerResourceProvider implements IResourceProvider {
 	/**
 	 * Search Practitioner by unique id
 	 *
-	 * @param id object contaning the requested family name
+	 * @param ids the requested ids, any of which has to match
 	 */
 	@Search
-	public List<Practitioner> findPractitionerByUniqueId(@RequiredParam(name = Practitioner.SP_RES_ID) TokenParam id) {
-		return practitionerResource.searchByUniqueId(id);
+	public List<Practitioner> findPractitionerByUniqueId(
+			@RequiredParam(name = Practitioner.SP_RES_ID) TokenOrListParam ids) {
+		return practitionerResource.searchByUniqueId(ids);
 	}
 
 	/**
@@ -74,9 +95,9 @@ public class RestfulPractitionerResourceProvider implements IResourceProvider {
 	 * @param theFamilyName object contaning the requested family name
 	 */
 	@Search
-	public List<Practitioner> findPractitionersByFamilyName(
+	public IBundleProvider findPractitionersByFamilyName(
 			@RequiredParam(name = Practitioner.SP_FAMILY) StringParam theFamilyName) {
-		return practitionerResource.searchByFamilyName(theFamilyName);
+		return practitionerResource.searchByNamePart(null, theFamilyName);
 	}
 
 	/**
@@ -91,6 +112,19 @@ public class RestfulPractitionerResourceProvider implements IResourceProvider {
 		return practitionerResource.searchByName(name);
 	}
 
+	/**
+	 * Get Practitioner by how the name sounds
+	 *
+	 * @param name name of the Practitioner
+	 * @return This method returns a list of Practitioners. This list may contain multiple matching
+	 * resources, or it may also be empty.
+	 */
+	@Search
+	public List<Practitioner> findPractitionersByPhoneticName(
+			@RequiredParam(name = Practitioner.SP_PHONETIC) StringParam name) {
+		return practitionerResource.searchByPhoneticName(name);
+	}
+
 	/**
 	 * Get Practitioner by identifier
 	 *
@@ -112,9 +146,9 @@ public class RestfulPractitionerResourceProvider implements IResourceProvider {
 	 * resources, or it may also be empty.
 	 */
 	@Search
-	public List<Practitioner> findPractitionersByGivenName(
+	public IBundleProvider findPractitionersByGivenName(
 			@RequiredParam(name = Practitioner.SP_GIVEN) StringParam givenName) {
-		return practitionerResource.searchByGivenName(givenName);
+		return practitionerResource.searchByNamePart(givenName, null);
 	}
 
 	/**
@@ -15,15 +15,20 @@ package org.openmrs.module.fhir.providers;
 
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.ProcedureRequest;
 import org.hl7.fhir.dstu3.model.Resource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.resources.FHIRProcedureRequestResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
@@ -33,8 +38,11 @@ public class RestfulProcedureRequestResourceProvider implements IResourceProvide
 
 	private FHIRProcedureRequestResource resource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulProcedureRequestResourceProvider() {
 		this.resource = new FHIRProcedureRequestResource();
+		this.historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -42,6 +50,17 @@ public class RestfulProcedureRequestResourceProvider implements IResourceProvide
 		return ProcedureRequest.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	@Read
 	public ProcedureRequest getResourceById(@IdParam IdType theId) {
 		return resource.getByUuid(theId);
@@ -2,15 +2,20 @@ package org.openmrs.module.fhir.providers;
 
 import ca.uhn.fhir.rest.annotation.Create;
 import ca.uhn.fhir.rest.annotation.Delete;
+import ca.uhn.fhir.rest.annotation.History;
 import ca.uhn.fhir.rest.annotation.IdParam;
 import ca.uhn.fhir.rest.annotation.Read;
 import ca.uhn.fhir.rest.annotation.ResourceParam;
+import ca.uhn.fhir.rest.annotation.Since;
 import ca.uhn.fhir.rest.annotation.Update;
 import ca.uhn.fhir.rest.api.MethodOutcome;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.InstantType;
 import org.hl7.fhir.dstu3.model.RelatedPerson;
 import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.module.fhir.resources.FHIRHistoryResource;
 import org.openmrs.module.fhir.resources.FHIRRelatedPersonResource;
 import org.openmrs.module.fhir.util.MethodOutcomeBuilder;
 
@@ -18,8 +23,11 @@ public class RestfulRelatedPersonProvider implements IResourceProvider {
 
 	private FHIRRelatedPersonResource relatedPersonResource;
 
+	private FHIRHistoryResource historyResource;
+
 	public RestfulRelatedPersonProvider() {
 		relatedPersonResource = new FHIRRelatedPersonResource();
+		historyResource = new FHIRHistoryResource();
 	}
 
 	@Override
@@ -27,6 +35,17 @@ public class RestfulRelatedPersonProvider implements IResourceProvider {
 		return RelatedPerson.class;
 	}
 
+	/**
+	 * Type-level history, served from the module change log
+	 *
+	 * @param since only changes at or after this instant
+	 * @return a bundle provider paging through the changed resources
+	 */
+	@History
+	public IBundleProvider getHistory(@Since InstantType since) {
+		return historyResource.getHistory(getResourceType().getSimpleName(), since);
+	}
+
 	/**
 	 * Get related person by unique id
 	 *
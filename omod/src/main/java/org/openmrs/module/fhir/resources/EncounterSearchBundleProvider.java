@@ -0,0 +1,67 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.resources;
+
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.openmrs.module.fhir.api.encounter.EncounterSearch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serves the result of an encounter search page by page. The search position reached at the end of each
+ * page is kept, so the next page continues from it instead of reading every earlier row again.
+ *
+ * @param <T> type of the resources in the result
+ */
+public abstract class EncounterSearchBundleProvider<T extends IBaseResource> extends PagedBundleProvider<T> {
+
+	private final TreeMap<Integer, EncounterSearch> positions = new TreeMap<>();
+
+	public EncounterSearchBundleProvider(EncounterSearch search) {
+		positions.put(0, search.copy());
+	}
+
+	/**
+	 * @param position   the search position, to be moved past the returned resources
+	 * @param maxResults maximum number of resources to return
+	 * @return the resources following the position
+	 */
+	protected abstract List<T> search(EncounterSearch position, int maxResults);
+
+	@Override
+	protected List<T> getPage(int firstResult, int maxResults) {
+		EncounterSearch position;
+		int index;
+		synchronized (positions) {
+			Map.Entry<Integer, EncounterSearch> nearest = positions.floorEntry(firstResult);
+			index = nearest.getKey();
+			position = nearest.getValue().copy();
+		}
+		//Reads forward from the nearest kept position to the first result of the page
+		while (index < firstResult) {
+			int skipped = search(position, firstResult - index).size();
+			if (skipped == 0) {
+				break;
+			}
+			index += skipped;
+		}
+		List<T> resources = search(position, maxResults);
+		synchronized (positions) {
+			positions.put(firstResult + resources.size(), position.copy());
+		}
+		return resources;
+	}
+}
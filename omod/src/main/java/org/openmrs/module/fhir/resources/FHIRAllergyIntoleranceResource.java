@@ -15,14 +15,16 @@ package org.openmrs.module.fhir.resources;
 
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import org.hl7.fhir.dstu3.model.AllergyIntolerance;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.AllergyIntoleranceService;
+import org.openmrs.module.fhir.api.allergy.AllergyIntoleranceSearch;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class FHIRAllergyIntoleranceResource extends Resource {
@@ -40,31 +42,34 @@ public class FHIRAllergyIntoleranceResource extends Resource {
 		return Context.getService(AllergyIntoleranceService.class).searchAllergiesById(id.getValue());
 	}
 
-	public List<AllergyIntolerance> searchAllergiesByPatientIdentifier(ReferenceParam identifier) {
-		List<AllergyIntolerance> fhirAllergies = new ArrayList<>();
+	public IBundleProvider searchAllergiesByPatientIdentifier(ReferenceParam identifier, TokenParam clinicalStatus) {
+		AllergyIntoleranceSearch search = new AllergyIntoleranceSearch();
 		if (Patient.SP_IDENTIFIER.equals(identifier.getChain())) {
-			fhirAllergies = Context.getService(AllergyIntoleranceService.class).searchAllergiesByPatientIdentifier(
-					identifier.getValue());
+			search.setPatientIdentifier(identifier.getValue());
+		} else {
+			search.setPatientIds(Collections.<Integer>emptyList());
 		}
-		return fhirAllergies;
+		return searchAllergies(search, clinicalStatus);
 	}
 
-	public List<AllergyIntolerance> searchAllergiesByPatientName(ReferenceParam name) {
-		List<AllergyIntolerance> fhirAllergies = new ArrayList<>();
+	public IBundleProvider searchAllergiesByPatientName(ReferenceParam name, TokenParam clinicalStatus) {
+		AllergyIntoleranceSearch search = new AllergyIntoleranceSearch();
 		if (Patient.SP_NAME.equals(name.getChain())) {
-			fhirAllergies = Context.getService(AllergyIntoleranceService.class).searchAllergiesByPatientName(
-					name.getValue());
+			search.setPatientName(name.getValue());
+		} else {
+			search.setPatientIds(Collections.<Integer>emptyList());
 		}
-		return fhirAllergies;
+		return searchAllergies(search, clinicalStatus);
 	}
 
-	public List<AllergyIntolerance> searchAllergiesByPatientUuid(ReferenceParam uuid) {
-		List<AllergyIntolerance> fhirAllergies = new ArrayList<>();
+	public IBundleProvider searchAllergiesByPatientUuid(ReferenceParam uuid, TokenParam clinicalStatus) {
+		AllergyIntoleranceSearch search = new AllergyIntoleranceSearch();
 		if (Patient.SP_RES_ID.equals(uuid.getChain())) {
-			fhirAllergies = Context.getService(AllergyIntoleranceService.class)
-					.searchAllergiesByPatientUuid(uuid.getValue());
+			search.setPatientUuid(uuid.getValue());
+		} else {
+			search.setPatientIds(Collections.<Integer>emptyList());
 		}
-		return fhirAllergies;
+		return searchAllergies(search, clinicalStatus);
 	}
 
 	public void deleteAllergy(IdType id) {
@@ -81,4 +86,23 @@ public class FHIRAllergyIntoleranceResource extends Resource {
 		AllergyIntoleranceService service = Context.getService(AllergyIntoleranceService.class);
 		return service.updateAllergy(allergyIntolerance, theId);
 	}
+
+	private IBundleProvider searchAllergies(final AllergyIntoleranceSearch search, TokenParam clinicalStatus) {
+		if (clinicalStatus != null) {
+			search.setClinicalStatus(clinicalStatus.getValue());
+		}
+		return new PagedBundleProvider<AllergyIntolerance>() {
+
+			@Override
+			protected List<AllergyIntolerance> getPage(int firstResult, int maxResults) {
+				return Context.getService(AllergyIntoleranceService.class).searchAllergies(search, firstResult,
+						maxResults);
+			}
+
+			@Override
+			protected int count() {
+				return Context.getService(AllergyIntoleranceService.class).getAllergyCount(search);
+			}
+		};
+	}
 }
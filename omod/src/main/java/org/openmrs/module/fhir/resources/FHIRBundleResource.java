@@ -1,5 +1,100 @@
 package org.openmrs.module.fhir.resources;
 
+import org.hl7.fhir.dstu3.model.Bundle;
+import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.Resource;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.EncounterService;
+import org.openmrs.module.fhir.api.LocationService;
+import org.openmrs.module.fhir.api.ObsService;
+import org.openmrs.module.fhir.api.PatientService;
+import org.openmrs.module.fhir.api.PersonService;
+import org.openmrs.module.fhir.api.PractitionerService;
+import org.openmrs.module.fhir.api.util.FHIRConstants;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 public class FHIRBundleResource {
 
+	private static final String OK = "200 OK";
+
+	private static final String NOT_FOUND = "404 Not Found";
+
+	/**
+	 * Answers the read entries, GET ResourceType/id, of a batch or transaction bundle. The ids of a
+	 * resource type are read together, with one query per type rather than one per entry. Entries of
+	 * types that cannot be read this way are left as they are.
+	 *
+	 * @param bundle the bundle whose read entries get the read resource, or a not found status
+	 */
+	public void resolveReads(Bundle bundle) {
+		Map<String, List<Bundle.BundleEntryComponent>> entriesByType = new LinkedHashMap<>();
+		for (Bundle.BundleEntryComponent entry : bundle.getEntry()) {
+			if (entry.getRequest().getMethod() == null
+					|| !FHIRConstants.GET.equals(entry.getRequest().getMethod().getDisplay())
+					|| entry.getRequest().getUrl() == null || entry.getRequest().getUrl().contains("?")) {
+				continue;
+			}
+			IdType id = new IdType(entry.getRequest().getUrl());
+			if (!id.hasResourceType() || !id.hasIdPart()) {
+				continue;
+			}
+			List<Bundle.BundleEntryComponent> entries = entriesByType.get(id.getResourceType());
+			if (entries == null) {
+				entries = new ArrayList<>();
+				entriesByType.put(id.getResourceType(), entries);
+			}
+			entries.add(entry);
+		}
+
+		for (Map.Entry<String, List<Bundle.BundleEntryComponent>> typeEntries : entriesByType.entrySet()) {
+			Set<String> uuids = new LinkedHashSet<>();
+			for (Bundle.BundleEntryComponent entry : typeEntries.getValue()) {
+				uuids.add(new IdType(entry.getRequest().getUrl()).getIdPart());
+			}
+			List<? extends Resource> resources = readResources(typeEntries.getKey(), uuids);
+			if (resources == null) {
+				continue;
+			}
+
+			Map<String, Resource> resourcesById = new HashMap<>();
+			for (Resource resource : resources) {
+				resourcesById.put(resource.getIdElement().getIdPart(), resource);
+			}
+			for (Bundle.BundleEntryComponent entry : typeEntries.getValue()) {
+				Resource resource = resourcesById.get(new IdType(entry.getRequest().getUrl()).getIdPart());
+				entry.setResource(resource);
+				entry.getResponse().setStatus(resource != null ? OK : NOT_FOUND);
+			}
+		}
+	}
+
+	/**
+	 * @return the resources of the given type, or null if the type cannot be read in batches
+	 */
+	private List<? extends Resource> readResources(String resourceType, Collection<String> uuids) {
+		switch (resourceType) {
+			case FHIRConstants.PATIENT:
+				return Context.getService(PatientService.class).getPatientsByUuids(uuids);
+			case FHIRConstants.PERSON:
+				return Context.getService(PersonService.class).getPersonsByUuids(uuids);
+			case FHIRConstants.PRACTITIONER:
+				return Context.getService(PractitionerService.class).getPractitionersByUuids(uuids);
+			case FHIRConstants.LOCATION:
+				return Context.getService(LocationService.class).getLocationsByUuids(uuids);
+			case FHIRConstants.ENCOUNTER:
+				return Context.getService(EncounterService.class).getEncountersByUuids(uuids);
+			case FHIRConstants.OBSERVATION:
+				return Context.getService(ObsService.class).getObsByUuids(uuids);
+			default:
+				return null;
+		}
+	}
 }
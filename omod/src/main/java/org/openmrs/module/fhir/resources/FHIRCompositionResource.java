@@ -13,23 +13,53 @@
  */
 package org.openmrs.module.fhir.resources;
 
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
+import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.Composition;
+import org.hl7.fhir.dstu3.model.IdType;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.EncounterService;
+import org.openmrs.module.fhir.api.encounter.EncounterSearch;
 
 import java.util.List;
 
 public class FHIRCompositionResource {
 
-	public List<Composition> searchEncounterCompostionsByPatient(ReferenceParam patient) {
-		EncounterService encounterService = Context.getService(EncounterService.class);
-		return encounterService.searchEncounterCompositionByPatientId(patient.getIdPart());
+	public IBundleProvider searchEncounterCompostionsByPatient(ReferenceParam patient, DateRangeParam date) {
+		final EncounterSearch search = new EncounterSearch();
+		search.setPatientUuid(patient.getIdPart());
+		if (date != null) {
+			search.setFrom(date.getLowerBoundAsInstant());
+			search.setTo(date.getUpperBoundAsInstant());
+		}
+		return new EncounterSearchBundleProvider<Composition>(search) {
+
+			@Override
+			protected List<Composition> search(EncounterSearch position, int maxResults) {
+				return Context.getService(EncounterService.class).searchCompositions(position, maxResults);
+			}
+
+			@Override
+			protected int count() {
+				return Context.getService(EncounterService.class).getCompositionCount(search);
+			}
+		};
 	}
 
 	public List<Composition> searchEncounterCompostionsByEncounterId(TokenParam encounterId) {
 		EncounterService encounterService = Context.getService(EncounterService.class);
 		return encounterService.searchEncounterCompositionByEncounterId(encounterId.getValue());
 	}
+
+	public Bundle getDocument(IdType id) {
+		Bundle document = Context.getService(EncounterService.class).getCompositionDocument(id.getIdPart());
+		if (document == null) {
+			throw new ResourceNotFoundException("Composition is not found for the given Id " + id.getIdPart());
+		}
+		return document;
+	}
 }
@@ -13,14 +13,17 @@
  */
 package org.openmrs.module.fhir.resources;
 
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import org.hl7.fhir.dstu3.model.DiagnosticReport;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.DiagnosticReportService;
+import org.openmrs.module.fhir.api.diagnosticreport.DiagnosticReportSearch;
 
 import java.util.List;
 
@@ -65,4 +68,38 @@ public class FHIRDiagnosticReportResource extends Resource {
 		return diagnosticReportService.getDiagnosticReportByPatientNameAndServiceCategory(name, service.getValue());
 	}
 
+	public IBundleProvider searchDiagnosticReports(ReferenceParam theSubject, TokenParam theCategory,
+			DateRangeParam theDate, TokenParam theStatus, TokenParam theCode) {
+		final DiagnosticReportSearch search = new DiagnosticReportSearch();
+		if (theSubject != null) {
+			search.setPatientUuid(theSubject.getIdPart());
+		}
+		if (theCategory != null) {
+			search.setCategory(theCategory.getValue());
+		}
+		if (theDate != null) {
+			search.setFrom(theDate.getLowerBoundAsInstant());
+			search.setTo(theDate.getUpperBoundAsInstant());
+		}
+		if (theStatus != null) {
+			search.setStatus(theStatus.getValue());
+		}
+		if (theCode != null) {
+			search.setCodeSystem(theCode.getSystem());
+			search.setCode(theCode.getValue());
+		}
+		return new PagedBundleProvider<DiagnosticReport>() {
+
+			@Override
+			protected List<DiagnosticReport> getPage(int firstResult, int maxResults) {
+				return Context.getService(DiagnosticReportService.class).searchDiagnosticReports(search, firstResult,
+						maxResults);
+			}
+
+			@Override
+			protected int count() {
+				return Context.getService(DiagnosticReportService.class).getDiagnosticReportCount(search);
+			}
+		};
+	}
 }
@@ -13,14 +13,19 @@
  */
 package org.openmrs.module.fhir.resources;
 
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.Encounter;
 import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.Patient;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.EncounterService;
+import org.openmrs.module.fhir.api.encounter.EncounterSearch;
 
 import java.util.List;
 
@@ -35,17 +40,47 @@ public class FHIREncounterResource extends Resource {
 		return fhirEncounter;
 	}
 
-	public List<Encounter> searchEncountersById(TokenParam id) {
-		return Context.getService(EncounterService.class).searchEncounterById(id.getValue());
+	public List<Encounter> searchEncountersById(TokenOrListParam ids) {
+		return Context.getService(EncounterService.class).getEncountersByUuids(getUuids(ids));
 	}
 
 	public Bundle getEncounterOperationsById(IdType id) {
 		return Context.getService(EncounterService.class).getEncounterOperationsById(id.getIdPart());
 	}
 
-	public List<Encounter> searchEncountersByPatientIdentifier(ReferenceParam identifier) {
-		return Context.getService(EncounterService.class).searchEncountersByPatientIdentifier(
-				identifier.getIdPart());
+	public IBundleProvider searchEncountersByPatient(ReferenceParam thePatient, DateRangeParam theDate,
+			TokenParam theType, TokenParam theStatus, ReferenceParam theLocation) {
+		final EncounterSearch search = new EncounterSearch();
+		if (Patient.SP_IDENTIFIER.equals(thePatient.getChain())) {
+			search.setPatientIdentifier(thePatient.getIdPart());
+		} else {
+			search.setPatientUuid(thePatient.getIdPart());
+		}
+		if (theDate != null) {
+			search.setFrom(theDate.getLowerBoundAsInstant());
+			search.setTo(theDate.getUpperBoundAsInstant());
+		}
+		if (theType != null) {
+			search.setType(theType.getValue());
+		}
+		if (theStatus != null) {
+			search.setStatus(theStatus.getValue());
+		}
+		if (theLocation != null) {
+			search.setLocationUuid(theLocation.getIdPart());
+		}
+		return new EncounterSearchBundleProvider<Encounter>(search) {
+
+			@Override
+			protected List<Encounter> search(EncounterSearch position, int maxResults) {
+				return Context.getService(EncounterService.class).searchEncounters(position, maxResults);
+			}
+
+			@Override
+			protected int count() {
+				return Context.getService(EncounterService.class).getEncounterCount(search);
+			}
+		};
 	}
 
 	public List<Encounter> searchEncountersByPatientIdentifierAndPartOf(ReferenceParam identifier, ReferenceParam partOf) {
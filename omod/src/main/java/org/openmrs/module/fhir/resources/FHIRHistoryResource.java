@@ -0,0 +1,47 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.resources;
+
+import ca.uhn.fhir.rest.server.IBundleProvider;
+import org.hl7.fhir.dstu3.model.InstantType;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.ResourceHistoryService;
+
+import java.util.Date;
+import java.util.List;
+
+public class FHIRHistoryResource extends Resource {
+
+	/**
+	 * @param resourceType fhir resource type, null for the system level history
+	 * @param since        the _since parameter, may be null
+	 * @return a bundle provider loading the history one page at a time
+	 */
+	public IBundleProvider getHistory(final String resourceType, InstantType since) {
+		final Date sinceDate = since == null ? null : since.getValue();
+		return new PagedBundleProvider<org.hl7.fhir.dstu3.model.Resource>() {
+
+			@Override
+			protected List<org.hl7.fhir.dstu3.model.Resource> getPage(int firstResult, int maxResults) {
+				return Context.getService(ResourceHistoryService.class).getHistory(resourceType, sinceDate, firstResult,
+						maxResults);
+			}
+
+			@Override
+			protected int count() {
+				return Context.getService(ResourceHistoryService.class).getHistoryCount(resourceType, sinceDate);
+			}
+		};
+	}
+}
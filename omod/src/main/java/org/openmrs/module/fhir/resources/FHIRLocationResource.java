@@ -13,9 +13,15 @@
  */
 package org.openmrs.module.fhir.resources;
 
+import ca.uhn.fhir.rest.param.QuantityParam;
+import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.exceptions.InvalidRequestException;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Location;
 import org.openmrs.api.context.Context;
@@ -25,6 +31,17 @@ import java.util.List;
 
 public class FHIRLocationResource extends Resource {
 
+	/**
+	 * HAPI reads the :below modifier of a reference as the resource type of the reference
+	 */
+	private static final String BELOW_MODIFIER = "below";
+
+	private static final double DEFAULT_NEAR_DISTANCE_KM = 50;
+
+	private static final String KILOMETERS = "km";
+
+	private static final String METERS = "m";
+
 	public Location getByUniqueId(IdType id) {
 		LocationService locationService = Context.getService(LocationService.class);
 		Location fhirLocation = locationService.getLocation(id.getIdPart());
@@ -34,8 +51,8 @@ public class FHIRLocationResource extends Resource {
 		return fhirLocation;
 	}
 
-	public List<Location> searchLocationsById(TokenParam id) {
-		return Context.getService(LocationService.class).searchLocationsByUuid(id.getValue());
+	public List<Location> searchLocationsById(TokenOrListParam ids) {
+		return Context.getService(LocationService.class).getLocationsByUuids(getUuids(ids));
 	}
 
 	public List<Location> searchLocationsByStatus(TokenParam active) {
@@ -50,6 +67,37 @@ public class FHIRLocationResource extends Resource {
 		return Context.getService(LocationService.class).searchLocationsByName(name.getValue());
 	}
 
+	public List<Location> searchLocationsByPartOf(ReferenceParam partOf) {
+		boolean below = BELOW_MODIFIER.equals(partOf.getResourceType());
+		return Context.getService(LocationService.class).searchLocationsByPartOf(partOf.getIdPart(), below);
+	}
+
+	//near is given as latitude:longitude, or latitude|longitude, near-distance in kilometers unless in meters
+	public List<Location> searchLocationsNear(TokenParam near, QuantityParam nearDistance) {
+		String latitude = near.getSystem();
+		String longitude = near.getValue();
+		if (StringUtils.isBlank(latitude) && longitude != null && longitude.contains(":")) {
+			latitude = StringUtils.substringBefore(longitude, ":");
+			longitude = StringUtils.substringAfter(longitude, ":");
+		}
+		double distance = DEFAULT_NEAR_DISTANCE_KM;
+		if (nearDistance != null && nearDistance.getValue() != null) {
+			String units = nearDistance.getUnits();
+			distance = nearDistance.getValue().doubleValue();
+			if (METERS.equals(units)) {
+				distance /= 1000;
+			} else if (StringUtils.isNotBlank(units) && !KILOMETERS.equals(units)) {
+				throw new InvalidRequestException("The near-distance has to be in km or m, not in " + units);
+			}
+		}
+		if (!NumberUtils.isNumber(StringUtils.trim(latitude)) || !NumberUtils.isNumber(StringUtils.trim(longitude))) {
+			throw new InvalidRequestException("The near parameter has to be given as latitude:longitude, not as "
+					+ near.getValue());
+		}
+		return Context.getService(LocationService.class).searchLocationsNear(Double.parseDouble(latitude.trim()),
+				Double.parseDouble(longitude.trim()), distance);
+	}
+
 	public void deleteLocation(IdType id) {
 		LocationService locationService = Context.getService(LocationService.class);
 		locationService.deleteLocation(id.getIdPart());
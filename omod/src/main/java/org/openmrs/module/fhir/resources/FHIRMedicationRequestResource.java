@@ -13,13 +13,16 @@
  */
 package org.openmrs.module.fhir.resources;
 
+import ca.uhn.fhir.rest.param.DateRangeParam;
 import ca.uhn.fhir.rest.param.ReferenceParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.MedicationRequest;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.MedicationRequestService;
+import org.openmrs.module.fhir.api.medicationrequest.MedicationRequestSearch;
 
 import java.util.List;
 
@@ -41,10 +44,36 @@ public class FHIRMedicationRequestResource extends Resource {
 		return medicationRequestService.searchMedicationRequestById(id.getValue());
 	}
 
-	public List<MedicationRequest> searchByPatientId(ReferenceParam patient) {
-		MedicationRequestService medicationRequestService = Context
-				.getService(MedicationRequestService.class);
-		return medicationRequestService.searchMedicationRequestByPatientId(patient.getIdPart());
+	public IBundleProvider searchByPatientId(ReferenceParam patient, TokenParam status, DateRangeParam authoredOn,
+			ReferenceParam medication, TokenParam code) {
+		final MedicationRequestSearch search = new MedicationRequestSearch();
+		search.setPatientUuid(patient.getIdPart());
+		if (status != null) {
+			search.setStatus(status.getValue());
+		}
+		if (authoredOn != null) {
+			search.setFrom(authoredOn.getLowerBoundAsInstant());
+			search.setTo(authoredOn.getUpperBoundAsInstant());
+		}
+		if (medication != null) {
+			search.setMedicationUuid(medication.getIdPart());
+		}
+		if (code != null) {
+			search.setCodeUuid(code.getValue());
+		}
+		return new PagedBundleProvider<MedicationRequest>() {
+
+			@Override
+			protected List<MedicationRequest> getPage(int firstResult, int maxResults) {
+				return Context.getService(MedicationRequestService.class).searchMedicationRequests(search, firstResult,
+						maxResults);
+			}
+
+			@Override
+			protected int count() {
+				return Context.getService(MedicationRequestService.class).getMedicationRequestCount(search);
+			}
+		};
 	}
 
 	public MedicationRequest createFHIRMedicationRequest(MedicationRequest medicationRequest) {
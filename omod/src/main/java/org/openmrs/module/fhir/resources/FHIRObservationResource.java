@@ -41,9 +41,9 @@ public class FHIRObservationResource extends Resource {
 		return fhirObservation;
 	}
 
-	public List<Observation> searchObsById(TokenParam id) {
+	public List<Observation> searchObsById(TokenOrListParam ids) {
 		ObsService obsService = Context.getService(ObsService.class);
-		return obsService.searchObsById(id.getValue());
+		return obsService.getObsByUuids(getUuids(ids));
 	}
 
 	public List<Observation> searchObsByPatientAndConcept(ReferenceParam person, TokenOrListParam codes) {
@@ -14,15 +14,21 @@
 package org.openmrs.module.fhir.resources;
 
 import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.PatientService;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class FHIRPatientResource extends Resource {
 
@@ -36,21 +42,44 @@ public class FHIRPatientResource extends Resource {
 		return fhirPatient;
 	}
 
-	public List<Patient> searchByUniqueId(TokenParam id) {
+	public List<Patient> searchByUniqueId(TokenOrListParam ids) {
 		org.openmrs.module.fhir.api.PatientService patientService = Context.getService(
 				org.openmrs.module.fhir.api.PatientService.class);
-		return patientService.searchPatientsById(id.getValue());
+		return patientService.getPatientsByUuids(getUuids(ids));
 	}
 
 	//search by patient identifier. ex: GET_DESCRIPTION [base-url]/Patient?identifier=http://acme.org/patient|2345
 	//returns a bundle of patients
 	public List<Patient> searchByIdentifier(TokenParam identifier) {
+		TokenOrListParam identifiers = new TokenOrListParam();
+		identifiers.add(identifier);
+		return searchByIdentifiers(identifiers);
+	}
+
+	//search by any of several patient identifiers. ex: [base-url]/Patient?identifier=2345,acme|6789
+	//identifiers of the same system are looked up in one query
+	public List<Patient> searchByIdentifiers(TokenOrListParam identifiers) {
+		Map<String, List<String>> valuesBySystem = new LinkedHashMap<>();
+		for (TokenParam identifier : identifiers.getValuesAsQueryTokens()) {
+			String system = identifier.getSystem() != null && !identifier.getSystem().isEmpty() ?
+					identifier.getSystem() : null;
+			List<String> values = valuesBySystem.get(system);
+			if (values == null) {
+				values = new ArrayList<>();
+				valuesBySystem.put(system, values);
+			}
+			values.add(identifier.getValue());
+		}
+
 		org.openmrs.module.fhir.api.PatientService patientService = Context.getService(
 				org.openmrs.module.fhir.api.PatientService.class);
-		if (identifier.getSystem() != null && !identifier.getSystem().isEmpty()) {
-			return patientService.searchPatientsByIdentifier(identifier.getValue(), identifier.getSystem());
+		Map<String, Patient> patients = new LinkedHashMap<>();
+		for (Map.Entry<String, List<String>> entry : valuesBySystem.entrySet()) {
+			for (Patient patient : patientService.searchPatientsByIdentifiers(entry.getValue(), entry.getKey())) {
+				patients.put(patient.getId(), patient);
+			}
 		}
-		return patientService.searchPatientsByIdentifier(identifier.getValue());
+		return new ArrayList<>(patients.values());
 	}
 
 	public Bundle searchByGivenName(StringParam givenName) {
@@ -65,12 +94,40 @@ public class FHIRPatientResource extends Resource {
 		return patientService.searchPatientsByFamilyName(theFamilyName.getValue());
 	}
 
+	//search by given or family name, honoring the :exact and :contains modifiers. The result is paged in the database
+	public IBundleProvider searchByNamePart(StringParam givenName, StringParam familyName) {
+		final String given = givenName != null ? givenName.getValue() : null;
+		final String family = familyName != null ? familyName.getValue() : null;
+		StringParam name = givenName != null ? givenName : familyName;
+		final NameMatchMode matchMode = NameMatchMode.valueOf(name.isExact(), name.isContains());
+		final org.openmrs.module.fhir.api.PatientService patientService = Context.getService(
+				org.openmrs.module.fhir.api.PatientService.class);
+		return new PagedBundleProvider<Patient>() {
+
+			@Override
+			protected List<Patient> getPage(int firstResult, int maxResults) {
+				return patientService.searchPatientsByName(given, family, matchMode, firstResult, maxResults);
+			}
+
+			@Override
+			protected int count() {
+				return patientService.getPatientCountByName(given, family, matchMode);
+			}
+		};
+	}
+
 	public Bundle searchByName(StringParam name) {
 		org.openmrs.module.fhir.api.PatientService patientService = Context.getService(
 				org.openmrs.module.fhir.api.PatientService.class);
 		return patientService.searchPatientsByName(name.getValue());
 	}
 
+	public Bundle searchByPhoneticName(StringParam name) {
+		org.openmrs.module.fhir.api.PatientService patientService = Context.getService(
+				org.openmrs.module.fhir.api.PatientService.class);
+		return patientService.searchPatientsByPhoneticName(name.getValue());
+	}
+
 	public List<Patient> searchPatients(TokenParam active) {
 		org.openmrs.module.fhir.api.PatientService patientService = Context.getService(
 				org.openmrs.module.fhir.api.PatientService.class);
@@ -14,7 +14,7 @@
 package org.openmrs.module.fhir.resources;
 
 import ca.uhn.fhir.rest.param.StringParam;
-import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Person;
@@ -34,9 +34,9 @@ public class FHIRPersonResource extends Resource {
 		return fhirPerson;
 	}
 
-	public List<Person> searchByUniqueId(TokenParam id) {
+	public List<Person> searchByUniqueId(TokenOrListParam ids) {
 		PersonService personService = Context.getService(PersonService.class);
-		return personService.searchPersonByUuid(id.getValue());
+		return personService.getPersonsByUuids(getUuids(ids));
 	}
 
 	public List<Person> searchPersons(String name, Integer birthYear, StringParam gender) {
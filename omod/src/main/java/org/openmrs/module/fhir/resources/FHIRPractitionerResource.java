@@ -14,12 +14,15 @@
 package org.openmrs.module.fhir.resources;
 
 import ca.uhn.fhir.rest.param.StringParam;
+import ca.uhn.fhir.rest.param.TokenOrListParam;
 import ca.uhn.fhir.rest.param.TokenParam;
+import ca.uhn.fhir.rest.server.IBundleProvider;
 import ca.uhn.fhir.rest.server.exceptions.ResourceNotFoundException;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Practitioner;
 import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.api.PractitionerService;
+import org.openmrs.module.fhir.api.util.NameMatchMode;
 
 import java.util.List;
 
@@ -34,10 +37,10 @@ public class FHIRPractitionerResource extends Resource {
 		return fhirPractitioner;
 	}
 
-	public List<Practitioner> searchByUniqueId(TokenParam id) {
+	public List<Practitioner> searchByUniqueId(TokenOrListParam ids) {
 		org.openmrs.module.fhir.api.PractitionerService patientService = Context
 				.getService(org.openmrs.module.fhir.api.PractitionerService.class);
-		return patientService.searchPractitionersById(id.getValue());
+		return patientService.getPractitionersByUuids(getUuids(ids));
 	}
 
 	//search by patient identifier. ex: GET_DESCRIPTION [base-url]/Practitioner?identifier=12345
@@ -60,12 +63,38 @@ public class FHIRPractitionerResource extends Resource {
 		return patientService.searchPractitionersByFamilyName(familyName.getValue()); //// ??
 	}
 
+	//search by given or family name, honoring the :exact and :contains modifiers. The result is paged in the database
+	public IBundleProvider searchByNamePart(StringParam givenName, StringParam familyName) {
+		final String given = givenName != null ? givenName.getValue() : null;
+		final String family = familyName != null ? familyName.getValue() : null;
+		StringParam name = givenName != null ? givenName : familyName;
+		final NameMatchMode matchMode = NameMatchMode.valueOf(name.isExact(), name.isContains());
+		final PractitionerService practitionerService = Context.getService(PractitionerService.class);
+		return new PagedBundleProvider<Practitioner>() {
+
+			@Override
+			protected List<Practitioner> getPage(int firstResult, int maxResults) {
+				return practitionerService.searchPractitionersByName(given, family, matchMode, firstResult, maxResults);
+			}
+
+			@Override
+			protected int count() {
+				return practitionerService.getPractitionerCountByName(given, family, matchMode);
+			}
+		};
+	}
+
 	public List<Practitioner> searchByName(StringParam name) {
 		org.openmrs.module.fhir.api.PractitionerService patientService = Context.getService( // the reference is wrong :)
 				org.openmrs.module.fhir.api.PractitionerService.class);
 		return patientService.searchPractitionersByName(name.getValue()); // IS THIS SHOUDL BE PATIENT SERVICE?????????????
 	}
 
+	public List<Practitioner> searchByPhoneticName(StringParam name) {
+		PractitionerService practitionerService = Context.getService(PractitionerService.class);
+		return practitionerService.searchPractitionersByPhoneticName(name.getValue());
+	}
+
 	public Practitioner createFHIRPractitioner(Practitioner practitioner) {
 		org.openmrs.module.fhir.api.PractitionerService practitionerService = Context
 				.getService(org.openmrs.module.fhir.api.PractitionerService.class);
@@ -0,0 +1,80 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.resources;
+
+import ca.uhn.fhir.rest.server.IBundleProvider;
+import org.hl7.fhir.dstu3.model.InstantType;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IPrimitiveType;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Serves a search result page by page from a query that is paged in the database, so that only the
+ * resources of the requested page are loaded and converted. The total is counted once, on first use.
+ *
+ * @param <T> type of the resources in the result
+ */
+public abstract class PagedBundleProvider<T extends IBaseResource> implements IBundleProvider {
+
+	private final InstantType published;
+
+	private Integer size;
+
+	public PagedBundleProvider() {
+		this.published = InstantType.now();
+	}
+
+	/**
+	 * @param firstResult index of the first resource to return
+	 * @param maxResults  maximum number of resources to return
+	 * @return the resources of the page
+	 */
+	protected abstract List<T> getPage(int firstResult, int maxResults);
+
+	/**
+	 * @return the number of resources in the whole result
+	 */
+	protected abstract int count();
+
+	@Override
+	public IPrimitiveType<Date> getPublished() {
+		return published;
+	}
+
+	@Override
+	public List<IBaseResource> getResources(int fromIndex, int toIndex) {
+		return new ArrayList<IBaseResource>(getPage(fromIndex, toIndex - fromIndex));
+	}
+
+	@Override
+	public String getUuid() {
+		return null;
+	}
+
+	@Override
+	public Integer preferredPageSize() {
+		return null;
+	}
+
+	@Override
+	public Integer size() {
+		if (size == null) {
+			size = count();
+		}
+		return size;
+	}
+}
@@ -13,6 +13,25 @@
  */
 package org.openmrs.module.fhir.resources;
 
+import ca.uhn.fhir.rest.param.TokenOrListParam;
+import ca.uhn.fhir.rest.param.TokenParam;
+import org.openmrs.module.fhir.api.util.FHIRUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 public class Resource {
 
+	/**
+	 * @param ids the values of an _id search, each either uuid or ResourceType/uuid
+	 * @return the uuids, each once
+	 */
+	protected static Collection<String> getUuids(TokenOrListParam ids) {
+		Set<String> uuids = new LinkedHashSet<>();
+		for (TokenParam id : ids.getValuesAsQueryTokens()) {
+			uuids.add(FHIRUtils.extractUuid(id.getValue()));
+		}
+		return uuids;
+	}
 }
@@ -0,0 +1,154 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.server;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.narrative.CustomThymeleafNarrativeGenerator;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.IIdType;
+import org.hl7.fhir.instance.model.api.INarrative;
+import org.openmrs.module.fhir.api.util.FHIRFingerprintUtil;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Renders narratives from the custom Thymeleaf templates and keeps the rendered narratives, keyed by
+ * resource id and content fingerprint, so a resource is rendered once until it changes.
+ * <p>The converted resources carry no version, and the date changed of an OpenMRS object does not
+ * follow the changes to its names, identifiers or other child objects, so it cannot tell whether a
+ * narrative is still current. The fingerprint is one JSON encoding and digest of the resource, which
+ * is far cheaper than rendering a template. A version id is used instead when the resource has one.</p>
+ * <p>Rendering can be switched off for the requests of the current thread with
+ * {@link #setSuppressed(boolean)}, for clients that have no use for narratives.</p>
+ */
+public class CachingNarrativeGenerator extends CustomThymeleafNarrativeGenerator {
+
+	private static final Log log = LogFactory.getLog(CachingNarrativeGenerator.class);
+
+	/**
+	 * Bounds the number of narratives kept in memory
+	 */
+	private static final int MAX_ENTRIES = 5000;
+
+	private static final ThreadLocal<Boolean> suppressed = new ThreadLocal<>();
+
+	private final Map<String, CachedNarrative> narratives = new LinkedHashMap<String, CachedNarrative>(MAX_ENTRIES,
+			0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedNarrative> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	public CachingNarrativeGenerator(String propertyFile) {
+		super(propertyFile);
+	}
+
+	/**
+	 * @param suppress true to skip narrative rendering on the current thread, until it is set back to
+	 *                 false
+	 */
+	public static void setSuppressed(boolean suppress) {
+		if (suppress) {
+			suppressed.set(Boolean.TRUE);
+		} else {
+			suppressed.remove();
+		}
+	}
+
+	/**
+	 * @return true if narrative rendering is skipped on the current thread
+	 */
+	public static boolean isSuppressed() {
+		return Boolean.TRUE.equals(suppressed.get());
+	}
+
+	@Override
+	public void generateNarrative(FhirContext context, IBaseResource resource, INarrative narrative) {
+		if (isSuppressed()) {
+			return;
+		}
+		String key = getKey(resource);
+		if (key == null) {
+			render(context, resource, narrative);
+			return;
+		}
+
+		CachedNarrative cached;
+		synchronized (narratives) {
+			cached = narratives.get(key);
+		}
+		if (cached != null) {
+			try {
+				narrative.setDivAsString(cached.div);
+				narrative.setStatusAsString(cached.status);
+				return;
+			}
+			catch (Exception e) {
+				log.debug("Could not reuse the narrative of " + key + ", rendering it again", e);
+			}
+		}
+
+		render(context, resource, narrative);
+		if (!narrative.isEmpty()) {
+			synchronized (narratives) {
+				narratives.put(key, new CachedNarrative(narrative.getStatusAsString(), narrative.getDivAsString()));
+			}
+		}
+	}
+
+	/**
+	 * Renders the narrative from the templates, without looking at the kept narratives
+	 */
+	protected void render(FhirContext context, IBaseResource resource, INarrative narrative) {
+		super.generateNarrative(context, resource, narrative);
+	}
+
+	/**
+	 * Drops every kept narrative
+	 */
+	public void clearCache() {
+		synchronized (narratives) {
+			narratives.clear();
+		}
+	}
+
+	private static String getKey(IBaseResource resource) {
+		IIdType id = resource.getIdElement();
+		if (id == null || id.getIdPart() == null) {
+			return null;
+		}
+		String version = id.getVersionIdPart();
+		if (version == null) {
+			version = FHIRFingerprintUtil.getFingerprint(resource);
+		}
+		return resource.getClass().getSimpleName() + "/" + id.getIdPart() + "/" + version;
+	}
+
+	private static class CachedNarrative {
+
+		private final String status;
+
+		private final String div;
+
+		private CachedNarrative(String status, String div) {
+			this.status = status;
+			this.div = div;
+		}
+	}
+}
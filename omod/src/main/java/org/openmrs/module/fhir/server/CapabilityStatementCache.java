@@ -0,0 +1,218 @@
+/*
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.server;
+
+import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.rest.server.RestfulServer;
+import org.hl7.fhir.dstu3.hapi.rest.server.ServerCapabilityStatementProvider;
+import org.hl7.fhir.dstu3.model.CapabilityStatement;
+import org.openmrs.GlobalProperty;
+import org.openmrs.api.GlobalPropertyListener;
+import org.openmrs.module.fhir.util.CachedResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serves the capability statement of a server from bytes encoded once, in JSON and XML, instead of
+ * generating and encoding it on every metadata request.
+ * <p>The statement depends on the url the server is reached through, so it is kept per url. A server
+ * creates a new cache whenever it is initialized, which is when its providers can change, and the cache
+ * is dropped when the {@link #BASE_URL_PROPERTY} global property changes. Requests that need more than
+ * the plain statement, such as browser requests or requests with parameters other than _format, are
+ * left to the server.</p>
+ * <p>Cached statements are written without going through the server, so its interceptors do not see
+ * those requests.</p>
+ */
+public class CapabilityStatementCache implements GlobalPropertyListener {
+
+	/**
+	 * The global property of the server base url, which the statement carries as implementation url
+	 */
+	public static final String BASE_URL_PROPERTY = "fhir.baseUrl";
+
+	private static final String METADATA_PATH = "/metadata";
+
+	private static final String GET = "GET";
+
+	private static final String FORMAT_PARAM = "_format";
+
+	private static final String ACCEPT = "Accept";
+
+	private static final String QUALITY_PARAM = "q=";
+
+	private static final String JSON = "json";
+
+	private static final String XML = "xml";
+
+	private static final String HTML = "html";
+
+	private static final String JSON_CONTENT_TYPE = "application/fhir+json;charset=UTF-8";
+
+	private static final String XML_CONTENT_TYPE = "application/fhir+xml;charset=UTF-8";
+
+	/**
+	 * Bounds the number of urls the statement is kept for
+	 */
+	private static final int MAX_ENTRIES = 16;
+
+	private final RestfulServer server;
+
+	private final Map<String, EncodedStatement> statements = new LinkedHashMap<String, EncodedStatement>(MAX_ENTRIES,
+			0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, EncodedStatement> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	public CapabilityStatementCache(RestfulServer server) {
+		this.server = server;
+	}
+
+	/**
+	 * @param request an incoming request
+	 * @return true if the request asks for the plain capability statement
+	 */
+	public boolean isCacheable(HttpServletRequest request) {
+		if (!GET.equals(request.getMethod()) || !stripTrailingSlash(request.getRequestURI()).endsWith(METADATA_PATH)) {
+			return false;
+		}
+		Enumeration<String> parameterNames = request.getParameterNames();
+		while (parameterNames.hasMoreElements()) {
+			if (!FORMAT_PARAM.equals(parameterNames.nextElement())) {
+				return false;
+			}
+		}
+		String accept = request.getHeader(ACCEPT);
+		return accept == null || !accept.contains(HTML) || request.getParameter(FORMAT_PARAM) != null;
+	}
+
+	/**
+	 * @param request a request for which {@link #isCacheable(HttpServletRequest)} is true
+	 * @return the encoded statement in the format the request asks for
+	 */
+	public CachedResponse getStatement(HttpServletRequest request) {
+		String key = stripTrailingSlash(request.getRequestURL().toString());
+		EncodedStatement statement;
+		synchronized (statements) {
+			statement = statements.get(key);
+			if (statement == null) {
+				statement = encode(request);
+				statements.put(key, statement);
+			}
+		}
+		return prefersXml(request) ? statement.xml : statement.json;
+	}
+
+	/**
+	 * Drops the encoded statements, so that they are generated again on the next request
+	 */
+	public void invalidate() {
+		synchronized (statements) {
+			statements.clear();
+		}
+	}
+
+	@Override
+	public boolean supportsPropertyName(String propertyName) {
+		return BASE_URL_PROPERTY.equals(propertyName);
+	}
+
+	@Override
+	public void globalPropertyChanged(GlobalProperty newValue) {
+		invalidate();
+	}
+
+	@Override
+	public void globalPropertyDeleted(String propertyName) {
+		invalidate();
+	}
+
+	private EncodedStatement encode(HttpServletRequest request) {
+		ServerCapabilityStatementProvider provider = (ServerCapabilityStatementProvider) server
+				.getServerConformanceProvider();
+		CapabilityStatement statement = provider.getServerConformance(request);
+		IParser jsonParser = server.getFhirContext().newJsonParser().setPrettyPrint(server.isDefaultPrettyPrint());
+		IParser xmlParser = server.getFhirContext().newXmlParser().setPrettyPrint(server.isDefaultPrettyPrint());
+		return new EncodedStatement(
+				new CachedResponse(JSON_CONTENT_TYPE, jsonParser.encodeResourceToString(statement).getBytes(
+						StandardCharsets.UTF_8)),
+				new CachedResponse(XML_CONTENT_TYPE, xmlParser.encodeResourceToString(statement).getBytes(
+						StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Picks XML when the _format parameter asks for it, or when the Accept header gives an XML type a
+	 * higher quality than any JSON type. JSON is the default, as it is for the server.
+	 */
+	private static boolean prefersXml(HttpServletRequest request) {
+		String format = request.getParameter(FORMAT_PARAM);
+		if (format != null) {
+			return format.contains(XML);
+		}
+		String accept = request.getHeader(ACCEPT);
+		if (accept == null) {
+			return false;
+		}
+		float xmlQuality = 0;
+		float jsonQuality = 0;
+		for (String mediaRange : accept.split(",")) {
+			String[] parts = mediaRange.split(";");
+			String type = parts[0].trim();
+			float quality = getQuality(parts);
+			if (type.contains(XML)) {
+				xmlQuality = Math.max(xmlQuality, quality);
+			} else if (type.contains(JSON)) {
+				jsonQuality = Math.max(jsonQuality, quality);
+			}
+		}
+		return xmlQuality > jsonQuality;
+	}
+
+	private static float getQuality(String[] mediaRangeParts) {
+		for (int i = 1; i < mediaRangeParts.length; i++) {
+			String parameter = mediaRangeParts[i].trim();
+			if (parameter.startsWith(QUALITY_PARAM)) {
+				try {
+					return Float.parseFloat(parameter.substring(QUALITY_PARAM.length()).trim());
+				}
+				catch (NumberFormatException e) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+
+	private static String stripTrailingSlash(String path) {
+		return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+	}
+
+	private static class EncodedStatement {
+
+		private final CachedResponse json;
+
+		private final CachedResponse xml;
+
+		private EncodedStatement(CachedResponse json, CachedResponse xml) {
+			this.json = json;
+			this.xml = xml;
+		}
+	}
+}
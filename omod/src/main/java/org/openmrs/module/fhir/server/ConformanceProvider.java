@@ -47,5 +47,7 @@ public class ConformanceProvider {
 
 	public void setRestfulServer(RestfulServer restfulServer) {
 		this.restfulServer = restfulServer;
+		//The providers of the new server may differ, so the statement has to be generated again
+		conformance = null;
 	}
 }
@@ -13,15 +13,20 @@
  */
 package org.openmrs.module.fhir.server;
 
-import ca.uhn.fhir.context.FhirContext;
-import ca.uhn.fhir.narrative.CustomThymeleafNarrativeGenerator;
+import ca.uhn.fhir.rest.api.SummaryEnum;
 import ca.uhn.fhir.rest.server.EncodingEnum;
+import ca.uhn.fhir.rest.server.FifoMemoryPagingProvider;
 import ca.uhn.fhir.rest.server.IResourceProvider;
 import ca.uhn.fhir.rest.server.RestfulServer;
 import ca.uhn.fhir.rest.server.interceptor.LoggingInterceptor;
 import ca.uhn.fhir.rest.server.interceptor.ResponseHighlighterInterceptor;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.hl7.fhir.dstu3.hapi.rest.server.ServerCapabilityStatementProvider;
+import org.openmrs.api.context.Context;
 import org.openmrs.module.fhir.addressstrategy.OpenMRSFHIRRequestAddressStrategy;
+import org.openmrs.module.fhir.api.manager.FHIRContextFactory;
 import org.openmrs.module.fhir.api.util.FHIRUtils;
 import org.openmrs.module.fhir.providers.RestfulAllergyIntoleranceResourceProvider;
 import org.openmrs.module.fhir.providers.RestfulConditionResourceProvider;
@@ -29,6 +34,7 @@ import org.openmrs.module.fhir.providers.RestfulDiagnosticReportResourceProvider
 import org.openmrs.module.fhir.providers.RestfulEncounterResourceProvider;
 import org.openmrs.module.fhir.providers.RestfulFamilyMemberHistoryResourceProvider;
 import org.openmrs.module.fhir.providers.RestfulGroupResourceProvider;
+import org.openmrs.module.fhir.providers.RestfulHistoryProvider;
 import org.openmrs.module.fhir.providers.RestfulLocationResourceProvider;
 import org.openmrs.module.fhir.providers.RestfulMedicationRequestResourceProvider;
 import org.openmrs.module.fhir.providers.RestfulMedicationResourceProvider;
@@ -40,8 +46,17 @@ import org.openmrs.module.fhir.providers.RestfulProcedureRequestResourceProvider
 import org.openmrs.module.fhir.providers.RestfulRelatedPersonProvider;
 import org.openmrs.module.fhir.util.FHIROmodConstants;
 
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class FHIRRESTServer extends RestfulServer {
 
@@ -49,6 +64,29 @@ public class FHIRRESTServer extends RestfulServer {
 
 	private static final String MODULE_SERVELET_PREFIX = "/fhir/fhirServelet";
 
+	private static final int PAGING_CACHE_SIZE = 100;
+
+	/**
+	 * Searches without _count return their whole result in one bundle, as they did before paging was
+	 * supported, so that clients reading only the first bundle do not lose results
+	 */
+	private static final int DEFAULT_PAGE_SIZE = Integer.MAX_VALUE;
+
+	private static final int MAXIMUM_PAGE_SIZE = 500;
+
+	/**
+	 * Request parameter switching narrative rendering on or off, _narrative=false skips it
+	 */
+	public static final String NARRATIVE_PARAM = "_narrative";
+
+	private static final String SUMMARY_PARAM = "_summary";
+
+	private static final String ACCESS_LOG = "test.accesslog";
+
+	private static final Log accessLog = LogFactory.getLog(ACCESS_LOG);
+
+	private transient CapabilityStatementCache capabilityStatementCache;
+
 	/**
 	 * The initialize method is automatically called when the servlet is starting up, so it can
 	 * be used to configure the servlet to define resource providers, or set up
@@ -73,8 +111,13 @@ public class FHIRRESTServer extends RestfulServer {
 		resourceProviders.add(new RestfulPersonResourceProvider());
 		resourceProviders.add(new RestfulRelatedPersonProvider());
 		resourceProviders.add(new RestfulGroupResourceProvider());
-		this.setFhirContext(FhirContext.forDstu3());
+		this.setFhirContext(FHIRContextFactory.getServerFHIRContext());
 		setResourceProviders(resourceProviders);
+		setPlainProviders(new RestfulHistoryProvider());
+		FifoMemoryPagingProvider pagingProvider = new FifoMemoryPagingProvider(PAGING_CACHE_SIZE);
+		pagingProvider.setDefaultPageSize(DEFAULT_PAGE_SIZE);
+		pagingProvider.setMaximumPageSize(MAXIMUM_PAGE_SIZE);
+		setPagingProvider(pagingProvider);
 		setServerName(FHIROmodConstants.OPENMRS_FHIR_SERVER_NAME);
 		setServerVersion(FHIROmodConstants.OPENMRS_FHIR_SERVER_VERSION);
 		setImplementationDescription(FHIROmodConstants.OPENMRS_FHIR_SERVER_DES);
@@ -82,14 +125,17 @@ public class FHIRRESTServer extends RestfulServer {
 		setDefaultResponseEncoding(EncodingEnum.JSON);
 		if (FHIRUtils.isCustomNarrativesEnabled()) {
 			String propFile = FHIRUtils.getCustomNarrativesPropertyPath();
-			CustomThymeleafNarrativeGenerator generator = new CustomThymeleafNarrativeGenerator(propFile);
+			CachingNarrativeGenerator generator = new CachingNarrativeGenerator(propFile);
 			getFhirContext().setNarrativeGenerator(generator);
+		} else {
+			//The server context outlives the servlet, so a generator set by an earlier initialization is dropped
+			getFhirContext().setNarrativeGenerator(null);
 		}
 		ResponseHighlighterInterceptor responseHighlighter = new ResponseHighlighterInterceptor();
 		registerInterceptor(responseHighlighter);
 		LoggingInterceptor loggingInterceptor = new LoggingInterceptor();
 		registerInterceptor(loggingInterceptor);
-		loggingInterceptor.setLoggerName("test.accesslog");
+		loggingInterceptor.setLoggerName(ACCESS_LOG);
 		loggingInterceptor
 				.setMessageFormat("Source[${remoteAddr}] Operation[${operationType} ${idOrResourceName}] " +
 						"UA[${requestHeader.user-agent}] Params[${requestParameters}]");
@@ -97,10 +143,127 @@ public class FHIRRESTServer extends RestfulServer {
 		this.setServerConformanceProvider(sc);
 		ConformanceProvider provider = new ConformanceProvider();
 		provider.setRestfulServer(this);
+		removeCapabilityStatementCache();
+		capabilityStatementCache = new CapabilityStatementCache(this);
+		Context.getAdministrationService().addGlobalPropertyListener(capabilityStatementCache);
+	}
+
+	@Override
+	public void destroy() {
+		removeCapabilityStatementCache();
+		super.destroy();
+	}
+
+	private void removeCapabilityStatementCache() {
+		if (capabilityStatementCache != null) {
+			Context.getAdministrationService().removeGlobalPropertyListener(capabilityStatementCache);
+			capabilityStatementCache = null;
+		}
+	}
+
+	/**
+	 * Answers plain metadata requests from the cached capability statement, and passes every other
+	 * request on to the server. Narratives are not rendered for requests that opt out with
+	 * _narrative=false or ask for a summary without text.
+	 */
+	@Override
+	protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException,
+			IOException {
+		CapabilityStatementCache cache = capabilityStatementCache;
+		if (cache != null && cache.isCacheable(request)) {
+			//The server interceptors are bypassed, so the request is logged here
+			accessLog.info("Source[" + request.getRemoteAddr() + "] Operation[metadata ] UA["
+					+ StringUtils.defaultString(request.getHeader("User-Agent")) + "] Params["
+					+ StringUtils.defaultString(request.getQueryString()) + "]");
+			cache.getStatement(request).write(request, response);
+			return;
+		}
+
+		CachingNarrativeGenerator.setSuppressed(isNarrativeSuppressed(request));
+		try {
+			if (request.getParameter(NARRATIVE_PARAM) != null) {
+				//The providers do not declare the parameter, so it is hidden from the server
+				request = new HiddenParameterRequest(request, NARRATIVE_PARAM);
+			}
+			super.service(request, response);
+		}
+		finally {
+			CachingNarrativeGenerator.setSuppressed(false);
+		}
+	}
+
+	static boolean isNarrativeSuppressed(HttpServletRequest request) {
+		String narrative = request.getParameter(NARRATIVE_PARAM);
+		if (narrative != null) {
+			return Boolean.FALSE.toString().equalsIgnoreCase(narrative);
+		}
+		String summary = request.getParameter(SUMMARY_PARAM);
+		return summary != null && !SummaryEnum.TEXT.getCode().equals(summary) && !SummaryEnum.FALSE.getCode()
+				.equals(summary);
+	}
+
+	/**
+	 * @return the cache of the capability statement, null until the server is initialized
+	 */
+	public CapabilityStatementCache getCapabilityStatementCache() {
+		return capabilityStatementCache;
 	}
 
 	protected String getRequestPath(String requestFullPath, String servletContextPath, String servletPath) {
 		return requestFullPath.substring(escapedLength(servletContextPath) + escapedLength(servletPath) + escapedLength(
 				MODULE_SERVELET_PREFIX));
 	}
+
+	/**
+	 * Hides one request parameter from the server
+	 */
+	static class HiddenParameterRequest extends HttpServletRequestWrapper {
+
+		private final String hiddenParameter;
+
+		HiddenParameterRequest(HttpServletRequest request, String hiddenParameter) {
+			super(request);
+			this.hiddenParameter = hiddenParameter;
+		}
+
+		@Override
+		public String getParameter(String name) {
+			return hiddenParameter.equals(name) ? null : super.getParameter(name);
+		}
+
+		@Override
+		public String[] getParameterValues(String name) {
+			return hiddenParameter.equals(name) ? null : super.getParameterValues(name);
+		}
+
+		@Override
+		public Map<String, String[]> getParameterMap() {
+			Map<String, String[]> parameters = new LinkedHashMap<>(super.getParameterMap());
+			parameters.remove(hiddenParameter);
+			return Collections.unmodifiableMap(parameters);
+		}
+
+		@Override
+		public Enumeration<String> getParameterNames() {
+			return Collections.enumeration(getParameterMap().keySet());
+		}
+
+		@Override
+		public String getQueryString() {
+			String queryString = super.getQueryString();
+			if (queryString == null) {
+				return null;
+			}
+			StringBuilder filtered = new StringBuilder();
+			for (String parameter : queryString.split("&")) {
+				if (!parameter.equals(hiddenParameter) && !parameter.startsWith(hiddenParameter + "=")) {
+					if (filtered.length() > 0) {
+						filtered.append('&');
+					}
+					filtered.append(parameter);
+				}
+			}
+			return filtered.length() == 0 ? null : filtered.toString();
+		}
+	}
 }
@@ -15,18 +15,20 @@ package org.openmrs.module.fhir.swagger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.openmrs.api.context.Context;
-import org.openmrs.module.fhir.api.util.FHIRConstants;
-import org.openmrs.module.fhir.filter.ForwardingFilter;
 import org.openmrs.module.fhir.swagger.codegen.SwaggerCodeGenerator;
+import org.openmrs.module.fhir.swagger.codegen.SwaggerSDKCache;
+import org.openmrs.module.fhir.util.CachedResponse;
 import org.openmrs.module.fhir.util.FHIROmodConstants;
 
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 
 public class SwaggerCodeGenController extends HttpServlet {
 
@@ -34,48 +36,22 @@ public class SwaggerCodeGenController extends HttpServlet {
 
 	protected void doGet(HttpServletRequest request, HttpServletResponse response) {
 
-		String swaggerSpecificationJSON;
 		try {
-			StringBuilder baseUrl = new StringBuilder();
-			String scheme = request.getScheme();
-			int port = request.getServerPort();
-
-			baseUrl.append(scheme); // http, https
-			baseUrl.append(SwaggerDocConstants.SLASHES);
-			baseUrl.append(request.getServerName());
-			if ((SwaggerDocConstants.HTTP.equals(scheme) && port != 80) ||
-					(SwaggerDocConstants.HTTPS.equals(scheme) && port != 443)) {
-				baseUrl.append(SwaggerDocConstants.COLON);
-				baseUrl.append(request.getServerPort());
-			}
-
-			baseUrl.append(request.getContextPath());
-			String resourcesUrl = Context.getAdministrationService().
-					getGlobalProperty(FHIRConstants.URI_PREFIX_GLOBAL_PROPERTY_NAME, baseUrl.toString());
-			String urlWithoutScheme = "";
-			String basePath = ForwardingFilter.getContextPath() + "/ws/fhir";
-			if (SwaggerDocConstants.HTTP.equals(scheme)) {
-				urlWithoutScheme = resourcesUrl.replace(SwaggerDocConstants.HTTP_WITH_SLASHES,
-						SwaggerDocConstants.STR_EMPTY);
-			} else if (SwaggerDocConstants.HTTPS.equals(scheme)) {
-				urlWithoutScheme = resourcesUrl.replace(SwaggerDocConstants.HTTPS_WITH_SLASHES,
-						SwaggerDocConstants.STR_EMPTY);
-			}
-			urlWithoutScheme = urlWithoutScheme.replace(ForwardingFilter.getContextPath(), SwaggerDocConstants.STR_EMPTY);
-			SwaggerSpecificationCreator creator = new SwaggerSpecificationCreator(urlWithoutScheme, basePath, request);
-			swaggerSpecificationJSON = creator.buildJSON();
-			SwaggerCodeGenerator swaggerCodeGenerator = new SwaggerCodeGenerator();
+			CachedResponse specification = SwaggerSpecificationCache.getSpecification(request);
 			String language = request.getParameter(FHIROmodConstants.LANGUAGE);
-			String path = swaggerCodeGenerator.generateSDK(language, swaggerSpecificationJSON);
-			File sdkZipFile = new File(path);
+			File sdkZipFile = SwaggerSDKCache.getSDK(language, specification.getHash(),
+					new String(specification.getBody(), StandardCharsets.UTF_8));
 			response.setHeader(FHIROmodConstants.CONTENT_TYPE, FHIROmodConstants.APPLICATION_ZIP_CHARSET_UTF_8);
 			response.setHeader(FHIROmodConstants.CONTENT_DISPOSITION, FHIROmodConstants.ATTACHMENT_FILENAME
-					+ "\"" + sdkZipFile.getName() + "\"");
-			FileInputStream fileInputStream = new FileInputStream(sdkZipFile);
-			OutputStream responseOutputStream = response.getOutputStream();
-			int bytes;
-			while ((bytes = fileInputStream.read()) != -1) {
-				responseOutputStream.write(bytes);
+					+ "\"" + SwaggerCodeGenerator.getArchiveName(language) + "\"");
+			try (FileChannel sdkChannel = FileChannel.open(sdkZipFile.toPath(), StandardOpenOption.READ)) {
+				long size = sdkChannel.size();
+				response.setHeader(FHIROmodConstants.CONTENT_LENGTH, String.valueOf(size));
+				WritableByteChannel responseChannel = Channels.newChannel(response.getOutputStream());
+				long position = 0;
+				while (position < size) {
+					position += sdkChannel.transferTo(position, size - position, responseChannel);
+				}
 			}
 			response.flushBuffer();
 		}
@@ -0,0 +1,126 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ * <p/>
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ * <p/>
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.swagger;
+
+import org.hl7.fhir.dstu3.model.CapabilityStatement;
+import org.openmrs.api.context.Context;
+import org.openmrs.module.fhir.api.util.FHIRConstants;
+import org.openmrs.module.fhir.filter.ForwardingFilter;
+import org.openmrs.module.fhir.server.ConformanceProvider;
+import org.openmrs.module.fhir.util.CachedResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the swagger specification once per server configuration and keeps it serialized.
+ * <p>A specification depends on the host it is served for, its base path and the capability statement
+ * of the server. It is built again only when one of those changes, the capability statement changing
+ * when the resource providers of the server are registered again.</p>
+ */
+public final class SwaggerSpecificationCache {
+
+	/**
+	 * Bounds the number of host names the specification is kept for
+	 */
+	private static final int MAX_ENTRIES = 16;
+
+	private static final String CONTENT_TYPE = SwaggerDocConstants.PRODUCES_JSON + ";charset="
+			+ SwaggerDocConstants.UTF_8;
+
+	private static final Map<String, Entry> specifications = new LinkedHashMap<String, Entry>(MAX_ENTRIES, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private SwaggerSpecificationCache() {
+	}
+
+	/**
+	 * @param request the request for the specification, which provides the host when the url prefix is not
+	 *                configured
+	 * @return the serialized specification for the host of the request
+	 */
+	public static CachedResponse getSpecification(HttpServletRequest request) {
+		String baseUrl = getBaseUrl(request);
+		String basePath = ForwardingFilter.getContextPath() + "/ws/fhir";
+		CapabilityStatement conformance = ConformanceProvider.getConformance(request);
+		String key = baseUrl + "|" + basePath;
+
+		synchronized (specifications) {
+			Entry entry = specifications.get(key);
+			if (entry == null || entry.conformance != conformance) {
+				SwaggerSpecificationCreator creator = new SwaggerSpecificationCreator(baseUrl, basePath, conformance);
+				byte[] json = creator.buildJSON().getBytes(StandardCharsets.UTF_8);
+				entry = new Entry(conformance, new CachedResponse(CONTENT_TYPE, json));
+				specifications.put(key, entry);
+			}
+			return entry.specification;
+		}
+	}
+
+	/**
+	 * Drops every cached specification
+	 */
+	public static void invalidate() {
+		synchronized (specifications) {
+			specifications.clear();
+		}
+	}
+
+	private static String getBaseUrl(HttpServletRequest request) {
+		StringBuilder baseUrl = new StringBuilder();
+		String scheme = request.getScheme();
+		int port = request.getServerPort();
+
+		baseUrl.append(scheme); // http, https
+		baseUrl.append(SwaggerDocConstants.SLASHES);
+		baseUrl.append(request.getServerName());
+		if ((SwaggerDocConstants.HTTP.equals(scheme) && port != 80) || (SwaggerDocConstants.HTTPS.equals(scheme)
+				&& port != 443)) {
+			baseUrl.append(SwaggerDocConstants.COLON);
+			baseUrl.append(request.getServerPort());
+		}
+
+		baseUrl.append(request.getContextPath());
+		String resourcesUrl = Context.getAdministrationService()
+				.getGlobalProperty(FHIRConstants.URI_PREFIX_GLOBAL_PROPERTY_NAME, baseUrl.toString());
+		String urlWithoutScheme = "";
+		if (SwaggerDocConstants.HTTP.equals(scheme)) {
+			urlWithoutScheme = resourcesUrl
+					.replace(SwaggerDocConstants.HTTP_WITH_SLASHES, SwaggerDocConstants.STR_EMPTY);
+		} else if (SwaggerDocConstants.HTTPS.equals(scheme)) {
+			urlWithoutScheme = resourcesUrl
+					.replace(SwaggerDocConstants.HTTPS_WITH_SLASHES, SwaggerDocConstants.STR_EMPTY);
+		}
+		return urlWithoutScheme.replace(ForwardingFilter.getContextPath(), SwaggerDocConstants.STR_EMPTY);
+	}
+
+	private static class Entry {
+
+		private final CapabilityStatement conformance;
+
+		private final CachedResponse specification;
+
+		private Entry(CapabilityStatement conformance, CachedResponse specification) {
+			this.conformance = conformance;
+			this.specification = specification;
+		}
+	}
+}
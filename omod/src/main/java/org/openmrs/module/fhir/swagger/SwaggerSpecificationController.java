@@ -15,9 +15,6 @@ package org.openmrs.module.fhir.swagger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.openmrs.api.context.Context;
-import org.openmrs.module.fhir.api.util.FHIRConstants;
-import org.openmrs.module.fhir.filter.ForwardingFilter;
 
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -28,40 +25,8 @@ public class SwaggerSpecificationController extends HttpServlet {
 	protected Log log = LogFactory.getLog(getClass());
 
 	protected void doGet(HttpServletRequest request, HttpServletResponse response) {
-
-		String swaggerSpecificationJSON;
 		try {
-			StringBuilder baseUrl = new StringBuilder();
-			String scheme = request.getScheme();
-			int port = request.getServerPort();
-
-			baseUrl.append(scheme); // http, https
-			baseUrl.append(SwaggerDocConstants.SLASHES);
-			baseUrl.append(request.getServerName());
-			if ((SwaggerDocConstants.HTTP.equals(scheme) && port != 80) || (SwaggerDocConstants.HTTPS.equals(scheme)
-					&& port != 443)) {
-				baseUrl.append(SwaggerDocConstants.COLON);
-				baseUrl.append(request.getServerPort());
-			}
-
-			baseUrl.append(request.getContextPath());
-			String resourcesUrl = Context.getAdministrationService()
-					.getGlobalProperty(FHIRConstants.URI_PREFIX_GLOBAL_PROPERTY_NAME, baseUrl.toString());
-			String urlWithoutScheme = "";
-			String basePath = ForwardingFilter.getContextPath() + "/ws/fhir";
-			if (SwaggerDocConstants.HTTP.equals(scheme)) {
-				urlWithoutScheme = resourcesUrl
-						.replace(SwaggerDocConstants.HTTP_WITH_SLASHES, SwaggerDocConstants.STR_EMPTY);
-			} else if (SwaggerDocConstants.HTTPS.equals(scheme)) {
-				urlWithoutScheme = resourcesUrl
-						.replace(SwaggerDocConstants.HTTPS_WITH_SLASHES, SwaggerDocConstants.STR_EMPTY);
-			}
-			urlWithoutScheme = urlWithoutScheme.replace(ForwardingFilter.getContextPath(), SwaggerDocConstants.STR_EMPTY);
-			SwaggerSpecificationCreator creator = new SwaggerSpecificationCreator(urlWithoutScheme, basePath, request);
-			swaggerSpecificationJSON = creator.buildJSON();
-			response.setContentType(SwaggerDocConstants.PRODUCES_JSON);
-			response.setCharacterEncoding(SwaggerDocConstants.UTF_8);
-			response.getWriter().write(swaggerSpecificationJSON);
+			SwaggerSpecificationCache.getSpecification(request).write(request, response);
 		}
 		catch (Exception e) {
 			log.error("Error while processing request", e);
@@ -69,4 +34,3 @@ public class SwaggerSpecificationController extends HttpServlet {
 	}
 
 }
-
@@ -60,8 +60,12 @@ public class SwaggerSpecificationCreator {
 	private Map<String, Definition> definitionMap = new HashMap<String, Definition>();
 
 	public SwaggerSpecificationCreator(String baseUrl, String basePath, HttpServletRequest request) {
+		this(baseUrl, basePath, ConformanceProvider.getConformance(request));
+	}
+
+	public SwaggerSpecificationCreator(String baseUrl, String basePath, CapabilityStatement conformance) {
 		this.swaggerSpecification = new SwaggerSpecification();
-		this.conformance = ConformanceProvider.getConformance(request);
+		this.conformance = conformance;
 		this.baseUrl = baseUrl;
 		this.basePath = basePath;
 	}
@@ -35,6 +35,7 @@ import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
 import java.util.Map;
@@ -43,6 +44,8 @@ public class SwaggerCodeGenerator {
 
 	public static final String JSON_EXTENSION = ".json";
 
+	private static final String TEMPORARY_EXTENSION = ".tmp";
+
 	private static final String ZIP_ARCHIVE_NAME_PREFIX = "OPENMRS-FHIR-CLIENT";
 
 	protected Log log = LogFactory.getLog(getClass());
@@ -175,13 +178,52 @@ public class SwaggerCodeGenerator {
 		});
 	}
 
+	/**
+	 * @param language an SDK language
+	 * @return true if an SDK can be generated for the language
+	 */
+	public boolean isSupported(String language) {
+		return language != null && sdkLanguages.containsKey(language);
+	}
+
+	/**
+	 * @param language an SDK language
+	 * @return the name of the SDK archive of the language
+	 */
+	public static String getArchiveName(String language) {
+		return ZIP_ARCHIVE_NAME_PREFIX + "_" + language + ".zip";
+	}
+
 	/**
 	 * Generates the swagger SDK of given language
 	 *
 	 * @param language preferred language to generate the SDK
+	 * @return the path of the SDK archive, which is deleted on JVM exit
 	 * @throws FHIRModuleOmodException if failed to generate the SDK
 	 */
 	public String generateSDK(String language, String swaggerJson) throws FHIRModuleOmodException {
+		File archive;
+		try {
+			archive = Files.createTempFile(ZIP_ARCHIVE_NAME_PREFIX + "_" + language + "_", ".zip").toFile();
+		}
+		catch (IOException e) {
+			throw new FHIRModuleOmodException("Error creating temporary file for the SDK archive!", e);
+		}
+		archive.deleteOnExit();
+		generateSDK(language, swaggerJson, archive);
+		return archive.getAbsolutePath();
+	}
+
+	/**
+	 * Generates the swagger SDK of given language into the given archive. The files the generation
+	 * works with are deleted as soon as the archive is written.
+	 *
+	 * @param language preferred language to generate the SDK
+	 * @param swaggerJson the swagger definition
+	 * @param archive the zip archive to write, replaced if it exists
+	 * @throws FHIRModuleOmodException if failed to generate the SDK
+	 */
+	public void generateSDK(String language, String swaggerJson, File archive) throws FHIRModuleOmodException {
 
 		Swagger swaggerDoc = new SwaggerParser().parse(swaggerJson);
 
@@ -189,13 +231,13 @@ public class SwaggerCodeGenerator {
 			log.error("Error while parsing retrieved swagger definition");
 		}
 
-		if (sdkLanguages.get(language) == null) {
+		if (!isSupported(language)) {
 			throw new FHIRModuleOmodException("Specified language isn't supported " + language);
 		}
 		//Format the swagger definition as a string before writing to the file.
 		String formattedSwaggerDef = Json.pretty(swaggerDoc);
-		Path tempSdkGenDir = null;
-		File swaggerDefFile = null;
+		Path tempSdkGenDir;
+		File swaggerDefFile;
 
 		try {
 			//Create a temporary directory to store the API files
@@ -211,9 +253,7 @@ public class SwaggerCodeGenerator {
 					"json file for swagger definition!", e);
 		}
 
-		String tempZipFilePath = "";
-		if (swaggerDefFile.exists()) {
-
+		try {
 			try (Writer swaggerFileWriter = new BufferedWriter(
 					new OutputStreamWriter(
 							new FileOutputStream(swaggerDefFile.getAbsoluteFile()), StandardCharsets.UTF_8))) {
@@ -231,24 +271,58 @@ public class SwaggerCodeGenerator {
 			log.debug("Generating SDK for the swagger definition "
 					+ swaggerDefFile.getAbsolutePath() + " was successful.");
 			String archiveName = ZIP_ARCHIVE_NAME_PREFIX + "_" + language;
-			tempZipFilePath = tempSdkGenDir + File.separator + archiveName + ".zip";
 			Utils.archiveDirectory(tempSdkGenDir.toString(),
 					tempSdkGenDir.toString(),
 					archiveName);
+			moveArchive(tempSdkGenDir.resolve(archiveName + ".zip"), archive.toPath());
 			log.debug("Generating the archive was successful for directory " + tempSdkGenDir.toString());
-		} else {
-			log.info("Swagger definition file not found!");
 		}
+		catch (IOException e) {
+			throw new FHIRModuleOmodException("Error moving the SDK archive to " + archive, e);
+		}
+		finally {
+			try {
+				recursiveDelete(tempSdkGenDir);
+			}
+			catch (IOException e) {
+				log.error("Error occurred while deleting temporary directory ", e);
+			}
+		}
+	}
 
+	/**
+	 * Moves the archive next to its destination first, which may be on another file system, and then
+	 * renames it atomically, so that the archive is never seen partly written.
+	 */
+	private static void moveArchive(Path source, Path destination) throws IOException {
+		Path temporary = Files.createTempFile(destination.getParent(), destination.getFileName().toString(),
+				TEMPORARY_EXTENSION);
 		try {
-			//Set deleteOnExit property to generated SDK directory, all sub directories and files.
-			recursiveDeleteOnExit(tempSdkGenDir);
+			Files.move(source, temporary, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(temporary, destination, StandardCopyOption.ATOMIC_MOVE);
 		}
-		catch (IOException e) {
-			log.error("Error occurred while deleting temporary directory ", e);
+		finally {
+			Files.deleteIfExists(temporary);
 		}
-		return tempZipFilePath;
+	}
+
+	private static void recursiveDelete(Path path) throws IOException {
+		Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+
+			public FileVisitResult visitFile(Path file,
+					@SuppressWarnings("unused") BasicFileAttributes attrs) throws IOException {
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
 
+			public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+				if (e != null) {
+					throw e;
+				}
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
 	}
 
 	/**
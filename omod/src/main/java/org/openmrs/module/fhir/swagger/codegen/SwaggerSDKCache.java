@@ -0,0 +1,181 @@
+/**
+ * The contents of this file are subject to the OpenMRS Public License
+ * Version 1.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://license.openmrs.org
+ * <p/>
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ * <p/>
+ * Copyright (C) OpenMRS, LLC.  All Rights Reserved.
+ */
+package org.openmrs.module.fhir.swagger.codegen;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openmrs.module.fhir.exception.FHIRModuleOmodException;
+import org.openmrs.util.OpenmrsUtil;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps generated SDK archives on disk, keyed by language and the hash of the swagger specification
+ * they were generated from, so an SDK is generated once per specification.
+ * <p>Generation runs on a small pool of background threads. Concurrent requests for the same SDK wait
+ * on a single generation. The archives live in the application data directory, so they survive restarts,
+ * and the least recently served ones are deleted once there are more than {@link #MAX_ARCHIVES}.</p>
+ */
+public final class SwaggerSDKCache {
+
+	private static final Log log = LogFactory.getLog(SwaggerSDKCache.class);
+
+	public static final int MAX_ARCHIVES = 20;
+
+	private static final int GENERATOR_THREADS = 2;
+
+	private static final String CACHE_DIRECTORY = "fhir" + File.separator + "sdk";
+
+	private static final String ARCHIVE_EXTENSION = ".zip";
+
+	private static final SwaggerCodeGenerator generator = new SwaggerCodeGenerator();
+
+	private static final ConcurrentMap<String, Future<File>> generations = new ConcurrentHashMap<>();
+
+	private static final ExecutorService executor = Executors.newFixedThreadPool(GENERATOR_THREADS, new ThreadFactory() {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "FHIR SDK generator " + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private SwaggerSDKCache() {
+	}
+
+	/**
+	 * Gets the SDK archive of a language, generating it in the background unless it is cached. The
+	 * calling thread waits for the generation.
+	 *
+	 * @param language          the SDK language
+	 * @param specificationHash hash of the swagger specification, identifying its content
+	 * @param specification     the swagger specification
+	 * @return the SDK archive
+	 * @throws FHIRModuleOmodException if the language is not supported or the generation failed
+	 */
+	public static File getSDK(String language, String specificationHash, String specification)
+			throws FHIRModuleOmodException {
+		return getSDK(generator, getCacheDirectory(), language, specificationHash, specification);
+	}
+
+	/**
+	 * Gets the SDK archive of a language from the given directory, generating it with the given
+	 * generator unless it is there. An archive is only ever seen complete, as the generator renames it
+	 * into place once written.
+	 */
+	static File getSDK(final SwaggerCodeGenerator generator, File directory, final String language,
+			String specificationHash, final String specification) throws FHIRModuleOmodException {
+		if (!generator.isSupported(language)) {
+			throw new FHIRModuleOmodException("Specified language isn't supported " + language);
+		}
+
+		final File archive = new File(directory, language + "_" + specificationHash + ARCHIVE_EXTENSION);
+		if (archive.isFile()) {
+			//Marks the archive as recently served for the eviction
+			archive.setLastModified(System.currentTimeMillis());
+			return archive;
+		}
+
+		final String key = archive.getAbsolutePath();
+		FutureTask<File> task = new FutureTask<>(new Callable<File>() {
+
+			@Override
+			public File call() throws Exception {
+				try {
+					if (!archive.isFile()) {
+						generator.generateSDK(language, specification, archive);
+						evict(archive);
+					}
+					return archive;
+				}
+				finally {
+					generations.remove(key);
+				}
+			}
+		});
+		Future<File> generation = generations.putIfAbsent(key, task);
+		if (generation == null) {
+			generation = task;
+			executor.execute(task);
+		}
+
+		try {
+			return generation.get();
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof FHIRModuleOmodException) {
+				throw (FHIRModuleOmodException) e.getCause();
+			}
+			throw new FHIRModuleOmodException("Error generating the " + language + " SDK", e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FHIRModuleOmodException("Interrupted while waiting for the " + language + " SDK", e);
+		}
+	}
+
+	private static File getCacheDirectory() {
+		return OpenmrsUtil.getDirectoryInApplicationDataDirectory(CACHE_DIRECTORY);
+	}
+
+	/**
+	 * Deletes the least recently served archives beyond {@link #MAX_ARCHIVES}, never the given one
+	 */
+	private static void evict(File keep) {
+		File[] archives = keep.getParentFile().listFiles(new FileFilter() {
+
+			@Override
+			public boolean accept(File file) {
+				return file.isFile() && file.getName().endsWith(ARCHIVE_EXTENSION);
+			}
+		});
+		if (archives == null || archives.length <= MAX_ARCHIVES) {
+			return;
+		}
+
+		Arrays.sort(archives, new Comparator<File>() {
+
+			@Override
+			public int compare(File file1, File file2) {
+				return Long.compare(file1.lastModified(), file2.lastModified());
+			}
+		});
+		int excess = archives.length - MAX_ARCHIVES;
+		for (int i = 0; i < archives.length && excess > 0; i++) {
+			if (!archives[i].equals(keep)) {
+				if (!archives[i].delete()) {
+					log.warn("Could not delete the cached SDK archive " + archives[i]);
+				}
+				excess--;
+			}
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package org.openmrs.module.fhir.util;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.xml.bind.DatatypeConverter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body that is computed once and served many times. The body is kept encoded, together
+ * with a gzip-encoded copy and a strong ETag, so serving it costs no more than copying bytes.
+ * <p>Clients revalidate with If-None-Match and get a 304 while the body is unchanged.</p>
+ *
+ * @since 1.20.0
+ */
+public final class CachedResponse {
+
+	private final String contentType;
+
+	private final byte[] body;
+
+	private final byte[] gzipBody;
+
+	private final String hash;
+
+	/**
+	 * @param contentType content type of the body, including the charset
+	 * @param body        the encoded body
+	 */
+	public CachedResponse(String contentType, byte[] body) {
+		this.contentType = contentType;
+		this.body = body;
+		this.gzipBody = gzip(body);
+		this.hash = sha256(body);
+	}
+
+	/**
+	 * @return the encoded body, must not be modified
+	 */
+	public byte[] getBody() {
+		return body;
+	}
+
+	/**
+	 * @return hex SHA-256 digest of the body
+	 */
+	public String getHash() {
+		return hash;
+	}
+
+	/**
+	 * @return the quoted strong entity tag of the body
+	 */
+	public String getETag() {
+		return "\"" + hash + "\"";
+	}
+
+	/**
+	 * Writes the body, gzip-encoded when the client accepts it, or a 304 when the client already has it.
+	 *
+	 * @param request  the request to answer
+	 * @param response the response to write to
+	 */
+	public void write(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		response.setHeader(FHIROmodConstants.ETAG, getETag());
+		response.setHeader(FHIROmodConstants.CACHE_CONTROL, FHIROmodConstants.NO_CACHE);
+		response.setHeader(FHIROmodConstants.VARY, FHIROmodConstants.ACCEPT_ENCODING);
+		if (isNotModified(request.getHeader(FHIROmodConstants.IF_NONE_MATCH))) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		byte[] content = body;
+		String acceptEncoding = request.getHeader(FHIROmodConstants.ACCEPT_ENCODING);
+		if (acceptEncoding != null && acceptEncoding.contains(FHIROmodConstants.GZIP)) {
+			response.setHeader(FHIROmodConstants.CONTENT_ENCODING, FHIROmodConstants.GZIP);
+			content = gzipBody;
+		}
+		response.setContentType(contentType);
+		response.setContentLength(content.length);
+		response.getOutputStream().write(content);
+		response.flushBuffer();
+	}
+
+	private boolean isNotModified(String ifNoneMatch) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		String eTag = getETag();
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if ("*".equals(tag) || eTag.equals(tag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static byte[] gzip(byte[] content) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(content);
+		}
+		catch (IOException e) {
+			//Cannot happen when writing to memory
+			throw new IllegalStateException(e);
+		}
+		return out.toByteArray();
+	}
+
+	private static String sha256(byte[] content) {
+		try {
+			return DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-256").digest(content)).toLowerCase();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -33,9 +33,27 @@ public class FHIROmodConstants {
 
 	public static final String APPLICATION_ZIP_CHARSET_UTF_8 = "application/zip;charset=UTF-8";
 
+	public static final String CONTENT_LENGTH = "Content-Length";
+
 	public static final String CONTENT_DISPOSITION = "Content-Disposition";
 
 	public static final String ATTACHMENT_FILENAME = "attachment; filename=";
 
 	public static final String LANGUAGE = "language";
+
+	public static final String ETAG = "ETag";
+
+	public static final String IF_NONE_MATCH = "If-None-Match";
+
+	public static final String CACHE_CONTROL = "Cache-Control";
+
+	public static final String NO_CACHE = "no-cache";
+
+	public static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+	public static final String CONTENT_ENCODING = "Content-Encoding";
+
+	public static final String VARY = "Vary";
+
+	public static final String GZIP = "gzip";
 }
@@ -0,0 +1,70 @@
+package org.openmrs.module.fhir.omod;
+
+import org.junit.Test;
+import org.openmrs.module.fhir.util.CachedResponse;
+import org.openmrs.module.fhir.util.FHIROmodConstants;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CachedResponseTest {
+
+	private static final byte[] BODY = "{\"swagger\":\"2.0\"}".getBytes(StandardCharsets.UTF_8);
+
+	private final CachedResponse cachedResponse = new CachedResponse("application/json;charset=UTF-8", BODY);
+
+	@Test
+	public void write_shouldWriteBodyWithETag() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		cachedResponse.write(new MockHttpServletRequest(), response);
+
+		assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+		assertEquals(cachedResponse.getETag(), response.getHeader(FHIROmodConstants.ETAG));
+		assertNull(response.getHeader(FHIROmodConstants.CONTENT_ENCODING));
+		assertArrayEquals(BODY, response.getContentAsByteArray());
+	}
+
+	@Test
+	public void write_shouldWriteGzipBodyWhenAccepted() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(FHIROmodConstants.ACCEPT_ENCODING, "gzip, deflate");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		cachedResponse.write(request, response);
+
+		assertEquals(FHIROmodConstants.GZIP, response.getHeader(FHIROmodConstants.CONTENT_ENCODING));
+		assertArrayEquals(BODY, gunzip(response.getContentAsByteArray()));
+	}
+
+	@Test
+	public void write_shouldAnswerNotModifiedForMatchingETag() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(FHIROmodConstants.IF_NONE_MATCH, "\"other\", " + cachedResponse.getETag());
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		cachedResponse.write(request, response);
+
+		assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	private static byte[] gunzip(byte[] content) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+			byte[] buffer = new byte[1024];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,128 @@
+package org.openmrs.module.fhir.omod;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.server.RestfulServer;
+import org.hl7.fhir.dstu3.hapi.rest.server.ServerCapabilityStatementProvider;
+import org.hl7.fhir.dstu3.model.CapabilityStatement;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmrs.GlobalProperty;
+import org.openmrs.module.fhir.server.CapabilityStatementCache;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CapabilityStatementCacheTest {
+
+	private static final String METADATA_URI = "/openmrs/ws/fhir/metadata";
+
+	private static final String JSON_CONTENT_TYPE = "application/fhir+json";
+
+	private static final String XML_CONTENT_TYPE = "application/fhir+xml";
+
+	private CountingProvider provider;
+
+	private CapabilityStatementCache cache;
+
+	@Before
+	public void setUp() {
+		RestfulServer server = new RestfulServer(FhirContext.forDstu3());
+		provider = new CountingProvider(server);
+		server.setServerConformanceProvider(provider);
+		cache = new CapabilityStatementCache(server);
+	}
+
+	@Test
+	public void isCacheable_shouldOnlyAcceptPlainMetadataReads() {
+		assertTrue(cache.isCacheable(metadataRequest(null)));
+		MockHttpServletRequest withFormat = metadataRequest(null);
+		withFormat.addParameter("_format", "xml");
+		assertTrue(cache.isCacheable(withFormat));
+
+		MockHttpServletRequest withParameter = metadataRequest(null);
+		withParameter.addParameter("_pretty", "false");
+		assertFalse(cache.isCacheable(withParameter));
+		assertFalse(cache.isCacheable(metadataRequest("text/html,application/xhtml+xml")));
+		assertFalse(cache.isCacheable(new MockHttpServletRequest("POST", METADATA_URI)));
+		assertFalse(cache.isCacheable(new MockHttpServletRequest("GET", "/openmrs/ws/fhir/Patient")));
+	}
+
+	@Test
+	public void getStatement_shouldGenerateTheStatementOncePerUrl() {
+		cache.getStatement(metadataRequest(null));
+		cache.getStatement(metadataRequest("application/fhir+xml"));
+
+		assertEquals(1, provider.generations);
+	}
+
+	@Test
+	public void getStatement_shouldFollowTheQualityOfTheAcceptedTypes() throws Exception {
+		assertEquals(JSON_CONTENT_TYPE, getContentType(metadataRequest(null)));
+		assertEquals(JSON_CONTENT_TYPE, getContentType(metadataRequest("*/*")));
+		assertEquals(XML_CONTENT_TYPE, getContentType(metadataRequest("application/fhir+xml")));
+		assertEquals(XML_CONTENT_TYPE, getContentType(
+				metadataRequest("application/fhir+json;q=0.5, application/fhir+xml")));
+		assertEquals(JSON_CONTENT_TYPE, getContentType(
+				metadataRequest("application/fhir+xml;q=0.1, application/fhir+json")));
+		assertEquals(JSON_CONTENT_TYPE, getContentType(
+				metadataRequest("application/fhir+xml, application/fhir+json")));
+	}
+
+	@Test
+	public void getStatement_shouldPreferTheFormatParameter() throws Exception {
+		MockHttpServletRequest request = metadataRequest("application/fhir+json");
+		request.addParameter("_format", "xml");
+
+		assertEquals(XML_CONTENT_TYPE, getContentType(request));
+	}
+
+	@Test
+	public void globalPropertyChanged_shouldDropTheStatementsWhenTheBaseUrlChanges() {
+		cache.getStatement(metadataRequest(null));
+		assertTrue(cache.supportsPropertyName(CapabilityStatementCache.BASE_URL_PROPERTY));
+		assertFalse(cache.supportsPropertyName("fhir.uriPrefix"));
+
+		cache.globalPropertyChanged(new GlobalProperty(CapabilityStatementCache.BASE_URL_PROPERTY,
+				"https://example.org/fhir"));
+		cache.getStatement(metadataRequest(null));
+
+		assertEquals(2, provider.generations);
+	}
+
+	private String getContentType(HttpServletRequest request) throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		cache.getStatement(request).write(request, response);
+		return response.getContentType().split(";")[0];
+	}
+
+	private MockHttpServletRequest metadataRequest(String accept) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", METADATA_URI);
+		if (accept != null) {
+			request.addHeader("Accept", accept);
+		}
+		return request;
+	}
+
+	private static class CountingProvider extends ServerCapabilityStatementProvider {
+
+		private int generations;
+
+		private CountingProvider(RestfulServer server) {
+			super(server);
+		}
+
+		@Override
+		public CapabilityStatement getServerConformance(HttpServletRequest request) {
+			generations++;
+			CapabilityStatement statement = new CapabilityStatement();
+			statement.setPublisher("OpenMRS");
+			return statement;
+		}
+	}
+}
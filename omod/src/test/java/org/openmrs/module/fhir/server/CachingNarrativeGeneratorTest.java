@@ -0,0 +1,120 @@
+package org.openmrs.module.fhir.server;
+
+import ca.uhn.fhir.context.FhirContext;
+import org.hl7.fhir.dstu3.model.Patient;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.instance.model.api.INarrative;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CachingNarrativeGeneratorTest {
+
+	private static final String PATIENT_UUID = "da7f524f-27ce-4bb2-86d6-6d1d05312bd5";
+
+	private FhirContext context;
+
+	private CountingNarrativeGenerator generator;
+
+	@Before
+	public void setUp() {
+		context = FhirContext.forDstu3();
+		generator = new CountingNarrativeGenerator();
+	}
+
+	@After
+	public void tearDown() {
+		CachingNarrativeGenerator.setSuppressed(false);
+	}
+
+	@Test
+	public void generateNarrative_shouldRenderEachContentOnce() {
+		Patient first = buildPatient("Doe");
+		generator.generateNarrative(context, first, first.getText());
+		Patient second = buildPatient("Doe");
+		generator.generateNarrative(context, second, second.getText());
+
+		assertEquals(1, generator.renders);
+		assertEquals(first.getText().getDivAsString(), second.getText().getDivAsString());
+		assertEquals("generated", second.getText().getStatusAsString());
+	}
+
+	@Test
+	public void generateNarrative_shouldRenderAgainWhenTheContentChanges() {
+		Patient patient = buildPatient("Doe");
+		generator.generateNarrative(context, patient, patient.getText());
+		Patient changed = buildPatient("Roe");
+		generator.generateNarrative(context, changed, changed.getText());
+
+		assertEquals(2, generator.renders);
+		assertTrue(changed.getText().getDivAsString().contains("Roe"));
+	}
+
+	@Test
+	public void generateNarrative_shouldKeyOnTheVersionWhenThereIsOne() {
+		Patient patient = buildPatient("Doe");
+		patient.setId(PATIENT_UUID + "/_history/1");
+		generator.generateNarrative(context, patient, patient.getText());
+		Patient sameVersion = buildPatient("Roe");
+		sameVersion.setId(PATIENT_UUID + "/_history/1");
+		generator.generateNarrative(context, sameVersion, sameVersion.getText());
+
+		assertEquals(1, generator.renders);
+	}
+
+	@Test
+	public void generateNarrative_shouldSkipRenderingWhenSuppressed() {
+		CachingNarrativeGenerator.setSuppressed(true);
+		Patient patient = buildPatient("Doe");
+		generator.generateNarrative(context, patient, patient.getText());
+
+		assertEquals(0, generator.renders);
+		assertTrue(patient.getText().isEmpty());
+
+		CachingNarrativeGenerator.setSuppressed(false);
+		generator.generateNarrative(context, patient, patient.getText());
+		assertEquals(1, generator.renders);
+	}
+
+	@Test
+	public void clearCache_shouldRenderAgain() {
+		Patient patient = buildPatient("Doe");
+		generator.generateNarrative(context, patient, patient.getText());
+		generator.clearCache();
+		Patient again = buildPatient("Doe");
+		generator.generateNarrative(context, again, again.getText());
+
+		assertEquals(2, generator.renders);
+	}
+
+	private Patient buildPatient(String familyName) {
+		Patient patient = new Patient();
+		patient.setId(PATIENT_UUID);
+		patient.addName().setFamily(familyName).addGiven("John");
+		return patient;
+	}
+
+	private static class CountingNarrativeGenerator extends CachingNarrativeGenerator {
+
+		private int renders;
+
+		private CountingNarrativeGenerator() {
+			super("classpath:unused.properties");
+		}
+
+		@Override
+		protected void render(FhirContext context, IBaseResource resource, INarrative narrative) {
+			renders++;
+			try {
+				narrative.setDivAsString("<div>" + ((Patient) resource).getNameFirstRep().getFamily() + "</div>");
+				narrative.setStatusAsString("generated");
+			}
+			catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
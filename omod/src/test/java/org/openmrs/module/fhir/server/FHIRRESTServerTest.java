@@ -0,0 +1,72 @@
+package org.openmrs.module.fhir.server;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FHIRRESTServerTest {
+
+	@Test
+	public void isNarrativeSuppressed_shouldFollowTheNarrativeParameter() {
+		assertFalse(FHIRRESTServer.isNarrativeSuppressed(request()));
+		assertTrue(FHIRRESTServer.isNarrativeSuppressed(request("_narrative", "false")));
+		assertTrue(FHIRRESTServer.isNarrativeSuppressed(request("_narrative", "FALSE")));
+		assertFalse(FHIRRESTServer.isNarrativeSuppressed(request("_narrative", "true")));
+	}
+
+	@Test
+	public void isNarrativeSuppressed_shouldSkipNarrativesForSummariesWithoutText() {
+		assertTrue(FHIRRESTServer.isNarrativeSuppressed(request("_summary", "true")));
+		assertTrue(FHIRRESTServer.isNarrativeSuppressed(request("_summary", "data")));
+		assertTrue(FHIRRESTServer.isNarrativeSuppressed(request("_summary", "count")));
+		assertFalse(FHIRRESTServer.isNarrativeSuppressed(request("_summary", "text")));
+		assertFalse(FHIRRESTServer.isNarrativeSuppressed(request("_summary", "false")));
+	}
+
+	@Test
+	public void isNarrativeSuppressed_shouldLetTheNarrativeParameterWinOverTheSummary() {
+		MockHttpServletRequest request = request("_summary", "data");
+		request.addParameter("_narrative", "true");
+
+		assertFalse(FHIRRESTServer.isNarrativeSuppressed(request));
+	}
+
+	@Test
+	public void hiddenParameterRequest_shouldHideTheParameterEverywhere() {
+		MockHttpServletRequest request = request("_narrative", "false");
+		request.addParameter("family", "Doe");
+		request.setQueryString("family=Doe&_narrative=false&_narrativeX=1");
+
+		HttpServletRequest hidden = new FHIRRESTServer.HiddenParameterRequest(request, "_narrative");
+
+		assertNull(hidden.getParameter("_narrative"));
+		assertNull(hidden.getParameterValues("_narrative"));
+		assertFalse(hidden.getParameterMap().containsKey("_narrative"));
+		assertEquals(Collections.singletonList("family"), Collections.list(hidden.getParameterNames()));
+		assertEquals("Doe", hidden.getParameter("family"));
+		assertEquals("family=Doe&_narrativeX=1", hidden.getQueryString());
+	}
+
+	@Test
+	public void hiddenParameterRequest_shouldDropAnEmptyQueryString() {
+		MockHttpServletRequest request = request("_narrative", "false");
+		request.setQueryString("_narrative");
+
+		assertNull(new FHIRRESTServer.HiddenParameterRequest(request, "_narrative").getQueryString());
+	}
+
+	private MockHttpServletRequest request(String... parameters) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/openmrs/ws/fhir/Patient");
+		for (int i = 0; i < parameters.length; i += 2) {
+			request.addParameter(parameters[i], parameters[i + 1]);
+		}
+		return request;
+	}
+}
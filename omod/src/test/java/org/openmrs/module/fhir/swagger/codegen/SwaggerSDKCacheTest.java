@@ -0,0 +1,105 @@
+package org.openmrs.module.fhir.swagger.codegen;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openmrs.module.fhir.exception.FHIRModuleOmodException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SwaggerSDKCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void getSDK_shouldGenerateOnceForConcurrentRequests() throws Exception {
+		final File directory = folder.getRoot();
+		final CountingGenerator generator = new CountingGenerator();
+		generator.release = new CountDownLatch(1);
+		ExecutorService requests = Executors.newFixedThreadPool(2);
+		try {
+			Callable<File> request = new Callable<File>() {
+
+				@Override
+				public File call() throws Exception {
+					return SwaggerSDKCache.getSDK(generator, directory, "java", "hash", "{}");
+				}
+			};
+			Future<File> first = requests.submit(request);
+			Future<File> second = requests.submit(request);
+			assertTrue(generator.started.await(10, TimeUnit.SECONDS));
+			generator.release.countDown();
+
+			assertEquals(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+			assertEquals(1, generator.generations.get());
+			SwaggerSDKCache.getSDK(generator, directory, "java", "hash", "{}");
+			assertEquals(1, generator.generations.get());
+		}
+		finally {
+			requests.shutdownNow();
+		}
+	}
+
+	@Test
+	public void getSDK_shouldEvictTheLeastRecentlyServedArchives() throws Exception {
+		File directory = folder.getRoot();
+		for (int i = 0; i < SwaggerSDKCache.MAX_ARCHIVES; i++) {
+			File archive = new File(directory, "java_old" + i + ".zip");
+			Files.write(archive.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+			assertTrue(archive.setLastModified(1000L * (i + 1)));
+		}
+		CountingGenerator generator = new CountingGenerator();
+
+		//Serving an archive marks it as recently served
+		SwaggerSDKCache.getSDK(generator, directory, "java", "old0", "{}");
+		File generated = SwaggerSDKCache.getSDK(generator, directory, "java", "new", "{}");
+
+		assertEquals(1, generator.generations.get());
+		assertTrue(generated.isFile());
+		assertEquals(SwaggerSDKCache.MAX_ARCHIVES, directory.listFiles().length);
+		assertTrue(new File(directory, "java_old0.zip").isFile());
+		assertFalse(new File(directory, "java_old1.zip").exists());
+	}
+
+	@Test(expected = FHIRModuleOmodException.class)
+	public void getSDK_shouldRejectUnsupportedLanguages() throws Exception {
+		SwaggerSDKCache.getSDK(new CountingGenerator(), folder.getRoot(), "cobol", "hash", "{}");
+	}
+
+	private static class CountingGenerator extends SwaggerCodeGenerator {
+
+		private final AtomicInteger generations = new AtomicInteger();
+
+		private final CountDownLatch started = new CountDownLatch(1);
+
+		private CountDownLatch release = new CountDownLatch(0);
+
+		@Override
+		public void generateSDK(String language, String swaggerJson, File archive) throws FHIRModuleOmodException {
+			generations.incrementAndGet();
+			started.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+				Files.write(archive.toPath(), swaggerJson.getBytes(StandardCharsets.UTF_8));
+			}
+			catch (InterruptedException | IOException e) {
+				throw new FHIRModuleOmodException("Could not write " + archive, e);
+			}
+		}
+	}
+}